@@ -0,0 +1,54 @@
+package com.helper.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.time.Duration;
+
+/**
+ * Decides whether, and for how long, the gateway may store a downstream response.
+ */
+public final class CachePolicy {
+
+    private CachePolicy() {
+    }
+
+    /**
+     * @return how long the response may be cached, or 0 if it must not be. Only 200s without
+     * Set-Cookie or Vary: * qualify; no-store / no-cache / private forbid caching, and
+     * s-maxage (else max-age) caps the route TTL.
+     */
+    public static long ttlMs(HttpStatusCode status, HttpHeaders headers, Duration routeTtl) {
+        if (status == null || status.value() != 200) return 0;
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) return 0;
+        if (headers.getVary().contains("*")) return 0;
+
+        Long maxAge = null;
+        Long sMaxAge = null;
+        for (String value : headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)) {
+            for (String directive : value.toLowerCase().split(",")) {
+                directive = directive.trim();
+                if (directive.equals("no-store") || directive.equals("no-cache") || directive.equals("private")) {
+                    return 0;
+                }
+                if (directive.startsWith("s-maxage=")) sMaxAge = parseSeconds(directive.substring(9));
+                else if (directive.startsWith("max-age=")) maxAge = parseSeconds(directive.substring(8));
+            }
+        }
+
+        long ttlMs = routeTtl.toMillis();
+        Long downstream = sMaxAge != null ? sMaxAge : maxAge;
+        if (downstream != null) {
+            ttlMs = Math.min(ttlMs, downstream * 1000);
+        }
+        return ttlMs;
+    }
+
+    private static long parseSeconds(String value) {
+        try {
+            return Math.max(0, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.helper.gateway.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A stored downstream response: status, the cache-safe subset of its headers, and the body.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedResponse {
+    private int status;
+    private Map<String, List<String>> headers;
+    private byte[] body;
+    private long expiresAt;
+
+    public boolean isFreshAt(long now) {
+        return now < expiresAt;
+    }
+
+    public String etag() {
+        List<String> values = headers != null ? headers.get("ETag") : null;
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+}
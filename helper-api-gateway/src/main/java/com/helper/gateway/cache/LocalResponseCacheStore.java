@@ -0,0 +1,52 @@
+package com.helper.gateway.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded in-process LRU store. Expired entries are dropped when read.
+ */
+public class LocalResponseCacheStore implements ResponseCacheStore {
+
+    private final Map<String, CachedResponse> entries;
+
+    public LocalResponseCacheStore(int maxEntries) {
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public Mono<CachedResponse> get(String key) {
+        return Mono.justOrEmpty(getNow(key));
+    }
+
+    @Override
+    public Mono<Void> put(String key, CachedResponse response) {
+        putNow(key, response);
+        return Mono.empty();
+    }
+
+    public synchronized CachedResponse getNow(String key) {
+        CachedResponse cached = entries.get(key);
+        if (cached == null) return null;
+        if (!cached.isFreshAt(System.currentTimeMillis())) {
+            entries.remove(key);
+            return null;
+        }
+        return cached;
+    }
+
+    public synchronized void putNow(String key, CachedResponse response) {
+        entries.put(key, response);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
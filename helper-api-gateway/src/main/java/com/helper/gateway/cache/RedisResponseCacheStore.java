@@ -0,0 +1,76 @@
+package com.helper.gateway.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Two-tier store: the local LRU answers repeat hits on this instance, Redis shares entries
+ * between gateway replicas. A Redis hit is copied into the local tier for the rest of its TTL.
+ * Redis errors degrade to local-only caching.
+ */
+@Slf4j
+public class RedisResponseCacheStore implements ResponseCacheStore {
+
+    private static final String KEY_PREFIX = "gateway:response-cache:";
+
+    private final LocalResponseCacheStore local;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public RedisResponseCacheStore(LocalResponseCacheStore local,
+                                   ReactiveStringRedisTemplate redisTemplate,
+                                   ObjectMapper objectMapper) {
+        this.local = local;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<CachedResponse> get(String key) {
+        CachedResponse cached = local.getNow(key);
+        if (cached != null) return Mono.just(cached);
+
+        return redisTemplate.opsForValue().get(KEY_PREFIX + key)
+                .flatMap(json -> Mono.justOrEmpty(deserialize(json)))
+                .filter(response -> response.isFreshAt(System.currentTimeMillis()))
+                .doOnNext(response -> local.putNow(key, response))
+                .onErrorResume(ex -> {
+                    log.warn("Response cache read from Redis failed for {}: {}", key, ex.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Mono<Void> put(String key, CachedResponse response) {
+        local.putNow(key, response);
+        long ttlMs = response.getExpiresAt() - System.currentTimeMillis();
+        if (ttlMs <= 0) return Mono.empty();
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            return Mono.empty();
+        }
+        return redisTemplate.opsForValue().set(KEY_PREFIX + key, json, Duration.ofMillis(ttlMs))
+                .onErrorResume(ex -> {
+                    log.warn("Response cache write to Redis failed for {}: {}", key, ex.getMessage());
+                    return Mono.just(false);
+                })
+                .then();
+    }
+
+    private CachedResponse deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, CachedResponse.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable response cache entry: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.helper.gateway.cache;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Storage behind {@link com.helper.gateway.filter.ResponseCacheGatewayFilterFactory}.
+ * See {@link com.helper.gateway.config.ResponseCacheConfig} for how the implementation is chosen.
+ */
+public interface ResponseCacheStore {
+
+    /**
+     * @return the fresh entry for the key, or empty on a miss or expired entry
+     */
+    Mono<CachedResponse> get(String key);
+
+    Mono<Void> put(String key, CachedResponse response);
+}
@@ -1,14 +1,171 @@
 package com.helper.gateway.config;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @ConfigurationProperties(prefix = "app.gateway")
 @Data
 public class AppGatewayProperties {
     private List<String> openPaths;
+
+    // Shared secret for signing forwarded X-User-* headers (see GatewaySignature).
+    // Blank = headers are forwarded unsigned and downstream services must verify the JWT.
+    private String internalSecret;
+
+    private RateLimit rateLimit = new RateLimit();
+
+    private AccessLog accessLog = new AccessLog();
+
+    private ResponseCache responseCache = new ResponseCache();
+
+    private HealthPoller healthPoller = new HealthPoller();
+
+    private HttpClient httpClient = new HttpClient();
+
+    @Data
+    public static class RateLimit {
+        private Policy authenticated = new Policy(100, 150);
+        private Policy anonymous = new Policy(30, 30);
+
+        // Keyed by JWT role (CUSTOMER / WORKER / ADMIN); overrides `authenticated`
+        private Map<String, Policy> roles = new HashMap<>();
+
+        // Keyed by route id from spring.cloud.gateway.routes; overrides role/default limits
+        // and gets its own bucket, so e.g. login attempts don't eat into the general budget
+        private Map<String, Policy> routes = new HashMap<>();
+
+        // In-memory mode: most keys tracked per instance before the least recently used is dropped
+        private int maxKeys = 100_000;
+
+        private NearCache nearCache = new NearCache();
+
+        /**
+         * Most specific policy wins: route → role → authenticated/anonymous default.
+         */
+        public Policy resolve(String routeId, String role, boolean authenticatedUser) {
+            if (routeId != null && routes.containsKey(routeId)) return routes.get(routeId);
+            if (!authenticatedUser) return anonymous;
+            if (role != null && roles.containsKey(role)) return roles.get(role);
+            return authenticated;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Policy {
+        // Sustained rate (tokens added per minute)
+        private int replenishPerMinute;
+        // Bucket size — the largest burst allowed after a quiet period
+        private int burstCapacity;
+    }
+
+    /**
+     * Local cache in front of the Redis limiter (app.cache.type=redis). While the last
+     * Redis answer for a key is younger than ttlMs and leaves at least threshold × burst
+     * tokens, requests are admitted locally and charged to Redis on the next round trip.
+     */
+    @Data
+    public static class NearCache {
+        private boolean enabled = true;
+        private long ttlMs = 1000;
+        private double threshold = 0.5;
+        private int maxSize = 100_000;
+    }
+
+    @Data
+    public static class AccessLog {
+        private boolean enabled = true;
+        // Fraction of successful (< 400), fast requests that get logged; errors and slow requests always are
+        private double sampleRate = 1.0;
+        private long slowThresholdMs = 1000;
+        // Ring buffer slots between the event loops and the writer thread (rounded up to a power of two)
+        private int bufferSize = 8192;
+    }
+
+    /**
+     * Limits for the ResponseCache route filter; TTLs are set per route in the route definition.
+     */
+    @Data
+    public static class ResponseCache {
+        private int maxEntries = 10_000;
+        // Larger responses are passed through uncached
+        private int maxBodyBytes = 256 * 1024;
+        // How long identical concurrent misses wait for the first one's response
+        private long coalesceTimeoutMs = 5000;
+    }
+
+    /**
+     * Background polling of downstream /actuator/health (see DownstreamHealthPoller).
+     */
+    @Data
+    public static class HealthPoller {
+        private boolean enabled = true;
+        private long intervalMs = 10_000;
+        // Per-service check timeout; keep it below the interval
+        private long timeoutMs = 2000;
+    }
+
+    /**
+     * Reactor Netty client used to forward requests to the backends (see BackendHttpClientConfig).
+     */
+    @Data
+    public static class HttpClient {
+        private int connectTimeoutMs = 2000;
+        // HTTP keep-alive (connection reuse) and TCP keep-alive probes; client-wide
+        private boolean keepAlive = true;
+        // Offer HTTP/2 cleartext via Upgrade; backends without it stay on HTTP/1.1
+        private boolean h2c = false;
+        // Defaults for every backend
+        private Pool pool = new Pool();
+        // Per-backend overrides, matched by the route's host and port
+        private List<Backend> backends = new ArrayList<>();
+    }
+
+    @Data
+    public static class Pool {
+        private int maxConnections = 500;
+        // Requests allowed to wait for a connection once all are busy; -1 = unbounded
+        private int pendingAcquireMaxCount = 1000;
+        private long pendingAcquireTimeoutMs = 5000;
+        // Idle connections are closed after this, checked every evictionIntervalMs
+        private long maxIdleTimeMs = 30_000;
+        private long maxLifeTimeMs = 300_000;
+        private long evictionIntervalMs = 30_000;
+    }
+
+    /**
+     * Pool overrides for one backend; unset fields fall back to http-client.pool.
+     */
+    @Data
+    public static class Backend {
+        private String url;
+        private Integer maxConnections;
+        private Integer pendingAcquireMaxCount;
+        private Long pendingAcquireTimeoutMs;
+        private Long maxIdleTimeMs;
+        private Long maxLifeTimeMs;
+
+        public Pool resolve(Pool defaults) {
+            Pool pool = new Pool();
+            pool.setMaxConnections(maxConnections != null ? maxConnections : defaults.getMaxConnections());
+            pool.setPendingAcquireMaxCount(pendingAcquireMaxCount != null
+                    ? pendingAcquireMaxCount : defaults.getPendingAcquireMaxCount());
+            pool.setPendingAcquireTimeoutMs(pendingAcquireTimeoutMs != null
+                    ? pendingAcquireTimeoutMs : defaults.getPendingAcquireTimeoutMs());
+            pool.setMaxIdleTimeMs(maxIdleTimeMs != null ? maxIdleTimeMs : defaults.getMaxIdleTimeMs());
+            pool.setMaxLifeTimeMs(maxLifeTimeMs != null ? maxLifeTimeMs : defaults.getMaxLifeTimeMs());
+            pool.setEvictionIntervalMs(defaults.getEvictionIntervalMs());
+            return pool;
+        }
+    }
 }
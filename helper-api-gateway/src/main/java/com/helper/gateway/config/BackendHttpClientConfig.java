@@ -0,0 +1,85 @@
+package com.helper.gateway.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * The HttpClient the gateway forwards requests with, replacing Spring Cloud Gateway's default
+ * (an unbounded elastic pool shared by every backend). Configured by app.gateway.http-client:
+ *
+ *   - one fixed pool per backend host: max connections, bounded pending-acquire queue with
+ *     timeout, idle/lifetime eviction in the background; per-backend overrides under backends
+ *   - keep-alive and connect timeout for the whole client
+ *   - optional h2c (HTTP/2 over cleartext, negotiated via Upgrade, HTTP/1.1 fallback)
+ *
+ * Pool metrics (reactor.netty.connection.provider.*{name=gateway-backends, remote.address})
+ * go to the global Micrometer registry, which Spring Boot exposes under /actuator/metrics.
+ *
+ * spring.cloud.gateway.httpclient.pool.* and .connect-timeout no longer apply;
+ * .response-timeout still does (it is enforced by the routing filter).
+ */
+@Configuration
+@Slf4j
+public class BackendHttpClientConfig {
+
+    public static final String POOL_NAME = "gateway-backends";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider gatewayConnectionProvider(AppGatewayProperties gatewayProperties) {
+        return buildConnectionProvider(gatewayProperties.getHttpClient());
+    }
+
+    @Bean
+    public HttpClient gatewayHttpClient(ConnectionProvider gatewayConnectionProvider,
+                                        AppGatewayProperties gatewayProperties) {
+        return buildHttpClient(gatewayConnectionProvider, gatewayProperties.getHttpClient());
+    }
+
+    public static ConnectionProvider buildConnectionProvider(AppGatewayProperties.HttpClient settings) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(POOL_NAME);
+        applyPool(builder, settings.getPool());
+
+        for (AppGatewayProperties.Backend backend : settings.getBackends()) {
+            URI uri = URI.create(backend.getUrl());
+            int port = uri.getPort() != -1 ? uri.getPort() : ("https".equals(uri.getScheme()) ? 443 : 80);
+            AppGatewayProperties.Pool pool = backend.resolve(settings.getPool());
+            // Reactor Netty keys pools by the unresolved host:port taken from the request URI
+            builder.forRemoteHost(InetSocketAddress.createUnresolved(uri.getHost(), port),
+                    spec -> applyPool(spec, pool));
+            log.info("Backend pool {}:{} max-connections={} pending-acquire-max={}",
+                    uri.getHost(), port, pool.getMaxConnections(), pool.getPendingAcquireMaxCount());
+        }
+        return builder.build();
+    }
+
+    public static HttpClient buildHttpClient(ConnectionProvider connectionProvider,
+                                             AppGatewayProperties.HttpClient settings) {
+        HttpClient client = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, settings.getConnectTimeoutMs())
+                .option(ChannelOption.SO_KEEPALIVE, settings.isKeepAlive())
+                .keepAlive(settings.isKeepAlive());
+        if (settings.isH2c()) {
+            client = client.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return client;
+    }
+
+    private static <S extends ConnectionProvider.ConnectionPoolSpec<S>> void applyPool(S spec, AppGatewayProperties.Pool pool) {
+        spec.maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofMillis(pool.getPendingAcquireTimeoutMs()))
+                .maxIdleTime(Duration.ofMillis(pool.getMaxIdleTimeMs()))
+                .maxLifeTime(Duration.ofMillis(pool.getMaxLifeTimeMs()))
+                .evictInBackground(Duration.ofMillis(pool.getEvictionIntervalMs()))
+                .metrics(true);
+    }
+}
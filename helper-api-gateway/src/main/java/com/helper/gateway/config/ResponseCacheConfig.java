@@ -0,0 +1,34 @@
+package com.helper.gateway.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helper.gateway.cache.LocalResponseCacheStore;
+import com.helper.gateway.cache.RedisResponseCacheStore;
+import com.helper.gateway.cache.ResponseCacheStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+/**
+ * Picks the response cache store from app.cache.type, like the rate limiter:
+ * in-memory (default) → per-instance LRU; redis → local LRU in front of a shared Redis tier.
+ */
+@Configuration
+public class ResponseCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.type", havingValue = "in-memory", matchIfMissing = true)
+    public ResponseCacheStore localResponseCacheStore(AppGatewayProperties gatewayProperties) {
+        return new LocalResponseCacheStore(gatewayProperties.getResponseCache().getMaxEntries());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.type", havingValue = "redis")
+    public ResponseCacheStore redisResponseCacheStore(AppGatewayProperties gatewayProperties,
+                                                      ReactiveStringRedisTemplate redisTemplate,
+                                                      ObjectMapper objectMapper) {
+        return new RedisResponseCacheStore(
+                new LocalResponseCacheStore(gatewayProperties.getResponseCache().getMaxEntries()),
+                redisTemplate, objectMapper);
+    }
+}
@@ -0,0 +1,80 @@
+package com.helper.gateway.filter;
+
+import com.helper.gateway.resilience.RouteBulkhead;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Route filter limiting concurrent calls per route. Enable with the route's limit:
+ *
+ *   filters:
+ *     - Bulkhead=30
+ *
+ * List it before CircuitBreaker: a full bulkhead answers 503 with Retry-After: 1 straight
+ * away, without going through the breaker (so saturation doesn't count as a downstream
+ * failure) and without holding a connection.
+ */
+@Component
+@Slf4j
+public class BulkheadGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<BulkheadGatewayFilterFactory.Config> {
+
+    private static final byte[] BUSY_BODY = ("{\"success\":false,\"message\":\"Service is busy. Please retry shortly.\","
+            + "\"error\":\"SERVICE_BUSY\"}").getBytes(StandardCharsets.UTF_8);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public BulkheadGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("maxConcurrent");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String name = config.getRouteId() != null ? config.getRouteId() : "unnamed";
+        RouteBulkhead bulkhead = bulkheads.computeIfAbsent(name,
+                id -> new RouteBulkhead(id, config.getMaxConcurrent(), meterRegistry));
+        bulkhead.setMaxConcurrent(config.getMaxConcurrent());
+
+        return (exchange, chain) -> bulkhead.run(
+                () -> chain.filter(exchange),
+                () -> {
+                    log.warn("Bulkhead full for route {} ({} concurrent calls)", name, bulkhead.getMaxConcurrent());
+                    return busy(exchange);
+                });
+    }
+
+    private Mono<Void> busy(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().add("Content-Type", "application/json");
+        response.getHeaders().add("Retry-After", "1");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(BUSY_BODY)));
+    }
+
+    @Data
+    public static class Config implements HasRouteId {
+        private int maxConcurrent = 100;
+        private String routeId;
+    }
+}
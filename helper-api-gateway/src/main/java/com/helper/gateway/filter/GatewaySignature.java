@@ -0,0 +1,54 @@
+package com.helper.gateway.filter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * HMAC-SHA256 signature over the user headers the gateway forwards downstream.
+ *
+ * Services running with app.security.trust-gateway-headers=true recompute the same
+ * signature (see GatewayHeaderAuthenticator in each service) and accept X-User-* headers
+ * instead of re-verifying the JWT. The canonical string binds the identity to the HTTP
+ * method, the raw path and a timestamp, so a captured header set cannot be replayed
+ * against another endpoint or after the allowed clock skew.
+ */
+public final class GatewaySignature {
+
+    public static final String USER_ID = "X-User-Id";
+    public static final String USER_ROLE = "X-User-Role";
+    public static final String USER_EMAIL = "X-User-Email";
+    public static final String VALIDATED = "X-Gateway-Validated";
+    public static final String TIMESTAMP = "X-Gateway-Timestamp";
+    public static final String SIGNATURE = "X-Gateway-Signature";
+
+    /** Headers only the gateway may set; always stripped from client requests. */
+    public static final String[] TRUSTED_HEADERS = {USER_ID, USER_ROLE, USER_EMAIL, VALIDATED, TIMESTAMP, SIGNATURE};
+
+    // Mac is not thread-safe; one initialised instance per thread, reused across requests
+    private final ThreadLocal<Mac> mac;
+
+    public GatewaySignature(String secret) {
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.mac = ThreadLocal.withInitial(() -> newMac(key));
+    }
+
+    public String sign(String userId, String role, String email, String method, String rawPath, long timestamp) {
+        String canonical = userId + "\n" + role + "\n" + email + "\n" + method + "\n" + rawPath + "\n" + timestamp;
+        // doFinal resets the Mac for the next call on this thread
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac.get().doFinal(canonical.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac m = Mac.getInstance("HmacSHA256");
+            m.init(key);
+            return m;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.helper.gateway.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Route filter retrying idempotent requests (GET / HEAD) that failed at the connection level
+ * (refused, reset, closed early), with exponential backoff and jitter so retries from many
+ * requests don't arrive at the recovering backend in lockstep:
+ *
+ *   filters:
+ *     - IdempotentRetry=2
+ *
+ * Other methods pass straight through, as do timeouts (the backend may still be working on
+ * the first attempt) and anything after the response has started. List it after
+ * CircuitBreaker so the breaker's time limiter bounds all attempts together and only the
+ * final failure reaches the fallback. Retries are counted in gateway.retry.attempts{route}.
+ */
+@Component
+public class IdempotentRetryGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<IdempotentRetryGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+
+    public IdempotentRetryGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("retries");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String route = config.getRouteId() != null ? config.getRouteId() : "unnamed";
+        return (exchange, chain) -> {
+            if (!isIdempotent(exchange.getRequest().getMethod())) {
+                return chain.filter(exchange);
+            }
+            return Mono.defer(() -> chain.filter(exchange))
+                    .retryWhen(retrySpec(config)
+                            .modifyErrorFilter(retryable -> retryable.and(e -> !exchange.getResponse().isCommitted()))
+                            .doBeforeRetry(signal -> {
+                                meterRegistry.counter("gateway.retry.attempts", "route", route).increment();
+                                ServerWebExchangeUtils.reset(exchange);
+                            }));
+        };
+    }
+
+    public static boolean isIdempotent(HttpMethod method) {
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+    }
+
+    /**
+     * Connection failures only: ConnectException, connection reset, premature close.
+     */
+    public static boolean isRetryable(Throwable error) {
+        return error instanceof IOException;
+    }
+
+    /**
+     * Backoff between attempts: firstBackoff × 2^n capped at maxBackoff, each randomly
+     * spread by ±jitter. The last error is rethrown as is once retries run out.
+     */
+    public static RetryBackoffSpec retrySpec(Config config) {
+        return Retry.backoff(config.getRetries(), config.getFirstBackoff())
+                .maxBackoff(config.getMaxBackoff())
+                .jitter(config.getJitter())
+                .filter(IdempotentRetryGatewayFilterFactory::isRetryable)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    @Data
+    public static class Config implements HasRouteId {
+        private int retries = 2;
+        private Duration firstBackoff = Duration.ofMillis(50);
+        private Duration maxBackoff = Duration.ofMillis(500);
+        private double jitter = 0.5;
+        private String routeId;
+    }
+}
@@ -16,7 +16,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
@@ -37,8 +36,12 @@ import java.nio.charset.StandardCharsets;
  *   X-User-Role: CUSTOMER | WORKER | ADMIN
  *   X-User-Email: <email>
  *
- * Downstream services can ALSO validate the JWT themselves (defense in depth),
- * but the gateway provides the first line of defense.
+ * When app.gateway.internal-secret is set, the gateway also adds X-Gateway-Timestamp and
+ * X-Gateway-Signature (see {@link GatewaySignature}). Services running with
+ * app.security.trust-gateway-headers=true then build the user from these headers and
+ * skip their own JWT verification; otherwise they validate the JWT themselves.
+ *
+ * Client-supplied X-User-* / X-Gateway-* headers are always stripped, including on open paths.
  */
 @Component
 @Slf4j
@@ -49,9 +52,11 @@ public class JwtAuthGatewayFilter implements GlobalFilter, Ordered {
     private String jwtSecret;
 
     private final AppGatewayProperties gatewayProperties;
+    private final OpenPathMatcher openPathMatcher;
 
     private SecretKey secretKey;
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    // Null when app.gateway.internal-secret is unset: forwarded headers go unsigned
+    private GatewaySignature gatewaySignature;
 
     @PostConstruct
     public void init() {
@@ -60,20 +65,31 @@ public class JwtAuthGatewayFilter implements GlobalFilter, Ordered {
                 java.util.Base64.getEncoder().encodeToString(jwtSecret.getBytes()));
         this.secretKey = Keys.hmacShaKeyFor(keyBytes.length >= 32 ? keyBytes :
                 Jwts.SIG.HS256.key().build().getEncoded());
+
+        String internalSecret = gatewayProperties.getInternalSecret();
+        if (internalSecret != null && !internalSecret.isBlank()) {
+            this.gatewaySignature = new GatewaySignature(internalSecret);
+        }
     }
 
     @Override
     public int getOrder() {
-        return -100; // Run before other filters
+        return -100; // Before rate limiting, which keys on the validated X-User-Id
     }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        ServerHttpRequest request = exchange.getRequest();
+        // 0. Never let clients inject identity headers
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(h -> {
+                    for (String header : GatewaySignature.TRUSTED_HEADERS) h.remove(header);
+                })
+                .build();
+        exchange = exchange.mutate().request(request).build();
         String path = request.getURI().getPath();
 
         // 1. Skip open paths
-        if (isOpenPath(path)) {
+        if (openPathMatcher.matches(path)) {
             return chain.filter(exchange);
         }
 
@@ -99,12 +115,23 @@ public class JwtAuthGatewayFilter implements GlobalFilter, Ordered {
             String email = claims.get("email", String.class);
 
             // 4. Forward user info as headers to downstream services
-            ServerHttpRequest mutatedRequest = request.mutate()
-                    .header("X-User-Id", userId != null ? userId : "")
-                    .header("X-User-Role", role != null ? role : "")
-                    .header("X-User-Email", email != null ? email : "")
-                    .header("X-Gateway-Validated", "true")
-                    .build();
+            String forwardedUserId = userId != null ? userId : "";
+            String forwardedRole = role != null ? role : "";
+            String forwardedEmail = email != null ? email : "";
+            ServerHttpRequest.Builder builder = request.mutate()
+                    .header(GatewaySignature.USER_ID, forwardedUserId)
+                    .header(GatewaySignature.USER_ROLE, forwardedRole)
+                    .header(GatewaySignature.USER_EMAIL, forwardedEmail)
+                    .header(GatewaySignature.VALIDATED, "true");
+
+            if (gatewaySignature != null) {
+                long timestamp = System.currentTimeMillis();
+                builder.header(GatewaySignature.TIMESTAMP, String.valueOf(timestamp))
+                        .header(GatewaySignature.SIGNATURE, gatewaySignature.sign(
+                                forwardedUserId, forwardedRole, forwardedEmail,
+                                request.getMethod().name(), request.getURI().getRawPath(), timestamp));
+            }
+            ServerHttpRequest mutatedRequest = builder.build();
 
             log.debug("JWT validated: userId={} role={} path={}", userId, role, path);
             return chain.filter(exchange.mutate().request(mutatedRequest).build());
@@ -118,15 +145,6 @@ public class JwtAuthGatewayFilter implements GlobalFilter, Ordered {
         }
     }
 
-    private boolean isOpenPath(String path) {
-        for (String pattern : gatewayProperties.getOpenPaths()) {
-            if (pathMatcher.match(pattern, path)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus status) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(status);
@@ -0,0 +1,146 @@
+package com.helper.gateway.filter;
+
+import com.helper.gateway.config.AppGatewayProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Matches request paths against app.gateway.open-paths without looping over every pattern.
+ *
+ * Patterns are compiled once into a trie keyed by path segment, where a segment is a
+ * literal, "*" (exactly one segment) or "**" (any number of segments). A lookup walks the
+ * path's segments through the trie, so its cost depends on the path depth rather than on
+ * how many open paths are configured. Results are memoised in a bounded per-path cache.
+ *
+ * Anything the trie can't express (partial wildcards such as "*.js", "?", URI variables)
+ * and paths with a trailing slash fall back to {@link AntPathMatcher}, preserving the exact
+ * semantics the gateway had before.
+ *
+ * The compiled form is rebuilt whenever the open-paths list on {@link AppGatewayProperties}
+ * is replaced, e.g. when properties are rebound after a config refresh.
+ */
+@Component
+public class OpenPathMatcher {
+
+    private static final int MAX_CACHED_PATHS = 10_000;
+
+    private final AppGatewayProperties gatewayProperties;
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+    private volatile Compiled compiled;
+
+    public OpenPathMatcher(AppGatewayProperties gatewayProperties) {
+        this.gatewayProperties = gatewayProperties;
+        this.compiled = compile(gatewayProperties.getOpenPaths());
+    }
+
+    public boolean matches(String path) {
+        Compiled current = compiled;
+        List<String> openPaths = gatewayProperties.getOpenPaths();
+        if (openPaths != current.source) {
+            current = compile(openPaths);
+            compiled = current;
+        }
+
+        Boolean cached = current.cache.get(path);
+        if (cached != null) return cached;
+
+        boolean result = current.matches(path);
+        if (current.cache.size() >= MAX_CACHED_PATHS) {
+            current.cache.clear();
+        }
+        current.cache.put(path, result);
+        return result;
+    }
+
+    // ===== Compilation =====
+
+    private Compiled compile(List<String> openPaths) {
+        Node root = new Node();
+        List<String> fallback = new ArrayList<>();
+        if (openPaths != null) {
+            for (String pattern : openPaths) {
+                if (!addToTrie(root, pattern)) {
+                    fallback.add(pattern);
+                }
+            }
+        }
+        return new Compiled(openPaths, root, fallback);
+    }
+
+    private boolean addToTrie(Node root, String pattern) {
+        if (!pattern.startsWith("/") || (pattern.length() > 1 && pattern.endsWith("/"))) return false;
+        String[] segments = StringUtils.tokenizeToStringArray(pattern, "/", false, true);
+        for (String segment : segments) {
+            if (!segment.equals("*") && !segment.equals("**")
+                    && (segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0)) {
+                return false;
+            }
+        }
+
+        Node node = root;
+        for (String segment : segments) {
+            node = switch (segment) {
+                case "**" -> node.doubleStar != null ? node.doubleStar : (node.doubleStar = new Node());
+                case "*" -> node.star != null ? node.star : (node.star = new Node());
+                default -> node.literals.computeIfAbsent(segment, k -> new Node());
+            };
+        }
+        node.terminal = true;
+        return true;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node star;
+        private Node doubleStar;
+        private boolean terminal;
+
+        boolean matches(String[] segments, int index) {
+            if (doubleStar != null) {
+                for (int i = index; i <= segments.length; i++) {
+                    if (doubleStar.matches(segments, i)) return true;
+                }
+            }
+            if (index == segments.length) return terminal;
+
+            Node literal = literals.get(segments[index]);
+            if (literal != null && literal.matches(segments, index + 1)) return true;
+            return star != null && star.matches(segments, index + 1);
+        }
+    }
+
+    private final class Compiled {
+        private final List<String> source;
+        private final Node root;
+        private final List<String> fallback;
+        private final Map<String, Boolean> cache = new ConcurrentHashMap<>();
+
+        Compiled(List<String> source, Node root, List<String> fallback) {
+            this.source = source;
+            this.root = root;
+            this.fallback = fallback;
+        }
+
+        boolean matches(String path) {
+            // Ant only lets "/x" match "/x/" through a wildcard; leave those edge cases to it
+            if (path.length() > 1 && path.endsWith("/")) {
+                return source != null && source.stream().anyMatch(p -> antPathMatcher.match(p, path));
+            }
+            if (path.startsWith("/") && root.matches(StringUtils.tokenizeToStringArray(path, "/", false, true), 0)) {
+                return true;
+            }
+            for (String pattern : fallback) {
+                if (antPathMatcher.match(pattern, path)) return true;
+            }
+            return false;
+        }
+    }
+}
@@ -1,113 +1,109 @@
 package com.helper.gateway.filter;
 
+import com.helper.gateway.config.AppGatewayProperties;
+import com.helper.gateway.config.AppGatewayProperties.Policy;
+import com.helper.gateway.ratelimit.RateLimitDecision;
+import com.helper.gateway.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Simple in-memory rate limiter for dev/MVP.
- * Production should use Spring Cloud Gateway + Redis RequestRateLimiter.
+ * Rate limiting for every routed request.
  *
- * Rate limits:
- *   - Authenticated users: 100 requests/minute (identified by X-User-Id)
- *   - Anonymous (open endpoints): 30 requests/minute (identified by IP)
+ * Limits come from app.gateway.rate-limit (most specific wins):
+ *   - routes.<route-id>: dedicated bucket per route, e.g. tighter limits on login
+ *   - roles.<ROLE>:      per-role limits for authenticated users
+ *   - authenticated:     100/min, burst 150 (identified by X-User-Id)
+ *   - anonymous:         30/min (identified by IP)
  *
- * In production, replace with:
- *   - name: RequestRateLimiter
- *     args:
- *       redis-rate-limiter.replenishRate: 100
- *       redis-rate-limiter.burstCapacity: 150
- *       key-resolver: "#{@userKeyResolver}"
+ * The budget itself is kept by the active {@link RateLimiter}: in-memory per instance
+ * by default, or a Redis token bucket shared by all replicas when app.cache.type=redis.
+ *
+ * Runs after {@link JwtAuthGatewayFilter}, so X-User-Id / X-User-Role come from validated
+ * claims (client-supplied values are stripped there) and can't be forged to borrow someone
+ * else's budget. Rejections are counted in gateway.ratelimit.rejections{scope=user|ip|route}.
  */
 @Component
 @Slf4j
 public class RateLimitFilter implements GlobalFilter, Ordered {
 
-    private static final int AUTH_LIMIT = 100;  // per minute for authenticated users
-    private static final int ANON_LIMIT = 30;   // per minute for anonymous
-    private static final long WINDOW_MS = 60_000; // 1 minute
+    private final RateLimiter rateLimiter;
+    private final AppGatewayProperties gatewayProperties;
+    private final MeterRegistry meterRegistry;
 
-    private final Map<String, RateBucket> buckets = new ConcurrentHashMap<>();
+    public RateLimitFilter(RateLimiter rateLimiter,
+                           AppGatewayProperties gatewayProperties,
+                           MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.gatewayProperties = gatewayProperties;
+        this.meterRegistry = meterRegistry;
+    }
 
     @Override
     public int getOrder() {
-        return -150; // After logging, before JWT
+        return -90; // After JWT, so user keys come from validated claims
     }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        String userId = exchange.getRequest().getHeaders().getFirst("X-User-Id");
-        String clientIp = exchange.getRequest().getRemoteAddress() != null
-                ? exchange.getRequest().getRemoteAddress().getHostString() : "unknown";
-
-        String key;
-        int limit;
-        if (userId != null && !userId.isBlank()) {
-            key = "user:" + userId;
-            limit = AUTH_LIMIT;
-        } else {
-            key = "ip:" + clientIp;
-            limit = ANON_LIMIT;
-        }
-
-        RateBucket bucket = buckets.computeIfAbsent(key, k -> new RateBucket());
-
-        if (!bucket.tryConsume(limit)) {
-            log.warn("Rate limit exceeded for {}: {} requests/min", key, limit);
-            return tooManyRequests(exchange);
+        ServerHttpRequest request = exchange.getRequest();
+        String userId = request.getHeaders().getFirst(GatewaySignature.USER_ID);
+        String role = request.getHeaders().getFirst(GatewaySignature.USER_ROLE);
+        String clientIp = request.getRemoteAddress() != null
+                ? request.getRemoteAddress().getHostString() : "unknown";
+
+        boolean authenticated = userId != null && !userId.isBlank();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : null;
+
+        AppGatewayProperties.RateLimit config = gatewayProperties.getRateLimit();
+        Policy policy = config.resolve(routeId, role, authenticated);
+
+        String scope = authenticated ? "user" : "ip";
+        String key = authenticated ? "user:" + userId : "ip:" + clientIp;
+        if (routeId != null && config.getRoutes().containsKey(routeId)) {
+            scope = "route";
+            key = "route:" + routeId + ":" + key;
         }
+        String limitKey = key;
+        String limitScope = scope;
+
+        return rateLimiter.tryAcquire(limitKey, policy).flatMap(decision -> {
+            if (!decision.isAllowed()) {
+                meterRegistry.counter("gateway.ratelimit.rejections", "scope", limitScope).increment();
+                log.warn("Rate limit exceeded for {}: {} requests/min", limitKey, policy.getReplenishPerMinute());
+                return tooManyRequests(exchange, decision);
+            }
 
-        // Add rate limit headers
-        exchange.getResponse().getHeaders().add("X-RateLimit-Limit", String.valueOf(limit));
-        exchange.getResponse().getHeaders().add("X-RateLimit-Remaining",
-                String.valueOf(Math.max(0, limit - bucket.getCount())));
+            // Add rate limit headers
+            exchange.getResponse().getHeaders().add("X-RateLimit-Limit", String.valueOf(policy.getReplenishPerMinute()));
+            exchange.getResponse().getHeaders().add("X-RateLimit-Remaining", String.valueOf(decision.getRemaining()));
 
-        return chain.filter(exchange);
+            return chain.filter(exchange);
+        });
     }
 
-    private Mono<Void> tooManyRequests(ServerWebExchange exchange) {
+    private Mono<Void> tooManyRequests(ServerWebExchange exchange, RateLimitDecision decision) {
+        long retryAfter = decision.getRetryAfterSeconds();
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
         response.getHeaders().add("Content-Type", "application/json");
-        response.getHeaders().add("Retry-After", "60");
-        String body = "{\"success\":false,\"message\":\"Rate limit exceeded. Try again in 60 seconds.\",\"error\":\"RATE_LIMIT_EXCEEDED\"}";
+        response.getHeaders().add("Retry-After", String.valueOf(retryAfter));
+        String body = "{\"success\":false,\"message\":\"Rate limit exceeded. Try again in " + retryAfter
+                + " seconds.\",\"error\":\"RATE_LIMIT_EXCEEDED\"}";
         return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
     }
-
-    /**
-     * Simple sliding window counter.
-     */
-    private static class RateBucket {
-        private final AtomicInteger count = new AtomicInteger(0);
-        private volatile long windowStart = System.currentTimeMillis();
-
-        boolean tryConsume(int limit) {
-            long now = System.currentTimeMillis();
-            if (now - windowStart > WINDOW_MS) {
-                // Reset window
-                synchronized (this) {
-                    if (now - windowStart > WINDOW_MS) {
-                        count.set(0);
-                        windowStart = now;
-                    }
-                }
-            }
-            return count.incrementAndGet() <= limit;
-        }
-
-        int getCount() {
-            return count.get();
-        }
-    }
 }
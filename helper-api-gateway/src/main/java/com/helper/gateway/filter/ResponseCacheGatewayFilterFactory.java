@@ -0,0 +1,247 @@
+package com.helper.gateway.filter;
+
+import com.helper.gateway.cache.CachePolicy;
+import com.helper.gateway.cache.CachedResponse;
+import com.helper.gateway.cache.ResponseCacheStore;
+import com.helper.gateway.config.AppGatewayProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Route filter caching GET responses at the gateway. Enable per route with a TTL:
+ *
+ *   filters:
+ *     - ResponseCache=60s
+ *
+ * Entries are keyed by path, query string and the caller's role (X-User-Role, or anonymous),
+ * so only use it on routes whose responses don't depend on who the user is.
+ *
+ * Downstream Cache-Control is honored: no-store / no-cache / private or a Set-Cookie header
+ * means "don't cache", and s-maxage (else max-age) caps the route TTL. Only 200 responses
+ * up to response-cache.max-body-bytes are stored. A client If-None-Match matching the
+ * stored ETag is answered with 304 straight from the cache. A client Cache-Control or Pragma
+ * no-cache only skips the lookup for admins; everyone else gets the shared entry. Misses are
+ * written to the client without waiting for the store.
+ *
+ * Identical concurrent misses are coalesced: the first one goes upstream, the rest wait up
+ * to response-cache.coalesce-timeout-ms for its response and only go upstream themselves if
+ * it turned out not to be cacheable.
+ *
+ * Responses carry X-Cache: HIT | MISS | BYPASS.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final String X_CACHE = "X-Cache";
+    private static final String ANONYMOUS = "anonymous";
+    private static final String ADMIN = "ADMIN";
+    private static final List<String> STORED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL);
+
+    private final ResponseCacheStore store;
+    private final AppGatewayProperties.ResponseCache settings;
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCacheStore store,
+                                             AppGatewayProperties gatewayProperties,
+                                             MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.store = store;
+        this.settings = gatewayProperties.getResponseCache();
+        this.hits = meterRegistry.counter("gateway.response_cache", "result", "hit");
+        this.misses = meterRegistry.counter("gateway.response_cache", "result", "miss");
+        this.coalesced = meterRegistry.counter("gateway.response_cache", "result", "coalesced");
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            String key = cacheKey(request);
+            Mono<CachedResponse> lookup = adminRequestsRevalidation(request.getHeaders())
+                    ? Mono.empty()
+                    : store.get(key);
+
+            return lookup.map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(cached -> {
+                        if (cached.isPresent()) {
+                            hits.increment();
+                            return writeCached(exchange, cached.get());
+                        }
+                        return fetch(exchange, chain, config, key);
+                    });
+        };
+    }
+
+    // ===== Miss handling =====
+
+    private Mono<Void> fetch(ServerWebExchange exchange, GatewayFilterChain chain, Config config, String key) {
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+
+        if (leader != null) {
+            coalesced.increment();
+            return leader.asMono()
+                    .timeout(Duration.ofMillis(settings.getCoalesceTimeoutMs()))
+                    .map(Optional::of)
+                    .onErrorReturn(Optional.empty())
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(shared -> shared.isPresent()
+                            ? writeCached(exchange, shared.get())
+                            : forward(exchange, chain, config, key, null));
+        }
+
+        misses.increment();
+        return forward(exchange, chain, config, key, sink)
+                .doFinally(signal -> {
+                    sink.tryEmitEmpty();
+                    inFlight.remove(key, sink);
+                });
+    }
+
+    private Mono<Void> forward(ServerWebExchange exchange, GatewayFilterChain chain, Config config,
+                               String key, Sinks.One<CachedResponse> sink) {
+        ServerHttpResponseDecorator capturing = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                long ttlMs = CachePolicy.ttlMs(getStatusCode(), getHeaders(), config.getTtl());
+                if (ttlMs <= 0) {
+                    getHeaders().set(X_CACHE, "BYPASS");
+                    return super.writeWith(body);
+                }
+
+                return DataBufferUtils.join(body)
+                        .map(joined -> {
+                            byte[] bytes = new byte[joined.readableByteCount()];
+                            joined.read(bytes);
+                            DataBufferUtils.release(joined);
+                            return bytes;
+                        })
+                        .defaultIfEmpty(new byte[0])
+                        .flatMap(bytes -> {
+                            if (bytes.length <= settings.getMaxBodyBytes()) {
+                                CachedResponse cached = new CachedResponse(getStatusCode().value(),
+                                        storedHeaders(getHeaders()), bytes, System.currentTimeMillis() + ttlMs);
+                                if (sink != null) sink.tryEmitValue(cached);
+                                // Off the response path: the client never waits on the store (which logs its own failures)
+                                store.put(key, cached).subscribe();
+                            }
+                            getHeaders().set(X_CACHE, "MISS");
+                            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                        });
+            }
+        };
+        return chain.filter(exchange.mutate().response(capturing).build());
+    }
+
+    // ===== Hit handling =====
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.getHeaders().forEach(headers::put);
+        headers.set(X_CACHE, "HIT");
+
+        String etag = cached.etag();
+        if (etag != null && etagMatches(exchange.getRequest().getHeaders(), etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatusCode.valueOf(cached.getStatus()));
+        headers.setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    // ===== Helpers =====
+
+    private String cacheKey(ServerHttpRequest request) {
+        String role = request.getHeaders().getFirst(GatewaySignature.USER_ROLE);
+        String query = request.getURI().getRawQuery();
+        return request.getURI().getRawPath()
+                + (query != null ? "?" + query : "")
+                + "|" + (role != null && !role.isBlank() ? role : ANONYMOUS);
+    }
+
+    // Only admins may skip the lookup: browsers send no-cache on every reload, and honoring it
+    // for everyone would let any client bypass the shared cache and stampede the backend
+    private boolean adminRequestsRevalidation(HttpHeaders headers) {
+        if (!ADMIN.equals(headers.getFirst(GatewaySignature.USER_ROLE))) return false;
+        String cacheControl = headers.getCacheControl();
+        return (cacheControl != null && cacheControl.toLowerCase().contains("no-cache"))
+                || "no-cache".equalsIgnoreCase(headers.getPragma());
+    }
+
+    private static Map<String, List<String>> storedHeaders(HttpHeaders headers) {
+        Map<String, List<String>> stored = new LinkedHashMap<>();
+        for (String name : STORED_HEADERS) {
+            List<String> values = headers.get(name);
+            if (values != null && !values.isEmpty()) stored.put(name, List.copyOf(values));
+        }
+        return stored;
+    }
+
+    private static boolean etagMatches(HttpHeaders requestHeaders, String etag) {
+        List<String> ifNoneMatch;
+        try {
+            ifNoneMatch = requestHeaders.getIfNoneMatch();
+        } catch (IllegalArgumentException e) {
+            return false; // malformed header: treat as unconditional
+        }
+        String target = stripWeak(etag);
+        for (String candidate : ifNoneMatch) {
+            if (candidate.equals("*") || stripWeak(candidate).equals(target)) return true;
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    @Data
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+}
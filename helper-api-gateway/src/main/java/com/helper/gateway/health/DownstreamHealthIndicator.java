@@ -0,0 +1,42 @@
+package com.helper.gateway.health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Adds the poller's snapshot to /actuator/health as the "downstreamServices" component.
+ *
+ * It stays UP while any downstream is down: the gateway itself can still serve the other
+ * routes and fallbacks, and a DOWN here would make load balancers pull every gateway
+ * instance at once. Per-service status, latency and check time are in the details.
+ */
+@Component("downstreamServices")
+public class DownstreamHealthIndicator implements HealthIndicator {
+
+    private final DownstreamHealthPoller poller;
+
+    public DownstreamHealthIndicator(DownstreamHealthPoller poller) {
+        this.poller = poller;
+    }
+
+    @Override
+    public Health health() {
+        Map<String, ServiceHealth> snapshot = poller.snapshot();
+        long up = snapshot.values().stream().filter(ServiceHealth::isUp).count();
+
+        Health.Builder builder = Health.up().withDetail("healthy", up + "/" + snapshot.size());
+        snapshot.forEach((name, service) -> {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("status", service.getStatus());
+            details.put("latencyMs", service.getLatencyMs());
+            if (service.getCheckedAt() != null) details.put("checkedAt", service.getCheckedAt().toString());
+            if (service.getError() != null) details.put("error", service.getError());
+            builder.withDetail(name, details);
+        });
+        return builder.build();
+    }
+}
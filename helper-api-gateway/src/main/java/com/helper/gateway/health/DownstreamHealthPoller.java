@@ -0,0 +1,156 @@
+package com.helper.gateway.health;
+
+import com.helper.gateway.config.AppGatewayProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls every downstream service's /actuator/health in the background, all services
+ * concurrently, every health-poller.interval-ms. Readers get the last snapshot without any
+ * network call, so health endpoints cost the same no matter how often load balancers probe.
+ *
+ * A poll still running when the next tick comes is not overlapped; the tick is skipped.
+ * Services report UNKNOWN until their first check completes.
+ *
+ * Metrics: gateway.downstream.health.latency{service} (timer), gateway.downstream.health.up{service}.
+ */
+@Component
+@Slf4j
+public class DownstreamHealthPoller {
+
+    private final Map<String, String> services;
+    private final HealthProbe probe;
+    private final AppGatewayProperties.HealthPoller settings;
+    private final Map<String, ServiceHealth> snapshot = new ConcurrentHashMap<>();
+    private final Map<String, Timer> latency = new LinkedHashMap<>();
+
+    private Disposable polling;
+
+    /**
+     * @param services display name → base URL, in the order they should be reported
+     */
+    public DownstreamHealthPoller(Map<String, String> services,
+                                  HealthProbe probe,
+                                  AppGatewayProperties gatewayProperties,
+                                  MeterRegistry meterRegistry) {
+        this.services = new LinkedHashMap<>(services);
+        this.probe = probe;
+        this.settings = gatewayProperties.getHealthPoller();
+
+        for (String name : this.services.keySet()) {
+            snapshot.put(name, ServiceHealth.unknown());
+            String tag = name.split(" ")[0];
+            latency.put(name, Timer.builder("gateway.downstream.health.latency")
+                    .tag("service", tag).register(meterRegistry));
+            Gauge.builder("gateway.downstream.health.up", snapshot, s -> s.get(name).isUp() ? 1 : 0)
+                    .tag("service", tag).strongReference(true).register(meterRegistry);
+        }
+    }
+
+    @Autowired
+    public DownstreamHealthPoller(HealthProbe probe,
+                                  AppGatewayProperties gatewayProperties,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${AUTH_SERVICE_URL:http://localhost:8081}") String authUrl,
+                                  @Value("${TASK_SERVICE_URL:http://localhost:8082}") String taskUrl,
+                                  @Value("${USER_SERVICE_URL:http://localhost:8083}") String userUrl,
+                                  @Value("${PAYMENT_SERVICE_URL:http://localhost:8084}") String paymentUrl,
+                                  @Value("${RATING_SERVICE_URL:http://localhost:8085}") String ratingUrl,
+                                  @Value("${NOTIFICATION_SERVICE_URL:http://localhost:8086}") String notificationUrl) {
+        this(orderedServices(authUrl, taskUrl, userUrl, paymentUrl, ratingUrl, notificationUrl),
+                probe, gatewayProperties, meterRegistry);
+    }
+
+    private static Map<String, String> orderedServices(String auth, String task, String user,
+                                                       String payment, String rating, String notification) {
+        Map<String, String> services = new LinkedHashMap<>();
+        services.put("auth-service (8081)", auth);
+        services.put("task-service (8082)", task);
+        services.put("user-service (8083)", user);
+        services.put("payment-service (8084)", payment);
+        services.put("rating-service (8085)", rating);
+        services.put("notification-service (8086)", notification);
+        return services;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!settings.isEnabled()) return;
+        polling = Flux.interval(Duration.ZERO, Duration.ofMillis(settings.getIntervalMs()))
+                .onBackpressureDrop()
+                .concatMap(tick -> pollAll(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (polling != null) polling.dispose();
+    }
+
+    /**
+     * Check every service concurrently and update the snapshot; completes when all are done.
+     */
+    public Mono<Void> pollAll() {
+        Duration timeout = Duration.ofMillis(settings.getTimeoutMs());
+        return Flux.fromIterable(services.entrySet())
+                .flatMap(service -> poll(service.getKey(), service.getValue(), timeout))
+                .then();
+    }
+
+    private Mono<Void> poll(String name, String baseUrl, Duration timeout) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return probe.check(baseUrl, timeout)
+                    .timeout(timeout)
+                    .then(Mono.fromRunnable(() -> record(name, start, null)))
+                    .onErrorResume(e -> Mono.fromRunnable(() -> record(name, start, e)))
+                    .then();
+        });
+    }
+
+    private void record(String name, long startNanos, Throwable error) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        latency.get(name).record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        ServiceHealth previous = snapshot.get(name);
+        ServiceHealth current = new ServiceHealth(error == null ? ServiceHealth.UP : ServiceHealth.DOWN,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), LocalDateTime.now(),
+                error == null ? null : error.getClass().getSimpleName());
+        snapshot.put(name, current);
+
+        if (previous.isUp() && !current.isUp()) {
+            log.warn("Downstream {} is DOWN ({})", name, current.getError());
+        } else if (!previous.isUp() && current.isUp() && !ServiceHealth.UNKNOWN.equals(previous.getStatus())) {
+            log.info("Downstream {} is back UP", name);
+        }
+    }
+
+    /**
+     * Latest known health per service, in reporting order.
+     */
+    public Map<String, ServiceHealth> snapshot() {
+        Map<String, ServiceHealth> ordered = new LinkedHashMap<>();
+        for (String name : services.keySet()) {
+            ordered.put(name, snapshot.get(name));
+        }
+        return Collections.unmodifiableMap(ordered);
+    }
+}
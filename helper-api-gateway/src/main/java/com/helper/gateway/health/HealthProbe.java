@@ -0,0 +1,13 @@
+package com.helper.gateway.health;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * One liveness check against a downstream service: completes if it is up, errors otherwise.
+ */
+public interface HealthProbe {
+
+    Mono<Void> check(String baseUrl, Duration timeout);
+}
@@ -0,0 +1,31 @@
+package com.helper.gateway.health;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Result of the latest poll of one downstream service.
+ */
+@Getter
+@AllArgsConstructor
+public class ServiceHealth {
+
+    public static final String UP = "UP";
+    public static final String DOWN = "DOWN";
+    public static final String UNKNOWN = "UNKNOWN";
+
+    private String status;
+    private long latencyMs;
+    private LocalDateTime checkedAt;
+    private String error;
+
+    public static ServiceHealth unknown() {
+        return new ServiceHealth(UNKNOWN, 0, null, null);
+    }
+
+    public boolean isUp() {
+        return UP.equals(status);
+    }
+}
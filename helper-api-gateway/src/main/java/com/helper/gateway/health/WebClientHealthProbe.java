@@ -0,0 +1,31 @@
+package com.helper.gateway.health;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Probes {baseUrl}/actuator/health with one shared WebClient. Only the status matters:
+ * the body is discarded unread, and a non-2xx status (actuator answers 503 when DOWN) is an error.
+ */
+@Component
+public class WebClientHealthProbe implements HealthProbe {
+
+    private final WebClient webClient;
+
+    public WebClientHealthProbe(WebClient.Builder webClientBuilder) {
+        this.webClient = webClientBuilder.build();
+    }
+
+    @Override
+    public Mono<Void> check(String baseUrl, Duration timeout) {
+        return webClient.get()
+                .uri(baseUrl + "/actuator/health")
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(timeout)
+                .then();
+    }
+}
@@ -0,0 +1,19 @@
+package com.helper.gateway.logging;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One completed request, captured on the event loop and formatted later by {@link AccessLogWriter}.
+ */
+@Getter
+@AllArgsConstructor
+public class AccessLogEntry {
+    private final String requestId;
+    private final String method;
+    private final String path;
+    private final String routeId;
+    private final int status;
+    private final long durationMs;
+    private final String clientIp;
+}
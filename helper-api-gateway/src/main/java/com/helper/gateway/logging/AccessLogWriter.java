@@ -0,0 +1,126 @@
+package com.helper.gateway.logging;
+
+import com.helper.gateway.config.AppGatewayProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Off-loop access logging. The request filter hands finished requests to {@link #submit},
+ * which only decides whether to keep the entry and pushes it into a lock-free ring; a
+ * single daemon thread drains the ring and does the formatting and appender I/O, so a slow
+ * log sink never stalls a Netty event loop.
+ *
+ * Errors (status >= 400 or no status), and requests slower than slow-threshold-ms are
+ * always logged; everything else is sampled at sample-rate. If the writer falls behind and
+ * the ring fills up, entries are dropped and counted in gateway.access_log.dropped.
+ *
+ * Lines go to the "com.helper.gateway.access" logger as key=value pairs.
+ */
+@Component
+@Slf4j(topic = "com.helper.gateway.access")
+public class AccessLogWriter {
+
+    // Producers unpark the writer when it is idle; the timeout is only a backstop
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AppGatewayProperties.AccessLog config;
+    private final AccessLogRing<AccessLogEntry> ring;
+    private final Counter dropped;
+    private final Counter sampledOut;
+
+    private volatile boolean running = true;
+    // Set by the writer before it parks on an empty ring
+    private volatile boolean idle;
+    private volatile Thread writerThread;
+
+    public AccessLogWriter(AppGatewayProperties gatewayProperties, MeterRegistry meterRegistry) {
+        this.config = gatewayProperties.getAccessLog();
+        this.ring = new AccessLogRing<>(config.getBufferSize());
+        this.dropped = meterRegistry.counter("gateway.access_log.dropped");
+        this.sampledOut = meterRegistry.counter("gateway.access_log.sampled_out");
+    }
+
+    @PostConstruct
+    public void start() {
+        writerThread = new Thread(this::drainLoop, "access-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(2));
+    }
+
+    /**
+     * Called on the event loop once the response is complete. Never blocks.
+     */
+    public void submit(AccessLogEntry entry) {
+        if (!config.isEnabled()) return;
+        if (!shouldLog(entry)) {
+            sampledOut.increment();
+            return;
+        }
+        if (!ring.offer(entry)) {
+            dropped.increment();
+        } else if (idle) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    boolean shouldLog(AccessLogEntry entry) {
+        if (entry.getStatus() >= 400 || entry.getStatus() == 0) return true;
+        if (entry.getDurationMs() >= config.getSlowThresholdMs()) return true;
+        double rate = config.getSampleRate();
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    // ===== Writer thread =====
+
+    private void drainLoop() {
+        while (running) {
+            if (!drain()) {
+                // Announce idle, then re-check: an entry offered before the producer saw the
+                // flag is found here, and one offered after it comes with an unpark
+                idle = true;
+                if (ring.isEmpty() && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+            }
+        }
+        drain();
+    }
+
+    private boolean drain() {
+        boolean wrote = false;
+        AccessLogEntry entry;
+        while ((entry = ring.poll()) != null) {
+            write(entry);
+            wrote = true;
+        }
+        return wrote;
+    }
+
+    private void write(AccessLogEntry e) {
+        if (e.getStatus() >= 500 || e.getStatus() == 0) {
+            log.warn("requestId={} method={} path={} route={} status={} durationMs={} ip={}",
+                    e.getRequestId(), e.getMethod(), e.getPath(), e.getRouteId(),
+                    e.getStatus(), e.getDurationMs(), e.getClientIp());
+        } else {
+            log.info("requestId={} method={} path={} route={} status={} durationMs={} ip={}",
+                    e.getRequestId(), e.getMethod(), e.getPath(), e.getRouteId(),
+                    e.getStatus(), e.getDurationMs(), e.getClientIp());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.helper.gateway.ratelimit;
+
+import com.helper.gateway.config.AppGatewayProperties;
+import com.helper.gateway.config.AppGatewayProperties.Policy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-instance limiter for dev/single-node deployments, using GCRA (generic cell rate
+ * algorithm): each key stores a single "theoretical arrival time" (TAT). This behaves like
+ * a token bucket with replenishPerMinute / burstCapacity — no 2x bursts at window edges —
+ * and needs one long per key.
+ *
+ * The store is bounded: keys are split over {@link #SHARDS} access-ordered maps, each capped
+ * at rate-limit.max-keys / SHARDS entries. A key whose TAT has passed has a full bucket again,
+ * so dropping it changes nothing; such idle keys are swept from the LRU end on every write.
+ * Only when a shard is full of active keys is its least recently used key evicted
+ * (counted in gateway.ratelimit.evictions).
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.type", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private static final int SHARDS = 16;
+    private static final int MAX_SWEEP = 8;
+
+    private final Clock clock;
+    private final Shard[] shards = new Shard[SHARDS];
+    private final Counter evictions;
+
+    @Autowired
+    public InMemoryRateLimiter(AppGatewayProperties gatewayProperties, MeterRegistry meterRegistry) {
+        this(gatewayProperties, meterRegistry, Clock.systemUTC());
+    }
+
+    public InMemoryRateLimiter(AppGatewayProperties gatewayProperties, MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+        int perShard = Math.max(1, gatewayProperties.getRateLimit().getMaxKeys() / SHARDS);
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard(perShard);
+        }
+        meterRegistry.gauge("gateway.ratelimit.active_keys", this, InMemoryRateLimiter::activeKeys);
+        this.evictions = meterRegistry.counter("gateway.ratelimit.evictions");
+    }
+
+    @Override
+    public Mono<RateLimitDecision> tryAcquire(String key, Policy policy) {
+        long now = clock.millis();
+        // Interval between requests at the sustained rate, and how far TAT may run ahead of now
+        double interval = 60_000.0 / policy.getReplenishPerMinute();
+        double burstWindow = interval * policy.getBurstCapacity();
+
+        Shard shard = shards[Math.floorMod(key.hashCode(), SHARDS)];
+        synchronized (shard) {
+            Long stored = shard.tats.get(key);
+            double tat = stored != null ? Math.max(stored, now) : now;
+            double newTat = tat + interval;
+            double allowAt = newTat - burstWindow;
+
+            if (now < allowAt) {
+                return Mono.just(RateLimitDecision.rejected((long) Math.ceil((allowAt - now) / 1000.0)));
+            }
+
+            shard.tats.put(key, (long) Math.ceil(newTat));
+            shard.sweep(now);
+            return Mono.just(RateLimitDecision.allowed((long) Math.floor((now - allowAt) / interval)));
+        }
+    }
+
+    public int activeKeys() {
+        int total = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                total += shard.tats.size();
+            }
+        }
+        return total;
+    }
+
+    private class Shard {
+        private final int capacity;
+        private final LinkedHashMap<String, Long> tats;
+
+        Shard(int capacity) {
+            this.capacity = capacity;
+            this.tats = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    if (size() > Shard.this.capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        // Drop keys whose bucket has fully refilled, least recently used first
+        void sweep(long now) {
+            Iterator<Long> it = tats.values().iterator();
+            for (int i = 0; i < MAX_SWEEP && it.hasNext(); i++) {
+                if (it.next() > now) break;
+                it.remove();
+            }
+        }
+    }
+}
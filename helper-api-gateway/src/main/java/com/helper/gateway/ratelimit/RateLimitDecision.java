@@ -0,0 +1,21 @@
+package com.helper.gateway.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RateLimitDecision {
+    private final boolean allowed;
+    private final long remaining;
+    // Seconds until the request would be admitted; 0 when allowed
+    private final long retryAfterSeconds;
+
+    public static RateLimitDecision allowed(long remaining) {
+        return new RateLimitDecision(true, Math.max(0, remaining), 0);
+    }
+
+    public static RateLimitDecision rejected(long retryAfterSeconds) {
+        return new RateLimitDecision(false, 0, Math.max(1, retryAfterSeconds));
+    }
+}
@@ -0,0 +1,19 @@
+package com.helper.gateway.ratelimit;
+
+import com.helper.gateway.config.AppGatewayProperties.Policy;
+import reactor.core.publisher.Mono;
+
+/**
+ * Backing store for {@link com.helper.gateway.filter.RateLimitFilter}.
+ *
+ * Exactly one implementation is active, selected by app.cache.type:
+ *   in-memory (default) → {@link InMemoryRateLimiter}, limits are per gateway instance
+ *   redis               → {@link RedisTokenBucketRateLimiter}, limits are shared by all replicas
+ */
+public interface RateLimiter {
+
+    /**
+     * Try to take one request's worth of budget for the key.
+     */
+    Mono<RateLimitDecision> tryAcquire(String key, Policy policy);
+}
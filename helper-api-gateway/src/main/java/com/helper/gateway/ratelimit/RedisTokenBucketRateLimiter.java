@@ -0,0 +1,141 @@
+package com.helper.gateway.ratelimit;
+
+import com.helper.gateway.config.AppGatewayProperties;
+import com.helper.gateway.config.AppGatewayProperties.NearCache;
+import com.helper.gateway.config.AppGatewayProperties.Policy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Distributed token-bucket limiter: the bucket for each key lives in Redis and is shared
+ * by every gateway replica, so limits no longer multiply with the replica count.
+ *
+ * A near-cache skips the Redis round trip for keys that are clearly under their limit.
+ * After each Redis answer the remaining token count is remembered locally; while that
+ * snapshot is fresher than near-cache.ttl-ms and still leaves threshold × burst tokens,
+ * requests are admitted locally and recorded as debt, which the next Redis call charges
+ * before taking its own token. Over-admission is therefore bounded by
+ * (1 − threshold) × burst per replica per TTL, and keys near their limit always hit Redis.
+ *
+ * Redis failures fail open: the request is let through and the debt is kept for the next call.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.type", havingValue = "redis")
+@Slf4j
+public class RedisTokenBucketRateLimiter implements RateLimiter {
+
+    private final TokenBucketStore store;
+    private final NearCache nearCacheConfig;
+    private final Map<String, NearEntry> nearCache = new ConcurrentHashMap<>();
+
+    private final Counter localHits;
+    private final Counter remoteCalls;
+    private final Counter remoteErrors;
+
+    public RedisTokenBucketRateLimiter(TokenBucketStore store,
+                                       AppGatewayProperties gatewayProperties,
+                                       MeterRegistry meterRegistry) {
+        this.store = store;
+        this.nearCacheConfig = gatewayProperties.getRateLimit().getNearCache();
+
+        meterRegistry.gaugeMapSize("gateway.ratelimit.near_cache.size", List.of(), nearCache);
+        this.localHits = meterRegistry.counter("gateway.ratelimit.near_cache.hits");
+        this.remoteCalls = meterRegistry.counter("gateway.ratelimit.redis.calls");
+        this.remoteErrors = meterRegistry.counter("gateway.ratelimit.redis.errors");
+    }
+
+    @Override
+    public Mono<RateLimitDecision> tryAcquire(String key, Policy policy) {
+        long now = System.currentTimeMillis();
+
+        NearEntry entry = nearCacheConfig.isEnabled() ? nearCache.get(key) : null;
+        if (entry != null) {
+            long remaining = entry.tryConsumeLocally(now, nearCacheConfig.getTtlMs(), localFloor(policy));
+            if (remaining >= 0) {
+                localHits.increment();
+                return Mono.just(RateLimitDecision.allowed(remaining));
+            }
+        }
+
+        long debt = entry != null ? entry.drainPending() : 0;
+        remoteCalls.increment();
+        return store.consume(key, policy, debt)
+                .doOnNext(decision -> remember(key, entry, decision, now))
+                .onErrorResume(ex -> {
+                    remoteErrors.increment();
+                    if (entry != null) entry.addPending(debt);
+                    log.warn("Rate limit store unavailable for {}, allowing request: {}", key, ex.getMessage());
+                    return Mono.empty();
+                })
+                .defaultIfEmpty(RateLimitDecision.allowed(0));
+    }
+
+    // ===== Private Helpers =====
+
+    /**
+     * Lowest local token estimate at which requests are still admitted without Redis.
+     */
+    private long localFloor(Policy policy) {
+        return Math.max(1, (long) Math.ceil(policy.getBurstCapacity() * nearCacheConfig.getThreshold()));
+    }
+
+    private void remember(String key, NearEntry existing, RateLimitDecision decision, long now) {
+        if (!nearCacheConfig.isEnabled()) return;
+
+        NearEntry entry = existing;
+        if (entry == null) {
+            if (nearCache.size() >= nearCacheConfig.getMaxSize()) {
+                long ttlMs = nearCacheConfig.getTtlMs();
+                nearCache.values().removeIf(e -> e.isStale(now, ttlMs));
+                if (nearCache.size() >= nearCacheConfig.getMaxSize()) return;
+            }
+            entry = nearCache.computeIfAbsent(key, k -> new NearEntry());
+        }
+        entry.sync(decision.getRemaining(), now);
+    }
+
+    private static final class NearEntry {
+        private long remaining;
+        private long syncedAt;
+        // Requests admitted locally since the last Redis call
+        private long pending;
+
+        /**
+         * @return tokens left after the local admit, or -1 if Redis must be asked
+         */
+        synchronized long tryConsumeLocally(long now, long ttlMs, long floor) {
+            if (now - syncedAt > ttlMs || remaining - 1 < floor) return -1;
+            remaining--;
+            pending++;
+            return remaining;
+        }
+
+        synchronized long drainPending() {
+            long p = pending;
+            pending = 0;
+            return p;
+        }
+
+        synchronized void addPending(long n) {
+            pending += n;
+        }
+
+        // Requests admitted locally while the Redis call was in flight are not in its answer yet
+        synchronized void sync(long remoteRemaining, long now) {
+            remaining = remoteRemaining - pending;
+            syncedAt = now;
+        }
+
+        synchronized boolean isStale(long now, long ttlMs) {
+            return now - syncedAt > ttlMs;
+        }
+    }
+}
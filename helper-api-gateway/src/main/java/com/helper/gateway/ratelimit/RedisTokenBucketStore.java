@@ -0,0 +1,50 @@
+package com.helper.gateway.ratelimit;
+
+import com.helper.gateway.config.AppGatewayProperties.Policy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Runs scripts/token-bucket.lua so refill + debt + take happen in one atomic Redis call.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.type", havingValue = "redis")
+public class RedisTokenBucketStore implements TokenBucketStore {
+
+    private static final String KEY_PREFIX = "gateway:rate-limit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/token-bucket.lua"), List.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public RedisTokenBucketStore(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Mono<RateLimitDecision> consume(String key, Policy policy, long debt) {
+        List<String> args = List.of(
+                String.valueOf(policy.getBurstCapacity()),
+                String.valueOf(policy.getReplenishPerMinute()),
+                String.valueOf(debt));
+
+        return redisTemplate.execute(SCRIPT, List.of(KEY_PREFIX + key), args)
+                .next()
+                .map(result -> {
+                    boolean allowed = ((Number) result.get(0)).longValue() == 1;
+                    long remaining = ((Number) result.get(1)).longValue();
+                    long retryAfterMs = ((Number) result.get(2)).longValue();
+                    return allowed
+                            ? RateLimitDecision.allowed(remaining)
+                            : RateLimitDecision.rejected((retryAfterMs + 999) / 1000);
+                });
+    }
+}
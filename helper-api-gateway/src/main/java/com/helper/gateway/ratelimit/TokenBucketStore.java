@@ -0,0 +1,16 @@
+package com.helper.gateway.ratelimit;
+
+import com.helper.gateway.config.AppGatewayProperties.Policy;
+import reactor.core.publisher.Mono;
+
+/**
+ * Shared token-bucket state behind {@link RedisTokenBucketRateLimiter}.
+ */
+public interface TokenBucketStore {
+
+    /**
+     * Refill the bucket, charge `debt` requests that were already admitted locally,
+     * then try to take one token for the current request — all as one atomic step.
+     */
+    Mono<RateLimitDecision> consume(String key, Policy policy, long debt);
+}
@@ -0,0 +1,68 @@
+package com.helper.gateway.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of in-flight calls through one route. Calls over the limit are not
+ * queued: they get the "full" result immediately, so a slow downstream can hold at most
+ * maxConcurrent gateway connections and event-loop work instead of all of them.
+ *
+ * Metrics: gateway.bulkhead.active{route}, gateway.bulkhead.max{route},
+ * gateway.bulkhead.rejections{route}.
+ */
+public class RouteBulkhead {
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final Counter rejections;
+    private volatile int maxConcurrent;
+
+    public RouteBulkhead(String name, int maxConcurrent, MeterRegistry meterRegistry) {
+        this.maxConcurrent = maxConcurrent;
+        Gauge.builder("gateway.bulkhead.active", active, AtomicInteger::get)
+                .tag("route", name).strongReference(true).register(meterRegistry);
+        Gauge.builder("gateway.bulkhead.max", this, RouteBulkhead::getMaxConcurrent)
+                .tag("route", name).strongReference(true).register(meterRegistry);
+        this.rejections = meterRegistry.counter("gateway.bulkhead.rejections", "route", name);
+    }
+
+    /**
+     * Subscribe to call if a permit is free (released when it completes, fails or is
+     * cancelled), otherwise to whenFull.
+     */
+    public <T> Mono<T> run(Supplier<Mono<T>> call, Supplier<Mono<T>> whenFull) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                rejections.increment();
+                return whenFull.get();
+            }
+            return Mono.defer(call).doFinally(signal -> active.decrementAndGet());
+        });
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    // Route definitions can be refreshed at runtime; the permits in flight carry over
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = active.get();
+            if (current >= maxConcurrent) return false;
+            if (active.compareAndSet(current, current + 1)) return true;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+-- Token bucket, evaluated atomically by RedisTokenBucketStore.
+--
+-- KEYS[1]  bucket hash {tokens, ts}
+-- ARGV[1]  burst capacity
+-- ARGV[2]  replenish rate (tokens per minute)
+-- ARGV[3]  debt: requests already admitted by a gateway near-cache, charged unconditionally
+--
+-- Returns {allowed (0|1), remaining tokens, retry-after ms}
+
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2]) / 60000
+local debt = tonumber(ARGV[3])
+
+-- Redis server clock, so replicas with skewed clocks still share one timeline
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+tokens = math.max(0, tokens - debt)
+
+local allowed = 0
+local retry_ms = 0
+if tokens >= 1 then
+    tokens = tokens - 1
+    allowed = 1
+else
+    retry_ms = math.ceil((1 - tokens) / rate)
+end
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+-- Idle buckets expire once they would have refilled completely
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate) + 1000)
+
+return { allowed, math.floor(tokens), retry_ms }
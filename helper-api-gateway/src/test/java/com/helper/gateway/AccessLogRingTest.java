@@ -0,0 +1,83 @@
+package com.helper.gateway;
+
+import com.helper.gateway.logging.AccessLogRing;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the lock-free ring buffer behind the async access log.
+ */
+class AccessLogRingTest {
+
+    @Test
+    @DisplayName("Capacity rounds up to a power of two")
+    void testCapacity() {
+        assertEquals(8, new AccessLogRing<String>(5).capacity());
+        assertEquals(8192, new AccessLogRing<String>(8192).capacity());
+    }
+
+    @Test
+    @DisplayName("FIFO order, empty poll and isEmpty")
+    void testFifo() {
+        AccessLogRing<Integer> ring = new AccessLogRing<>(4);
+        assertTrue(ring.isEmpty());
+        assertNull(ring.poll());
+        for (int i = 0; i < 3; i++) assertTrue(ring.offer(i));
+        assertFalse(ring.isEmpty());
+        assertEquals(0, ring.poll());
+        assertEquals(1, ring.poll());
+        assertEquals(2, ring.poll());
+        assertTrue(ring.isEmpty());
+        assertNull(ring.poll());
+    }
+
+    @Test
+    @DisplayName("Full ring rejects instead of blocking, and frees slots after poll")
+    void testFull() {
+        AccessLogRing<Integer> ring = new AccessLogRing<>(4);
+        for (int i = 0; i < 4; i++) assertTrue(ring.offer(i));
+        assertFalse(ring.offer(4));
+        assertEquals(0, ring.poll());
+        assertTrue(ring.offer(4));
+    }
+
+    @Test
+    @DisplayName("Concurrent producers: nothing lost or duplicated")
+    void testConcurrentProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        AccessLogRing<Integer> ring = new AccessLogRing<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads[p] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(base + i)) Thread.onSpinWait();
+                }
+            });
+            threads[p].start();
+        }
+
+        start.countDown();
+        Set<Integer> seen = new HashSet<>();
+        while (seen.size() < producers * perProducer) {
+            Integer item = ring.poll();
+            if (item != null) assertTrue(seen.add(item), "duplicate " + item);
+        }
+        for (Thread t : threads) t.join();
+        assertNull(ring.poll());
+    }
+}
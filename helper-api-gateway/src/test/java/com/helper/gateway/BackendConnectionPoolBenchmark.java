@@ -0,0 +1,90 @@
+package com.helper.gateway;
+
+import com.helper.gateway.config.AppGatewayProperties;
+import com.helper.gateway.config.BackendHttpClientConfig;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of the backend HttpClient (BackendHttpClientConfig) with 5,000 concurrent
+ * requests against a local stub backend with 20 ms of latency, for a few pool settings.
+ * Not run by the build; start it from the IDE or with
+ *   java -cp target/test-classes:target/classes:<deps> com.helper.gateway.BackendConnectionPoolBenchmark
+ */
+public class BackendConnectionPoolBenchmark {
+
+    private static final int CONCURRENCY = 5_000;
+    private static final int REQUESTS = 50_000;
+    private static final Duration LATENCY = Duration.ofMillis(20);
+    private static final String BODY = "{\"success\":true,\"data\":[]}";
+
+    public static void main(String[] args) {
+        DisposableServer backend = HttpServer.create()
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .route(routes -> routes.get("/api/v1/tasks",
+                        (request, response) -> response.sendString(Mono.just(BODY).delayElement(LATENCY))))
+                .bindNow();
+        String url = "http://localhost:" + backend.port() + "/api/v1/tasks";
+        System.out.printf("Stub backend %s, %d ms latency; %d requests, %d concurrent%n",
+                url, LATENCY.toMillis(), REQUESTS, CONCURRENCY);
+
+        try {
+            run("pool 50, queue 1000 (too small)", url, settings(50, 1000, false));
+            run("pool 500, queue 5000", url, settings(500, 5000, false));
+            run("pool 5000, unbounded queue", url, settings(5000, -1, false));
+            run("pool 500, queue 5000, h2c", url, settings(500, 5000, true));
+        } finally {
+            backend.disposeNow();
+        }
+    }
+
+    private static AppGatewayProperties.HttpClient settings(int maxConnections, int pendingAcquireMax, boolean h2c) {
+        AppGatewayProperties.HttpClient settings = new AppGatewayProperties.HttpClient();
+        settings.getPool().setMaxConnections(maxConnections);
+        settings.getPool().setPendingAcquireMaxCount(pendingAcquireMax);
+        settings.getPool().setPendingAcquireTimeoutMs(10_000);
+        settings.setH2c(h2c);
+        return settings;
+    }
+
+    private static void run(String name, String url, AppGatewayProperties.HttpClient settings) {
+        ConnectionProvider provider = BackendHttpClientConfig.buildConnectionProvider(settings);
+        HttpClient client = BackendHttpClientConfig.buildHttpClient(provider, settings);
+        try {
+            // Warm up: open connections, JIT
+            load(client, url, CONCURRENCY, new AtomicLong());
+
+            AtomicLong errors = new AtomicLong();
+            long start = System.nanoTime();
+            long ok = load(client, url, REQUESTS, errors);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%-34s %8.0f req/s   ok=%d errors=%d%n", name, ok / seconds, ok, errors.get());
+        } finally {
+            provider.disposeLater().block(Duration.ofSeconds(10));
+        }
+    }
+
+    private static long load(HttpClient client, String url, int requests, AtomicLong errors) {
+        Long ok = Flux.range(0, requests)
+                .flatMap(i -> client.get().uri(url)
+                        .responseContent().aggregate().asString()
+                        .map(body -> 1L)
+                        .onErrorResume(e -> {
+                            errors.incrementAndGet();
+                            return Mono.empty();
+                        }), CONCURRENCY)
+                .count()
+                .block(Duration.ofMinutes(5));
+        return ok != null ? ok : 0;
+    }
+}
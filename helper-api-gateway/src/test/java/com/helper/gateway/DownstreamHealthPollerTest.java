@@ -0,0 +1,121 @@
+package com.helper.gateway;
+
+import com.helper.gateway.config.AppGatewayProperties;
+import com.helper.gateway.health.DownstreamHealthPoller;
+import com.helper.gateway.health.HealthProbe;
+import com.helper.gateway.health.ServiceHealth;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the background downstream health poller against a stand-in probe.
+ */
+class DownstreamHealthPollerTest {
+
+    private StandInProbe probe;
+    private SimpleMeterRegistry registry;
+    private AppGatewayProperties properties;
+    private DownstreamHealthPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        probe = new StandInProbe();
+        registry = new SimpleMeterRegistry();
+        properties = new AppGatewayProperties();
+        properties.getHealthPoller().setTimeoutMs(200);
+
+        Map<String, String> services = new LinkedHashMap<>();
+        services.put("auth-service (8081)", "http://auth");
+        services.put("task-service (8082)", "http://task");
+        services.put("payment-service (8084)", "http://payment");
+        poller = new DownstreamHealthPoller(services, probe, properties, registry);
+    }
+
+    @Test
+    @DisplayName("Services are UNKNOWN until polled, in reporting order")
+    void testInitialSnapshot() {
+        Map<String, ServiceHealth> snapshot = poller.snapshot();
+        assertEquals(List.of("auth-service (8081)", "task-service (8082)", "payment-service (8084)"),
+                List.copyOf(snapshot.keySet()));
+        assertTrue(snapshot.values().stream().allMatch(s -> ServiceHealth.UNKNOWN.equals(s.getStatus())));
+        assertEquals(0, probe.calls.get());
+    }
+
+    @Test
+    @DisplayName("A poll marks failing and hanging services DOWN, the rest UP")
+    void testPollAll() {
+        probe.down.add("http://task");
+        probe.hanging.add("http://payment");
+
+        poller.pollAll().block(Duration.ofSeconds(5));
+        Map<String, ServiceHealth> snapshot = poller.snapshot();
+
+        assertEquals(ServiceHealth.UP, snapshot.get("auth-service (8081)").getStatus());
+        assertEquals(ServiceHealth.DOWN, snapshot.get("task-service (8082)").getStatus());
+        assertEquals("IOException", snapshot.get("task-service (8082)").getError());
+        assertEquals(ServiceHealth.DOWN, snapshot.get("payment-service (8084)").getStatus());
+        assertEquals("TimeoutException", snapshot.get("payment-service (8084)").getError());
+        assertNotNull(snapshot.get("auth-service (8081)").getCheckedAt());
+    }
+
+    @Test
+    @DisplayName("Services are checked concurrently, so a poll takes about one timeout")
+    void testConcurrentChecks() {
+        probe.hanging.addAll(Set.of("http://auth", "http://task", "http://payment"));
+
+        long start = System.nanoTime();
+        poller.pollAll().block(Duration.ofSeconds(5));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < 3 * 200, "elapsed=" + elapsedMs);
+    }
+
+    @Test
+    @DisplayName("Reading the snapshot never calls the services")
+    void testReadsAreCached() {
+        poller.pollAll().block(Duration.ofSeconds(5));
+        for (int i = 0; i < 1000; i++) {
+            poller.snapshot();
+        }
+        assertEquals(3, probe.calls.get());
+    }
+
+    @Test
+    @DisplayName("Latency and up/down are recorded per service")
+    void testMetrics() {
+        probe.down.add("http://task");
+        poller.pollAll().block(Duration.ofSeconds(5));
+
+        assertEquals(1, registry.get("gateway.downstream.health.latency").tag("service", "auth-service").timer().count());
+        assertEquals(1.0, registry.get("gateway.downstream.health.up").tag("service", "auth-service").gauge().value(), 0.0);
+        assertEquals(0.0, registry.get("gateway.downstream.health.up").tag("service", "task-service").gauge().value(), 0.0);
+    }
+
+    private static class StandInProbe implements HealthProbe {
+        final AtomicInteger calls = new AtomicInteger();
+        final Set<String> down = ConcurrentHashMap.newKeySet();
+        final Set<String> hanging = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public Mono<Void> check(String baseUrl, Duration timeout) {
+            calls.incrementAndGet();
+            if (hanging.contains(baseUrl)) return Mono.never();
+            if (down.contains(baseUrl)) return Mono.error(new IOException("Connection refused"));
+            return Mono.empty();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.helper.gateway;
+
+import com.helper.gateway.filter.IdempotentRetryGatewayFilterFactory;
+import com.helper.gateway.resilience.RouteBulkhead;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests per-route bulkheads and idempotent retries, including a load test where one backend
+ * stand-in (payment) is made slow while another (task search) shares the gateway's connections.
+ */
+class GatewayResilienceTest {
+
+    private static final Duration SLOW = Duration.ofMillis(300);
+    private static final Duration FAST = Duration.ofMillis(5);
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private Mono<String> throughBulkhead(RouteBulkhead bulkhead, StandInBackend backend) {
+        return bulkhead.run(backend::call, () -> Mono.just("busy")).onErrorReturn("failed");
+    }
+
+    /**
+     * 200 concurrent payment calls against a slow backend, then 100 searches 50 ms later,
+     * all drawing on one pool of 120 gateway connections.
+     */
+    private Tuple2<List<String>, List<String>> runMixedLoad(int paymentLimit) {
+        ConnectionPool pool = new ConnectionPool(120);
+        StandInBackend payment = new StandInBackend(pool, SLOW);
+        StandInBackend search = new StandInBackend(pool, FAST);
+        RouteBulkhead paymentBulkhead = new RouteBulkhead("payment-service", paymentLimit, registry);
+        RouteBulkhead searchBulkhead = new RouteBulkhead("task-service-search", 200, registry);
+
+        Mono<List<String>> payments = Flux.range(0, 200)
+                .flatMap(i -> throughBulkhead(paymentBulkhead, payment), 1000)
+                .collectList();
+        Mono<List<String>> searches = Flux.range(0, 100)
+                .delaySubscription(Duration.ofMillis(50))
+                .flatMap(i -> throughBulkhead(searchBulkhead, search), 1000)
+                .collectList();
+
+        Tuple2<List<String>, List<String>> results = Mono.zip(payments, searches).block(Duration.ofSeconds(10));
+        assertTrue(payment.peakInFlight.get() <= paymentLimit, "payment peak=" + payment.peakInFlight.get());
+        return results;
+    }
+
+    private static long count(List<String> results, String value) {
+        return results.stream().filter(value::equals).count();
+    }
+
+    // ===== Load test =====
+
+    @Test
+    @DisplayName("Load: a slow payment backend exhausts shared connections without a bulkhead")
+    void testSlowBackendWithoutBulkhead() {
+        Tuple2<List<String>, List<String>> results = runMixedLoad(1000);
+
+        assertEquals(120, count(results.getT1(), "ok"));
+        assertEquals(100, count(results.getT2(), "failed"));
+    }
+
+    @Test
+    @DisplayName("Load: with a payment bulkhead, task search is unaffected by the slow backend")
+    void testSlowBackendWithBulkhead() {
+        Tuple2<List<String>, List<String>> results = runMixedLoad(20);
+
+        assertEquals(20, count(results.getT1(), "ok"));
+        assertEquals(180, count(results.getT1(), "busy"));
+        assertEquals(100, count(results.getT2(), "ok"));
+        assertEquals(180.0, registry.counter("gateway.bulkhead.rejections", "route", "payment-service").count(), 0.0);
+    }
+
+    // ===== Bulkhead =====
+
+    @Test
+    @DisplayName("Bulkhead permits are released on success, error and cancel")
+    void testBulkheadRelease() {
+        RouteBulkhead bulkhead = new RouteBulkhead("task-service", 1, registry);
+
+        assertEquals("ok", bulkhead.run(() -> Mono.just("ok"), () -> Mono.just("busy")).block());
+        assertEquals("failed", bulkhead.run(() -> Mono.<String>error(new IOException("reset")), () -> Mono.just("busy"))
+                .onErrorReturn("failed").block());
+        bulkhead.run(() -> Mono.never(), () -> Mono.just("busy")).subscribe().dispose();
+
+        assertEquals(0, bulkhead.getActive());
+        assertEquals("ok", bulkhead.run(() -> Mono.just("ok"), () -> Mono.just("busy")).block());
+    }
+
+    @Test
+    @DisplayName("Bulkhead rejects over the limit without calling the backend")
+    void testBulkheadRejects() {
+        RouteBulkhead bulkhead = new RouteBulkhead("payment-service", 1, registry);
+        AtomicInteger calls = new AtomicInteger();
+
+        bulkhead.run(() -> Mono.never().doOnSubscribe(s -> calls.incrementAndGet()), () -> Mono.just("busy")).subscribe();
+        String second = bulkhead.run(() -> {
+            calls.incrementAndGet();
+            return Mono.just("ok");
+        }, () -> Mono.just("busy")).block();
+
+        assertEquals("busy", second);
+        assertEquals(1, calls.get());
+    }
+
+    // ===== Idempotent retry =====
+
+    private IdempotentRetryGatewayFilterFactory.Config fastRetries() {
+        IdempotentRetryGatewayFilterFactory.Config config = new IdempotentRetryGatewayFilterFactory.Config();
+        config.setFirstBackoff(Duration.ofMillis(1));
+        config.setMaxBackoff(Duration.ofMillis(5));
+        return config;
+    }
+
+    private Mono<String> failing(AtomicInteger attempts, int failures, Throwable error) {
+        return Mono.defer(() -> attempts.incrementAndGet() <= failures ? Mono.error(error) : Mono.just("ok"));
+    }
+
+    private Throwable errorOf(Mono<String> mono) {
+        return mono.then(Mono.<Throwable>empty()).onErrorResume(Mono::just).block(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Only GET and HEAD are retried")
+    void testIdempotentMethods() {
+        assertTrue(IdempotentRetryGatewayFilterFactory.isIdempotent(HttpMethod.GET));
+        assertTrue(IdempotentRetryGatewayFilterFactory.isIdempotent(HttpMethod.HEAD));
+        assertFalse(IdempotentRetryGatewayFilterFactory.isIdempotent(HttpMethod.POST));
+        assertFalse(IdempotentRetryGatewayFilterFactory.isIdempotent(HttpMethod.PUT));
+        assertFalse(IdempotentRetryGatewayFilterFactory.isIdempotent(HttpMethod.DELETE));
+    }
+
+    @Test
+    @DisplayName("Connection failures are retried until one attempt succeeds")
+    void testRetriesConnectionFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+        String result = failing(attempts, 2, new ConnectException("Connection refused"))
+                .retryWhen(IdempotentRetryGatewayFilterFactory.retrySpec(fastRetries()))
+                .block(Duration.ofSeconds(5));
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Exhausted retries surface the original error")
+    void testRetriesExhausted() {
+        AtomicInteger attempts = new AtomicInteger();
+        Throwable error = errorOf(failing(attempts, 10, new ConnectException("Connection refused"))
+                .retryWhen(IdempotentRetryGatewayFilterFactory.retrySpec(fastRetries())));
+
+        assertTrue(error instanceof ConnectException, "error=" + error);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Timeouts are not retried")
+    void testTimeoutNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        Throwable error = errorOf(failing(attempts, 10, new TimeoutException("Did not observe any item"))
+                .retryWhen(IdempotentRetryGatewayFilterFactory.retrySpec(fastRetries())));
+
+        assertTrue(error instanceof TimeoutException, "error=" + error);
+        assertEquals(1, attempts.get());
+    }
+
+    /**
+     * The gateway's HTTP client connections; acquiring fails when none are free.
+     */
+    private static class ConnectionPool {
+        private final int capacity;
+        private final AtomicInteger inUse = new AtomicInteger();
+
+        ConnectionPool(int capacity) {
+            this.capacity = capacity;
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                int current = inUse.get();
+                if (current >= capacity) return false;
+                if (inUse.compareAndSet(current, current + 1)) return true;
+            }
+        }
+
+        void release() {
+            inUse.decrementAndGet();
+        }
+    }
+
+    /**
+     * Downstream service with injected latency, reached through the shared pool.
+     */
+    private static class StandInBackend {
+        private final ConnectionPool pool;
+        private final Duration latency;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger peakInFlight = new AtomicInteger();
+
+        StandInBackend(ConnectionPool pool, Duration latency) {
+            this.pool = pool;
+            this.latency = latency;
+        }
+
+        Mono<String> call() {
+            return Mono.defer(() -> {
+                if (!pool.tryAcquire()) {
+                    return Mono.error(new IOException("No connection available"));
+                }
+                peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return Mono.delay(latency)
+                        .map(tick -> "ok")
+                        .doFinally(signal -> {
+                            inFlight.decrementAndGet();
+                            pool.release();
+                        });
+            });
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.helper.gateway;
+
+import com.helper.gateway.filter.GatewaySignature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the HMAC signature the gateway puts on forwarded X-User-* headers, checked the way
+ * GatewayHeaderAuthenticator does it in the services.
+ */
+class GatewaySignatureTest {
+
+    private static final String SECRET = "GATEWAY_INTERNAL_SECRET_FOR_TESTS";
+    private static final long MAX_SKEW_MS = 30_000;
+
+    private final GatewaySignature gatewaySignature = new GatewaySignature(SECRET);
+    private final String userId = UUID.randomUUID().toString();
+
+    // The downstream check: same canonical string, constant-time compare, timestamp within the skew
+    private static boolean verify(String signature, String userId, String role, String email,
+                                  String method, String rawPath, long timestamp, long now) throws Exception {
+        if (signature == null || signature.isEmpty()) return false;
+        if (Math.abs(now - timestamp) > MAX_SKEW_MS) return false;
+        String canonical = userId + "\n" + role + "\n" + email + "\n" + method + "\n" + rawPath + "\n" + timestamp;
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return MessageDigest.isEqual(mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8)),
+                Base64.getUrlDecoder().decode(signature));
+    }
+
+    @Test
+    @DisplayName("Valid signature: verifies over user, role, email, method, raw path and timestamp")
+    void testValidSignature() throws Exception {
+        long ts = System.currentTimeMillis();
+        String signature = gatewaySignature.sign(userId, "CUSTOMER", "test@helper.app",
+                "POST", "/api/v1/tasks/a%2Fb", ts);
+
+        assertTrue(verify(signature, userId, "CUSTOMER", "test@helper.app", "POST", "/api/v1/tasks/a%2Fb", ts, ts));
+        assertFalse(signature.contains("="), "URL-safe Base64 without padding");
+        assertEquals(signature, gatewaySignature.sign(userId, "CUSTOMER", "test@helper.app",
+                "POST", "/api/v1/tasks/a%2Fb", ts));
+    }
+
+    @Test
+    @DisplayName("Tampered header: any changed field fails verification")
+    void testTamperedHeader() throws Exception {
+        long ts = System.currentTimeMillis();
+        String signature = gatewaySignature.sign(userId, "CUSTOMER", "test@helper.app", "GET", "/api/v1/tasks", ts);
+
+        assertFalse(verify(signature, UUID.randomUUID().toString(), "CUSTOMER", "test@helper.app", "GET", "/api/v1/tasks", ts, ts));
+        assertFalse(verify(signature, userId, "ADMIN", "test@helper.app", "GET", "/api/v1/tasks", ts, ts));
+        assertFalse(verify(signature, userId, "CUSTOMER", "admin@helper.app", "GET", "/api/v1/tasks", ts, ts));
+        assertFalse(verify(signature, userId, "CUSTOMER", "test@helper.app", "DELETE", "/api/v1/tasks", ts, ts));
+        assertFalse(verify(signature, userId, "CUSTOMER", "test@helper.app", "GET", "/api/v1/admin/users", ts, ts));
+        assertFalse(verify(signature, userId, "CUSTOMER", "test@helper.app", "GET", "/api/v1/tasks", ts + 1, ts));
+    }
+
+    @Test
+    @DisplayName("Replayed timestamp outside the window fails verification")
+    void testReplayedTimestamp() throws Exception {
+        long ts = System.currentTimeMillis();
+        String signature = gatewaySignature.sign(userId, "WORKER", "test@helper.app", "GET", "/api/v1/bids", ts);
+
+        assertTrue(verify(signature, userId, "WORKER", "test@helper.app", "GET", "/api/v1/bids", ts, ts + MAX_SKEW_MS));
+        assertFalse(verify(signature, userId, "WORKER", "test@helper.app", "GET", "/api/v1/bids", ts, ts + MAX_SKEW_MS + 1));
+    }
+
+    @Test
+    @DisplayName("Missing or foreign signature fails verification")
+    void testMissingSignature() throws Exception {
+        long ts = System.currentTimeMillis();
+        String foreign = new GatewaySignature("WRONG_SECRET").sign(userId, "WORKER", "test@helper.app", "GET", "/api/v1/bids", ts);
+
+        assertFalse(verify(null, userId, "WORKER", "test@helper.app", "GET", "/api/v1/bids", ts, ts));
+        assertFalse(verify("", userId, "WORKER", "test@helper.app", "GET", "/api/v1/bids", ts, ts));
+        assertFalse(verify(foreign, userId, "WORKER", "test@helper.app", "GET", "/api/v1/bids", ts, ts));
+    }
+
+    @Test
+    @DisplayName("The per-thread Mac gives the same signatures on every thread and call")
+    void testReusedMac() throws Exception {
+        long ts = System.currentTimeMillis();
+        String expected = gatewaySignature.sign(userId, "WORKER", "test@helper.app", "GET", "/api/v1/bids", ts);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        gatewaySignature.sign(userId, "CUSTOMER", "other@helper.app", "POST", "/api/v1/tasks", ts + i);
+                        if (!expected.equals(gatewaySignature.sign(userId, "WORKER", "test@helper.app", "GET", "/api/v1/bids", ts))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertTrue(verify(expected, userId, "WORKER", "test@helper.app", "GET", "/api/v1/bids", ts, ts));
+    }
+
+    @Test
+    @DisplayName("Signature and identity headers are among those stripped from client requests")
+    void testTrustedHeaders() {
+        assertTrue(List.of(GatewaySignature.TRUSTED_HEADERS).containsAll(List.of(
+                GatewaySignature.USER_ID, GatewaySignature.USER_ROLE, GatewaySignature.USER_EMAIL,
+                GatewaySignature.TIMESTAMP, GatewaySignature.SIGNATURE)));
+    }
+}
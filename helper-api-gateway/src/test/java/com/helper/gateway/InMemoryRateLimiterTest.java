@@ -0,0 +1,136 @@
+package com.helper.gateway;
+
+import com.helper.gateway.config.AppGatewayProperties;
+import com.helper.gateway.config.AppGatewayProperties.Policy;
+import com.helper.gateway.ratelimit.InMemoryRateLimiter;
+import com.helper.gateway.ratelimit.RateLimitDecision;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the in-memory GCRA limiter with a controllable clock.
+ */
+class InMemoryRateLimiterTest {
+
+    // 60/min = one token per second, burst of 10
+    private static final Policy POLICY = new Policy(60, 10);
+
+    private MutableClock clock;
+    private AppGatewayProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        properties = new AppGatewayProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new InMemoryRateLimiter(properties, meterRegistry, clock);
+    }
+
+    private boolean tryAcquire(String key) {
+        return limiter.tryAcquire(key, POLICY).block().isAllowed();
+    }
+
+    @Test
+    @DisplayName("Burst capacity is admitted, then requests are rejected")
+    void testBurst() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(tryAcquire("user:a"), "request " + i);
+        }
+        RateLimitDecision rejected = limiter.tryAcquire("user:a", POLICY).block();
+        assertFalse(rejected.isAllowed());
+        assertEquals(1, rejected.getRetryAfterSeconds());
+    }
+
+    @Test
+    @DisplayName("Remaining counts down from burst capacity")
+    void testRemaining() {
+        assertEquals(9, limiter.tryAcquire("user:a", POLICY).block().getRemaining());
+        assertEquals(8, limiter.tryAcquire("user:a", POLICY).block().getRemaining());
+    }
+
+    @Test
+    @DisplayName("Tokens refill at the sustained rate")
+    void testRefill() {
+        for (int i = 0; i < 10; i++) tryAcquire("user:a");
+        assertFalse(tryAcquire("user:a"));
+
+        clock.advance(1000);
+        assertTrue(tryAcquire("user:a"));
+        assertFalse(tryAcquire("user:a"));
+    }
+
+    @Test
+    @DisplayName("No double burst across a window boundary")
+    void testNoEdgeBurst() {
+        clock.advance(59_000);
+        int allowed = 0;
+        for (int i = 0; i < 20; i++) if (tryAcquire("user:a")) allowed++;
+        clock.advance(2_000);
+        for (int i = 0; i < 20; i++) if (tryAcquire("user:a")) allowed++;
+        // 10 burst + 2 refilled in 2 s — a fixed window would have allowed 20+
+        assertEquals(12, allowed);
+    }
+
+    @Test
+    @DisplayName("Idle keys are dropped once their bucket has refilled")
+    void testIdleKeysEvicted() {
+        for (int i = 0; i < 1000; i++) tryAcquire("ip:10.0.0." + i);
+        assertEquals(1000, limiter.activeKeys());
+
+        clock.advance(2_000);
+        for (int i = 0; i < 1000; i++) tryAcquire("ip:10.0.1." + i);
+        assertTrue(limiter.activeKeys() < 2000, "activeKeys=" + limiter.activeKeys());
+    }
+
+    @Test
+    @DisplayName("Store never grows past max-keys")
+    void testBounded() {
+        properties.getRateLimit().setMaxKeys(160);
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new InMemoryRateLimiter(properties, meterRegistry, clock);
+
+        for (int i = 0; i < 5000; i++) tryAcquire("ip:" + i);
+        assertTrue(limiter.activeKeys() <= 160, "activeKeys=" + limiter.activeKeys());
+        assertTrue(meterRegistry.counter("gateway.ratelimit.evictions").count() > 0);
+        assertEquals(limiter.activeKeys(), meterRegistry.get("gateway.ratelimit.active_keys").gauge().value(), 0.0);
+    }
+
+    private static class MutableClock extends Clock {
+        private long millis = 1_700_000_000_000L;
+
+        void advance(long ms) {
+            millis += ms;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
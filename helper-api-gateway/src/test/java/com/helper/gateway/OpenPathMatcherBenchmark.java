@@ -0,0 +1,57 @@
+package com.helper.gateway;
+
+import com.helper.gateway.config.AppGatewayProperties;
+import com.helper.gateway.filter.OpenPathMatcher;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+/**
+ * Microbenchmark: compiled open-path matcher vs. looping AntPathMatcher over 50+ patterns.
+ * Not run by the build; start it from the IDE or with
+ *   java -cp target/test-classes:target/classes:<deps> com.helper.gateway.OpenPathMatcherBenchmark
+ */
+public class OpenPathMatcherBenchmark {
+
+    private static final int WARMUP_ROUNDS = 200_000;
+    private static final int MEASURED_ROUNDS = 2_000_000;
+
+    public static void main(String[] args) {
+        List<String> patterns = OpenPathMatcherTest.manyPatterns();
+        // Mostly protected paths: the common case walks every pattern in the loop version
+        List<String> paths = List.of(
+                "/api/v1/tasks/search",
+                "/api/v1/tasks/3f1c2b7e-1d1a-4a55-9a8e-0d3c9d1e5f00/bids",
+                "/api/v1/profiles/me",
+                "/api/v1/payments/history",
+                "/api/v1/auth/login",
+                "/api/v1/ratings/user/42");
+
+        AppGatewayProperties properties = new AppGatewayProperties();
+        properties.setOpenPaths(patterns);
+        OpenPathMatcher compiled = new OpenPathMatcher(properties);
+        AntPathMatcher ant = new AntPathMatcher();
+
+        System.out.printf("%d patterns, %d paths%n", patterns.size(), paths.size());
+        run("AntPathMatcher loop", paths, path -> {
+            for (String pattern : patterns) {
+                if (ant.match(pattern, path)) return true;
+            }
+            return false;
+        });
+        run("OpenPathMatcher", paths, compiled::matches);
+    }
+
+    private static void run(String name, List<String> paths, java.util.function.Predicate<String> matcher) {
+        int hits = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            if (matcher.test(paths.get(i % paths.size()))) hits++;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            if (matcher.test(paths.get(i % paths.size()))) hits++;
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-22s %8.1f ns/op  (hits=%d)%n", name, (double) elapsed / MEASURED_ROUNDS, hits);
+    }
+}
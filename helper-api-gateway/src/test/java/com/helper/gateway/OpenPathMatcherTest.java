@@ -0,0 +1,130 @@
+package com.helper.gateway;
+
+import com.helper.gateway.config.AppGatewayProperties;
+import com.helper.gateway.filter.OpenPathMatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the compiled open-path matcher agrees with AntPathMatcher.
+ */
+class OpenPathMatcherTest {
+
+    static final List<String> DEFAULT_OPEN_PATHS = List.of(
+            "/api/v1/auth/register",
+            "/api/v1/auth/login",
+            "/api/v1/auth/refresh",
+            "/api/v1/auth/verify-otp",
+            "/api/v1/auth/forgot-password",
+            "/api/v1/ratings/user/**",
+            "/api/v1/ratings/summary/**",
+            "/actuator/health",
+            "/actuator/info",
+            "/fallback/**",
+            "/gateway/health",
+            "/**/swagger-ui/**",
+            "/**/api-docs/**");
+
+    static final List<String> SAMPLE_PATHS = List.of(
+            "/api/v1/auth/login",
+            "/api/v1/auth/login/",
+            "/api/v1/auth/logout",
+            "/api/v1/auth",
+            "/api/v1/ratings/user",
+            "/api/v1/ratings/user/123",
+            "/api/v1/ratings/user/123/history",
+            "/api/v1/ratings/summary/abc",
+            "/api/v1/ratings/flags",
+            "/actuator/health",
+            "/actuator/health/",
+            "/actuator/metrics",
+            "/fallback",
+            "/fallback/task",
+            "/gateway/health",
+            "/task/swagger-ui/index.html",
+            "/swagger-ui/index.html",
+            "/user/api-docs",
+            "/payment/v3/api-docs/swagger-config",
+            "/api/v1/tasks/search",
+            "/api/v1/tasks/123/bids",
+            "/static/app.js",
+            "/static/deep/app.js",
+            "/api/v2/items/42",
+            "//api/v1/auth/login",
+            "/",
+            "");
+
+    /**
+     * The defaults plus enough extra routes (including Ant-only syntax) to exceed 50 patterns.
+     */
+    static List<String> manyPatterns() {
+        List<String> patterns = new ArrayList<>(DEFAULT_OPEN_PATHS);
+        for (int i = 0; i < 40; i++) {
+            patterns.add("/api/v1/public/resource" + i + "/*");
+        }
+        patterns.add("/static/*.js");
+        patterns.add("/api/v2/items/{id}");
+        patterns.add("/api/v?/ping");
+        return patterns;
+    }
+
+    private OpenPathMatcher matcherFor(List<String> openPaths) {
+        AppGatewayProperties properties = new AppGatewayProperties();
+        properties.setOpenPaths(openPaths);
+        return new OpenPathMatcher(properties);
+    }
+
+    @Test
+    @DisplayName("Default open paths: same answers as AntPathMatcher")
+    void testDefaultsAgreeWithAnt() {
+        OpenPathMatcher matcher = matcherFor(DEFAULT_OPEN_PATHS);
+        AntPathMatcher ant = new AntPathMatcher();
+
+        for (String path : SAMPLE_PATHS) {
+            boolean expected = DEFAULT_OPEN_PATHS.stream().anyMatch(p -> ant.match(p, path));
+            assertEquals(expected, matcher.matches(path), path);
+            // Second lookup is served from the cache
+            assertEquals(expected, matcher.matches(path), path);
+        }
+    }
+
+    @Test
+    @DisplayName("50+ patterns incl. Ant-only syntax: same answers as AntPathMatcher")
+    void testManyPatternsAgreeWithAnt() {
+        List<String> patterns = manyPatterns();
+        assertTrue(patterns.size() >= 50);
+        OpenPathMatcher matcher = matcherFor(patterns);
+        AntPathMatcher ant = new AntPathMatcher();
+
+        List<String> paths = new ArrayList<>(SAMPLE_PATHS);
+        paths.add("/api/v1/public/resource7/item");
+        paths.add("/api/v1/public/resource7");
+        paths.add("/api/v1/public/resource7/item/sub");
+        paths.add("/api/v1/ping");
+        for (String path : paths) {
+            boolean expected = patterns.stream().anyMatch(p -> ant.match(p, path));
+            assertEquals(expected, matcher.matches(path), path);
+        }
+    }
+
+    @Test
+    @DisplayName("Replacing open-paths (config refresh) recompiles the matcher")
+    void testReloadOnRefresh() {
+        AppGatewayProperties properties = new AppGatewayProperties();
+        properties.setOpenPaths(List.of("/api/v1/auth/login"));
+        OpenPathMatcher matcher = new OpenPathMatcher(properties);
+
+        assertTrue(matcher.matches("/api/v1/auth/login"));
+        assertFalse(matcher.matches("/api/v1/tasks/search"));
+
+        properties.setOpenPaths(List.of("/api/v1/tasks/**"));
+        assertFalse(matcher.matches("/api/v1/auth/login"));
+        assertTrue(matcher.matches("/api/v1/tasks/search"));
+    }
+}
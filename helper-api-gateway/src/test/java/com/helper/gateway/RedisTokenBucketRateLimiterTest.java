@@ -0,0 +1,166 @@
+package com.helper.gateway;
+
+import com.helper.gateway.config.AppGatewayProperties;
+import com.helper.gateway.config.AppGatewayProperties.Policy;
+import com.helper.gateway.ratelimit.RateLimitDecision;
+import com.helper.gateway.ratelimit.RedisTokenBucketRateLimiter;
+import com.helper.gateway.ratelimit.TokenBucketStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the Redis token-bucket limiter and its near-cache against an in-process stand-in
+ * for Redis that mirrors scripts/token-bucket.lua (with a frozen clock: no refill).
+ */
+class RedisTokenBucketRateLimiterTest {
+
+    private static final Policy POLICY = new Policy(60, 10);
+
+    private StandInRedis redis;
+    private AppGatewayProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        redis = new StandInRedis();
+        properties = new AppGatewayProperties();
+        properties.getRateLimit().getNearCache().setTtlMs(60_000);
+    }
+
+    private RedisTokenBucketRateLimiter newGatewayInstance() {
+        return new RedisTokenBucketRateLimiter(redis, properties, new SimpleMeterRegistry());
+    }
+
+    private int admitted(RedisTokenBucketRateLimiter limiter, String key, int attempts) {
+        int allowed = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (limiter.tryAcquire(key, POLICY).block().isAllowed()) allowed++;
+        }
+        return allowed;
+    }
+
+    @Test
+    @DisplayName("Bucket admits exactly burst capacity without the near-cache")
+    void testBurstCapacity() {
+        properties.getRateLimit().getNearCache().setEnabled(false);
+        RedisTokenBucketRateLimiter limiter = newGatewayInstance();
+
+        assertEquals(10, admitted(limiter, "user:a", 25));
+        assertEquals(25, redis.calls.get());
+
+        RateLimitDecision rejected = limiter.tryAcquire("user:a", POLICY).block();
+        assertFalse(rejected.isAllowed());
+        assertEquals(1, rejected.getRetryAfterSeconds());
+    }
+
+    @Test
+    @DisplayName("Replicas share one bucket instead of multiplying the limit")
+    void testSharedAcrossReplicas() {
+        properties.getRateLimit().getNearCache().setEnabled(false);
+        RedisTokenBucketRateLimiter first = newGatewayInstance();
+        RedisTokenBucketRateLimiter second = newGatewayInstance();
+
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            allowed += admitted(first, "user:a", 1);
+            allowed += admitted(second, "user:a", 1);
+        }
+        assertEquals(10, allowed);
+    }
+
+    @Test
+    @DisplayName("Near-cache skips Redis while the key is clearly under its limit")
+    void testNearCacheSkipsRoundTrips() {
+        RedisTokenBucketRateLimiter limiter = newGatewayInstance();
+
+        // 1st call syncs (9 left), then local admits down to the 50% floor (5 left)
+        assertEquals(5, admitted(limiter, "user:a", 5));
+        assertEquals(1, redis.calls.get());
+
+        // Below the floor every request goes to Redis, which first charges the local debt
+        assertEquals(5, admitted(limiter, "user:a", 10));
+        assertEquals(0, redis.tokens.get("user:a"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Locally admitted requests are charged, so the global limit holds")
+    void testDebtIsCharged() {
+        RedisTokenBucketRateLimiter first = newGatewayInstance();
+        RedisTokenBucketRateLimiter second = newGatewayInstance();
+
+        int allowed = 0;
+        for (int i = 0; i < 20; i++) {
+            allowed += admitted(first, "user:a", 1);
+            allowed += admitted(second, "user:a", 1);
+        }
+        // Each replica may over-admit at most (1 - threshold) × burst before syncing
+        assertTrue(allowed >= 10 && allowed <= 10 + 2 * 5, "allowed=" + allowed);
+        assertEquals(0, redis.tokens.get("user:a"), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Keys are limited independently")
+    void testIndependentKeys() {
+        RedisTokenBucketRateLimiter limiter = newGatewayInstance();
+        assertEquals(10, admitted(limiter, "user:a", 15));
+        assertEquals(10, admitted(limiter, "user:b", 15));
+    }
+
+    @Test
+    @DisplayName("Redis outage fails open")
+    void testFailOpen() {
+        redis.down = true;
+        RedisTokenBucketRateLimiter limiter = newGatewayInstance();
+        assertEquals(20, admitted(limiter, "user:a", 20));
+    }
+
+    @Test
+    @DisplayName("Policy resolution: route beats role beats default")
+    void testPolicyResolution() {
+        AppGatewayProperties.RateLimit config = properties.getRateLimit();
+        Policy admin = new Policy(300, 300);
+        Policy login = new Policy(10, 5);
+        config.getRoles().put("ADMIN", admin);
+        config.getRoutes().put("auth-service", login);
+
+        assertSame(config.getAnonymous(), config.resolve("task-service", null, false));
+        assertSame(config.getAuthenticated(), config.resolve("task-service", "CUSTOMER", true));
+        assertSame(admin, config.resolve("task-service", "ADMIN", true));
+        assertSame(login, config.resolve("auth-service", "ADMIN", true));
+        assertSame(login, config.resolve("auth-service", null, false));
+    }
+
+    /**
+     * Same arithmetic as scripts/token-bucket.lua; time does not advance.
+     */
+    private static class StandInRedis implements TokenBucketStore {
+        final Map<String, Double> tokens = new HashMap<>();
+        final AtomicInteger calls = new AtomicInteger();
+        volatile boolean down = false;
+
+        @Override
+        public synchronized Mono<RateLimitDecision> consume(String key, Policy policy, long debt) {
+            calls.incrementAndGet();
+            if (down) return Mono.error(new IllegalStateException("connection refused"));
+
+            double rate = policy.getReplenishPerMinute() / 60000.0;
+            double current = tokens.getOrDefault(key, (double) policy.getBurstCapacity());
+            current = Math.max(0, current - debt);
+            if (current >= 1) {
+                tokens.put(key, current - 1);
+                return Mono.just(RateLimitDecision.allowed((long) Math.floor(current - 1)));
+            }
+            tokens.put(key, current);
+            long retryMs = (long) Math.ceil((1 - current) / rate);
+            return Mono.just(RateLimitDecision.rejected((retryMs + 999) / 1000));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.helper.gateway;
+
+import com.helper.gateway.cache.CachePolicy;
+import com.helper.gateway.cache.CachedResponse;
+import com.helper.gateway.cache.LocalResponseCacheStore;
+import com.helper.gateway.cache.ResponseCacheStore;
+import com.helper.gateway.config.AppGatewayProperties;
+import com.helper.gateway.filter.GatewaySignature;
+import com.helper.gateway.filter.ResponseCacheGatewayFilterFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the gateway response cache: what may be stored, for how long, the bounded local store,
+ * and the filter's handling of misses and client no-cache.
+ */
+class ResponseCacheTest {
+
+    private static final Duration ROUTE_TTL = Duration.ofSeconds(60);
+
+    private HttpHeaders cacheControl(String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CACHE_CONTROL, value);
+        return headers;
+    }
+
+    private CachedResponse entry(String body, long expiresAt) {
+        return new CachedResponse(200, Map.of(HttpHeaders.ETAG, List.of("\"v1\"")), body.getBytes(), expiresAt);
+    }
+
+    @Test
+    @DisplayName("No Cache-Control: route TTL applies")
+    void testRouteTtl() {
+        assertEquals(60_000, CachePolicy.ttlMs(HttpStatus.OK, new HttpHeaders(), ROUTE_TTL));
+    }
+
+    @Test
+    @DisplayName("s-maxage caps the route TTL and wins over max-age")
+    void testSharedMaxAge() {
+        assertEquals(10_000, CachePolicy.ttlMs(HttpStatus.OK, cacheControl("max-age=0, s-maxage=10, public"), ROUTE_TTL));
+        assertEquals(60_000, CachePolicy.ttlMs(HttpStatus.OK, cacheControl("public, s-maxage=600"), ROUTE_TTL));
+        assertEquals(5_000, CachePolicy.ttlMs(HttpStatus.OK, cacheControl("max-age=5"), ROUTE_TTL));
+    }
+
+    @Test
+    @DisplayName("Downstream opt-outs are honored")
+    void testOptOuts() {
+        // Spring Security's default header on every response
+        assertEquals(0, CachePolicy.ttlMs(HttpStatus.OK,
+                cacheControl("no-cache, no-store, max-age=0, must-revalidate"), ROUTE_TTL));
+        assertEquals(0, CachePolicy.ttlMs(HttpStatus.OK, cacheControl("private, max-age=60"), ROUTE_TTL));
+
+        HttpHeaders cookie = new HttpHeaders();
+        cookie.add(HttpHeaders.SET_COOKIE, "session=abc");
+        assertEquals(0, CachePolicy.ttlMs(HttpStatus.OK, cookie, ROUTE_TTL));
+    }
+
+    @Test
+    @DisplayName("Only 200 responses are cached")
+    void testStatus() {
+        assertEquals(0, CachePolicy.ttlMs(HttpStatus.NOT_FOUND, new HttpHeaders(), ROUTE_TTL));
+        assertEquals(0, CachePolicy.ttlMs(HttpStatus.NOT_MODIFIED, new HttpHeaders(), ROUTE_TTL));
+        assertEquals(0, CachePolicy.ttlMs(null, new HttpHeaders(), ROUTE_TTL));
+    }
+
+    @Test
+    @DisplayName("Local store: hit, expiry and ETag")
+    void testLocalStore() {
+        LocalResponseCacheStore store = new LocalResponseCacheStore(10);
+        long now = System.currentTimeMillis();
+        store.putNow("/api/v1/tasks/1|CUSTOMER", entry("task", now + 60_000));
+        store.putNow("/api/v1/tasks/2|CUSTOMER", entry("old", now - 1));
+
+        CachedResponse hit = store.get("/api/v1/tasks/1|CUSTOMER").block();
+        assertNotNull(hit);
+        assertEquals("task", new String(hit.getBody()));
+        assertEquals("\"v1\"", hit.etag());
+
+        assertNull(store.get("/api/v1/tasks/2|CUSTOMER").block());
+        assertNull(store.get("/api/v1/tasks/1|WORKER").block());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    @DisplayName("Local store is bounded and evicts least recently used")
+    void testLocalStoreBounded() {
+        LocalResponseCacheStore store = new LocalResponseCacheStore(3);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        store.putNow("a", entry("a", expiresAt));
+        store.putNow("b", entry("b", expiresAt));
+        store.putNow("c", entry("c", expiresAt));
+        store.getNow("a");
+        store.putNow("d", entry("d", expiresAt));
+
+        assertEquals(3, store.size());
+        assertNotNull(store.getNow("a"));
+        assertNull(store.getNow("b"));
+    }
+
+    private GatewayFilter filter(ResponseCacheStore store) {
+        return new ResponseCacheGatewayFilterFactory(store, new AppGatewayProperties(), new SimpleMeterRegistry())
+                .apply(new ResponseCacheGatewayFilterFactory.Config());
+    }
+
+    private static GatewayFilterChain upstream(AtomicInteger calls) {
+        return exchange -> {
+            calls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap("fresh".getBytes())));
+        };
+    }
+
+    private static MockServerWebExchange get(String role, String cacheControl) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/v1/tasks/open")
+                .header(GatewaySignature.USER_ROLE, role);
+        if (cacheControl != null) request.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        return MockServerWebExchange.from(request);
+    }
+
+    @Test
+    @DisplayName("A miss is written to the client without waiting for the store")
+    void testMissDoesNotWaitForStore() {
+        ResponseCacheStore hanging = new ResponseCacheStore() {
+            @Override
+            public Mono<CachedResponse> get(String key) {
+                return Mono.empty();
+            }
+
+            @Override
+            public Mono<Void> put(String key, CachedResponse response) {
+                return Mono.never(); // Redis hung
+            }
+        };
+        MockServerWebExchange exchange = get("CUSTOMER", null);
+
+        filter(hanging).filter(exchange, upstream(new AtomicInteger())).block(Duration.ofSeconds(2));
+
+        assertEquals("MISS", exchange.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("fresh", exchange.getResponse().getBodyAsString().block(Duration.ofSeconds(2)));
+    }
+
+    @Test
+    @DisplayName("Client no-cache is ignored, except for admins")
+    void testClientNoCache() {
+        LocalResponseCacheStore store = new LocalResponseCacheStore(10);
+        store.putNow("/api/v1/tasks/open|CUSTOMER", entry("cached", System.currentTimeMillis() + 60_000));
+        store.putNow("/api/v1/tasks/open|ADMIN", entry("cached", System.currentTimeMillis() + 60_000));
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        GatewayFilter filter = filter(store);
+
+        MockServerWebExchange reload = get("CUSTOMER", "no-cache");
+        filter.filter(reload, upstream(upstreamCalls)).block(Duration.ofSeconds(2));
+        assertEquals("HIT", reload.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("cached", reload.getResponse().getBodyAsString().block(Duration.ofSeconds(2)));
+
+        MockServerWebExchange admin = get("ADMIN", "no-cache");
+        filter.filter(admin, upstream(upstreamCalls)).block(Duration.ofSeconds(2));
+        assertEquals("MISS", admin.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals(1, upstreamCalls.get());
+    }
+}
@@ -1,12 +1,14 @@
 package com.helper.auth.controller;
 
 import com.helper.auth.dto.response.ApiResponse;
-import com.helper.auth.dto.response.AuthResponse;
+import com.helper.auth.dto.response.UserPageResponse;
 import com.helper.auth.entity.User;
 import com.helper.auth.enums.Role;
 import com.helper.auth.enums.VerificationStatus;
 import com.helper.auth.exception.AuthExceptions;
 import com.helper.auth.repository.UserRepository;
+import com.helper.auth.service.AdminUserService;
+import com.helper.auth.service.UserStatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -14,8 +16,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -27,31 +27,27 @@ import java.util.UUID;
 public class AdminController {
 
     private final UserRepository userRepository;
+    private final UserStatsService userStatsService;
+    private final AdminUserService adminUserService;
 
     @GetMapping("/users")
-    @Operation(summary = "List all users", description = "Returns all registered users (admin only)")
-    public ResponseEntity<ApiResponse<List<AuthResponse.UserInfo>>> getAllUsers(
+    @Operation(summary = "List users",
+            description = "Newest first, filtered by role, verification status and an email/phone prefix (admin only). " +
+                    "Pass nextCursor back as cursor for the next page; includeTotal=true adds the filtered total.")
+    public ResponseEntity<ApiResponse<UserPageResponse>> getAllUsers(
             @RequestParam(required = false) Role role,
-            @RequestParam(required = false) VerificationStatus status) {
-
-        List<User> users = userRepository.findAll();
-
-        List<AuthResponse.UserInfo> userInfos = users.stream()
-                .filter(u -> role == null || u.getRole() == role)
-                .filter(u -> status == null || u.getVerificationStatus() == status)
-                .map(u -> AuthResponse.UserInfo.builder()
-                        .userId(u.getUserId())
-                        .fullName(u.getFullName())
-                        .email(u.getEmail())
-                        .phone(u.getPhone())
-                        .role(u.getRole())
-                        .verificationStatus(u.getVerificationStatus())
-                        .emailVerified(u.isEmailVerified())
-                        .profileImageUrl(u.getProfileImageUrl())
-                        .build())
-                .toList();
-
-        return ResponseEntity.ok(ApiResponse.success("Users retrieved", userInfos));
+            @RequestParam(required = false) VerificationStatus status,
+            @RequestParam(required = false) VerificationStatus verificationStatus,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(defaultValue = "20") int size) {
+
+        // The admin panel sends verificationStatus; status is kept for existing callers
+        VerificationStatus statusFilter = status != null ? status : verificationStatus;
+        UserPageResponse users = adminUserService.listUsers(role, statusFilter, q, cursor, includeTotal, size);
+
+        return ResponseEntity.ok(ApiResponse.success("Users retrieved", users));
     }
 
     @PutMapping("/users/{userId}/verify")
@@ -101,13 +97,8 @@ public class AdminController {
 
     @GetMapping("/stats")
     @Operation(summary = "Get platform user statistics")
-    public ResponseEntity<ApiResponse<Map<String, Long>>> getStats() {
-        Map<String, Long> stats = new HashMap<>();
-        stats.put("totalCustomers", userRepository.countByRole(Role.CUSTOMER));
-        stats.put("totalWorkers", userRepository.countByRole(Role.WORKER));
-        stats.put("totalAdmins", userRepository.countByRole(Role.ADMIN));
-        stats.put("totalUsers", userRepository.count());
-
-        return ResponseEntity.ok(ApiResponse.success("Platform statistics", stats));
+    public ResponseEntity<ApiResponse<Map<String, Long>>> getStats(
+            @RequestParam(defaultValue = "false") boolean refresh) {
+        return ResponseEntity.ok(ApiResponse.success("Platform statistics", userStatsService.getStats(refresh)));
     }
 }
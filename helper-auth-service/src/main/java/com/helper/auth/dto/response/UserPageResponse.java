@@ -0,0 +1,27 @@
+package com.helper.auth.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of the admin user listing, keyset-paged: nextCursor fetches the next page.
+ * totalElements/totalPages are only filled when the caller asked for them (includeTotal).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserPageResponse {
+
+    private List<AuthResponse.UserInfo> content;
+    private int size;
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean first;
+    private boolean last;
+    private String nextCursor; // null when there are no more users
+}
@@ -3,13 +3,16 @@ package com.helper.auth.repository;
 import com.helper.auth.entity.User;
 import com.helper.auth.enums.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificationExecutor<User> {
 
     Optional<User> findByEmail(String email);
 
@@ -20,4 +23,13 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByPhone(String phone);
 
     long countByRole(Role role);
+
+    // Admin stats: users per role in one grouped query. Roles without users are absent.
+    @Query("SELECT u.role AS role, COUNT(u) AS userCount FROM User u GROUP BY u.role")
+    List<RoleCount> countGroupedByRole();
+
+    interface RoleCount {
+        Role getRole();
+        long getUserCount();
+    }
 }
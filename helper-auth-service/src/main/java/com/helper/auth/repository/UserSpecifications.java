@@ -0,0 +1,49 @@
+package com.helper.auth.repository;
+
+import com.helper.auth.entity.User;
+import com.helper.auth.enums.Role;
+import com.helper.auth.enums.VerificationStatus;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Query predicates for the admin user listing. Only the filters actually given become
+ * SQL, so each query has a fixed shape that the V2 listing indexes match. A catch-all
+ * "(:role IS NULL OR ...)" form lets Postgres settle on a generic plan that cannot use them.
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    /**
+     * @param prefixPattern escaped LIKE pattern ("abc%") matched against email or phone, or null
+     */
+    public static Specification<User> adminListing(Role role, VerificationStatus status, String prefixPattern) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (role != null) predicates.add(cb.equal(root.get("role"), role));
+            if (status != null) predicates.add(cb.equal(root.get("verificationStatus"), status));
+            if (prefixPattern != null) {
+                predicates.add(cb.or(
+                        cb.like(root.get("email"), prefixPattern, '\\'),
+                        cb.like(root.get("phone"), prefixPattern, '\\')));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Keyset condition of the newest-first listing: strictly before (createdAt, userId).
+     */
+    public static Specification<User> before(LocalDateTime createdAt, UUID userId) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("userId"), userId)));
+    }
+}
@@ -0,0 +1,107 @@
+package com.helper.auth.service;
+
+import com.helper.auth.dto.response.AuthResponse;
+import com.helper.auth.dto.response.UserPageResponse;
+import com.helper.auth.entity.User;
+import com.helper.auth.enums.Role;
+import com.helper.auth.enums.VerificationStatus;
+import com.helper.auth.repository.UserRepository;
+import com.helper.auth.repository.UserSpecifications;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Admin user listing, filtered and paged in the database.
+ *
+ * Keyset-paged by (createdAt, userId), newest first: every page costs the same, the first
+ * and the ten-thousandth. Filters are added to the query only when given (see
+ * UserSpecifications), and the COUNT over the filtered set only runs when the caller asks
+ * for totals.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AdminUserService {
+
+    private static final Sort LISTING_ORDER = Sort.by("createdAt").descending().and(Sort.by("userId").descending());
+
+    private final UserRepository userRepository;
+
+    @Value("${app.admin.users.max-page-size:100}")
+    private int maxPageSize;
+
+    /**
+     * List users newest first
+     *
+     * @param search       optional email or phone prefix
+     * @param cursor       nextCursor of a previous page; null or blank for the first page
+     * @param includeTotal also count the users matching the filters (one extra COUNT query)
+     */
+    public UserPageResponse listUsers(Role role, VerificationStatus status, String search,
+                                      String cursor, boolean includeTotal, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        Specification<User> filters = UserSpecifications.adminListing(role, status, toPrefixPattern(search));
+
+        boolean first = cursor == null || cursor.isBlank();
+        Specification<User> query = filters;
+        if (!first) {
+            UserCursor after = UserCursor.decode(cursor);
+            query = filters.and(UserSpecifications.before(after.getCreatedAt(), after.getUserId()));
+        }
+
+        // One row past the page tells whether another page follows
+        List<User> users = userRepository.findBy(query, q -> q.sortBy(LISTING_ORDER).limit(pageSize + 1).all());
+        boolean hasMore = users.size() > pageSize;
+        List<User> slice = hasMore ? users.subList(0, pageSize) : users;
+
+        UserPageResponse.UserPageResponseBuilder page = UserPageResponse.builder()
+                .content(slice.stream().map(this::toUserInfo).toList())
+                .size(pageSize)
+                .first(first)
+                .last(!hasMore)
+                .nextCursor(hasMore ? nextCursor(slice) : null);
+        if (includeTotal) {
+            long total = userRepository.count(filters);
+            page.totalElements(total).totalPages((int) ((total + pageSize - 1) / pageSize));
+        }
+        return page.build();
+    }
+
+    /**
+     * Turn free text into a LIKE prefix pattern. Emails are stored lower-cased, so the
+     * term is too; LIKE wildcards typed by the admin are matched literally.
+     */
+    static String toPrefixPattern(String search) {
+        if (search == null || search.isBlank()) return null;
+        String escaped = search.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+
+    private String nextCursor(List<User> users) {
+        User last = users.get(users.size() - 1);
+        return UserCursor.encode(last.getCreatedAt(), last.getUserId());
+    }
+
+    private AuthResponse.UserInfo toUserInfo(User u) {
+        return AuthResponse.UserInfo.builder()
+                .userId(u.getUserId())
+                .fullName(u.getFullName())
+                .email(u.getEmail())
+                .phone(u.getPhone())
+                .role(u.getRole())
+                .verificationStatus(u.getVerificationStatus())
+                .emailVerified(u.isEmailVerified())
+                .profileImageUrl(u.getProfileImageUrl())
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.helper.auth.service;
+
+import com.helper.auth.exception.AuthExceptions;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque continuation token for the admin user listing: createdAt of the last user
+ * returned plus its userId as tie-breaker. Encoded as URL-safe Base64 so clients pass
+ * it back verbatim.
+ */
+@Getter
+@AllArgsConstructor
+public class UserCursor {
+
+    private LocalDateTime createdAt;
+    private UUID userId;
+
+    public static String encode(LocalDateTime createdAt, UUID userId) {
+        String raw = createdAt + "|" + userId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new UserCursor(LocalDateTime.parse(raw.substring(0, sep)), UUID.fromString(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new AuthExceptions.BadRequestException("Invalid cursor: " + token);
+        }
+    }
+}
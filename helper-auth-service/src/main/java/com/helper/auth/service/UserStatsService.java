@@ -0,0 +1,59 @@
+package com.helper.auth.service;
+
+import com.helper.auth.enums.Role;
+import com.helper.auth.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Platform user statistics for the admin panel, served from an in-memory snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserStatsService {
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    // Admin stats are served from memory, recomputed on read once older than app.stats.max-age-ms
+    @Value("${app.stats.max-age-ms:60000}")
+    private long statsMaxAgeMs;
+
+    private StatsSnapshot<Map<String, Long>> statsSnapshot;
+
+    @PostConstruct
+    void initStatsSnapshot() {
+        statsSnapshot = new StatsSnapshot<>("users", this::computeStats, statsMaxAgeMs, meterRegistry);
+    }
+
+    /**
+     * User counts by role, from the in-memory snapshot
+     *
+     * @param refresh recompute now instead of serving the snapshot
+     */
+    public Map<String, Long> getStats(boolean refresh) {
+        return refresh ? statsSnapshot.refresh() : statsSnapshot.get();
+    }
+
+    private Map<String, Long> computeStats() {
+        Map<Role, Long> byRole = new EnumMap<>(Role.class);
+        long total = 0;
+        for (UserRepository.RoleCount count : userRepository.countGroupedByRole()) {
+            byRole.put(count.getRole(), count.getUserCount());
+            total += count.getUserCount();
+        }
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("totalCustomers", byRole.getOrDefault(Role.CUSTOMER, 0L));
+        stats.put("totalWorkers", byRole.getOrDefault(Role.WORKER, 0L));
+        stats.put("totalAdmins", byRole.getOrDefault(Role.ADMIN, 0L));
+        stats.put("totalUsers", total);
+        return stats;
+    }
+}
@@ -0,0 +1,18 @@
+-- ============================================
+-- V2__Admin_User_Listing.sql
+-- Indexes for the paged admin user listing (newest first, keyset by created_at, user_id)
+-- ============================================
+
+CREATE INDEX IF NOT EXISTS idx_users_created ON users(created_at DESC, user_id DESC);
+
+-- Role / role+status filters walk these in listing order; they also serve the role counts
+CREATE INDEX IF NOT EXISTS idx_users_role_created ON users(role, created_at DESC, user_id DESC);
+CREATE INDEX IF NOT EXISTS idx_users_role_status_created
+    ON users(role, verification_status, created_at DESC, user_id DESC);
+
+DROP INDEX IF EXISTS idx_users_role;
+DROP INDEX IF EXISTS idx_users_role_status;
+
+-- Prefix search (LIKE 'abc%') can only use a btree with pattern ops under a non-C collation
+CREATE INDEX IF NOT EXISTS idx_users_email_prefix ON users(email varchar_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_phone_prefix ON users(phone varchar_pattern_ops);
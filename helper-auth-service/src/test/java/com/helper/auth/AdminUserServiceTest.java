@@ -0,0 +1,230 @@
+package com.helper.auth;
+
+import com.helper.auth.controller.AdminController;
+import com.helper.auth.dto.response.UserPageResponse;
+import com.helper.auth.entity.User;
+import com.helper.auth.enums.Role;
+import com.helper.auth.enums.VerificationStatus;
+import com.helper.auth.exception.AuthExceptions;
+import com.helper.auth.repository.UserRepository;
+import com.helper.auth.service.AdminUserService;
+import com.helper.auth.service.UserCursor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests AdminUserService over a mocked UserRepository: keyset paging, opt-in totals, the
+ * filters that reach the query (with the LIKE escaping of the search prefix), and the
+ * verificationStatus alias of the endpoint.
+ */
+class AdminUserServiceTest {
+
+    private static final Sort LISTING_ORDER = Sort.by("createdAt").descending().and(Sort.by("userId").descending());
+
+    private UserRepository userRepository;
+    private FetchableFluentQuery<User> fluentQuery;
+    private AdminUserService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        fluentQuery = mock(FetchableFluentQuery.class, RETURNS_SELF);
+        when(userRepository.findBy(any(Specification.class), any())).thenAnswer(inv ->
+                inv.<Function<FetchableFluentQuery<User>, Object>>getArgument(1).apply(fluentQuery));
+        service = new AdminUserService(userRepository);
+        ReflectionTestUtils.setField(service, "maxPageSize", 100);
+    }
+
+    // Newest first, one minute apart
+    private static List<User> users(int n) {
+        LocalDateTime newest = LocalDateTime.of(2024, 6, 1, 12, 0);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            users.add(User.builder()
+                    .userId(UUID.randomUUID())
+                    .email("user" + i + "@helper.app")
+                    .fullName("User " + i)
+                    .role(Role.WORKER)
+                    .createdAt(newest.minusMinutes(i))
+                    .build());
+        }
+        return users;
+    }
+
+    private void returns(List<User> rows) {
+        when(fluentQuery.all()).thenReturn(rows);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Specification<User> querySpec() {
+        ArgumentCaptor<Specification<User>> spec = ArgumentCaptor.forClass(Specification.class);
+        verify(userRepository, atLeastOnce()).findBy(spec.capture(), any());
+        return spec.getValue();
+    }
+
+    /**
+     * Renders a specification against mocked criteria objects, so the test can check which
+     * predicates it builds. root.get(name) returns one mock Path per attribute name.
+     */
+    private static class Rendered {
+        final CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        final Map<String, Path<Object>> paths = new HashMap<>();
+
+        @SuppressWarnings("unchecked")
+        Rendered(Specification<User> spec) {
+            Root<User> root = mock(Root.class);
+            when(root.get(anyString())).thenAnswer(inv ->
+                    paths.computeIfAbsent(inv.getArgument(0), name -> mock(Path.class)));
+            spec.toPredicate(root, mock(CriteriaQuery.class), cb);
+        }
+
+        <T> Path<T> path(String name) {
+            @SuppressWarnings("unchecked")
+            Path<T> path = (Path<T>) (Path<?>) paths.get(name);
+            return path;
+        }
+    }
+
+    @Test
+    @DisplayName("First page: newest first, one extra row fetched, no count, cursor to the next page")
+    void testFirstPage() {
+        List<User> rows = users(21);
+        returns(rows);
+
+        UserPageResponse response = service.listUsers(Role.WORKER, null, null, null, false, 20);
+
+        verify(fluentQuery).sortBy(LISTING_ORDER);
+        verify(fluentQuery).limit(21);
+        verify(userRepository, never()).count(any(Specification.class));
+        assertEquals(20, response.getContent().size());
+        assertTrue(response.isFirst());
+        assertFalse(response.isLast());
+        assertNull(response.getTotalElements());
+        assertEquals(UserCursor.encode(rows.get(19).getCreatedAt(), rows.get(19).getUserId()), response.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Cursor page: keyset condition after the cursor; a short page is the last")
+    void testCursorPage() {
+        UUID afterId = UUID.randomUUID();
+        LocalDateTime afterCreatedAt = LocalDateTime.of(2024, 6, 2, 9, 30);
+        returns(users(3));
+
+        UserPageResponse response = service.listUsers(null, null, null,
+                UserCursor.encode(afterCreatedAt, afterId), false, 10);
+
+        Rendered query = new Rendered(querySpec());
+        verify(query.cb).lessThan(query.<LocalDateTime>path("createdAt"), afterCreatedAt);
+        verify(query.cb).lessThan(query.<UUID>path("userId"), afterId);
+        assertEquals(3, response.getContent().size());
+        assertFalse(response.isFirst());
+        assertTrue(response.isLast());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Totals are counted over the filters only when asked for")
+    @SuppressWarnings("unchecked")
+    void testIncludeTotal() {
+        returns(users(20));
+        when(userRepository.count(any(Specification.class))).thenReturn(45L);
+
+        UserPageResponse response = service.listUsers(Role.WORKER, null, null,
+                UserCursor.encode(LocalDateTime.now(), UUID.randomUUID()), true, 20);
+
+        ArgumentCaptor<Specification<User>> counted = ArgumentCaptor.forClass(Specification.class);
+        verify(userRepository).count(counted.capture());
+        Rendered count = new Rendered(counted.getValue());
+        verify(count.cb).equal(count.path("role"), Role.WORKER);
+        verify(count.cb, never()).lessThan(any(), any(LocalDateTime.class)); // counts the whole filtered set
+        assertEquals(45L, response.getTotalElements());
+        assertEquals(3, response.getTotalPages());
+    }
+
+    @Test
+    @DisplayName("Only the filters given reach the query")
+    void testOnlyPresentFilters() {
+        returns(List.of());
+
+        service.listUsers(Role.WORKER, null, null, null, false, 20);
+
+        Rendered query = new Rendered(querySpec());
+        verify(query.cb).equal(query.path("role"), Role.WORKER);
+        assertEquals(Set.of("role"), query.paths.keySet());
+        verify(query.cb, never()).like(any(), anyString(), anyChar());
+    }
+
+    @Test
+    @DisplayName("Search becomes a lower-cased prefix pattern with %, _ and \\ matched literally")
+    void testPrefixPatternEscaping() {
+        returns(List.of());
+
+        service.listUsers(null, null, "  50%_OFF\\x ", null, false, 20);
+
+        Rendered query = new Rendered(querySpec());
+        verify(query.cb).like(query.path("email"), "50\\%\\_off\\\\x%", '\\');
+        verify(query.cb).like(query.path("phone"), "50\\%\\_off\\\\x%", '\\');
+    }
+
+    @Test
+    @DisplayName("Blank search means no search filter")
+    void testBlankSearch() {
+        returns(List.of());
+
+        service.listUsers(null, null, "   ", null, false, 20);
+
+        assertTrue(new Rendered(querySpec()).paths.isEmpty());
+    }
+
+    @Test
+    @DisplayName("A bad cursor is rejected before any query runs")
+    void testBadCursor() {
+        assertThrows(AuthExceptions.BadRequestException.class,
+                () -> service.listUsers(null, null, null, "garbage", false, 20));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Page size is capped at max-page-size")
+    void testPageSizeCap() {
+        returns(List.of());
+
+        service.listUsers(null, null, null, null, false, 5_000);
+
+        verify(fluentQuery).limit(101);
+    }
+
+    @Test
+    @DisplayName("verificationStatus is accepted as an alias of status; status wins when both are sent")
+    void testVerificationStatusAlias() {
+        returns(List.of());
+        AdminController controller = new AdminController(userRepository, null, service);
+
+        controller.getAllUsers(null, null, VerificationStatus.VERIFIED, null, null, false, 20);
+        Rendered alias = new Rendered(querySpec());
+        verify(alias.cb).equal(alias.path("verificationStatus"), VerificationStatus.VERIFIED);
+
+        controller.getAllUsers(null, VerificationStatus.PENDING, VerificationStatus.VERIFIED, null, null, false, 20);
+        Rendered both = new Rendered(querySpec());
+        verify(both.cb).equal(both.path("verificationStatus"), VerificationStatus.PENDING);
+    }
+}
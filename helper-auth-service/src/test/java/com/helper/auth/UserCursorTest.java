@@ -0,0 +1,61 @@
+package com.helper.auth;
+
+import com.helper.auth.exception.AuthExceptions;
+import com.helper.auth.service.UserCursor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the admin listing's keyset cursor: round trip, URL safety, rejection of bad tokens.
+ */
+class UserCursorTest {
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Encoded cursor decodes to the same createdAt and userId")
+    void testRoundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 9, 14, 5, 7, 123_456_000);
+        UUID userId = UUID.randomUUID();
+
+        UserCursor cursor = UserCursor.decode(UserCursor.encode(createdAt, userId));
+
+        assertEquals(createdAt, cursor.getCreatedAt());
+        assertEquals(userId, cursor.getUserId());
+    }
+
+    @Test
+    @DisplayName("Cursor is URL-safe and unpadded")
+    void testUrlSafe() {
+        for (int i = 0; i < 100; i++) {
+            String token = UserCursor.encode(LocalDateTime.now().minusMinutes(i), UUID.randomUUID());
+            assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+        }
+    }
+
+    @Test
+    @DisplayName("Malformed cursors are rejected as bad requests")
+    void testBadCursor() {
+        String[] bad = {
+                "not base64!",
+                base64("no separator"),
+                base64("yesterday|" + UUID.randomUUID()),
+                base64(LocalDateTime.now() + "|not-a-uuid"),
+                ""
+        };
+        for (String token : bad) {
+            AuthExceptions.BadRequestException e = assertThrows(AuthExceptions.BadRequestException.class,
+                    () -> UserCursor.decode(token), token);
+            assertTrue(e.getMessage().startsWith("Invalid cursor"));
+        }
+    }
+}
@@ -1,20 +1,30 @@
 package com.helper.notification.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helper.notification.dto.request.BroadcastRequest;
 import com.helper.notification.dto.request.SendNotificationRequest;
 import com.helper.notification.dto.response.ApiResponse;
+import com.helper.notification.dto.response.BroadcastResponse;
 import com.helper.notification.dto.response.NotificationResponse;
 import com.helper.notification.dto.response.NotificationStatsResponse;
+import com.helper.notification.exception.NotificationExceptions;
+import com.helper.notification.service.BulkNotificationService;
 import com.helper.notification.service.NotificationService;
+import com.helper.notification.service.RecipientReader;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
 
 @RestController
@@ -26,6 +36,8 @@ import java.util.List;
 public class AdminNotificationController {
 
     private final NotificationService notifService;
+    private final BulkNotificationService bulkService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/send")
     @Operation(summary = "Send notification to specific users",
@@ -37,11 +49,33 @@ public class AdminNotificationController {
                         notifService.sendNotification(request)));
     }
 
+    @PostMapping(value = "/broadcast", consumes = {"application/x-ndjson", MediaType.TEXT_PLAIN_VALUE})
+    @Operation(summary = "Broadcast one message to a large audience",
+            description = "Newline-delimited body: first line is the message (event, title, body, data, priority) as JSON, "
+                    + "then one recipient user ID per line. Recipients are streamed and written in batches.")
+    public ResponseEntity<ApiResponse<BroadcastResponse>> broadcast(Reader body) throws IOException {
+        BufferedReader reader = new BufferedReader(body, 64 * 1024);
+        String header = reader.readLine();
+        if (header == null || header.isBlank()) {
+            throw new NotificationExceptions.InvalidNotificationException("Broadcast message is required on the first line");
+        }
+        BroadcastRequest message;
+        try {
+            message = objectMapper.readValue(header, BroadcastRequest.class);
+        } catch (IOException e) {
+            throw new NotificationExceptions.InvalidNotificationException("Malformed broadcast message: " + e.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Broadcast sent",
+                        bulkService.broadcast(message, new RecipientReader(reader))));
+    }
+
     @GetMapping("/stats")
     @Operation(summary = "Notification statistics",
             description = "Total, pending, sent, failed, active device tokens, breakdown by status")
-    public ResponseEntity<ApiResponse<NotificationStatsResponse>> getStats() {
+    public ResponseEntity<ApiResponse<NotificationStatsResponse>> getStats(
+            @RequestParam(defaultValue = "false") boolean refresh) {
         return ResponseEntity.ok(ApiResponse.success("Notification stats",
-                notifService.getStats()));
+                notifService.getStats(refresh)));
     }
 }
@@ -1,24 +1,27 @@
 package com.helper.notification.controller;
 
+import com.helper.notification.dto.request.NewTaskInAreaRequest;
 import com.helper.notification.dto.response.ApiResponse;
 import com.helper.notification.dto.response.NotificationResponse;
-import com.helper.notification.enums.NotificationEvent;
-import com.helper.notification.enums.NotificationPriority;
-import com.helper.notification.service.NotificationService;
+import com.helper.notification.service.LifecycleNotifier;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 /**
  * Lightweight endpoints called by other Helper microservices
  * to trigger lifecycle notifications without building full request objects.
+ * The same notifications are sent for the services' lifecycle events on the event bus;
+ * these endpoints remain for manual re-sends and callers not yet on the bus.
  */
 @RestController
 @RequestMapping("/api/v1/internal/notify")
@@ -27,7 +30,7 @@ import java.util.UUID;
 @SecurityRequirement(name = "bearerAuth")
 public class InternalNotificationController {
 
-    private final NotificationService notifService;
+    private final LifecycleNotifier lifecycleNotifier;
 
     @PostMapping("/task-status")
     @Operation(summary = "Notify task status change",
@@ -38,10 +41,7 @@ public class InternalNotificationController {
             @RequestParam String taskTitle,
             @RequestParam String newStatus) {
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Sent",
-                notifService.sendToUser(userId, NotificationEvent.TASK_STATUS_CHANGE,
-                        "Task Update: " + taskTitle,
-                        "Your task \"" + taskTitle + "\" is now " + newStatus + ".",
-                        Map.of("taskId", taskId.toString(), "status", newStatus))));
+                lifecycleNotifier.taskStatusChange(List.of(userId), taskId, taskTitle, newStatus).get(0)));
     }
 
     @PostMapping("/payment-received")
@@ -51,10 +51,18 @@ public class InternalNotificationController {
             @RequestParam UUID taskId,
             @RequestParam String amount) {
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Sent",
-                notifService.sendToUser(workerId, NotificationEvent.PAYMENT_RECEIVED,
-                        "Payment Received: ₹" + amount,
-                        "You received ₹" + amount + " for your completed task.",
-                        Map.of("taskId", taskId.toString(), "amount", amount))));
+                lifecycleNotifier.paymentReceived(workerId, taskId, amount)));
+    }
+
+    @PostMapping("/new-task-in-area")
+    @Operation(summary = "Notify a batch of workers of a new task in their service area",
+            description = "Called by User Service with the workers whose service radius covers the task; one bulk send per call")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> newTaskInArea(
+            @Valid @RequestBody NewTaskInAreaRequest request) {
+        int sent = lifecycleNotifier.newTaskInArea(request.getWorkerIds(), request.getTaskId(),
+                request.getTaskTitle(), request.getDomain());
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Sent",
+                Map.of("recipients", sent)));
     }
 
     @PostMapping("/new-bid")
@@ -65,10 +73,7 @@ public class InternalNotificationController {
             @RequestParam String workerName,
             @RequestParam String bidAmount) {
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Sent",
-                notifService.sendToUser(customerId, NotificationEvent.NEW_BID_RECEIVED,
-                        "New Bid: ₹" + bidAmount + " from " + workerName,
-                        workerName + " bid ₹" + bidAmount + " on your task.",
-                        Map.of("taskId", taskId.toString(), "bidAmount", bidAmount))));
+                lifecycleNotifier.newBid(customerId, taskId, workerName, bidAmount)));
     }
 
     @PostMapping("/bid-accepted")
@@ -78,10 +83,7 @@ public class InternalNotificationController {
             @RequestParam UUID taskId,
             @RequestParam String taskTitle) {
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Sent",
-                notifService.sendToUser(workerId, NotificationEvent.BID_ACCEPTED,
-                        "Bid Accepted!",
-                        "Your bid on \"" + taskTitle + "\" has been accepted.",
-                        Map.of("taskId", taskId.toString()))));
+                lifecycleNotifier.bidAccepted(workerId, taskId, taskTitle)));
     }
 
     @PostMapping("/rating-received")
@@ -91,10 +93,7 @@ public class InternalNotificationController {
             @RequestParam UUID taskId,
             @RequestParam int score) {
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Sent",
-                notifService.sendToUser(userId, NotificationEvent.RATING_RECEIVED,
-                        "New " + score + "-Star Rating",
-                        "You received a " + score + "-star rating for a completed task.",
-                        Map.of("taskId", taskId.toString(), "score", String.valueOf(score)))));
+                lifecycleNotifier.ratingReceived(userId, taskId, score)));
     }
 
     @PostMapping("/kyc-status")
@@ -103,14 +102,7 @@ public class InternalNotificationController {
             @RequestParam UUID workerId,
             @RequestParam String status,
             @RequestParam(required = false) String reason) {
-        NotificationEvent event = "APPROVED".equalsIgnoreCase(status)
-                ? NotificationEvent.KYC_APPROVED : NotificationEvent.KYC_REJECTED;
-        String title = "APPROVED".equalsIgnoreCase(status) ? "KYC Approved!" : "KYC Rejected";
-        String body = "APPROVED".equalsIgnoreCase(status)
-                ? "Congratulations! Your KYC verification is complete. You can now accept tasks."
-                : "Your KYC was rejected" + (reason != null ? ": " + reason : "") + ". Please resubmit.";
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Sent",
-                notifService.sendToUser(workerId, event, title, body,
-                        Map.of("kycStatus", status))));
+                lifecycleNotifier.kycStatus(workerId, status, reason)));
     }
 }
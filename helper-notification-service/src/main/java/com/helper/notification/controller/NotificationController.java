@@ -11,9 +11,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -24,14 +26,19 @@ import java.util.UUID;
 @SecurityRequirement(name = "bearerAuth")
 public class NotificationController {
 
+    // Per-user inbox: the client keeps a copy but revalidates every poll (ETag / If-None-Match)
+    private static final CacheControl PRIVATE_REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final NotificationService notifService;
 
     @GetMapping
     @Operation(summary = "My notifications", description = "Paginated, newest first")
     public ResponseEntity<ApiResponse<Page<NotificationResponse>>> getMyNotifications(
             @AuthenticationPrincipal AuthenticatedUser user,
-            @PageableDefault(size = 20) Pageable pageable) {
-        return ResponseEntity.ok(ApiResponse.success("Notifications",
+            @PageableDefault(size = 20) Pageable pageable,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(notifService.getUserNotificationsETag(user.getUserId(), pageable))) return null;
+        return ResponseEntity.ok().cacheControl(PRIVATE_REVALIDATE).body(ApiResponse.success("Notifications",
                 notifService.getUserNotifications(user.getUserId(), pageable)));
     }
 
@@ -39,8 +46,11 @@ public class NotificationController {
     @Operation(summary = "Unread notifications")
     public ResponseEntity<ApiResponse<Page<NotificationResponse>>> getUnread(
             @AuthenticationPrincipal AuthenticatedUser user,
-            @PageableDefault(size = 20) Pageable pageable) {
-        return ResponseEntity.ok(ApiResponse.success("Unread notifications",
+            @PageableDefault(size = 20) Pageable pageable,
+            WebRequest webRequest) {
+        // Polled by every open client; 304 unless something arrived or was read since the last poll
+        if (webRequest.checkNotModified(notifService.getUnreadNotificationsETag(user.getUserId(), pageable))) return null;
+        return ResponseEntity.ok().cacheControl(PRIVATE_REVALIDATE).body(ApiResponse.success("Unread notifications",
                 notifService.getUnreadNotifications(user.getUserId(), pageable)));
     }
 
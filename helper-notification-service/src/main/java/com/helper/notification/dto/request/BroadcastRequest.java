@@ -0,0 +1,33 @@
+package com.helper.notification.dto.request;
+
+import com.helper.notification.enums.NotificationEvent;
+import com.helper.notification.enums.NotificationPriority;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * The message of a bulk broadcast. Recipients are not part of it: they are streamed
+ * after it (see BulkNotificationService).
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class BroadcastRequest {
+
+    @NotNull(message = "Event type is required")
+    private NotificationEvent event;
+
+    @NotBlank(message = "Title is required")
+    @Size(max = 200)
+    private String title;
+
+    @NotBlank(message = "Body is required")
+    @Size(max = 5000)
+    private String body;
+
+    private Map<String, String> data;
+
+    private NotificationPriority priority; // null: the event's default (NotificationEventRouter)
+}
@@ -0,0 +1,23 @@
+package com.helper.notification.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+import java.util.List;
+import java.util.UUID;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class NewTaskInAreaRequest {
+
+    @NotNull(message = "At least one worker required")
+    @Size(min = 1, max = 5000, message = "Between 1 and 5000 workers per request")
+    private List<UUID> workerIds;
+
+    @NotNull(message = "Task id is required")
+    private UUID taskId;
+
+    @NotBlank(message = "Task title is required")
+    @Size(max = 200)
+    private String taskTitle;
+
+    private String domain;
+}
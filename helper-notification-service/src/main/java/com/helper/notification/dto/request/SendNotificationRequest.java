@@ -28,6 +28,5 @@ public class SendNotificationRequest {
 
     private Map<String, String> data; // taskId, paymentId, etc.
 
-    @Builder.Default
-    private NotificationPriority priority = NotificationPriority.NORMAL;
+    private NotificationPriority priority; // null: the event's default (NotificationEventRouter)
 }
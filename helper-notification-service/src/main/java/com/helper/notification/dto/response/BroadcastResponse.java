@@ -0,0 +1,12 @@
+package com.helper.notification.dto.response;
+
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class BroadcastResponse {
+    private long recipients;
+    private long skippedLines;
+    private long queuedDeliveries;
+    private int chunks;
+    private long durationMs;
+}
@@ -0,0 +1,57 @@
+package com.helper.notification.entity;
+
+import com.helper.notification.enums.NotificationChannel;
+import com.helper.notification.enums.NotificationPriority;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One pending hand-off of a stored notification to one channel, written in the same
+ * transaction as the notification and deleted once the channel has taken it (see
+ * {@link com.helper.notification.service.channel.DeliveryQueue}).
+ */
+@Entity
+@Table(name = "notification_deliveries", indexes = {
+        @Index(name = "uk_delivery_notification_channel", columnList = "notification_id, channel", unique = true),
+        @Index(name = "idx_delivery_claim", columnList = "channel, priority, available_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeliveryJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "notification_id", nullable = false, updatable = false)
+    private UUID notificationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10, updatable = false)
+    private NotificationChannel channel;
+
+    // Ordinal, so claims can order by it: URGENT (3) first, LOW (0) last
+    @Enumerated(EnumType.ORDINAL)
+    @Column(nullable = false, updatable = false)
+    private NotificationPriority priority;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    // Not claimable before this: set to the lease expiry on claim, to the backoff on failure
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+}
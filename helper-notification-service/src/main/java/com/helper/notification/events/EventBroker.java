@@ -0,0 +1,26 @@
+package com.helper.notification.events;
+
+import java.util.List;
+
+/**
+ * Carries lifecycle events between services. Picked by app.cache.type (see
+ * {@link com.helper.notification.config.EventBrokerConfig}): in-memory → {@link InProcessEventBroker},
+ * events only reach consumers in this JVM; redis → {@link RedisStreamEventBroker}, one
+ * Redis stream read by a consumer group per consuming service.
+ *
+ * Delivery is at least once: consumers must deduplicate on {@link EventEnvelope#getEventId()}.
+ */
+public interface EventBroker {
+
+    /**
+     * Publish a batch of events in order. Throws if the batch may not have been published;
+     * the caller retries the whole batch.
+     */
+    void publish(List<EventEnvelope> events);
+
+    /**
+     * Deliver every event published from now on to the handler, once per consumer group
+     * (instances sharing a group split the events between them).
+     */
+    void subscribe(String consumerGroup, EventHandler handler);
+}
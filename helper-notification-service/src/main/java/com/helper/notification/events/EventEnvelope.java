@@ -0,0 +1,24 @@
+package com.helper.notification.events;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One lifecycle event as carried by the {@link EventBroker}. The payload is the JSON written
+ * to the outbox; eventId is the idempotency key consumers deduplicate on.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventEnvelope {
+
+    private UUID eventId;
+    private String type;
+    private String key;
+    private String source;
+    private LocalDateTime occurredAt;
+    private String payload;
+}
@@ -24,6 +24,8 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ApiResponse<?>> handleNotFound(RuntimeException ex) { return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(ex.getMessage(), "NOT_FOUND")); }
     @ExceptionHandler(NotificationExceptions.UnauthorizedNotificationException.class)
     public ResponseEntity<ApiResponse<?>> handleForbidden(RuntimeException ex) { return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error(ex.getMessage(), "FORBIDDEN")); }
+    @ExceptionHandler(NotificationExceptions.InvalidNotificationException.class)
+    public ResponseEntity<ApiResponse<?>> handleInvalid(RuntimeException ex) { return ResponseEntity.badRequest().body(ApiResponse.error(ex.getMessage(), "BAD_REQUEST")); }
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ApiResponse<?>> handleAccess(AccessDeniedException ex) { return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Access denied", "FORBIDDEN")); }
     @ExceptionHandler(Exception.class)
@@ -0,0 +1,37 @@
+package com.helper.notification.repository;
+
+import com.helper.notification.entity.DeliveryJob;
+import com.helper.notification.enums.NotificationChannel;
+import com.helper.notification.enums.NotificationPriority;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DeliveryJobRepository extends JpaRepository<DeliveryJob, Long> {
+
+    // Due jobs of one channel, highest priority first, locked; rows other workers hold are skipped (SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM DeliveryJob j WHERE j.channel = :channel AND j.priority IN :priorities " +
+            "AND j.availableAt <= :now ORDER BY j.priority DESC, j.id")
+    List<DeliveryJob> findClaimable(@Param("channel") NotificationChannel channel,
+                                    @Param("priorities") Collection<NotificationPriority> priorities,
+                                    @Param("now") LocalDateTime now,
+                                    Pageable limit);
+
+    @Modifying
+    @Query("UPDATE DeliveryJob j SET j.availableAt = :at, j.lastError = :error WHERE j.id = :id")
+    int reschedule(@Param("id") Long id, @Param("at") LocalDateTime at, @Param("error") String error);
+
+    // Backlog per channel and priority, for the queue depth gauges
+    @Query("SELECT j.channel, j.priority, COUNT(j) FROM DeliveryJob j GROUP BY j.channel, j.priority")
+    List<Object[]> countBacklog();
+}
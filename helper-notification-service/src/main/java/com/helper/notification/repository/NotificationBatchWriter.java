@@ -0,0 +1,60 @@
+package com.helper.notification.repository;
+
+import com.helper.notification.entity.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based writes for bulk notifications: JDBC batches instead of one persist (and one
+ * flush) per row. On Postgres the prod URL sets reWriteBatchedInserts, so each batch goes
+ * over the wire as multi-row INSERTs. Rows must carry their id and timestamps.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationBatchWriter {
+
+    private static final String INSERT = "INSERT INTO notifications (notification_id, user_id, event, title, body, " +
+            "data_json, priority, status, is_read, push_sent, sms_sent, email_sent, retry_count, error_message, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, FALSE, ?, ?, ?, 0, ?, ?, ?)";
+
+    private static final String MARK_FAILED = "UPDATE notifications SET status = 'FAILED', error_message = ?, " +
+            "updated_at = ? WHERE notification_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(List<Notification> rows) {
+        jdbcTemplate.batchUpdate(INSERT, rows, rows.size(), (ps, n) -> {
+            ps.setObject(1, n.getNotificationId());
+            ps.setObject(2, n.getUserId());
+            ps.setString(3, n.getEvent().name());
+            ps.setString(4, n.getTitle());
+            ps.setString(5, n.getBody());
+            ps.setString(6, n.getDataJson());
+            ps.setString(7, n.getPriority().name());
+            ps.setString(8, n.getStatus().name());
+            ps.setBoolean(9, Boolean.TRUE.equals(n.getPushSent()));
+            ps.setBoolean(10, Boolean.TRUE.equals(n.getSmsSent()));
+            ps.setBoolean(11, Boolean.TRUE.equals(n.getEmailSent()));
+            ps.setString(12, n.getErrorMessage());
+            ps.setTimestamp(13, Timestamp.valueOf(n.getCreatedAt()));
+            ps.setTimestamp(14, Timestamp.valueOf(n.getUpdatedAt()));
+        });
+    }
+
+    /** Rows whose delivery ran out of attempts (see DeliveryWorkers). */
+    public void markFailed(Collection<Notification> rows) {
+        if (rows.isEmpty()) return;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(MARK_FAILED, rows, rows.size(), (ps, n) -> {
+            ps.setString(1, n.getErrorMessage());
+            ps.setTimestamp(2, now);
+            ps.setObject(3, n.getNotificationId());
+        });
+    }
+}
@@ -23,13 +23,29 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
 
     long countByUserIdAndIsReadFalse(UUID userId);
 
+    // Version stamps for inbox ETags (bulk updates must set updatedAt themselves)
+    @Query("SELECT COUNT(n) AS count, MAX(n.updatedAt) AS lastModified FROM Notification n WHERE n.userId = :uid")
+    VersionStamp findVersionByUserId(@Param("uid") UUID userId);
+
+    @Query("SELECT COUNT(n) AS count, MAX(n.updatedAt) AS lastModified FROM Notification n " +
+            "WHERE n.userId = :uid AND n.isRead = false")
+    VersionStamp findUnreadVersionByUserId(@Param("uid") UUID userId);
+
     @Modifying
-    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = CURRENT_TIMESTAMP WHERE n.userId = :uid AND n.isRead = false")
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = CURRENT_TIMESTAMP, n.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE n.userId = :uid AND n.isRead = false")
     int markAllReadForUser(@Param("uid") UUID userId);
 
     List<Notification> findByStatusAndRetryCountLessThan(NotificationStatus status, int maxRetries);
 
-    long countByStatus(NotificationStatus status);
+    // Admin stats: notifications per status in one grouped query (see NotificationStats)
+    @Query("SELECT n.status AS status, COUNT(n) AS notificationCount FROM Notification n GROUP BY n.status")
+    List<StatusCount> countGroupedByStatus();
+
+    interface StatusCount {
+        NotificationStatus getStatus();
+        long getNotificationCount();
+    }
 
     @Modifying
     @Query("DELETE FROM Notification n WHERE n.createdAt < :cutoff")
@@ -0,0 +1,12 @@
+package com.helper.notification.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate "has anything changed" projection for conditional GETs: how many rows a
+ * response is built from and when the newest of them was last modified.
+ */
+public interface VersionStamp {
+    long getCount();
+    LocalDateTime getLastModified();
+}
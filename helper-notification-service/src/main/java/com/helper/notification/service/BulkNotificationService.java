@@ -0,0 +1,182 @@
+package com.helper.notification.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helper.notification.dto.request.BroadcastRequest;
+import com.helper.notification.dto.response.BroadcastResponse;
+import com.helper.notification.entity.Notification;
+import com.helper.notification.entity.UserNotificationPreference;
+import com.helper.notification.enums.NotificationChannel;
+import com.helper.notification.enums.NotificationPriority;
+import com.helper.notification.enums.NotificationStatus;
+import com.helper.notification.exception.NotificationExceptions;
+import com.helper.notification.repository.NotificationBatchWriter;
+import com.helper.notification.repository.UserNotificationPreferenceRepository;
+import com.helper.notification.service.channel.DeliveryQueue;
+import com.helper.notification.service.channel.NotificationDispatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Sends one message to a large audience. Recipients are consumed from an iterator in
+ * chunks of app.notification.bulk.chunk-size, so memory does not grow with the audience.
+ * Per chunk: one query for the recipients' preferences, one JDBC batch insert of the
+ * rows with their final status and channel flags, and one of their deliveries onto the
+ * {@link DeliveryQueue}. A PROMOTIONAL broadcast is queued LOW, behind transactional sends.
+ *
+ * Each chunk commits on its own (or joins the caller's transaction, if there is one). A
+ * failure stops the broadcast; the chunks already written stay written.
+ */
+@Service
+@Slf4j
+public class BulkNotificationService {
+
+    private final NotificationBatchWriter batchWriter;
+    private final UserNotificationPreferenceRepository prefRepo;
+    private final NotificationDispatcher dispatcher;
+    private final DeliveryQueue deliveryQueue;
+    private final TransactionOperations transactions;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    private final Counter rowsWritten;
+    private final Timer chunkTimer;
+
+    @Autowired
+    public BulkNotificationService(NotificationBatchWriter batchWriter,
+                                   UserNotificationPreferenceRepository prefRepo,
+                                   NotificationDispatcher dispatcher,
+                                   DeliveryQueue deliveryQueue,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.notification.bulk.chunk-size:1000}") int chunkSize) {
+        this(batchWriter, prefRepo, dispatcher, deliveryQueue, new TransactionTemplate(transactionManager),
+                objectMapper, meterRegistry, chunkSize);
+    }
+
+    public BulkNotificationService(NotificationBatchWriter batchWriter, UserNotificationPreferenceRepository prefRepo,
+                                   NotificationDispatcher dispatcher, DeliveryQueue deliveryQueue,
+                                   TransactionOperations transactions, ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry, int chunkSize) {
+        this.batchWriter = batchWriter;
+        this.prefRepo = prefRepo;
+        this.dispatcher = dispatcher;
+        this.deliveryQueue = deliveryQueue;
+        this.transactions = transactions;
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(1, chunkSize);
+
+        this.rowsWritten = meterRegistry.counter("notification.bulk.rows");
+        this.chunkTimer = meterRegistry.timer("notification.bulk.chunk");
+    }
+
+    public BroadcastResponse broadcast(BroadcastRequest message, Iterator<UUID> recipients) {
+        validate(message);
+        NotificationPriority priority = NotificationEventRouter.resolvePriority(message.getEvent(), message.getPriority());
+        long start = System.nanoTime();
+        String dataJson = toJson(message.getData());
+        Set<NotificationChannel> channels = NotificationEventRouter.getChannels(message.getEvent());
+
+        List<UUID> chunk = new ArrayList<>(chunkSize);
+        long total = 0;
+        long queued = 0;
+        int chunks = 0;
+        while (recipients.hasNext()) {
+            chunk.add(recipients.next());
+            if (chunk.size() == chunkSize || !recipients.hasNext()) {
+                List<UUID> userIds = chunk;
+                queued += chunkTimer.record(() -> writeChunk(message, priority, dataJson, channels, userIds));
+                rowsWritten.increment(chunk.size());
+                total += chunk.size();
+                chunks++;
+                chunk.clear();
+            }
+        }
+
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Broadcast {} to {} recipients in {} chunks ({} ms, {} deliveries queued at {})",
+                message.getEvent(), total, chunks, durationMs, queued, priority);
+        return BroadcastResponse.builder()
+                .recipients(total)
+                .skippedLines(recipients instanceof RecipientReader ? ((RecipientReader) recipients).getSkipped() : 0)
+                .queuedDeliveries(queued)
+                .chunks(chunks)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    /** Returns the number of channel deliveries queued. */
+    private int writeChunk(BroadcastRequest message, NotificationPriority priority, String dataJson,
+                           Set<NotificationChannel> channels, List<UUID> userIds) {
+        Map<UUID, UserNotificationPreference> prefs = loadPreferences(channels, userIds);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Notification> rows = new ArrayList<>(userIds.size());
+        for (UUID userId : userIds) {
+            Notification notif = Notification.builder()
+                    .notificationId(UUID.randomUUID())
+                    .userId(userId)
+                    .event(message.getEvent())
+                    .title(message.getTitle())
+                    .body(message.getBody())
+                    .dataJson(dataJson)
+                    .priority(priority)
+                    .status(NotificationStatus.SENT)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            UserNotificationPreference pref = prefs.get(userId);
+            dispatcher.plan(notif, channels, pref != null ? pref : UserNotificationPreference.builder().userId(userId).build());
+            rows.add(notif);
+        }
+        Integer queued = transactions.execute(status -> {
+            batchWriter.insert(rows);
+            return deliveryQueue.enqueue(rows);
+        });
+        return queued != null ? queued : 0;
+    }
+
+    // In-app only events don't look at preferences
+    private Map<UUID, UserNotificationPreference> loadPreferences(Set<NotificationChannel> channels, List<UUID> userIds) {
+        if (!channels.contains(NotificationChannel.PUSH) && !channels.contains(NotificationChannel.SMS)
+                && !channels.contains(NotificationChannel.EMAIL)) {
+            return Map.of();
+        }
+        Map<UUID, UserNotificationPreference> prefs = new HashMap<>();
+        prefRepo.findAllById(userIds).forEach(p -> prefs.put(p.getUserId(), p));
+        return prefs;
+    }
+
+    private static void validate(BroadcastRequest message) {
+        if (message == null || message.getEvent() == null) {
+            throw new NotificationExceptions.InvalidNotificationException("Event type is required");
+        }
+        if (message.getTitle() == null || message.getTitle().isBlank() || message.getTitle().length() > 200) {
+            throw new NotificationExceptions.InvalidNotificationException("Title is required (max 200 characters)");
+        }
+        if (message.getBody() == null || message.getBody().isBlank() || message.getBody().length() > 5000) {
+            throw new NotificationExceptions.InvalidNotificationException("Body is required (max 5000 characters)");
+        }
+    }
+
+    private String toJson(Map<String, String> data) {
+        if (data == null || data.isEmpty()) return null;
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (Exception e) {
+            log.warn("Failed to serialize notification data: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.helper.notification.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.helper.notification.dto.request.BroadcastRequest;
+import com.helper.notification.dto.request.SendNotificationRequest;
+import com.helper.notification.dto.response.NotificationResponse;
+import com.helper.notification.enums.NotificationEvent;
+import com.helper.notification.events.EventEnvelope;
+import com.helper.notification.events.EventTypes;
+import com.helper.notification.events.IdempotentEventConsumer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Turns task, bid, payment, rating and KYC lifecycle changes into notifications. Fed by
+ * the event bus (events published by the other services) and by the internal notify
+ * endpoints, so both paths send the same messages.
+ */
+@Service
+@RequiredArgsConstructor
+public class LifecycleNotifier {
+
+    private final NotificationService notifService;
+    private final BulkNotificationService bulkService;
+    private final IdempotentEventConsumer eventConsumer;
+    private final ObjectMapper objectMapper;
+
+    // Keeps amounts as written (500.00, not 500.0)
+    private ObjectReader payloadReader;
+
+    @PostConstruct
+    void register() {
+        payloadReader = objectMapper.reader().with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+        eventConsumer.on(EventTypes.TASK_STATUS_CHANGED, e -> {
+            JsonNode p = payload(e);
+            taskStatusChange(uuids(p.get("recipientIds")), uuid(p, "taskId"), p.path("title").asText(),
+                    p.path("status").asText());
+        });
+        eventConsumer.on(EventTypes.BID_PLACED, e -> {
+            JsonNode p = payload(e);
+            newBid(uuid(p, "customerId"), uuid(p, "taskId"), null, p.path("bidAmount").asText());
+        });
+        eventConsumer.on(EventTypes.BID_ACCEPTED, e -> {
+            JsonNode p = payload(e);
+            bidAccepted(uuid(p, "workerId"), uuid(p, "taskId"), p.path("title").asText());
+        });
+        eventConsumer.on(EventTypes.BID_REJECTED, e -> {
+            JsonNode p = payload(e);
+            bidsRejected(uuids(p.get("workerIds")), uuid(p, "taskId"), p.path("title").asText());
+        });
+        eventConsumer.on(EventTypes.PAYMENT_RECEIVED, e -> {
+            JsonNode p = payload(e);
+            paymentReceived(uuid(p, "workerId"), uuid(p, "taskId"), p.path("amount").asText());
+        });
+        eventConsumer.on(EventTypes.PAYMENT_REFUNDED, e -> {
+            JsonNode p = payload(e);
+            paymentRefunded(uuid(p, "payerId"), uuid(p, "taskId"), p.path("amount").asText());
+        });
+        eventConsumer.on(EventTypes.RATING_RECEIVED, e -> {
+            JsonNode p = payload(e);
+            ratingReceived(uuid(p, "userId"), uuid(p, "taskId"), p.path("score").asInt());
+        });
+        eventConsumer.on(EventTypes.KYC_STATUS_CHANGED, e -> {
+            JsonNode p = payload(e);
+            kycStatus(uuid(p, "workerId"), p.path("status").asText(),
+                    p.hasNonNull("reason") ? p.get("reason").asText() : null);
+        });
+        eventConsumer.on(EventTypes.NEW_TASK_IN_AREA, e -> {
+            JsonNode p = payload(e);
+            newTaskInArea(uuids(p.get("workerIds")), uuid(p, "taskId"), p.path("title").asText(),
+                    p.hasNonNull("domain") ? p.get("domain").asText() : null);
+        });
+    }
+
+    public List<NotificationResponse> taskStatusChange(List<UUID> userIds, UUID taskId, String taskTitle,
+                                                       String newStatus) {
+        if (userIds.isEmpty()) return List.of();
+        boolean cancelled = "CANCELLED".equalsIgnoreCase(newStatus);
+        return notifService.sendNotification(SendNotificationRequest.builder()
+                .userIds(userIds)
+                .event(cancelled ? NotificationEvent.TASK_CANCELLED : NotificationEvent.TASK_STATUS_CHANGE)
+                .title((cancelled ? "Task Cancelled: " : "Task Update: ") + taskTitle)
+                .body("Your task \"" + taskTitle + "\" is now " + newStatus + ".")
+                .data(Map.of("taskId", taskId.toString(), "status", newStatus))
+                .build());
+    }
+
+    public NotificationResponse paymentReceived(UUID workerId, UUID taskId, String amount) {
+        return notifService.sendToUser(workerId, NotificationEvent.PAYMENT_RECEIVED,
+                "Payment Received: ₹" + amount,
+                "You received ₹" + amount + " for your completed task.",
+                Map.of("taskId", taskId.toString(), "amount", amount));
+    }
+
+    public NotificationResponse paymentRefunded(UUID payerId, UUID taskId, String amount) {
+        return notifService.sendToUser(payerId, NotificationEvent.PAYMENT_REFUNDED,
+                "Refund Issued: ₹" + amount,
+                "₹" + amount + " has been refunded for your task.",
+                Map.of("taskId", taskId.toString(), "amount", amount));
+    }
+
+    /** workerName is optional: bid events only carry the worker id. */
+    public NotificationResponse newBid(UUID customerId, UUID taskId, String workerName, String bidAmount) {
+        return notifService.sendToUser(customerId, NotificationEvent.NEW_BID_RECEIVED,
+                "New Bid: ₹" + bidAmount + (workerName != null ? " from " + workerName : ""),
+                (workerName != null ? workerName : "A worker") + " bid ₹" + bidAmount + " on your task.",
+                Map.of("taskId", taskId.toString(), "bidAmount", bidAmount));
+    }
+
+    public NotificationResponse bidAccepted(UUID workerId, UUID taskId, String taskTitle) {
+        return notifService.sendToUser(workerId, NotificationEvent.BID_ACCEPTED,
+                "Bid Accepted!",
+                "Your bid on \"" + taskTitle + "\" has been accepted.",
+                Map.of("taskId", taskId.toString()));
+    }
+
+    public List<NotificationResponse> bidsRejected(List<UUID> workerIds, UUID taskId, String taskTitle) {
+        if (workerIds.isEmpty()) return List.of();
+        return notifService.sendNotification(SendNotificationRequest.builder()
+                .userIds(workerIds)
+                .event(NotificationEvent.BID_REJECTED)
+                .title("Bid Not Selected")
+                .body("Your bid on \"" + taskTitle + "\" was not selected.")
+                .data(Map.of("taskId", taskId.toString()))
+                .build());
+    }
+
+    public NotificationResponse ratingReceived(UUID userId, UUID taskId, int score) {
+        return notifService.sendToUser(userId, NotificationEvent.RATING_RECEIVED,
+                "New " + score + "-Star Rating",
+                "You received a " + score + "-star rating for a completed task.",
+                Map.of("taskId", taskId.toString(), "score", String.valueOf(score)));
+    }
+
+    /** status is APPROVED/VERIFIED for an approval, anything else is a rejection. */
+    public NotificationResponse kycStatus(UUID workerId, String status, String reason) {
+        boolean approved = "APPROVED".equalsIgnoreCase(status) || "VERIFIED".equalsIgnoreCase(status);
+        NotificationEvent event = approved ? NotificationEvent.KYC_APPROVED : NotificationEvent.KYC_REJECTED;
+        String title = approved ? "KYC Approved!" : "KYC Rejected";
+        String body = approved
+                ? "Congratulations! Your KYC verification is complete. You can now accept tasks."
+                : "Your KYC was rejected" + (reason != null ? ": " + reason : "") + ". Please resubmit.";
+        return notifService.sendToUser(workerId, event, title, body, Map.of("kycStatus", status));
+    }
+
+    /** One batched write for a batch of workers; returns the number of notifications created. */
+    public int newTaskInArea(List<UUID> workerIds, UUID taskId, String taskTitle, String domain) {
+        if (workerIds.isEmpty()) return 0;
+        Map<String, String> data = new HashMap<>();
+        data.put("taskId", taskId.toString());
+        if (domain != null) data.put("domain", domain);
+
+        return (int) bulkService.broadcast(BroadcastRequest.builder()
+                .event(NotificationEvent.NEW_TASK_IN_AREA)
+                .title("New task near you")
+                .body("\"" + taskTitle + "\" was just posted in your service area.")
+                .data(data)
+                .build(), workerIds.iterator()).getRecipients();
+    }
+
+    private JsonNode payload(EventEnvelope event) {
+        try {
+            return payloadReader.readTree(event.getPayload());
+        } catch (IOException e) {
+            throw new IllegalStateException("Malformed " + event.getType() + " payload: " + e.getMessage(), e);
+        }
+    }
+
+    private static UUID uuid(JsonNode payload, String field) {
+        return UUID.fromString(payload.get(field).asText());
+    }
+
+    private static List<UUID> uuids(JsonNode array) {
+        List<UUID> ids = new ArrayList<>();
+        if (array != null) array.forEach(n -> ids.add(UUID.fromString(n.asText())));
+        return ids;
+    }
+}
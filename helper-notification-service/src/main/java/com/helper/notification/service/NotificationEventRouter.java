@@ -2,6 +2,7 @@ package com.helper.notification.service;
 
 import com.helper.notification.enums.NotificationChannel;
 import com.helper.notification.enums.NotificationEvent;
+import com.helper.notification.enums.NotificationPriority;
 
 import java.util.EnumMap;
 import java.util.EnumSet;
@@ -22,10 +23,14 @@ import java.util.Set;
  * | Rating received      | In-app                      |
  * | KYC status update    | Push + In-app + SMS + Email |
  * | Promotional/offers   | Push + Email                |
+ *
+ * Each event also has a default delivery priority: what a user is waiting on (bid
+ * accepted, payment received, cancellation, KYC result) is HIGH, promotions are LOW.
  */
 public class NotificationEventRouter {
 
     private static final Map<NotificationEvent, Set<NotificationChannel>> EVENT_CHANNELS = new EnumMap<>(NotificationEvent.class);
+    private static final Map<NotificationEvent, NotificationPriority> EVENT_PRIORITIES = new EnumMap<>(NotificationEvent.class);
 
     static {
         // Task lifecycle
@@ -67,6 +72,14 @@ public class NotificationEventRouter {
                 EnumSet.of(NotificationChannel.PUSH, NotificationChannel.IN_APP, NotificationChannel.EMAIL));
         EVENT_CHANNELS.put(NotificationEvent.WELCOME,
                 EnumSet.of(NotificationChannel.PUSH, NotificationChannel.EMAIL));
+
+        EVENT_PRIORITIES.put(NotificationEvent.BID_ACCEPTED, NotificationPriority.HIGH);
+        EVENT_PRIORITIES.put(NotificationEvent.TASK_CANCELLED, NotificationPriority.HIGH);
+        EVENT_PRIORITIES.put(NotificationEvent.PAYMENT_RECEIVED, NotificationPriority.HIGH);
+        EVENT_PRIORITIES.put(NotificationEvent.KYC_APPROVED, NotificationPriority.HIGH);
+        EVENT_PRIORITIES.put(NotificationEvent.KYC_REJECTED, NotificationPriority.HIGH);
+        EVENT_PRIORITIES.put(NotificationEvent.SYSTEM_ALERT, NotificationPriority.URGENT);
+        EVENT_PRIORITIES.put(NotificationEvent.PROMOTIONAL, NotificationPriority.LOW);
     }
 
     /**
@@ -82,4 +95,20 @@ public class NotificationEventRouter {
     public static boolean requiresChannel(NotificationEvent event, NotificationChannel channel) {
         return getChannels(event).contains(channel);
     }
+
+    /**
+     * Default delivery priority of an event (NORMAL unless listed).
+     */
+    public static NotificationPriority getPriority(NotificationEvent event) {
+        return EVENT_PRIORITIES.getOrDefault(event, NotificationPriority.NORMAL);
+    }
+
+    /**
+     * The priority to send with: the requested one, else the event default. Promotional
+     * sends are always LOW, so a broadcast can't compete with transactional messages.
+     */
+    public static NotificationPriority resolvePriority(NotificationEvent event, NotificationPriority requested) {
+        if (event == NotificationEvent.PROMOTIONAL) return NotificationPriority.LOW;
+        return requested != null ? requested : getPriority(event);
+    }
 }
@@ -8,16 +8,19 @@ import com.helper.notification.entity.Notification;
 import com.helper.notification.entity.UserNotificationPreference;
 import com.helper.notification.enums.NotificationChannel;
 import com.helper.notification.enums.NotificationEvent;
+import com.helper.notification.enums.NotificationPriority;
 import com.helper.notification.enums.NotificationStatus;
 import com.helper.notification.exception.NotificationExceptions;
 import com.helper.notification.repository.DeviceTokenRepository;
 import com.helper.notification.repository.NotificationRepository;
 import com.helper.notification.repository.UserNotificationPreferenceRepository;
+import com.helper.notification.repository.VersionStamp;
 import com.helper.notification.security.AuthenticatedUser;
-import com.helper.notification.service.channel.EmailDispatcher;
-import com.helper.notification.service.channel.PushNotificationDispatcher;
-import com.helper.notification.service.channel.SmsDispatcher;
+import com.helper.notification.service.channel.DeliveryQueue;
+import com.helper.notification.service.channel.NotificationDispatcher;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -39,18 +42,26 @@ public class NotificationService {
     private final NotificationRepository notifRepo;
     private final UserNotificationPreferenceRepository prefRepo;
     private final DeviceTokenRepository deviceTokenRepo;
-    private final PushNotificationDispatcher pushDispatcher;
-    private final SmsDispatcher smsDispatcher;
-    private final EmailDispatcher emailDispatcher;
+    private final NotificationDispatcher dispatcher;
+    private final DeliveryQueue deliveryQueue;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
-    @Value("${app.notification.max-retries:3}")
-    private int maxRetries;
+    // Admin stats are served from memory, recomputed on read once older than app.stats.max-age-ms
+    @Value("${app.stats.max-age-ms:60000}")
+    private long statsMaxAgeMs;
+
+    private StatsSnapshot<NotificationStatsResponse> statsSnapshot;
 
     @Value("${app.notification.cleanup-days:90}")
     private int cleanupDays;
 
     // ===== SEND NOTIFICATION (Internal API — called by other services) =====
+    /**
+     * One row per recipient, written once with its final status and channel flags, and its
+     * channel deliveries queued in the same transaction (see {@link DeliveryQueue}). Large
+     * audiences go through {@link BulkNotificationService} instead.
+     */
     @Transactional
     public List<NotificationResponse> sendNotification(SendNotificationRequest request) {
         List<NotificationResponse> results = new ArrayList<>();
@@ -62,7 +73,9 @@ public class NotificationService {
         }
 
         Set<NotificationChannel> requiredChannels = NotificationEventRouter.getChannels(request.getEvent());
+        NotificationPriority priority = NotificationEventRouter.resolvePriority(request.getEvent(), request.getPriority());
 
+        List<Notification> saved = new ArrayList<>();
         for (UUID userId : request.getUserIds()) {
             Notification notif = Notification.builder()
                     .userId(userId)
@@ -70,18 +83,17 @@ public class NotificationService {
                     .title(request.getTitle())
                     .body(request.getBody())
                     .dataJson(dataJson)
-                    .priority(request.getPriority())
-                    .status(NotificationStatus.PENDING)
+                    .priority(priority)
+                    .status(NotificationStatus.SENT)
                     .build();
-            notif = notifRepo.save(notif);
 
-            // Dispatch to channels based on event type + user preferences
-            dispatchToChannels(notif, requiredChannels, userId);
-
-            notif.setStatus(NotificationStatus.SENT);
+            // Channels based on event type + user preferences
+            dispatcher.plan(notif, requiredChannels, getPreferences(userId));
             notif = notifRepo.save(notif);
+            saved.add(notif);
             results.add(mapToResponse(notif));
         }
+        deliveryQueue.enqueue(saved);
 
         log.info("Notification sent: event={} recipients={} channels={}",
                 request.getEvent(), request.getUserIds().size(), requiredChannels);
@@ -89,6 +101,7 @@ public class NotificationService {
     }
 
     // ===== SEND SINGLE NOTIFICATION (convenience) =====
+    @Transactional
     public NotificationResponse sendToUser(UUID userId, NotificationEvent event,
                                             String title, String body, Map<String, String> data) {
         SendNotificationRequest req = SendNotificationRequest.builder()
@@ -98,6 +111,20 @@ public class NotificationService {
     }
 
     // ===== GET USER NOTIFICATIONS =====
+    /**
+     * ETags for the inbox polling endpoints: one aggregate query, so an unchanged inbox
+     * is answered with 304 without loading or mapping the page.
+     */
+    public String getUserNotificationsETag(UUID userId, Pageable pageable) {
+        VersionStamp all = notifRepo.findVersionByUserId(userId);
+        return ETags.of("notifications", userId, pageable, all.getCount(), all.getLastModified());
+    }
+
+    public String getUnreadNotificationsETag(UUID userId, Pageable pageable) {
+        VersionStamp unread = notifRepo.findUnreadVersionByUserId(userId);
+        return ETags.of("unread", userId, pageable, unread.getCount(), unread.getLastModified());
+    }
+
     public Page<NotificationResponse> getUserNotifications(UUID userId, Pageable pageable) {
         return notifRepo.findByUserIdOrderByCreatedAtDesc(userId, pageable).map(this::mapToResponse);
     }
@@ -164,43 +191,20 @@ public class NotificationService {
     }
 
     // ===== ADMIN STATS =====
-    public NotificationStatsResponse getStats() {
-        Map<String, Long> byStatus = new HashMap<>();
-        for (NotificationStatus s : NotificationStatus.values()) {
-            byStatus.put(s.name(), notifRepo.countByStatus(s));
-        }
-        return NotificationStatsResponse.builder()
-                .totalNotifications(notifRepo.count())
-                .pendingNotifications(notifRepo.countByStatus(NotificationStatus.PENDING))
-                .sentNotifications(notifRepo.countByStatus(NotificationStatus.SENT))
-                .failedNotifications(notifRepo.countByStatus(NotificationStatus.FAILED))
-                .activeDeviceTokens(deviceTokenRepo.countByIsActiveTrue())
-                .byStatus(byStatus)
-                .build();
+    @PostConstruct
+    void initStatsSnapshot() {
+        statsSnapshot = new StatsSnapshot<>("notifications",
+                () -> NotificationStats.fromCounts(notifRepo.countGroupedByStatus(), deviceTokenRepo.countByIsActiveTrue()),
+                statsMaxAgeMs, meterRegistry);
     }
 
-    // ===== RETRY FAILED (scheduled) =====
-    @Scheduled(fixedDelayString = "${app.notification.retry-delay-ms:60000}")
-    @Transactional
-    public void retryFailed() {
-        List<Notification> failed = notifRepo.findByStatusAndRetryCountLessThan(NotificationStatus.FAILED, maxRetries);
-        if (failed.isEmpty()) return;
-
-        log.info("Retrying {} failed notifications", failed.size());
-        for (Notification n : failed) {
-            n.setRetryCount(n.getRetryCount() + 1);
-            Set<NotificationChannel> channels = NotificationEventRouter.getChannels(n.getEvent());
-            try {
-                dispatchToChannels(n, channels, n.getUserId());
-                n.setStatus(NotificationStatus.SENT);
-            } catch (Exception e) {
-                n.setErrorMessage(e.getMessage());
-                if (n.getRetryCount() >= maxRetries) {
-                    log.warn("Max retries reached for notification {}", n.getNotificationId());
-                }
-            }
-            notifRepo.save(n);
-        }
+    /**
+     * Notification statistics (admin), from the in-memory snapshot
+     *
+     * @param refresh recompute now instead of serving the snapshot
+     */
+    public NotificationStatsResponse getStats(boolean refresh) {
+        return refresh ? statsSnapshot.refresh() : statsSnapshot.get();
     }
 
     // ===== CLEANUP OLD (scheduled daily) =====
@@ -212,67 +216,6 @@ public class NotificationService {
         if (deleted > 0) log.info("Cleaned up {} notifications older than {} days", deleted, cleanupDays);
     }
 
-    // ===== PRIVATE: Channel Dispatch =====
-    private void dispatchToChannels(Notification notif, Set<NotificationChannel> channels, UUID userId) {
-        UserNotificationPreference pref = getPreferences(userId);
-
-        // Check quiet hours
-        if (pref.getQuietHoursEnabled() != null && pref.getQuietHoursEnabled()) {
-            int currentHour = LocalDateTime.now().getHour();
-            if (isInQuietHours(currentHour, pref.getQuietStartHour(), pref.getQuietEndHour())) {
-                // During quiet hours, only send IN_APP (silent)
-                log.debug("User {} in quiet hours. Only in-app.", userId);
-                return;
-            }
-        }
-
-        // Skip promotional if user opted out
-        if (notif.getEvent() == NotificationEvent.PROMOTIONAL &&
-                pref.getPromotionalEnabled() != null && !pref.getPromotionalEnabled()) {
-            log.debug("User {} opted out of promotionals. Skipping.", userId);
-            return;
-        }
-
-        // Dispatch to each channel (respecting preferences)
-        if (channels.contains(NotificationChannel.PUSH) &&
-                (pref.getPushEnabled() == null || pref.getPushEnabled())) {
-            try {
-                pushDispatcher.send(notif);
-                notif.setPushSent(true);
-            } catch (Exception e) {
-                log.warn("Push dispatch failed for {}: {}", userId, e.getMessage());
-            }
-        }
-
-        if (channels.contains(NotificationChannel.SMS) &&
-                (pref.getSmsEnabled() == null || pref.getSmsEnabled())) {
-            try {
-                // In production, phone number would come from User Profile Service
-                smsDispatcher.send(notif, null); // TODO: resolve phone from user service
-                notif.setSmsSent(true);
-            } catch (Exception e) {
-                log.warn("SMS dispatch failed for {}: {}", userId, e.getMessage());
-            }
-        }
-
-        if (channels.contains(NotificationChannel.EMAIL) &&
-                (pref.getEmailEnabled() == null || pref.getEmailEnabled())) {
-            try {
-                // In production, email would come from User Profile Service
-                emailDispatcher.send(notif, null); // TODO: resolve email from user service
-                notif.setEmailSent(true);
-            } catch (Exception e) {
-                log.warn("Email dispatch failed for {}: {}", userId, e.getMessage());
-            }
-        }
-    }
-
-    private boolean isInQuietHours(int currentHour, Integer start, Integer end) {
-        if (start == null || end == null) return false;
-        if (start < end) return currentHour >= start && currentHour < end;
-        else return currentHour >= start || currentHour < end; // wraps midnight
-    }
-
     private NotificationResponse mapToResponse(Notification n) {
         return NotificationResponse.builder()
                 .notificationId(n.getNotificationId()).userId(n.getUserId())
@@ -0,0 +1,40 @@
+package com.helper.notification.service;
+
+import com.helper.notification.dto.response.NotificationStatsResponse;
+import com.helper.notification.enums.NotificationStatus;
+import com.helper.notification.repository.NotificationRepository.StatusCount;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Folds the grouped counts from NotificationRepository#countGroupedByStatus into the
+ * admin stats response, so the dashboard costs two queries (with the device token count).
+ */
+public final class NotificationStats {
+
+    private NotificationStats() {
+    }
+
+    public static NotificationStatsResponse fromCounts(Iterable<? extends StatusCount> counts, long activeDeviceTokens) {
+        // Every status is listed, with 0 for those without notifications
+        Map<String, Long> byStatus = new HashMap<>();
+        for (NotificationStatus status : NotificationStatus.values()) {
+            byStatus.put(status.name(), 0L);
+        }
+        long total = 0;
+        for (StatusCount count : counts) {
+            byStatus.merge(count.getStatus().name(), count.getNotificationCount(), Long::sum);
+            total += count.getNotificationCount();
+        }
+
+        return NotificationStatsResponse.builder()
+                .totalNotifications(total)
+                .pendingNotifications(byStatus.get(NotificationStatus.PENDING.name()))
+                .sentNotifications(byStatus.get(NotificationStatus.SENT.name()))
+                .failedNotifications(byStatus.get(NotificationStatus.FAILED.name()))
+                .activeDeviceTokens(activeDeviceTokens)
+                .byStatus(byStatus)
+                .build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.helper.notification.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Reads recipient user ids one per line, as they arrive, so a broadcast never holds its
+ * audience in memory. Blank lines are ignored; lines that are not a UUID are counted
+ * and skipped.
+ */
+public class RecipientReader implements Iterator<UUID> {
+
+    private final BufferedReader reader;
+    private UUID next;
+    private long skipped;
+
+    public RecipientReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) return true;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) continue;
+                // Accept both bare and JSON-quoted ids
+                if (line.length() > 2 && line.charAt(0) == '"' && line.charAt(line.length() - 1) == '"') {
+                    line = line.substring(1, line.length() - 1);
+                }
+                try {
+                    next = UUID.fromString(line);
+                    return true;
+                } catch (IllegalArgumentException e) {
+                    skipped++;
+                }
+            }
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public UUID next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        UUID id = next;
+        next = null;
+        return id;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+}
@@ -0,0 +1,181 @@
+package com.helper.notification.service.channel;
+
+import com.helper.notification.entity.DeliveryJob;
+import com.helper.notification.entity.Notification;
+import com.helper.notification.enums.NotificationChannel;
+import com.helper.notification.enums.NotificationPriority;
+import com.helper.notification.repository.DeliveryJobRepository;
+import com.helper.notification.repository.NotificationBatchWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The durable dispatch queue between stored notifications and their channels, kept in
+ * notification_deliveries. {@link #enqueue} adds one job per planned channel in the
+ * caller's transaction, so a notification is never stored without its deliveries (or the
+ * other way round), and a burst only grows the table instead of being rejected.
+ *
+ * Workers {@link #claim} due jobs with SKIP LOCKED, highest priority first, and lease
+ * them by pushing availableAt past the lease; a worker that dies mid-batch gives its jobs
+ * back when the lease runs out. Jobs are deleted once the channel has taken them, so a
+ * crash between send and delete sends again (at least once). The unique
+ * (notification_id, channel) key keeps a notification from being queued twice for a
+ * channel; senders pass the notification id on so clients can drop the rare repeat.
+ */
+@Component
+@Slf4j
+public class DeliveryQueue {
+
+    private static final String INSERT = "INSERT INTO notification_deliveries (notification_id, channel, priority, " +
+            "attempts, available_at, created_at) VALUES (?, ?, ?, 0, ?, ?)";
+
+    private final DeliveryJobRepository jobRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationBatchWriter batchWriter;
+    private final TransactionOperations transactions;
+    private final long leaseMs;
+
+    private final Map<NotificationChannel, Object> signals = new EnumMap<>(NotificationChannel.class);
+    private final Map<String, AtomicLong> depth = new HashMap<>();
+
+    @Autowired
+    public DeliveryQueue(DeliveryJobRepository jobRepo,
+                         JdbcTemplate jdbcTemplate,
+                         NotificationBatchWriter batchWriter,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.notification.queue.lease-ms:120000}") long leaseMs) {
+        this(jobRepo, jdbcTemplate, batchWriter, new TransactionTemplate(transactionManager), meterRegistry, leaseMs);
+    }
+
+    public DeliveryQueue(DeliveryJobRepository jobRepo, JdbcTemplate jdbcTemplate, NotificationBatchWriter batchWriter,
+                         TransactionOperations transactions, MeterRegistry meterRegistry, long leaseMs) {
+        this.jobRepo = jobRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchWriter = batchWriter;
+        this.transactions = transactions;
+        this.leaseMs = leaseMs;
+
+        for (NotificationChannel channel : NotificationChannel.values()) {
+            signals.put(channel, new Object());
+            for (NotificationPriority priority : NotificationPriority.values()) {
+                AtomicLong backlog = new AtomicLong();
+                depth.put(channel + ":" + priority, backlog);
+                meterRegistry.gauge("notification.queue.depth",
+                        Tags.of("channel", channel.name(), "priority", priority.name()), backlog);
+            }
+        }
+    }
+
+    /**
+     * Queue the planned channels (pushSent / smsSent / emailSent) of stored notifications.
+     * Joins the caller's transaction; local workers are woken once it commits.
+     *
+     * @return the number of jobs queued
+     */
+    public int enqueue(List<Notification> notifications) {
+        List<Object[]> jobs = new ArrayList<>();
+        Set<NotificationChannel> channels = EnumSet.noneOf(NotificationChannel.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Notification n : notifications) {
+            for (NotificationChannel channel : NotificationDispatcher.plannedChannels(n)) {
+                jobs.add(new Object[]{n.getNotificationId(), channel.name(), n.getPriority().ordinal(), now, now});
+                channels.add(channel);
+            }
+        }
+        if (jobs.isEmpty()) return 0;
+        jdbcTemplate.batchUpdate(INSERT, jobs);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    signal(channels);
+                }
+            });
+        } else {
+            signal(channels);
+        }
+        return jobs.size();
+    }
+
+    /**
+     * Lease up to limit due jobs of one channel, limited to the given priorities, highest
+     * priority first. Each claim counts as an attempt.
+     */
+    public List<DeliveryJob> claim(NotificationChannel channel, Set<NotificationPriority> priorities, int limit) {
+        List<DeliveryJob> jobs = transactions.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<DeliveryJob> due = jobRepo.findClaimable(channel, priorities, now, PageRequest.of(0, limit));
+            LocalDateTime leaseUntil = now.plusNanos(leaseMs * 1_000_000);
+            for (DeliveryJob job : due) {
+                job.setAttempts(job.getAttempts() + 1);
+                job.setAvailableAt(leaseUntil);
+            }
+            return due;
+        });
+        return jobs != null ? jobs : List.of();
+    }
+
+    /** The channel took these jobs (or had nothing to send to). */
+    public void complete(Collection<Long> jobIds) {
+        if (jobIds.isEmpty()) return;
+        transactions.executeWithoutResult(status -> jobRepo.deleteAllByIdInBatch(jobIds));
+    }
+
+    /** Give the job back, to be claimed again at the given time. */
+    public void retry(DeliveryJob job, String error, LocalDateTime at) {
+        transactions.executeWithoutResult(status -> jobRepo.reschedule(job.getId(), at, error));
+    }
+
+    /** Out of attempts: drop the job and mark the notification FAILED. */
+    public void fail(DeliveryJob job, Notification notification) {
+        transactions.executeWithoutResult(status -> {
+            jobRepo.deleteAllByIdInBatch(List.of(job.getId()));
+            batchWriter.markFailed(List.of(notification));
+        });
+    }
+
+    /** Wait up to timeoutMs for jobs to be queued on this channel by this instance. */
+    public void awaitWork(NotificationChannel channel, long timeoutMs) throws InterruptedException {
+        Object signal = signals.get(channel);
+        synchronized (signal) {
+            signal.wait(timeoutMs);
+        }
+    }
+
+    private void signal(Set<NotificationChannel> channels) {
+        for (NotificationChannel channel : channels) {
+            Object signal = signals.get(channel);
+            synchronized (signal) {
+                signal.notifyAll();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notification.queue.depth-refresh-ms:15000}")
+    public void refreshDepth() {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : jobRepo.countBacklog()) {
+            counts.put(row[0] + ":" + row[1], ((Number) row[2]).longValue());
+        }
+        depth.forEach((key, backlog) -> backlog.set(counts.getOrDefault(key, 0L)));
+    }
+}
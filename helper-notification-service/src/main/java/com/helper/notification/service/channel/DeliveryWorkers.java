@@ -0,0 +1,205 @@
+package com.helper.notification.service.channel;
+
+import com.helper.notification.entity.DeliveryJob;
+import com.helper.notification.entity.Notification;
+import com.helper.notification.enums.NotificationChannel;
+import com.helper.notification.enums.NotificationPriority;
+import com.helper.notification.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-channel worker pools draining the {@link DeliveryQueue}. A slow SMTP server only
+ * ties up the email workers; push and SMS keep going.
+ *
+ * Each channel has two lanes. Standard workers take any job, URGENT first and LOW last.
+ * Priority workers only take HIGH and URGENT jobs, so a bid acceptance is sent within a
+ * poll interval even while every standard worker is busy with a promotional broadcast.
+ * Workers claim a small batch at a time and only when they are free, so a backlog waits
+ * in the table instead of piling up in memory.
+ *
+ * A failed hand-off is retried with exponential backoff (app.notification.retry-delay-ms,
+ * doubling) up to app.notification.max-retries attempts, then the notification is marked
+ * FAILED.
+ */
+@Component
+@Slf4j
+public class DeliveryWorkers {
+
+    private static final Set<NotificationPriority> PRIORITY_LANE = EnumSet.of(NotificationPriority.HIGH, NotificationPriority.URGENT);
+    private static final Set<NotificationPriority> STANDARD_LANE = EnumSet.allOf(NotificationPriority.class);
+
+    private static final long MAX_BACKOFF_MS = 15 * 60 * 1000L;
+
+    private final DeliveryQueue queue;
+    private final NotificationRepository notifRepo;
+    private final NotificationDispatcher dispatcher;
+    private final MeterRegistry meterRegistry;
+    private final Map<NotificationChannel, Integer> poolSizes;
+    private final int priorityWorkers;
+    private final int batchSize;
+    private final long pollMs;
+    private final int maxAttempts;
+    private final long retryDelayMs;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    @Autowired
+    public DeliveryWorkers(DeliveryQueue queue,
+                           NotificationRepository notifRepo,
+                           NotificationDispatcher dispatcher,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.notification.queue.workers.push:4}") int pushWorkers,
+                           @Value("${app.notification.queue.workers.sms:2}") int smsWorkers,
+                           @Value("${app.notification.queue.workers.email:2}") int emailWorkers,
+                           @Value("${app.notification.queue.priority-workers:1}") int priorityWorkers,
+                           @Value("${app.notification.queue.batch-size:20}") int batchSize,
+                           @Value("${app.notification.queue.poll-ms:200}") long pollMs,
+                           @Value("${app.notification.max-retries:3}") int maxAttempts,
+                           @Value("${app.notification.retry-delay-ms:5000}") long retryDelayMs) {
+        this(queue, notifRepo, dispatcher, meterRegistry,
+                Map.of(NotificationChannel.PUSH, pushWorkers, NotificationChannel.SMS, smsWorkers,
+                        NotificationChannel.EMAIL, emailWorkers),
+                priorityWorkers, batchSize, pollMs, maxAttempts, retryDelayMs);
+    }
+
+    public DeliveryWorkers(DeliveryQueue queue, NotificationRepository notifRepo, NotificationDispatcher dispatcher,
+                           MeterRegistry meterRegistry, Map<NotificationChannel, Integer> poolSizes,
+                           int priorityWorkers, int batchSize, long pollMs, int maxAttempts, long retryDelayMs) {
+        this.queue = queue;
+        this.notifRepo = notifRepo;
+        this.dispatcher = dispatcher;
+        this.meterRegistry = meterRegistry;
+        this.poolSizes = poolSizes;
+        this.priorityWorkers = priorityWorkers;
+        this.batchSize = Math.max(1, batchSize);
+        this.pollMs = pollMs;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryDelayMs = retryDelayMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        poolSizes.forEach((channel, size) -> {
+            for (int i = 0; i < size; i++) startWorker(channel, false, i);
+            for (int i = 0; i < (size > 0 ? priorityWorkers : 0); i++) startWorker(channel, true, i);
+        });
+        log.info("Delivery workers started: {} (+{} priority each)", poolSizes, priorityWorkers);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+        for (Thread thread : threads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        threads.clear();
+    }
+
+    private void startWorker(NotificationChannel channel, boolean priorityLane, int index) {
+        String name = "deliver-" + channel.name().toLowerCase() + (priorityLane ? "-priority-" : "-") + index;
+        Thread thread = new Thread(() -> work(channel, priorityLane), name);
+        thread.setDaemon(true);
+        thread.start();
+        threads.add(thread);
+    }
+
+    private void work(NotificationChannel channel, boolean priorityLane) {
+        while (running) {
+            try {
+                if (runOnce(channel, priorityLane) == 0) {
+                    queue.awaitWork(channel, pollMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Database unavailable: back off and claim again; leased jobs come back on their own
+                log.warn("{} delivery worker failed: {}", channel, e.getMessage());
+                try {
+                    Thread.sleep(pollMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Claim and deliver one batch of a channel's jobs.
+     *
+     * @return the number of jobs claimed
+     */
+    public int runOnce(NotificationChannel channel, boolean priorityLane) {
+        List<DeliveryJob> jobs = queue.claim(channel, priorityLane ? PRIORITY_LANE : STANDARD_LANE, batchSize);
+        if (jobs.isEmpty()) return 0;
+
+        Set<UUID> ids = new HashSet<>();
+        jobs.forEach(job -> ids.add(job.getNotificationId()));
+        Map<UUID, Notification> notifications = new HashMap<>();
+        notifRepo.findAllById(ids).forEach(n -> notifications.put(n.getNotificationId(), n));
+
+        List<Long> done = new ArrayList<>();
+        for (DeliveryJob job : jobs) {
+            Notification notif = notifications.get(job.getNotificationId());
+            if (notif == null) {
+                // Deleted (by the user or the retention cleanup) before it went out
+                done.add(job.getId());
+                count(job, "dropped");
+                continue;
+            }
+            try {
+                boolean delivered = dispatcher.deliver(notif, channel);
+                done.add(job.getId());
+                count(job, delivered ? "delivered" : "skipped");
+                meterRegistry.timer("notification.delivery.lag", "channel", channel.name(),
+                        "priority", job.getPriority().name())
+                        .record(Duration.between(job.getCreatedAt(), LocalDateTime.now()));
+            } catch (RuntimeException e) {
+                String error = channel.name().toLowerCase() + ": " + e.getMessage();
+                if (job.getAttempts() >= maxAttempts) {
+                    log.warn("Giving up on {} delivery of notification {} after {} attempts: {}",
+                            channel, notif.getNotificationId(), job.getAttempts(), e.getMessage());
+                    notif.setErrorMessage(error);
+                    queue.fail(job, notif);
+                    count(job, "failed");
+                } else {
+                    queue.retry(job, error, LocalDateTime.now().plusNanos(backoffMs(job.getAttempts()) * 1_000_000));
+                    count(job, "retry");
+                }
+            }
+        }
+        queue.complete(done);
+        return jobs.size();
+    }
+
+    private long backoffMs(int attempts) {
+        return Math.min(MAX_BACKOFF_MS, retryDelayMs << Math.min(attempts - 1, 20));
+    }
+
+    private void count(DeliveryJob job, String result) {
+        meterRegistry.counter("notification.delivery", "channel", job.getChannel().name(),
+                "priority", job.getPriority().name(), "result", result).increment();
+    }
+}
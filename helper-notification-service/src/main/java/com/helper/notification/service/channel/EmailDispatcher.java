@@ -6,7 +6,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
@@ -34,24 +33,19 @@ public class EmailDispatcher {
     @Value("${app.mail.from-address:noreply@helper.app}")
     private String fromAddress;
 
-    @Async("notificationExecutor")
+    /** Returns false without an address; SMTP errors propagate so the delivery is retried. */
     public boolean send(Notification notification, String emailAddress) {
         if (emailAddress == null || emailAddress.isBlank()) {
             log.debug("No email for user {}. Email skipped.", notification.getUserId());
             return false;
         }
 
-        try {
-            if (mailEnabled) {
-                return sendViaSmtp(emailAddress, notification);
-            } else {
-                log.info("[EMAIL-DEV] To: {} | Subject: {} | Body: {}",
-                        emailAddress, notification.getTitle(), notification.getBody());
-                return true;
-            }
-        } catch (Exception e) {
-            log.error("Email failed for user {}: {}", notification.getUserId(), e.getMessage());
-            return false;
+        if (mailEnabled) {
+            return sendViaSmtp(emailAddress, notification);
+        } else {
+            log.info("[EMAIL-DEV] To: {} | Subject: {} | Body: {}",
+                    emailAddress, notification.getTitle(), notification.getBody());
+            return true;
         }
     }
 
@@ -77,7 +71,7 @@ public class EmailDispatcher {
             return true;
         } catch (Exception e) {
             log.error("SMTP send failed to {}: {}", to, e.getMessage());
-            return false;
+            throw new IllegalStateException("SMTP send failed: " + e.getMessage(), e);
         }
     }
 }
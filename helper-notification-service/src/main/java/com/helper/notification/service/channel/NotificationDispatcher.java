@@ -0,0 +1,92 @@
+package com.helper.notification.service.channel;
+
+import com.helper.notification.entity.Notification;
+import com.helper.notification.entity.UserNotificationPreference;
+import com.helper.notification.enums.NotificationChannel;
+import com.helper.notification.enums.NotificationEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Routes a notification to its delivery channels in two steps, so the row can be written
+ * once with its final flags: {@link #plan} picks the channels (event matrix, user
+ * preferences, quiet hours, promotional opt-out) and records them in the pushSent /
+ * smsSent / emailSent flags; once stored, each planned channel is queued on the
+ * {@link DeliveryQueue} and the delivery workers {@link #deliver} it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDispatcher {
+
+    private final PushNotificationDispatcher pushDispatcher;
+    private final SmsDispatcher smsDispatcher;
+    private final EmailDispatcher emailDispatcher;
+
+    public void plan(Notification notif, Set<NotificationChannel> channels, UserNotificationPreference pref) {
+        notif.setPushSent(false);
+        notif.setSmsSent(false);
+        notif.setEmailSent(false);
+
+        // During quiet hours, only the in-app row (silent)
+        if (pref.getQuietHoursEnabled() != null && pref.getQuietHoursEnabled()
+                && isInQuietHours(LocalDateTime.now().getHour(), pref.getQuietStartHour(), pref.getQuietEndHour())) {
+            log.debug("User {} in quiet hours. Only in-app.", notif.getUserId());
+            return;
+        }
+
+        // Skip promotional if user opted out
+        if (notif.getEvent() == NotificationEvent.PROMOTIONAL &&
+                pref.getPromotionalEnabled() != null && !pref.getPromotionalEnabled()) {
+            log.debug("User {} opted out of promotionals. Skipping.", notif.getUserId());
+            return;
+        }
+
+        notif.setPushSent(channels.contains(NotificationChannel.PUSH)
+                && (pref.getPushEnabled() == null || pref.getPushEnabled()));
+        notif.setSmsSent(channels.contains(NotificationChannel.SMS)
+                && (pref.getSmsEnabled() == null || pref.getSmsEnabled()));
+        notif.setEmailSent(channels.contains(NotificationChannel.EMAIL)
+                && (pref.getEmailEnabled() == null || pref.getEmailEnabled()));
+    }
+
+    /** The channels {@link #plan} picked for this notification. */
+    public static Set<NotificationChannel> plannedChannels(Notification notif) {
+        Set<NotificationChannel> channels = EnumSet.noneOf(NotificationChannel.class);
+        if (Boolean.TRUE.equals(notif.getPushSent())) channels.add(NotificationChannel.PUSH);
+        if (Boolean.TRUE.equals(notif.getSmsSent())) channels.add(NotificationChannel.SMS);
+        if (Boolean.TRUE.equals(notif.getEmailSent())) channels.add(NotificationChannel.EMAIL);
+        return channels;
+    }
+
+    /**
+     * Hand the notification to one channel; called by the delivery workers. Returns false
+     * if there was nothing to send to (no device, phone or address). Throws if the channel
+     * failed, so the job is retried.
+     */
+    public boolean deliver(Notification notif, NotificationChannel channel) {
+        switch (channel) {
+            case PUSH:
+                return pushDispatcher.send(notif);
+            case SMS:
+                // In production, phone number would come from User Profile Service
+                return smsDispatcher.send(notif, null); // TODO: resolve phone from user service
+            case EMAIL:
+                // In production, email would come from User Profile Service
+                return emailDispatcher.send(notif, null); // TODO: resolve email from user service
+            default:
+                throw new IllegalArgumentException("Not a delivery channel: " + channel);
+        }
+    }
+
+    private static boolean isInQuietHours(int currentHour, Integer start, Integer end) {
+        if (start == null || end == null) return false;
+        if (start < end) return currentHour >= start && currentHour < end;
+        else return currentHour >= start || currentHour < end; // wraps midnight
+    }
+}
@@ -6,7 +6,6 @@ import com.helper.notification.repository.DeviceTokenRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -27,7 +26,10 @@ public class PushNotificationDispatcher {
     @Value("${app.firebase.enabled:false}")
     private boolean firebaseEnabled;
 
-    @Async("notificationExecutor")
+    /**
+     * Returns false if the user has no active device. Throws if no device could be reached
+     * for any reason other than a stale token, so the delivery is retried.
+     */
     public boolean send(Notification notification) {
         UUID userId = notification.getUserId();
         List<DeviceToken> tokens = deviceTokenRepo.findByUserIdAndIsActiveTrue(userId);
@@ -37,6 +39,8 @@ public class PushNotificationDispatcher {
             return false;
         }
 
+        int sent = 0;
+        Exception lastError = null;
         for (DeviceToken dt : tokens) {
             try {
                 if (firebaseEnabled) {
@@ -45,6 +49,7 @@ public class PushNotificationDispatcher {
                     log.info("[PUSH-DEV] To: {} ({}) | Title: {} | Body: {}",
                             userId, dt.getPlatform(), notification.getTitle(), notification.getBody());
                 }
+                sent++;
             } catch (Exception e) {
                 log.error("Push failed for token {} user {}: {}", dt.getTokenId(), userId, e.getMessage());
                 // Mark stale token inactive if Firebase returns invalid token error
@@ -52,10 +57,15 @@ public class PushNotificationDispatcher {
                     dt.setIsActive(false);
                     deviceTokenRepo.save(dt);
                     log.warn("Deactivated stale FCM token: {}", dt.getTokenId());
+                } else {
+                    lastError = e;
                 }
             }
         }
-        return true;
+        if (sent == 0 && lastError != null) {
+            throw new IllegalStateException("Push failed: " + lastError.getMessage(), lastError);
+        }
+        return sent > 0;
     }
 
     private void sendViaFirebase(String fcmToken, Notification notification) {
@@ -3,7 +3,6 @@ package com.helper.notification.service.channel;
 import com.helper.notification.entity.Notification;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 /**
@@ -26,24 +25,19 @@ public class SmsDispatcher {
     @Value("${app.sms.sender-id:HELPER}")
     private String senderId;
 
-    @Async("notificationExecutor")
+    /** Returns false without a phone number; provider errors propagate so the delivery is retried. */
     public boolean send(Notification notification, String phoneNumber) {
         if (phoneNumber == null || phoneNumber.isBlank()) {
             log.debug("No phone number for user {}. SMS skipped.", notification.getUserId());
             return false;
         }
 
-        try {
-            if (smsEnabled) {
-                return sendViaSmsProvider(phoneNumber, notification);
-            } else {
-                log.info("[SMS-DEV] To: {} | Title: {} | Body: {}",
-                        phoneNumber, notification.getTitle(), notification.getBody());
-                return true;
-            }
-        } catch (Exception e) {
-            log.error("SMS failed for user {}: {}", notification.getUserId(), e.getMessage());
-            return false;
+        if (smsEnabled) {
+            return sendViaSmsProvider(phoneNumber, notification);
+        } else {
+            log.info("[SMS-DEV] To: {} | Title: {} | Body: {}",
+                    phoneNumber, notification.getTitle(), notification.getBody());
+            return true;
         }
     }
 
@@ -0,0 +1,10 @@
+-- ============================================
+-- V2__Notification_Updated_At.sql
+-- Last-modified stamp for conditional GETs on the inbox (ETag / If-None-Match)
+-- ============================================
+
+-- Delivery status and read flags change after creation, so created_at alone can't version a page
+-- Added without a default first: with one, existing rows would be stamped NOW() and skip the backfill
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP;
+UPDATE notifications SET updated_at = COALESCE(read_at, created_at) WHERE updated_at IS NULL;
+ALTER TABLE notifications ALTER COLUMN updated_at SET DEFAULT NOW();
@@ -0,0 +1,13 @@
+-- ============================================
+-- V3__Processed_Events.sql
+-- Ids of lifecycle events already handled by this service (consumer-side dedupe)
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS processed_events (
+    event_id        UUID PRIMARY KEY,
+    event_type      VARCHAR(64) NOT NULL,
+    processed_at    TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Retention purge
+CREATE INDEX IF NOT EXISTS idx_processed_event_at ON processed_events(processed_at);
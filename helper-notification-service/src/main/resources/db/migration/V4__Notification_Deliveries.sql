@@ -0,0 +1,21 @@
+-- ============================================
+-- V4__Notification_Deliveries.sql
+-- Durable dispatch queue: one row per notification and channel until the channel takes it
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS notification_deliveries (
+    id                  BIGSERIAL PRIMARY KEY,
+    notification_id     UUID NOT NULL,
+    channel             VARCHAR(10) NOT NULL,
+    priority            SMALLINT NOT NULL,          -- NotificationPriority ordinal: 0 LOW .. 3 URGENT
+    attempts            INTEGER NOT NULL DEFAULT 0,
+    available_at        TIMESTAMP NOT NULL,
+    created_at          TIMESTAMP NOT NULL DEFAULT NOW(),
+    last_error          TEXT
+);
+
+-- A notification is queued at most once per channel
+CREATE UNIQUE INDEX IF NOT EXISTS uk_delivery_notification_channel ON notification_deliveries(notification_id, channel);
+
+-- Claims: due jobs of one channel, highest priority first
+CREATE INDEX IF NOT EXISTS idx_delivery_claim ON notification_deliveries(channel, priority DESC, available_at, id);
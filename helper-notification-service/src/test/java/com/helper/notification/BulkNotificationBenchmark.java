@@ -0,0 +1,150 @@
+package com.helper.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helper.notification.dto.request.BroadcastRequest;
+import com.helper.notification.dto.response.BroadcastResponse;
+import com.helper.notification.enums.NotificationEvent;
+import com.helper.notification.repository.NotificationBatchWriter;
+import com.helper.notification.repository.UserNotificationPreferenceRepository;
+import com.helper.notification.service.BulkNotificationService;
+import com.helper.notification.service.channel.DeliveryQueue;
+import com.helper.notification.service.channel.NotificationDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmark: broadcast to 1k / 100k / 1M recipients through BulkNotificationService
+ * (chunked JDBC batch inserts, final status on insert) against the previous per-recipient
+ * path (INSERT as PENDING, then UPDATE to SENT, one transaction per recipient; 1k and 100k
+ * only). The bulk path includes queueing the push and email deliveries; nothing is sent.
+ * Recipients are generated lazily, as they would be streamed from a request body.
+ *
+ * Not run by the build. Defaults to in-memory H2; pass a JDBC URL (plus user and password)
+ * to run against Postgres, e.g.
+ *   java -cp target/test-classes:target/classes:<deps> com.helper.notification.BulkNotificationBenchmark \
+ *     "jdbc:postgresql://localhost:5432/helperdb?reWriteBatchedInserts=true" helper helper
+ */
+public class BulkNotificationBenchmark {
+
+    private static final int[] AUDIENCES = {1_000, 100_000, 1_000_000};
+    private static final int LEGACY_MAX = 100_000;
+
+    private static final String DDL = "CREATE TABLE IF NOT EXISTS notifications (" +
+            "notification_id UUID PRIMARY KEY, user_id UUID NOT NULL, event VARCHAR(30) NOT NULL, " +
+            "title VARCHAR(200) NOT NULL, body TEXT NOT NULL, data_json TEXT, priority VARCHAR(15) NOT NULL, " +
+            "status VARCHAR(15) NOT NULL, is_read BOOLEAN NOT NULL DEFAULT FALSE, read_at TIMESTAMP, " +
+            "push_sent BOOLEAN, sms_sent BOOLEAN, email_sent BOOLEAN, retry_count INTEGER, error_message TEXT, " +
+            "created_at TIMESTAMP, updated_at TIMESTAMP)";
+
+    private static final String QUEUE_DDL = "CREATE TABLE IF NOT EXISTS notification_deliveries (" +
+            "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, notification_id UUID NOT NULL, " +
+            "channel VARCHAR(10) NOT NULL, priority SMALLINT NOT NULL, attempts INTEGER NOT NULL, " +
+            "available_at TIMESTAMP NOT NULL, created_at TIMESTAMP NOT NULL, last_error TEXT)";
+
+    public static void main(String[] args) {
+        String url = args.length > 0 ? args[0] : "jdbc:h2:mem:bulkbench;DB_CLOSE_DELAY=-1";
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url,
+                args.length > 1 ? args[1] : "sa", args.length > 2 ? args[2] : "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        TransactionTemplate transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbc.execute(DDL);
+        jdbc.execute(QUEUE_DDL);
+
+        // In-app + email + push: the preference lookup runs, and finds nobody (defaults)
+        UserNotificationPreferenceRepository prefRepo = mock(UserNotificationPreferenceRepository.class);
+        when(prefRepo.findAllById(any())).thenReturn(List.of());
+        NotificationBatchWriter writer = new NotificationBatchWriter(jdbc);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DeliveryQueue deliveryQueue = new DeliveryQueue(null, jdbc, writer, transactions, registry, 120_000);
+        BulkNotificationService service = new BulkNotificationService(writer, prefRepo,
+                new NotificationDispatcher(null, null, null), deliveryQueue, transactions, new ObjectMapper(),
+                registry, 1_000);
+        BroadcastRequest message = BroadcastRequest.builder()
+                .event(NotificationEvent.SYSTEM_ALERT)
+                .title("Scheduled maintenance")
+                .body("Helper will be unavailable from 02:00 to 03:00 IST.")
+                .build();
+
+        service.broadcast(message, recipients(5_000)); // warm-up
+        clear(jdbc);
+
+        for (int audience : AUDIENCES) {
+            if (audience <= LEGACY_MAX) {
+                long start = System.nanoTime();
+                legacy(jdbc, transactions, message, audience);
+                report("per-row", audience, start);
+                clear(jdbc);
+            }
+            long heapBefore = usedHeap();
+            long start = System.nanoTime();
+            BroadcastResponse response = service.broadcast(message, recipients(audience));
+            report("bulk   ", (int) response.getRecipients(), start);
+            System.out.printf("         %d chunks, %d deliveries queued, heap delta %d MB%n",
+                    response.getChunks(), response.getQueuedDeliveries(), (usedHeap() - heapBefore) / (1024 * 1024));
+            clear(jdbc);
+        }
+    }
+
+    private static void clear(JdbcTemplate jdbc) {
+        jdbc.execute("DELETE FROM notification_deliveries");
+        jdbc.execute("DELETE FROM notifications");
+    }
+
+    private static void legacy(JdbcTemplate jdbc, TransactionTemplate transactions, BroadcastRequest message,
+                               int audience) {
+        Iterator<UUID> users = recipients(audience);
+        while (users.hasNext()) {
+            UUID userId = users.next();
+            UUID id = UUID.randomUUID();
+            transactions.executeWithoutResult(status -> {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                jdbc.update("INSERT INTO notifications (notification_id, user_id, event, title, body, priority, " +
+                                "status, is_read, push_sent, sms_sent, email_sent, retry_count, created_at, updated_at) " +
+                                "VALUES (?, ?, ?, ?, ?, 'NORMAL', 'PENDING', FALSE, FALSE, FALSE, FALSE, 0, ?, ?)",
+                        id, userId, message.getEvent().name(), message.getTitle(), message.getBody(), now, now);
+                jdbc.update("UPDATE notifications SET status = 'SENT', push_sent = TRUE, email_sent = TRUE, " +
+                        "updated_at = ? WHERE notification_id = ?", now, id);
+            });
+        }
+    }
+
+    private static Iterator<UUID> recipients(int count) {
+        return new Iterator<>() {
+            private int produced;
+
+            @Override
+            public boolean hasNext() {
+                return produced < count;
+            }
+
+            @Override
+            public UUID next() {
+                produced++;
+                return UUID.randomUUID();
+            }
+        };
+    }
+
+    private static void report(String path, int audience, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("%s %,9d recipients: %7.2f s, %,10.0f rows/s%n", path, audience, seconds, audience / seconds);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,176 @@
+package com.helper.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helper.notification.dto.request.BroadcastRequest;
+import com.helper.notification.dto.response.BroadcastResponse;
+import com.helper.notification.entity.Notification;
+import com.helper.notification.entity.UserNotificationPreference;
+import com.helper.notification.enums.NotificationEvent;
+import com.helper.notification.enums.NotificationPriority;
+import com.helper.notification.enums.NotificationStatus;
+import com.helper.notification.exception.NotificationExceptions;
+import com.helper.notification.repository.NotificationBatchWriter;
+import com.helper.notification.repository.UserNotificationPreferenceRepository;
+import com.helper.notification.service.BulkNotificationService;
+import com.helper.notification.service.RecipientReader;
+import com.helper.notification.service.channel.DeliveryQueue;
+import com.helper.notification.service.channel.NotificationDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests BulkNotificationService: recipients are written in chunks with their final status
+ * and channel flags, preferences are looked up once per chunk, deliveries are queued with
+ * the rows.
+ */
+class BulkNotificationServiceTest {
+
+    private final List<List<Notification>> inserted = new ArrayList<>();
+    private final List<Notification> queued = new ArrayList<>();
+    private final Map<UUID, UserNotificationPreference> preferences = new HashMap<>();
+
+    private UserNotificationPreferenceRepository prefRepo;
+    private SimpleMeterRegistry registry;
+    private BulkNotificationService service;
+
+    @BeforeEach
+    void setUp() {
+        NotificationBatchWriter writer = mock(NotificationBatchWriter.class);
+        doAnswer(inv -> inserted.add(new ArrayList<>(inv.<List<Notification>>getArgument(0))))
+                .when(writer).insert(anyList());
+        prefRepo = mock(UserNotificationPreferenceRepository.class);
+        when(prefRepo.findAllById(any())).thenAnswer(inv -> {
+            List<UserNotificationPreference> found = new ArrayList<>();
+            for (UUID id : inv.<Iterable<UUID>>getArgument(0)) {
+                if (preferences.containsKey(id)) found.add(preferences.get(id));
+            }
+            return found;
+        });
+        DeliveryQueue deliveryQueue = mock(DeliveryQueue.class);
+        when(deliveryQueue.enqueue(anyList())).thenAnswer(inv -> {
+            List<Notification> notifications = inv.getArgument(0);
+            queued.addAll(notifications);
+            return notifications.stream().mapToInt(n -> NotificationDispatcher.plannedChannels(n).size()).sum();
+        });
+        registry = new SimpleMeterRegistry();
+        service = new BulkNotificationService(writer, prefRepo, new NotificationDispatcher(null, null, null),
+                deliveryQueue, TransactionOperations.withoutTransaction(), new ObjectMapper(), registry, 100);
+    }
+
+    private static BroadcastRequest message(NotificationEvent event) {
+        return BroadcastRequest.builder()
+                .event(event)
+                .title("Monsoon offer")
+                .body("20% off plumbing this week")
+                .data(Map.of("campaign", "monsoon"))
+                .build();
+    }
+
+    private static List<UUID> users(int n) {
+        return IntStream.range(0, n).mapToObj(i -> UUID.randomUUID()).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Recipients are written in chunks, once each, already SENT")
+    void chunkedSingleWrite() {
+        List<UUID> users = users(250);
+        BroadcastResponse response = service.broadcast(message(NotificationEvent.PROMOTIONAL), users.iterator());
+
+        assertEquals(250, response.getRecipients());
+        assertEquals(3, response.getChunks());
+        assertEquals(List.of(100, 100, 50), inserted.stream().map(List::size).collect(Collectors.toList()));
+        verify(prefRepo, times(3)).findAllById(any());
+
+        List<Notification> rows = inserted.stream().flatMap(List::stream).collect(Collectors.toList());
+        assertEquals(users, rows.stream().map(Notification::getUserId).collect(Collectors.toList()));
+        assertEquals(250, rows.stream().map(Notification::getNotificationId).distinct().count());
+        for (Notification row : rows) {
+            assertEquals(NotificationStatus.SENT, row.getStatus());
+            assertEquals("{\"campaign\":\"monsoon\"}", row.getDataJson());
+            assertNotNull(row.getCreatedAt());
+        }
+        assertEquals(250.0, registry.counter("notification.bulk.rows").count());
+    }
+
+    @Test
+    @DisplayName("Channel flags follow the event matrix and each recipient's preferences")
+    void preferencesApplied() {
+        List<UUID> users = users(3);
+        preferences.put(users.get(1), UserNotificationPreference.builder().userId(users.get(1)).pushEnabled(false).build());
+        preferences.put(users.get(2), UserNotificationPreference.builder().userId(users.get(2))
+                .promotionalEnabled(false).build());
+
+        service.broadcast(message(NotificationEvent.PROMOTIONAL), users.iterator());
+
+        List<Notification> rows = inserted.get(0);
+        assertTrue(rows.get(0).getPushSent());
+        assertTrue(rows.get(0).getEmailSent());
+        assertFalse(rows.get(1).getPushSent());
+        assertTrue(rows.get(1).getEmailSent());
+        assertFalse(rows.get(2).getPushSent());
+        assertFalse(rows.get(2).getEmailSent());
+    }
+
+    @Test
+    @DisplayName("Every row's planned channels are queued; a promotion is LOW even if asked for HIGH")
+    void deliveriesQueued() {
+        List<UUID> users = users(10);
+        preferences.put(users.get(0), UserNotificationPreference.builder().userId(users.get(0)).pushEnabled(false).build());
+        BroadcastRequest request = message(NotificationEvent.PROMOTIONAL);
+        request.setPriority(NotificationPriority.HIGH);
+
+        BroadcastResponse response = service.broadcast(request, users.iterator());
+
+        assertEquals(10, queued.size());
+        assertEquals(19, response.getQueuedDeliveries()); // push + email each, no push for one
+        assertTrue(queued.stream().allMatch(n -> n.getPriority() == NotificationPriority.LOW));
+    }
+
+    @Test
+    @DisplayName("Without a requested priority, the event's default is used")
+    void eventPriority() {
+        service.broadcast(message(NotificationEvent.SYSTEM_ALERT), users(3).iterator());
+
+        assertTrue(queued.stream().allMatch(n -> n.getPriority() == NotificationPriority.URGENT));
+    }
+
+    @Test
+    @DisplayName("Streamed recipients: blank lines ignored, invalid lines counted and skipped")
+    void streamedRecipients() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        String body = a + "\n\nnot-a-uuid\n\"" + b + "\"\n  \n42\n";
+
+        BroadcastResponse response = service.broadcast(message(NotificationEvent.SYSTEM_ALERT),
+                new RecipientReader(new BufferedReader(new StringReader(body))));
+
+        assertEquals(2, response.getRecipients());
+        assertEquals(2, response.getSkippedLines());
+        assertEquals(List.of(a, b), inserted.get(0).stream().map(Notification::getUserId).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("A message without a title is rejected before anything is written")
+    void invalidMessage() {
+        BroadcastRequest request = message(NotificationEvent.PROMOTIONAL);
+        request.setTitle(" ");
+
+        assertThrows(NotificationExceptions.InvalidNotificationException.class,
+                () -> service.broadcast(request, users(5).iterator()));
+        assertTrue(inserted.isEmpty());
+    }
+}
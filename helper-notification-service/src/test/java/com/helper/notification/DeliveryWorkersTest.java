@@ -0,0 +1,245 @@
+package com.helper.notification;
+
+import com.helper.notification.entity.DeliveryJob;
+import com.helper.notification.entity.Notification;
+import com.helper.notification.enums.NotificationChannel;
+import com.helper.notification.enums.NotificationEvent;
+import com.helper.notification.enums.NotificationPriority;
+import com.helper.notification.repository.NotificationRepository;
+import com.helper.notification.service.channel.DeliveryQueue;
+import com.helper.notification.service.channel.DeliveryWorkers;
+import com.helper.notification.service.channel.NotificationDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests DeliveryWorkers against an in-memory queue that claims like the SQL does (due jobs
+ * of the lane's priorities, highest priority first, then oldest): the priority lane is
+ * never blocked by a promotional backlog, failures back off and finally mark the
+ * notification FAILED, and a burst far beyond the old executor's 100 slots is drained.
+ */
+class DeliveryWorkersTest {
+
+    private final Map<UUID, Notification> notifications = new ConcurrentHashMap<>();
+    private final List<Notification> delivered = Collections.synchronizedList(new ArrayList<>());
+    private volatile Function<Notification, Boolean> channelBehaviour = n -> true;
+
+    private SimpleMeterRegistry registry;
+    private FakeQueue queue;
+    private NotificationRepository notifRepo;
+    private NotificationDispatcher dispatcher;
+    private DeliveryWorkers workers;
+
+    /** notification_deliveries, in memory. */
+    private static class FakeQueue extends DeliveryQueue {
+        private final List<DeliveryJob> jobs = new ArrayList<>();
+        private final Map<Long, LocalDateTime> retries = new HashMap<>();
+        private final List<Notification> failed = new ArrayList<>();
+        private long nextId;
+
+        FakeQueue(SimpleMeterRegistry registry) {
+            super(null, null, null, TransactionOperations.withoutTransaction(), registry, 60_000);
+        }
+
+        synchronized void add(Notification n, NotificationChannel channel) {
+            jobs.add(DeliveryJob.builder().id(++nextId).notificationId(n.getNotificationId()).channel(channel)
+                    .priority(n.getPriority()).availableAt(LocalDateTime.now().minusSeconds(1))
+                    .createdAt(LocalDateTime.now()).build());
+        }
+
+        synchronized int size() {
+            return jobs.size();
+        }
+
+        @Override
+        public synchronized List<DeliveryJob> claim(NotificationChannel channel, Set<NotificationPriority> priorities,
+                                                    int limit) {
+            LocalDateTime now = LocalDateTime.now();
+            List<DeliveryJob> claimed = jobs.stream()
+                    .filter(j -> j.getChannel() == channel && priorities.contains(j.getPriority())
+                            && !j.getAvailableAt().isAfter(now))
+                    .sorted(Comparator.comparing(DeliveryJob::getPriority).reversed()
+                            .thenComparing(DeliveryJob::getId))
+                    .limit(limit)
+                    .toList();
+            for (DeliveryJob job : claimed) {
+                job.setAttempts(job.getAttempts() + 1);
+                job.setAvailableAt(now.plusMinutes(2));
+            }
+            return claimed;
+        }
+
+        @Override
+        public synchronized void complete(Collection<Long> jobIds) {
+            jobs.removeIf(j -> jobIds.contains(j.getId()));
+        }
+
+        @Override
+        public synchronized void retry(DeliveryJob job, String error, LocalDateTime at) {
+            retries.put(job.getId(), at);
+            job.setAvailableAt(LocalDateTime.now().minusSeconds(1)); // due again right away, for the test
+            job.setLastError(error);
+        }
+
+        @Override
+        public synchronized void fail(DeliveryJob job, Notification notification) {
+            jobs.remove(job);
+            failed.add(notification);
+        }
+
+        @Override
+        public void awaitWork(NotificationChannel channel, long timeoutMs) throws InterruptedException {
+            Thread.sleep(1);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        queue = new FakeQueue(registry);
+        notifRepo = mock(NotificationRepository.class);
+        when(notifRepo.findAllById(any())).thenAnswer(inv -> {
+            List<Notification> found = new ArrayList<>();
+            for (UUID id : inv.<Iterable<UUID>>getArgument(0)) {
+                if (notifications.containsKey(id)) found.add(notifications.get(id));
+            }
+            return found;
+        });
+        dispatcher = new NotificationDispatcher(null, null, null) {
+            @Override
+            public boolean deliver(Notification notif, NotificationChannel channel) {
+                boolean sent = channelBehaviour.apply(notif);
+                if (sent) delivered.add(notif);
+                return sent;
+            }
+        };
+        workers = new DeliveryWorkers(queue, notifRepo, dispatcher, registry,
+                Map.of(NotificationChannel.PUSH, 4, NotificationChannel.SMS, 2, NotificationChannel.EMAIL, 2),
+                1, 20, 10, 3, 5_000);
+    }
+
+    private Notification queued(NotificationEvent event, NotificationPriority priority, NotificationChannel channel) {
+        Notification n = Notification.builder()
+                .notificationId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .event(event)
+                .title(event.name())
+                .body("body")
+                .priority(priority)
+                .build();
+        notifications.put(n.getNotificationId(), n);
+        queue.add(n, channel);
+        return n;
+    }
+
+    private double count(String priority, String result) {
+        return registry.counter("notification.delivery", "channel", "PUSH", "priority", priority, "result", result).count();
+    }
+
+    @Test
+    @DisplayName("A bid acceptance is taken by the priority lane while a promotional backlog waits")
+    void priorityLaneNotBlocked() {
+        for (int i = 0; i < 500; i++) {
+            queued(NotificationEvent.PROMOTIONAL, NotificationPriority.LOW, NotificationChannel.PUSH);
+        }
+        Notification accepted = queued(NotificationEvent.BID_ACCEPTED, NotificationPriority.HIGH, NotificationChannel.PUSH);
+
+        assertEquals(1, workers.runOnce(NotificationChannel.PUSH, true));
+        assertEquals(List.of(accepted), delivered);
+        assertEquals(0, workers.runOnce(NotificationChannel.PUSH, true)); // promotions are not its job
+
+        assertEquals(20, workers.runOnce(NotificationChannel.PUSH, false));
+        assertEquals(480, queue.size());
+        assertEquals(20.0, count("LOW", "delivered"));
+    }
+
+    @Test
+    @DisplayName("The standard lane takes URGENT before older LOW jobs, and channels do not share jobs")
+    void standardLaneOrder() {
+        queued(NotificationEvent.PROMOTIONAL, NotificationPriority.LOW, NotificationChannel.PUSH);
+        Notification sms = queued(NotificationEvent.BID_ACCEPTED, NotificationPriority.HIGH, NotificationChannel.SMS);
+        Notification alert = queued(NotificationEvent.SYSTEM_ALERT, NotificationPriority.URGENT, NotificationChannel.PUSH);
+
+        workers.runOnce(NotificationChannel.SMS, false);
+        assertEquals(List.of(sms), delivered);
+
+        workers = new DeliveryWorkers(queue, notifRepo, dispatcher, registry, Map.of(), 1, 1, 10, 3, 5_000);
+        workers.runOnce(NotificationChannel.PUSH, false);
+        assertEquals(List.of(sms, alert), delivered);
+    }
+
+    @Test
+    @DisplayName("A failing channel is retried with doubling backoff, then the notification is marked FAILED")
+    void retryThenFail() {
+        Notification n = queued(NotificationEvent.BID_ACCEPTED, NotificationPriority.HIGH, NotificationChannel.PUSH);
+        channelBehaviour = x -> {
+            throw new IllegalStateException("FCM unavailable");
+        };
+
+        LocalDateTime before = LocalDateTime.now();
+        workers.runOnce(NotificationChannel.PUSH, true);
+        LocalDateTime firstRetry = queue.retries.get(1L);
+        assertTrue(Duration.between(before, firstRetry).toMillis() >= 5_000);
+
+        workers.runOnce(NotificationChannel.PUSH, true);
+        LocalDateTime secondRetry = queue.retries.get(1L);
+        assertTrue(Duration.between(before, secondRetry).toMillis() >= 10_000);
+        assertTrue(queue.failed.isEmpty());
+
+        workers.runOnce(NotificationChannel.PUSH, true);
+        assertEquals(List.of(n), queue.failed);
+        assertEquals("push: FCM unavailable", n.getErrorMessage());
+        assertEquals(0, queue.size());
+        assertEquals(2.0, count("HIGH", "retry"));
+        assertEquals(1.0, count("HIGH", "failed"));
+    }
+
+    @Test
+    @DisplayName("Nothing to send to is a skip, not a retry; jobs of deleted notifications are dropped")
+    void skippedAndDropped() {
+        queued(NotificationEvent.NEW_BID_RECEIVED, NotificationPriority.NORMAL, NotificationChannel.PUSH);
+        Notification deleted = queued(NotificationEvent.NEW_BID_RECEIVED, NotificationPriority.NORMAL,
+                NotificationChannel.PUSH);
+        notifications.remove(deleted.getNotificationId());
+        channelBehaviour = x -> false; // no device token
+
+        assertEquals(2, workers.runOnce(NotificationChannel.PUSH, false));
+        assertEquals(0, queue.size());
+        assertEquals(1.0, count("NORMAL", "skipped"));
+        assertEquals(1.0, count("NORMAL", "dropped"));
+    }
+
+    @Test
+    @DisplayName("A burst of 5,000 deliveries is drained by the worker pools without rejections")
+    void burstDrained() throws InterruptedException {
+        NotificationChannel[] channels = {NotificationChannel.PUSH, NotificationChannel.SMS, NotificationChannel.EMAIL};
+        for (int i = 0; i < 5_000; i++) {
+            queued(NotificationEvent.NEW_TASK_IN_AREA, i % 100 == 0 ? NotificationPriority.HIGH : NotificationPriority.NORMAL,
+                    channels[i % channels.length]);
+        }
+        workers.start();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (queue.size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        workers.shutdown();
+
+        assertEquals(0, queue.size());
+        assertEquals(5_000, delivered.size());
+        assertEquals(5_000, new HashSet<>(delivered).size());
+    }
+}
@@ -0,0 +1,106 @@
+package com.helper.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helper.notification.controller.NotificationController;
+import com.helper.notification.repository.DeviceTokenRepository;
+import com.helper.notification.repository.NotificationRepository;
+import com.helper.notification.repository.UserNotificationPreferenceRepository;
+import com.helper.notification.repository.VersionStamp;
+import com.helper.notification.security.AuthenticatedUser;
+import com.helper.notification.service.NotificationService;
+import com.helper.notification.service.channel.DeliveryQueue;
+import com.helper.notification.service.channel.NotificationDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the conditional GETs on the inbox: a matching If-None-Match is answered with 304
+ * from the version stamp alone, and marking notifications read moves the stamp and the ETag.
+ */
+class NotificationETagTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 6, 1, 10, 0);
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    private final NotificationRepository notifRepo = mock(NotificationRepository.class);
+    private final NotificationService service = new NotificationService(notifRepo,
+            mock(UserNotificationPreferenceRepository.class), mock(DeviceTokenRepository.class),
+            mock(NotificationDispatcher.class), mock(DeliveryQueue.class), new ObjectMapper(), new SimpleMeterRegistry());
+    private final NotificationController controller = new NotificationController(service);
+    private final AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "worker@helper.app", "WORKER");
+
+    private static VersionStamp stamp(long count, LocalDateTime lastModified) {
+        return new VersionStamp() {
+            @Override
+            public long getCount() {
+                return count;
+            }
+
+            @Override
+            public LocalDateTime getLastModified() {
+                return lastModified;
+            }
+        };
+    }
+
+    private static ServletWebRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/notifications/unread");
+        if (ifNoneMatch != null) request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private static MockHttpServletResponse response(ServletWebRequest webRequest) {
+        return (MockHttpServletResponse) webRequest.getResponse();
+    }
+
+    @Test
+    @DisplayName("Inbox: matching If-None-Match gives 304 without loading the page")
+    void testInboxNotModified() {
+        when(notifRepo.findVersionByUserId(user.getUserId())).thenReturn(stamp(5, T0));
+        ServletWebRequest revalidate = get(service.getUserNotificationsETag(user.getUserId(), PAGE));
+
+        assertNull(controller.getMyNotifications(user, PAGE, revalidate));
+        assertEquals(304, response(revalidate).getStatus());
+        verify(notifRepo, never()).findByUserIdOrderByCreatedAtDesc(any(), any());
+    }
+
+    @Test
+    @DisplayName("Unread: 304 while nothing changed, 200 with a new ETag after a notification is read")
+    void testUnreadWriteChangesETag() {
+        when(notifRepo.findUnreadVersionByUserId(user.getUserId())).thenReturn(stamp(3, T0));
+        when(notifRepo.findByUserIdAndIsReadFalseOrderByCreatedAtDesc(user.getUserId(), PAGE)).thenReturn(Page.empty());
+        ServletWebRequest first = get(null);
+        assertNotNull(controller.getUnread(user, PAGE, first));
+        String etag = response(first).getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        ServletWebRequest unchanged = get(etag);
+        assertNull(controller.getUnread(user, PAGE, unchanged));
+        assertEquals(304, response(unchanged).getStatus());
+        verify(notifRepo, times(1)).findByUserIdAndIsReadFalseOrderByCreatedAtDesc(user.getUserId(), PAGE);
+
+        // One of them was read: it leaves the unread set
+        when(notifRepo.findUnreadVersionByUserId(user.getUserId())).thenReturn(stamp(2, T0));
+        ServletWebRequest changed = get(etag);
+
+        assertNotNull(controller.getUnread(user, PAGE, changed));
+        assertEquals(200, response(changed).getStatus());
+        assertNotEquals(etag, response(changed).getHeader(HttpHeaders.ETAG));
+        verify(notifRepo, times(2)).findByUserIdAndIsReadFalseOrderByCreatedAtDesc(user.getUserId(), PAGE);
+    }
+}
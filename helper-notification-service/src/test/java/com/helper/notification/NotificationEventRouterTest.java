@@ -2,6 +2,7 @@ package com.helper.notification;
 
 import com.helper.notification.enums.NotificationChannel;
 import com.helper.notification.enums.NotificationEvent;
+import com.helper.notification.enums.NotificationPriority;
 import com.helper.notification.service.NotificationEventRouter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -124,4 +125,23 @@ class NotificationEventRouterTest {
         assertFalse(NotificationEventRouter.requiresChannel(NotificationEvent.RATING_RECEIVED, NotificationChannel.SMS));
         assertTrue(NotificationEventRouter.requiresChannel(NotificationEvent.RATING_RECEIVED, NotificationChannel.IN_APP));
     }
+
+    @Test
+    @DisplayName("Bid accepted is HIGH, promotional LOW, unlisted events NORMAL")
+    void testDefaultPriorities() {
+        assertEquals(NotificationPriority.HIGH, NotificationEventRouter.getPriority(NotificationEvent.BID_ACCEPTED));
+        assertEquals(NotificationPriority.LOW, NotificationEventRouter.getPriority(NotificationEvent.PROMOTIONAL));
+        assertEquals(NotificationPriority.NORMAL, NotificationEventRouter.getPriority(NotificationEvent.RATING_RECEIVED));
+    }
+
+    @Test
+    @DisplayName("A requested priority wins, except that promotional is always LOW")
+    void testResolvePriority() {
+        assertEquals(NotificationPriority.URGENT,
+                NotificationEventRouter.resolvePriority(NotificationEvent.NEW_BID_RECEIVED, NotificationPriority.URGENT));
+        assertEquals(NotificationPriority.HIGH,
+                NotificationEventRouter.resolvePriority(NotificationEvent.PAYMENT_RECEIVED, null));
+        assertEquals(NotificationPriority.LOW,
+                NotificationEventRouter.resolvePriority(NotificationEvent.PROMOTIONAL, NotificationPriority.HIGH));
+    }
 }
@@ -43,9 +43,10 @@ public class AdminPaymentController {
     @GetMapping("/payments/stats")
     @Operation(summary = "Revenue & commission statistics",
             description = "Total revenue, commission earned, taxes, tips, broken down by method and status")
-    public ResponseEntity<ApiResponse<PaymentStatsResponse>> getStats() {
+    public ResponseEntity<ApiResponse<PaymentStatsResponse>> getStats(
+            @RequestParam(defaultValue = "false") boolean refresh) {
         return ResponseEntity.ok(ApiResponse.success("Payment statistics",
-                paymentService.getStats()));
+                paymentService.getStats(refresh)));
     }
 
     // ===== TRANSACTIONS =====
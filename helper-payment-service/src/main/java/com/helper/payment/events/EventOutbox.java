@@ -0,0 +1,42 @@
+package com.helper.payment.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helper.payment.entity.OutboxEvent;
+import com.helper.payment.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Records a lifecycle event in the caller's transaction. The event is published by
+ * {@link OutboxRelay} only once that transaction commits, and is lost with it on rollback.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String type, Object key, Object payload) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventType(type)
+                .aggregateKey(key == null ? null : key.toString())
+                .payload(toJson(payload))
+                .build());
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Event payload is not serializable: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.helper.payment.repository;
+
+import com.helper.payment.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Oldest unpublished events, locked. No SKIP LOCKED: a relay instance waits for the one
+    // holding the head of the outbox, then finds those rows published, so batches leave in id order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM OutboxEvent o WHERE o.publishedAt IS NULL ORDER BY o.id")
+    List<OutboxEvent> findUnpublished(Pageable limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.publishedAt = :at WHERE o.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("at") LocalDateTime at);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
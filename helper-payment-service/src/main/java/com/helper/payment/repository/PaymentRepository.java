@@ -1,6 +1,7 @@
 package com.helper.payment.repository;
 
 import com.helper.payment.entity.Payment;
+import com.helper.payment.enums.PaymentMethod;
 import com.helper.payment.enums.PaymentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -28,23 +30,23 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     // My transactions: customer sees payments they made, worker sees payments they received
     Page<Payment> findByPayerIdOrPayeeIdOrderByCreatedAtDesc(UUID payerId, UUID payeeId, Pageable pageable);
 
-    long countByStatus(PaymentStatus status);
-
-    // Admin reporting
-    @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Payment p WHERE p.status = 'COMPLETED'")
-    BigDecimal sumTotalRevenue();
-
-    @Query("SELECT COALESCE(SUM(p.commission), 0) FROM Payment p WHERE p.status = 'COMPLETED'")
-    BigDecimal sumTotalCommission();
-
-    @Query("SELECT COALESCE(SUM(p.tax), 0) FROM Payment p WHERE p.status = 'COMPLETED'")
-    BigDecimal sumTotalTax();
-
-    @Query("SELECT COALESCE(SUM(p.tip), 0) FROM Payment p WHERE p.status = 'COMPLETED'")
-    BigDecimal sumTotalTips();
-
-    @Query("SELECT COUNT(p) FROM Payment p WHERE p.status = 'COMPLETED' AND p.method = :method")
-    long countByMethodAndCompleted(@Param("method") com.helper.payment.enums.PaymentMethod method);
+    // Admin stats: count and COMPLETED-relevant sums per (status, method) in one grouped
+    // query (see PaymentStats). Pairs without payments are absent.
+    @Query("SELECT p.status AS status, p.method AS method, COUNT(p) AS paymentCount, " +
+            "COALESCE(SUM(p.amount), 0) AS amount, COALESCE(SUM(p.commission), 0) AS commission, " +
+            "COALESCE(SUM(p.tax), 0) AS tax, COALESCE(SUM(p.tip), 0) AS tip " +
+            "FROM Payment p GROUP BY p.status, p.method")
+    List<StatusMethodTotals> sumByStatusAndMethod();
+
+    interface StatusMethodTotals {
+        PaymentStatus getStatus();
+        PaymentMethod getMethod();
+        long getPaymentCount();
+        BigDecimal getAmount();
+        BigDecimal getCommission();
+        BigDecimal getTax();
+        BigDecimal getTip();
+    }
 
     // Date-range queries for admin dashboard
     @Query("SELECT COALESCE(SUM(p.commission), 0) FROM Payment p WHERE p.status = 'COMPLETED' AND p.processedAt BETWEEN :start AND :end")
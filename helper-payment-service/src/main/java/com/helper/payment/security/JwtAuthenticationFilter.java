@@ -16,7 +16,6 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
-import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
@@ -24,25 +23,29 @@ import java.util.UUID;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final GatewayHeaderAuthenticator gatewayHeaderAuthenticator;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
-            String jwt = extractToken(request);
+            // Signed gateway headers first; direct calls (or unsigned headers) fall back to the JWT
+            AuthenticatedUser user = gatewayHeaderAuthenticator.authenticate(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                UUID userId = jwtTokenProvider.getUserIdFromToken(jwt);
-                String email = jwtTokenProvider.getEmailFromToken(jwt);
-                String role = jwtTokenProvider.getRoleFromToken(jwt);
-
-                AuthenticatedUser user = new AuthenticatedUser(userId, email, role);
+            if (user == null) {
+                String jwt = extractToken(request);
+                JwtClaims claims = StringUtils.hasText(jwt) ? jwtTokenProvider.resolveClaims(jwt) : null;
+                if (claims != null) {
+                    user = new AuthenticatedUser(claims.getUserId(), claims.getEmail(), claims.getRole());
+                }
+            }
 
+            if (user != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 user, null,
-                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole())));
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
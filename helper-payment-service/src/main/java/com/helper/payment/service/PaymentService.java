@@ -10,10 +10,14 @@ import com.helper.payment.entity.WorkerLedgerEntry;
 import com.helper.payment.enums.LedgerEntryType;
 import com.helper.payment.enums.PaymentMethod;
 import com.helper.payment.enums.PaymentStatus;
+import com.helper.payment.events.EventOutbox;
+import com.helper.payment.events.EventTypes;
 import com.helper.payment.exception.PaymentExceptions;
 import com.helper.payment.repository.PaymentRepository;
 import com.helper.payment.repository.WorkerLedgerRepository;
 import com.helper.payment.security.AuthenticatedUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -40,6 +44,14 @@ public class PaymentService {
     private final WorkerLedgerRepository ledgerRepo;
     private final PlatformConfigService configService;
     private final InvoiceService invoiceService;
+    private final EventOutbox eventOutbox;
+    private final MeterRegistry meterRegistry;
+
+    // Admin stats are served from memory, recomputed on read once older than app.stats.max-age-ms
+    @Value("${app.stats.max-age-ms:60000}")
+    private long statsMaxAgeMs;
+
+    private StatsSnapshot<PaymentStatsResponse> statsSnapshot;
 
     @Value("${app.payment.invoice-prefix:HLP-INV}")
     private String invoicePrefix;
@@ -140,6 +152,8 @@ public class PaymentService {
         payment.setStatus(PaymentStatus.COMPLETED);
         payment.setProcessedAt(LocalDateTime.now());
         payment = paymentRepo.save(payment);
+        appendPaymentEvent(EventTypes.PAYMENT_RECEIVED, "workerId", payment.getPayeeId(), payment,
+                payment.getWorkerPayout());
 
         log.info("Cash payment confirmed: {} by worker: {}", paymentId, user.getUserId());
         return mapToResponse(payment);
@@ -205,6 +219,8 @@ public class PaymentService {
         addLedgerEntry(payment.getPayeeId(), payment.getPaymentId(), LedgerEntryType.COMMISSION_PAID,
                 payment.getCommission().add(payment.getTax()).negate(),
                 "Refund reversal for task " + payment.getTaskId());
+        appendPaymentEvent(EventTypes.PAYMENT_REFUNDED, "payerId", payment.getPayerId(), payment,
+                payment.getAmount().add(payment.getTip()));
 
         log.info("Payment refunded: {} by admin: {} reason: {}", paymentId, admin.getUserId(), reason);
         return mapToResponse(payment);
@@ -235,30 +251,34 @@ public class PaymentService {
     }
 
     // ===== ADMIN STATS =====
-    public PaymentStatsResponse getStats() {
-        Map<String, Long> byStatus = new HashMap<>();
-        for (PaymentStatus s : PaymentStatus.values()) {
-            byStatus.put(s.name(), paymentRepo.countByStatus(s));
-        }
-
-        Map<String, Long> byMethod = new HashMap<>();
-        for (PaymentMethod m : PaymentMethod.values()) {
-            byMethod.put(m.name(), paymentRepo.countByMethodAndCompleted(m));
-        }
+    @PostConstruct
+    void initStatsSnapshot() {
+        statsSnapshot = new StatsSnapshot<>("payments",
+                () -> PaymentStats.fromTotals(paymentRepo.sumByStatusAndMethod()), statsMaxAgeMs, meterRegistry);
+    }
 
-        return PaymentStatsResponse.builder()
-                .totalTransactions(paymentRepo.count())
-                .totalRevenue(paymentRepo.sumTotalRevenue())
-                .totalCommission(paymentRepo.sumTotalCommission())
-                .totalTax(paymentRepo.sumTotalTax())
-                .totalTips(paymentRepo.sumTotalTips())
-                .byStatus(byStatus)
-                .byMethod(byMethod)
-                .build();
+    /**
+     * Revenue, commission and transaction statistics (admin), from the in-memory snapshot
+     *
+     * @param refresh recompute now instead of serving the snapshot
+     */
+    public PaymentStatsResponse getStats(boolean refresh) {
+        return refresh ? statsSnapshot.refresh() : statsSnapshot.get();
     }
 
     // ===== PRIVATE HELPERS =====
 
+    // Lifecycle event for the notification service, written with this transaction
+    private void appendPaymentEvent(String type, String recipientField, UUID recipientId, Payment payment,
+                                    BigDecimal amount) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put(recipientField, recipientId);
+        payload.put("taskId", payment.getTaskId());
+        payload.put("paymentId", payment.getPaymentId());
+        payload.put("amount", amount);
+        eventOutbox.append(type, payment.getPaymentId(), payload);
+    }
+
     private Payment getPaymentOrThrow(UUID paymentId) {
         return paymentRepo.findById(paymentId)
                 .orElseThrow(() -> new PaymentExceptions.PaymentNotFoundException("Payment not found: " + paymentId));
@@ -0,0 +1,60 @@
+package com.helper.payment.service;
+
+import com.helper.payment.dto.response.PaymentStatsResponse;
+import com.helper.payment.enums.PaymentMethod;
+import com.helper.payment.enums.PaymentStatus;
+import com.helper.payment.repository.PaymentRepository.StatusMethodTotals;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Folds the grouped (status, method) totals from PaymentRepository#sumByStatusAndMethod
+ * into the admin stats response, so the whole dashboard costs one query. Revenue,
+ * commission, tax, tips and the per-method counts only include COMPLETED payments.
+ */
+public final class PaymentStats {
+
+    private PaymentStats() {
+    }
+
+    public static PaymentStatsResponse fromTotals(Iterable<? extends StatusMethodTotals> totals) {
+        // Every status and method is listed, with 0 for those without payments
+        Map<String, Long> byStatus = new HashMap<>();
+        for (PaymentStatus status : PaymentStatus.values()) {
+            byStatus.put(status.name(), 0L);
+        }
+        Map<String, Long> byMethod = new HashMap<>();
+        for (PaymentMethod method : PaymentMethod.values()) {
+            byMethod.put(method.name(), 0L);
+        }
+
+        long total = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        BigDecimal commission = BigDecimal.ZERO;
+        BigDecimal tax = BigDecimal.ZERO;
+        BigDecimal tips = BigDecimal.ZERO;
+        for (StatusMethodTotals row : totals) {
+            total += row.getPaymentCount();
+            byStatus.merge(row.getStatus().name(), row.getPaymentCount(), Long::sum);
+            if (row.getStatus() != PaymentStatus.COMPLETED) continue;
+
+            byMethod.merge(row.getMethod().name(), row.getPaymentCount(), Long::sum);
+            revenue = revenue.add(row.getAmount());
+            commission = commission.add(row.getCommission());
+            tax = tax.add(row.getTax());
+            tips = tips.add(row.getTip());
+        }
+
+        return PaymentStatsResponse.builder()
+                .totalTransactions(total)
+                .totalRevenue(revenue)
+                .totalCommission(commission)
+                .totalTax(tax)
+                .totalTips(tips)
+                .byStatus(byStatus)
+                .byMethod(byMethod)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.helper.payment;
+
+import com.helper.payment.security.AuthenticatedUser;
+import com.helper.payment.security.GatewayHeaderAuthenticator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Smoke test of this service's GatewayHeaderAuthenticator: a gateway-signed request is
+ * accepted and a tampered one rejected. The full suite (replay, skew, other path, wrong
+ * secret, disabled) is GatewayHeaderAuthenticatorTest in helper-user-service.
+ */
+class GatewayHeaderAuthenticatorTest {
+
+    private static final String SECRET = "GATEWAY_INTERNAL_SECRET_FOR_TESTS";
+    private static final String PATH = "/api/v1/payments/history";
+
+    private final GatewayHeaderAuthenticator authenticator = new GatewayHeaderAuthenticator(true, SECRET, 30_000);
+    private final String userId = UUID.randomUUID().toString();
+
+    // Same canonical string and encoding as GatewaySignature in the gateway
+    private static String sign(String secret, String userId, String role, String email,
+                               String method, String rawPath, long timestamp) throws Exception {
+        String canonical = userId + "\n" + role + "\n" + email + "\n" + method + "\n" + rawPath + "\n" + timestamp;
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private MockHttpServletRequest signedRequest(String secret, long timestamp) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.addHeader("X-User-Id", userId);
+        request.addHeader("X-User-Role", "WORKER");
+        request.addHeader("X-User-Email", "test@helper.app");
+        request.addHeader("X-Gateway-Timestamp", String.valueOf(timestamp));
+        request.addHeader("X-Gateway-Signature",
+                sign(secret, userId, "WORKER", "test@helper.app", "GET", PATH, timestamp));
+        return request;
+    }
+
+    @Test
+    @DisplayName("Valid signature: user taken from the headers")
+    void testValidSignature() throws Exception {
+        AuthenticatedUser user = authenticator.authenticate(signedRequest(SECRET, System.currentTimeMillis()));
+
+        assertNotNull(user);
+        assertEquals(userId, user.getUserId().toString());
+        assertEquals("WORKER", user.getRole());
+        assertEquals("test@helper.app", user.getEmail());
+    }
+
+    @Test
+    @DisplayName("Tampered role header is rejected")
+    void testTamperedHeader() throws Exception {
+        MockHttpServletRequest request = signedRequest(SECRET, System.currentTimeMillis());
+        request.removeHeader("X-User-Role");
+        request.addHeader("X-User-Role", "ADMIN");
+
+        assertNull(authenticator.authenticate(request));
+    }
+}
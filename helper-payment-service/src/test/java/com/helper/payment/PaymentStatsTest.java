@@ -0,0 +1,90 @@
+package com.helper.payment;
+
+import com.helper.payment.dto.response.PaymentStatsResponse;
+import com.helper.payment.enums.PaymentMethod;
+import com.helper.payment.enums.PaymentStatus;
+import com.helper.payment.repository.PaymentRepository.StatusMethodTotals;
+import com.helper.payment.service.PaymentStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentStatsTest {
+
+    private static StatusMethodTotals row(PaymentStatus status, PaymentMethod method, long count,
+                                          String amount, String commission, String tax, String tip) {
+        return new StatusMethodTotals() {
+            @Override
+            public PaymentStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public PaymentMethod getMethod() {
+                return method;
+            }
+
+            @Override
+            public long getPaymentCount() {
+                return count;
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return new BigDecimal(amount);
+            }
+
+            @Override
+            public BigDecimal getCommission() {
+                return new BigDecimal(commission);
+            }
+
+            @Override
+            public BigDecimal getTax() {
+                return new BigDecimal(tax);
+            }
+
+            @Override
+            public BigDecimal getTip() {
+                return new BigDecimal(tip);
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Grouped totals add up; money and per-method counts only include COMPLETED payments")
+    void testFromTotals() {
+        PaymentStatsResponse stats = PaymentStats.fromTotals(List.of(
+                row(PaymentStatus.COMPLETED, PaymentMethod.UPI, 3, "1500.00", "30.00", "5.40", "50.00"),
+                row(PaymentStatus.COMPLETED, PaymentMethod.CASH, 1, "500.00", "10.00", "1.80", "0.00"),
+                row(PaymentStatus.PENDING, PaymentMethod.UPI, 2, "800.00", "16.00", "2.88", "0.00"),
+                row(PaymentStatus.REFUNDED, PaymentMethod.UPI, 1, "200.00", "4.00", "0.72", "0.00")));
+
+        assertEquals(7, stats.getTotalTransactions());
+        assertEquals(new BigDecimal("2000.00"), stats.getTotalRevenue());
+        assertEquals(new BigDecimal("40.00"), stats.getTotalCommission());
+        assertEquals(new BigDecimal("7.20"), stats.getTotalTax());
+        assertEquals(new BigDecimal("50.00"), stats.getTotalTips());
+        assertEquals(4L, stats.getByStatus().get(PaymentStatus.COMPLETED.name()));
+        assertEquals(2L, stats.getByStatus().get(PaymentStatus.PENDING.name()));
+        assertEquals(PaymentStatus.values().length, stats.getByStatus().size());
+        assertEquals(3L, stats.getByMethod().get(PaymentMethod.UPI.name()));
+        assertEquals(1L, stats.getByMethod().get(PaymentMethod.CASH.name()));
+        assertEquals(PaymentMethod.values().length, stats.getByMethod().size());
+    }
+
+    @Test
+    @DisplayName("No payments: zero totals, every status and method listed")
+    void testEmpty() {
+        PaymentStatsResponse stats = PaymentStats.fromTotals(List.of());
+
+        assertEquals(0, stats.getTotalTransactions());
+        assertEquals(BigDecimal.ZERO, stats.getTotalRevenue());
+        assertTrue(stats.getByStatus().values().stream().allMatch(c -> c == 0));
+        assertTrue(stats.getByMethod().values().stream().allMatch(c -> c == 0));
+    }
+}
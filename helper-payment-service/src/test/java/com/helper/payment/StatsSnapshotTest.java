@@ -0,0 +1,130 @@
+package com.helper.payment;
+
+import com.helper.payment.service.StatsSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsSnapshotTest {
+
+    private SimpleMeterRegistry registry;
+    private AtomicInteger computations;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        computations = new AtomicInteger();
+    }
+
+    private Supplier<Integer> counting() {
+        return computations::incrementAndGet;
+    }
+
+    @Test
+    @DisplayName("Reads are served from the snapshot until it is older than the max age")
+    void testServedFromMemory() {
+        StatsSnapshot<Integer> snapshot = new StatsSnapshot<>("payments", counting(), 60_000, registry);
+
+        assertEquals(1, snapshot.get());
+        assertEquals(1, snapshot.get());
+        assertEquals(1, snapshot.get());
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    @DisplayName("A snapshot past the max age is recomputed on read")
+    void testMaxAge() throws InterruptedException {
+        StatsSnapshot<Integer> snapshot = new StatsSnapshot<>("payments", counting(), 5, registry);
+
+        assertEquals(1, snapshot.get());
+        Thread.sleep(20);
+        assertEquals(2, snapshot.get());
+    }
+
+    @Test
+    @DisplayName("A forced refresh replaces the snapshot")
+    void testRefresh() {
+        StatsSnapshot<Integer> snapshot = new StatsSnapshot<>("payments", counting(), 60_000, registry);
+
+        assertEquals(1, snapshot.get());
+        assertEquals(2, snapshot.refresh());
+        assertEquals(2, snapshot.get());
+        assertEquals(2, registry.timer("admin.stats.refresh", "stats", "payments").count());
+    }
+
+    @Test
+    @DisplayName("A failed recompute on read serves the previous snapshot; a forced one fails")
+    void testFailedRefreshKeepsSnapshot() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        StatsSnapshot<Integer> snapshot = new StatsSnapshot<>("payments", () -> {
+            if (calls.incrementAndGet() > 1) throw new IllegalStateException("connection refused");
+            return 42;
+        }, 5, registry);
+
+        assertEquals(42, snapshot.get());
+        Thread.sleep(20);
+        assertEquals(42, snapshot.get());
+        assertEquals(2, calls.get());
+        assertThrows(IllegalStateException.class, snapshot::refresh);
+    }
+
+    @Test
+    @DisplayName("The first read fails if there is nothing to fall back to")
+    void testFirstReadFails() {
+        StatsSnapshot<Integer> snapshot = new StatsSnapshot<>("payments", () -> {
+            throw new IllegalStateException("connection refused");
+        }, 60_000, registry);
+
+        assertThrows(IllegalStateException.class, snapshot::get);
+    }
+
+    @Test
+    @DisplayName("While one read recomputes, other reads get the previous snapshot without waiting")
+    void testReadsDuringRecompute() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        StatsSnapshot<Integer> snapshot = new StatsSnapshot<>("payments", () -> {
+            int n = calls.incrementAndGet();
+            if (n > 1) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return n;
+        }, 5, registry);
+
+        assertEquals(1, snapshot.get());
+        Thread.sleep(20);
+        CompletableFuture<Integer> recompute = CompletableFuture.supplyAsync(snapshot::get);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1, snapshot.get());
+        release.countDown();
+        assertEquals(2, recompute.get(5, TimeUnit.SECONDS));
+        assertEquals(2, snapshot.get());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Snapshot age is exported, -1 before the first computation")
+    void testAgeGauge() {
+        StatsSnapshot<Integer> snapshot = new StatsSnapshot<>("payments", counting(), 60_000, registry);
+
+        assertEquals(-1.0, registry.get("admin.stats.age.ms").tag("stats", "payments").gauge().value());
+        snapshot.get();
+        assertTrue(registry.get("admin.stats.age.ms").tag("stats", "payments").gauge().value() >= 0);
+    }
+}
@@ -0,0 +1,44 @@
+package com.helper.rating.config;
+
+import com.helper.rating.events.EventBroker;
+import com.helper.rating.events.InProcessEventBroker;
+import com.helper.rating.events.RedisStreamEventBroker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * Picks the lifecycle event broker from app.cache.type:
+ * in-memory (default) → consumers in this JVM only; redis → one Redis stream shared by all services.
+ */
+@Configuration
+public class EventBrokerConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "app.cache.type", havingValue = "in-memory", matchIfMissing = true)
+    public EventBroker inProcessEventBroker(@Value("${app.events.consumer.max-attempts:5}") int maxAttempts,
+                                           @Value("${app.events.consumer.retry-backoff-ms:1000}") long retryBackoffMs) {
+        return new InProcessEventBroker(maxAttempts, retryBackoffMs);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "app.cache.type", havingValue = "redis")
+    public EventBroker redisStreamEventBroker(StringRedisTemplate redisTemplate,
+                                              @Value("${spring.application.name}") String applicationName,
+                                              @Value("${HOSTNAME:}") String hostname,
+                                              @Value("${app.events.stream.max-length:1000000}") long maxLength,
+                                              @Value("${app.events.consumer.read-count:100}") int readCount,
+                                              @Value("${app.events.consumer.block-ms:2000}") long blockMs,
+                                              @Value("${app.events.consumer.claim-idle-ms:60000}") long claimIdleMs,
+                                              @Value("${app.events.consumer.max-attempts:5}") int maxAttempts,
+                                              @Value("${app.events.consumer.retry-backoff-ms:1000}") long retryBackoffMs) {
+        String consumerName = applicationName + "-"
+                + (hostname.isBlank() ? UUID.randomUUID().toString().substring(0, 8) : hostname);
+        return new RedisStreamEventBroker(redisTemplate, consumerName, maxLength, readCount, blockMs,
+                claimIdleMs, maxAttempts, retryBackoffMs);
+    }
+}
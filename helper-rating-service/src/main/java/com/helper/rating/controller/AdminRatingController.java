@@ -38,9 +38,10 @@ public class AdminRatingController {
     @GetMapping("/ratings/stats")
     @Operation(summary = "Rating & flag statistics",
             description = "Total ratings, platform average, hidden count, flag breakdown by status")
-    public ResponseEntity<ApiResponse<RatingStatsResponse>> getStats() {
+    public ResponseEntity<ApiResponse<RatingStatsResponse>> getStats(
+            @RequestParam(defaultValue = "false") boolean refresh) {
         return ResponseEntity.ok(ApiResponse.success("Rating statistics",
-                ratingService.getStats()));
+                ratingService.getStats(refresh)));
     }
 
     // ===== RATING MODERATION =====
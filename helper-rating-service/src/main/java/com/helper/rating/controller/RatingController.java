@@ -14,11 +14,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,6 +31,10 @@ import java.util.UUID;
 @Tag(name = "Ratings", description = "Submit and view ratings (1-5 stars + feedback)")
 public class RatingController {
 
+    // Public read: clients revalidate, the gateway's shared cache may serve it briefly
+    private static final CacheControl PUBLIC_SUMMARY_CACHE = CacheControl.maxAge(Duration.ZERO)
+            .sMaxAge(Duration.ofSeconds(60)).cachePublic();
+
     private final RatingService ratingService;
 
     @PostMapping
@@ -58,9 +65,11 @@ public class RatingController {
             description = "Average, weighted average, star distribution, total count. " +
                     "Score is only public after 5+ ratings (PRD threshold).")
     public ResponseEntity<ApiResponse<UserRatingSummaryResponse>> getUserSummary(
-            @PathVariable UUID userId) {
-        return ResponseEntity.ok(ApiResponse.success("Rating summary",
-                ratingService.getUserSummary(userId)));
+            @PathVariable UUID userId,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(ratingService.getUserSummaryETag(userId))) return null;
+        return ResponseEntity.ok().cacheControl(PUBLIC_SUMMARY_CACHE)
+                .body(ApiResponse.success("Rating summary", ratingService.getUserSummary(userId)));
     }
 
     @GetMapping("/task/{taskId}")
@@ -0,0 +1,80 @@
+package com.helper.rating.events;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Dev broker: events go to the consumer groups subscribed in this JVM, each on its own
+ * thread, in publish order. A handler that keeps failing gets max-attempts tries, then the
+ * event is logged and dropped. Nothing survives a restart once it has left the outbox.
+ */
+@Slf4j
+public class InProcessEventBroker implements EventBroker {
+
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+    public InProcessEventBroker(int maxAttempts, long retryBackoffMs) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    @Override
+    public void publish(List<EventEnvelope> events) {
+        for (Subscriber subscriber : subscribers.values()) {
+            subscriber.executor.execute(() -> events.forEach(subscriber::deliver));
+        }
+    }
+
+    @Override
+    public void subscribe(String consumerGroup, EventHandler handler) {
+        subscribers.put(consumerGroup, new Subscriber(consumerGroup, handler));
+    }
+
+    public void shutdown() {
+        subscribers.values().forEach(s -> s.executor.shutdown());
+    }
+
+    private class Subscriber {
+        private final String group;
+        private final EventHandler handler;
+        private final ExecutorService executor;
+
+        Subscriber(String group, EventHandler handler) {
+            this.group = group;
+            this.handler = handler;
+            this.executor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "events-" + group);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        void deliver(EventEnvelope event) {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    handler.handle(event);
+                    return;
+                } catch (RuntimeException e) {
+                    if (attempt >= maxAttempts) {
+                        log.error("Dropping event {} ({}) for {} after {} attempts: {}",
+                                event.getEventId(), event.getType(), group, attempt, e.getMessage());
+                        return;
+                    }
+                    try {
+                        Thread.sleep(retryBackoffMs * attempt);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
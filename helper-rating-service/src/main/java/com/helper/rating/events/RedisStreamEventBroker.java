@@ -0,0 +1,250 @@
+package com.helper.rating.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Prod broker: every service publishes to one Redis stream and each consuming service reads
+ * it through its own consumer group, so all instances of a service share the work and an
+ * event is handled once per service.
+ *
+ * A consumer first works through the entries still pending for it (delivered before a
+ * crash or a failed handler), then blocks for new ones. Entries left pending by another
+ * instance for longer than claim-idle-ms are claimed. An entry whose handler fails
+ * max-attempts times is copied to the dead-letter stream and acknowledged.
+ */
+@Slf4j
+public class RedisStreamEventBroker implements EventBroker {
+
+    public static final String STREAM = "helper:events";
+    public static final String DEAD_LETTER_STREAM = "helper:events:dead-letter";
+
+    private static final byte[] STREAM_BYTES = STREAM.getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String consumerName;
+    private final long maxLength;
+    private final int readCount;
+    private final Duration blockFor;
+    private final long claimIdleMs;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+
+    private final List<Thread> consumers = new CopyOnWriteArrayList<>();
+    private volatile boolean running = true;
+
+    public RedisStreamEventBroker(StringRedisTemplate redisTemplate, String consumerName, long maxLength,
+                                  int readCount, long blockMs, long claimIdleMs, int maxAttempts,
+                                  long retryBackoffMs) {
+        this.redisTemplate = redisTemplate;
+        this.consumerName = consumerName;
+        this.maxLength = maxLength;
+        this.readCount = Math.max(1, readCount);
+        this.blockFor = Duration.ofMillis(blockMs);
+        this.claimIdleMs = claimIdleMs;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    @Override
+    public void publish(List<EventEnvelope> events) {
+        if (events.isEmpty()) return;
+        XAddOptions options = XAddOptions.maxlen(maxLength).approximateTrimming(true);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (EventEnvelope event : events) {
+                connection.streamCommands().xAdd(
+                        StreamRecords.newRecord().in(STREAM_BYTES).ofMap(toFields(event)), options);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void subscribe(String consumerGroup, EventHandler handler) {
+        Thread thread = new Thread(() -> consume(consumerGroup, handler), "events-" + consumerGroup);
+        thread.setDaemon(true);
+        consumers.add(thread);
+        thread.start();
+    }
+
+    public void shutdown() {
+        running = false;
+        consumers.forEach(Thread::interrupt);
+    }
+
+    private void consume(String group, EventHandler handler) {
+        StreamOperations<String, String, String> ops = redisTemplate.opsForStream();
+        Consumer consumer = Consumer.from(group, consumerName);
+        Map<String, Integer> attempts = new HashMap<>();
+        boolean groupReady = false;
+        boolean backlog = true;
+        long nextClaimAt = 0;
+
+        while (running) {
+            try {
+                if (!groupReady) {
+                    createGroup(group);
+                    groupReady = true;
+                }
+                if (System.currentTimeMillis() >= nextClaimAt) {
+                    if (claimStale(ops, group) > 0) backlog = true;
+                    nextClaimAt = System.currentTimeMillis() + claimIdleMs;
+                }
+
+                List<MapRecord<String, String, String>> records = backlog
+                        ? ops.read(consumer, StreamReadOptions.empty().count(readCount),
+                                StreamOffset.create(STREAM, ReadOffset.from("0")))
+                        : ops.read(consumer, StreamReadOptions.empty().count(readCount).block(blockFor),
+                                StreamOffset.create(STREAM, ReadOffset.lastConsumed()));
+                if (records == null || records.isEmpty()) {
+                    backlog = false;
+                    continue;
+                }
+                if (!handleAll(ops, group, handler, records, attempts)) {
+                    // Leave the rest pending and re-read it after the backoff, in order
+                    backlog = true;
+                    sleep(retryBackoffMs);
+                }
+            } catch (RuntimeException e) {
+                if (!running) break;
+                log.warn("Event consumer {} failed to read {}: {}", group, STREAM, e.getMessage());
+                sleep(retryBackoffMs);
+            }
+        }
+    }
+
+    /** Returns false when a handler failed and the remaining records were left pending. */
+    private boolean handleAll(StreamOperations<String, String, String> ops, String group, EventHandler handler,
+                              List<MapRecord<String, String, String>> records, Map<String, Integer> attempts) {
+        List<RecordId> done = new ArrayList<>(records.size());
+        try {
+            for (MapRecord<String, String, String> record : records) {
+                String id = record.getId().getValue();
+                try {
+                    handler.handle(toEnvelope(record.getValue()));
+                    attempts.remove(id);
+                    done.add(record.getId());
+                } catch (RuntimeException e) {
+                    int attempt = attempts.merge(id, 1, Integer::sum);
+                    if (attempt < maxAttempts) {
+                        log.warn("Event {} failed for {} (attempt {}): {}", id, group, attempt, e.getMessage());
+                        return false;
+                    }
+                    deadLetter(ops, group, record, e);
+                    attempts.remove(id);
+                    done.add(record.getId());
+                }
+            }
+            return true;
+        } finally {
+            if (!done.isEmpty()) {
+                ops.acknowledge(STREAM, group, done.toArray(new RecordId[0]));
+            }
+        }
+    }
+
+    /**
+     * Claim every entry of the group's pending list that another consumer has held for
+     * longer than claim-idle-ms. The list is paged through readCount entries at a time,
+     * each page starting right after the last id of the previous one, so stale entries
+     * behind a long run of fresh ones are still found.
+     */
+    private int claimStale(StreamOperations<String, String, String> ops, String group) {
+        int claimed = 0;
+        Range<String> range = Range.unbounded();
+        while (true) {
+            PendingMessages pending = ops.pending(STREAM, group, range, readCount);
+            if (pending.isEmpty()) break;
+
+            List<RecordId> stale = new ArrayList<>();
+            RecordId last = null;
+            for (PendingMessage message : pending) {
+                last = message.getId();
+                if (!consumerName.equals(message.getConsumerName())
+                        && message.getElapsedTimeSinceLastDelivery().toMillis() >= claimIdleMs) {
+                    stale.add(message.getId());
+                }
+            }
+            if (!stale.isEmpty()) {
+                // Entries taken back by their consumer since the XPENDING are skipped by the min idle time
+                claimed += ops.claim(STREAM, group, consumerName, Duration.ofMillis(claimIdleMs),
+                        stale.toArray(new RecordId[0])).size();
+            }
+            if (pending.size() < readCount) break;
+            // Inclusive bound on the next possible id: works on servers without exclusive XPENDING ranges
+            range = Range.rightUnbounded(Range.Bound.inclusive(
+                    RecordId.of(last.getTimestamp(), last.getSequence() + 1).getValue()));
+        }
+        if (claimed > 0) {
+            log.info("Claimed {} stale events for {}", claimed, group);
+        }
+        return claimed;
+    }
+
+    private void deadLetter(StreamOperations<String, String, String> ops, String group,
+                            MapRecord<String, String, String> record, RuntimeException error) {
+        Map<String, String> fields = new HashMap<>(record.getValue());
+        fields.put("group", group);
+        fields.put("error", String.valueOf(error.getMessage()));
+        ops.add(StreamRecords.newRecord().in(DEAD_LETTER_STREAM).ofMap(fields));
+        log.error("Event {} ({}) moved to {} for {} after {} attempts: {}", record.getId(),
+                record.getValue().get("type"), DEAD_LETTER_STREAM, group, maxAttempts, error.getMessage());
+    }
+
+    private void createGroup(String group) {
+        try {
+            redisTemplate.execute((RedisCallback<String>) connection ->
+                    connection.streamCommands().xGroupCreate(STREAM_BYTES, group, ReadOffset.from("0"), true));
+        } catch (RuntimeException e) {
+            String message = String.valueOf(e.getMessage()) + (e.getCause() == null ? "" : e.getCause().getMessage());
+            if (!message.contains("BUSYGROUP")) throw e;
+        }
+    }
+
+    private static Map<byte[], byte[]> toFields(EventEnvelope event) {
+        Map<byte[], byte[]> fields = new LinkedHashMap<>();
+        put(fields, "id", event.getEventId().toString());
+        put(fields, "type", event.getType());
+        put(fields, "key", event.getKey());
+        put(fields, "source", event.getSource());
+        put(fields, "at", event.getOccurredAt().toString());
+        put(fields, "payload", event.getPayload());
+        return fields;
+    }
+
+    private static void put(Map<byte[], byte[]> fields, String name, String value) {
+        if (value != null) {
+            fields.put(name.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static EventEnvelope toEnvelope(Map<String, String> fields) {
+        return EventEnvelope.builder()
+                .eventId(UUID.fromString(fields.get("id")))
+                .type(fields.get("type"))
+                .key(fields.get("key"))
+                .source(fields.get("source"))
+                .occurredAt(LocalDateTime.parse(fields.get("at")))
+                .payload(fields.get("payload"))
+                .build();
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -5,8 +5,10 @@ import com.helper.rating.enums.FlagStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
@@ -18,7 +20,14 @@ public interface FlagRepository extends JpaRepository<Flag, UUID> {
 
     long countByReportedUserIdAndStatus(UUID reportedUserId, FlagStatus status);
 
-    long countByStatus(FlagStatus status);
+    // Admin stats: flags per status in one grouped query (see RatingStats). Statuses without flags are absent.
+    @Query("SELECT f.status AS status, COUNT(f) AS flagCount FROM Flag f GROUP BY f.status")
+    List<StatusCount> countGroupedByStatus();
+
+    interface StatusCount {
+        FlagStatus getStatus();
+        long getFlagCount();
+    }
 
     boolean existsByTaskIdAndReporterId(UUID taskId, UUID reporterId);
 }
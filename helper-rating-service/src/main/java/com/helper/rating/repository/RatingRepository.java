@@ -51,11 +51,14 @@ public interface RatingRepository extends JpaRepository<Rating, UUID> {
     // Admin: all ratings with optional filter
     Page<Rating> findByRatingType(RatingType type, Pageable pageable);
 
-    // Admin stats
-    @Query("SELECT COALESCE(AVG(r.score), 0) FROM Rating r WHERE r.isVisible = true")
-    BigDecimal findPlatformAverageRating();
-
-    long countByIsVisibleTrue();
-
-    long countByIsVisibleFalse();
+    // Admin stats: rating count and score sum per visibility in one grouped query (see RatingStats)
+    @Query("SELECT r.isVisible AS visible, COUNT(r) AS ratingCount, COALESCE(SUM(r.score), 0) AS scoreSum " +
+            "FROM Rating r GROUP BY r.isVisible")
+    List<VisibilityCount> countByVisibility();
+
+    interface VisibilityCount {
+        Boolean getVisible();
+        long getRatingCount();
+        long getScoreSum();
+    }
 }
@@ -3,6 +3,7 @@ package com.helper.rating.repository;
 import com.helper.rating.entity.UserRatingSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +15,8 @@ public interface UserRatingSummaryRepository extends JpaRepository<UserRatingSum
     // Top rated users (for leaderboard / search ranking)
     @Query("SELECT s FROM UserRatingSummary s WHERE s.isPublic = true ORDER BY s.weightedRating DESC")
     List<UserRatingSummary> findTopRatedUsers(org.springframework.data.domain.Pageable pageable);
+
+    // Version stamp for summary ETags
+    @Query("SELECT COUNT(s) AS count, MAX(s.updatedAt) AS lastModified FROM UserRatingSummary s WHERE s.userId = :userId")
+    VersionStamp findVersionByUserId(@Param("userId") UUID userId);
 }
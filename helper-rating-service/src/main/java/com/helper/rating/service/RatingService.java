@@ -6,11 +6,16 @@ import com.helper.rating.dto.response.RatingStatsResponse;
 import com.helper.rating.dto.response.UserRatingSummaryResponse;
 import com.helper.rating.entity.Rating;
 import com.helper.rating.entity.UserRatingSummary;
+import com.helper.rating.events.EventOutbox;
+import com.helper.rating.events.EventTypes;
 import com.helper.rating.exception.RatingExceptions;
 import com.helper.rating.repository.FlagRepository;
 import com.helper.rating.repository.RatingRepository;
 import com.helper.rating.repository.UserRatingSummaryRepository;
+import com.helper.rating.repository.VersionStamp;
 import com.helper.rating.security.AuthenticatedUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,7 +25,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -32,6 +39,14 @@ public class RatingService {
     private final RatingRepository ratingRepo;
     private final UserRatingSummaryRepository summaryRepo;
     private final FlagRepository flagRepo;
+    private final EventOutbox eventOutbox;
+    private final MeterRegistry meterRegistry;
+
+    // Admin stats are served from memory, recomputed on read once older than app.stats.max-age-ms
+    @Value("${app.stats.max-age-ms:60000}")
+    private long statsMaxAgeMs;
+
+    private StatsSnapshot<RatingStatsResponse> statsSnapshot;
 
     @Value("${app.rating.min-public-threshold:5}")
     private int minPublicThreshold;
@@ -70,6 +85,12 @@ public class RatingService {
         // Recalculate the rated user's summary
         recalculateSummary(request.getGivenTo());
 
+        Map<String, Object> received = new LinkedHashMap<>();
+        received.put("userId", rating.getGivenTo());
+        received.put("taskId", rating.getTaskId());
+        received.put("score", rating.getScore());
+        eventOutbox.append(EventTypes.RATING_RECEIVED, rating.getGivenTo(), received);
+
         log.info("Rating submitted: {} stars from {} to {} for task {}",
                 request.getScore(), user.getUserId(), request.getGivenTo(), request.getTaskId());
 
@@ -95,6 +116,15 @@ public class RatingService {
     }
 
     // ===== GET USER RATING SUMMARY (PUBLIC) =====
+    /**
+     * ETag for getUserSummary, from the summary row's updatedAt (users with no summary row
+     * yet share the empty-summary version).
+     */
+    public String getUserSummaryETag(UUID userId) {
+        VersionStamp summary = summaryRepo.findVersionByUserId(userId);
+        return ETags.of("rating-summary", userId, summary.getCount(), summary.getLastModified());
+    }
+
     public UserRatingSummaryResponse getUserSummary(UUID userId) {
         UserRatingSummary summary = summaryRepo.findById(userId)
                 .orElse(UserRatingSummary.builder().userId(userId).build());
@@ -133,17 +163,20 @@ public class RatingService {
     }
 
     // ===== ADMIN: STATS =====
-    public RatingStatsResponse getStats() {
-        return RatingStatsResponse.builder()
-                .totalRatings(ratingRepo.count())
-                .visibleRatings(ratingRepo.countByIsVisibleTrue())
-                .hiddenRatings(ratingRepo.countByIsVisibleFalse())
-                .platformAverageRating(ratingRepo.findPlatformAverageRating())
-                .pendingFlags(flagRepo.countByStatus(com.helper.rating.enums.FlagStatus.PENDING))
-                .reviewedFlags(flagRepo.countByStatus(com.helper.rating.enums.FlagStatus.REVIEWED))
-                .dismissedFlags(flagRepo.countByStatus(com.helper.rating.enums.FlagStatus.DISMISSED))
-                .actionTakenFlags(flagRepo.countByStatus(com.helper.rating.enums.FlagStatus.ACTION_TAKEN))
-                .build();
+    @PostConstruct
+    void initStatsSnapshot() {
+        statsSnapshot = new StatsSnapshot<>("ratings",
+                () -> RatingStats.fromCounts(ratingRepo.countByVisibility(), flagRepo.countGroupedByStatus()),
+                statsMaxAgeMs, meterRegistry);
+    }
+
+    /**
+     * Rating and flag statistics (admin), from the in-memory snapshot
+     *
+     * @param refresh recompute now instead of serving the snapshot
+     */
+    public RatingStatsResponse getStats(boolean refresh) {
+        return refresh ? statsSnapshot.refresh() : statsSnapshot.get();
     }
 
     // ===== RECALCULATE SUMMARY =====
@@ -171,6 +204,15 @@ public class RatingService {
         summary.setIsPublic(isPublic);
 
         summaryRepo.save(summary);
+
+        // The user service keeps a copy on the worker profile for search ranking
+        Map<String, Object> updated = new LinkedHashMap<>();
+        updated.put("userId", userId);
+        updated.put("averageRating", simpleAvg);
+        updated.put("weightedRating", weightedAvg);
+        updated.put("totalRatings", total);
+        eventOutbox.append(EventTypes.RATING_SUMMARY_UPDATED, userId, updated);
+
         log.debug("Summary recalculated for user {}: avg={} weighted={} total={} public={}",
                 userId, simpleAvg, weightedAvg, total, isPublic);
     }
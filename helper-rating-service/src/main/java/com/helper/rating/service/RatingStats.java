@@ -0,0 +1,56 @@
+package com.helper.rating.service;
+
+import com.helper.rating.dto.response.RatingStatsResponse;
+import com.helper.rating.enums.FlagStatus;
+import com.helper.rating.repository.FlagRepository.StatusCount;
+import com.helper.rating.repository.RatingRepository.VisibilityCount;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Folds the grouped counts from RatingRepository#countByVisibility and
+ * FlagRepository#countGroupedByStatus into the admin stats response, so the dashboard
+ * costs two queries. The platform average covers visible ratings only.
+ */
+public final class RatingStats {
+
+    private RatingStats() {
+    }
+
+    public static RatingStatsResponse fromCounts(Iterable<? extends VisibilityCount> ratings,
+                                                 Iterable<? extends StatusCount> flags) {
+        long visible = 0;
+        long hidden = 0;
+        long visibleScoreSum = 0;
+        for (VisibilityCount row : ratings) {
+            if (Boolean.FALSE.equals(row.getVisible())) {
+                hidden += row.getRatingCount();
+            } else {
+                visible += row.getRatingCount();
+                visibleScoreSum += row.getScoreSum();
+            }
+        }
+        BigDecimal average = visible == 0
+                ? BigDecimal.ZERO
+                : BigDecimal.valueOf(visibleScoreSum).divide(BigDecimal.valueOf(visible), 2, RoundingMode.HALF_UP);
+
+        Map<FlagStatus, Long> byStatus = new EnumMap<>(FlagStatus.class);
+        for (StatusCount row : flags) {
+            byStatus.merge(row.getStatus(), row.getFlagCount(), Long::sum);
+        }
+
+        return RatingStatsResponse.builder()
+                .totalRatings(visible + hidden)
+                .visibleRatings(visible)
+                .hiddenRatings(hidden)
+                .platformAverageRating(average)
+                .pendingFlags(byStatus.getOrDefault(FlagStatus.PENDING, 0L))
+                .reviewedFlags(byStatus.getOrDefault(FlagStatus.REVIEWED, 0L))
+                .dismissedFlags(byStatus.getOrDefault(FlagStatus.DISMISSED, 0L))
+                .actionTakenFlags(byStatus.getOrDefault(FlagStatus.ACTION_TAKEN, 0L))
+                .build();
+    }
+}
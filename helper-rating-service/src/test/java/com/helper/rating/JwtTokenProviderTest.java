@@ -0,0 +1,63 @@
+package com.helper.rating;
+
+import com.helper.rating.security.JwtClaims;
+import com.helper.rating.security.JwtTokenProvider;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Smoke test of this service's JwtTokenProvider: a valid token is verified and cached, a
+ * forged one rejected. The full suite (expiry, size bound, concurrency) is
+ * JwtTokenProviderTest in helper-user-service.
+ */
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-32-bytes-long";
+    private static final Instant NOW = Instant.parse("2026-06-01T10:00:00Z");
+
+    private final JwtTokenProvider provider = new JwtTokenProvider(SECRET, 100, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    private static String token(UUID userId, String secret) {
+        return Jwts.builder()
+                .subject(userId.toString())
+                .claim("email", "worker@helper.app")
+                .claim("role", "WORKER")
+                .issuedAt(Date.from(NOW))
+                .expiration(Date.from(NOW.plusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    @Test
+    @DisplayName("A valid token is verified once and then served from the cache")
+    void testValidToken() {
+        UUID userId = UUID.randomUUID();
+        String token = token(userId, SECRET);
+
+        JwtClaims claims = provider.resolveClaims(token);
+
+        assertNotNull(claims);
+        assertEquals(userId, claims.getUserId());
+        assertEquals("WORKER", claims.getRole());
+        assertSame(claims, provider.resolveClaims(token));
+        assertEquals(1, provider.claimsCacheSize());
+    }
+
+    @Test
+    @DisplayName("A token signed with another secret is rejected")
+    void testForgedToken() {
+        assertNull(provider.resolveClaims(token(UUID.randomUUID(), "some-other-secret-that-is-32-bytes-or-more")));
+        assertEquals(0, provider.claimsCacheSize());
+    }
+}
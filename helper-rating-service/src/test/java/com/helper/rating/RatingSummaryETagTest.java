@@ -0,0 +1,87 @@
+package com.helper.rating;
+
+import com.helper.rating.controller.RatingController;
+import com.helper.rating.events.EventOutbox;
+import com.helper.rating.repository.FlagRepository;
+import com.helper.rating.repository.RatingRepository;
+import com.helper.rating.repository.UserRatingSummaryRepository;
+import com.helper.rating.repository.VersionStamp;
+import com.helper.rating.service.RatingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the conditional GET on the rating summary: a matching If-None-Match is answered with
+ * 304 from the version stamp alone, and a new rating moves the stamp and so the ETag.
+ */
+class RatingSummaryETagTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 6, 1, 10, 0);
+
+    private final UserRatingSummaryRepository summaryRepo = mock(UserRatingSummaryRepository.class);
+    private final RatingService service = new RatingService(mock(RatingRepository.class), summaryRepo,
+            mock(FlagRepository.class), mock(EventOutbox.class), new SimpleMeterRegistry());
+    private final RatingController controller = new RatingController(service);
+    private final UUID userId = UUID.randomUUID();
+
+    private static VersionStamp stamp(long count, LocalDateTime lastModified) {
+        return new VersionStamp() {
+            @Override
+            public long getCount() {
+                return count;
+            }
+
+            @Override
+            public LocalDateTime getLastModified() {
+                return lastModified;
+            }
+        };
+    }
+
+    private static ServletWebRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/ratings");
+        if (ifNoneMatch != null) request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private static MockHttpServletResponse response(ServletWebRequest webRequest) {
+        return (MockHttpServletResponse) webRequest.getResponse();
+    }
+
+    @Test
+    @DisplayName("Summary: 304 without loading the row while unchanged, 200 with a new ETag after a rating")
+    void testSummaryWriteChangesETag() {
+        when(summaryRepo.findVersionByUserId(userId)).thenReturn(stamp(1, T0));
+        when(summaryRepo.findById(userId)).thenReturn(Optional.empty());
+        ServletWebRequest first = get(null);
+        assertNotNull(controller.getUserSummary(userId, first));
+        String etag = response(first).getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        ServletWebRequest unchanged = get(etag);
+        assertNull(controller.getUserSummary(userId, unchanged));
+        assertEquals(304, response(unchanged).getStatus());
+        verify(summaryRepo, times(1)).findById(userId);
+
+        // A new rating recalculates the summary row, moving its updatedAt
+        when(summaryRepo.findVersionByUserId(userId)).thenReturn(stamp(1, T0.plusMinutes(1)));
+        ServletWebRequest changed = get(etag);
+
+        assertNotNull(controller.getUserSummary(userId, changed));
+        assertEquals(200, response(changed).getStatus());
+        assertNotEquals(etag, response(changed).getHeader(HttpHeaders.ETAG));
+        verify(summaryRepo, times(2)).findById(userId);
+    }
+}
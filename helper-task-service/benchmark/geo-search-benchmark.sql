@@ -0,0 +1,60 @@
+-- ============================================
+-- Geo search benchmark: Haversine fallback vs PostGIS ST_DWithin
+--
+-- Run against a scratch PostGIS database (e.g. the postgis/postgis container from docker-compose.yml):
+--   psql -h localhost -U helper_admin -d helper_bench -f benchmark/geo-search-benchmark.sql
+--
+-- Loads 1,000,000 tasks spread over ~50 km around Mumbai (20% OPEN), then runs
+-- both query shapes used by TaskRepository with EXPLAIN ANALYZE.
+-- ============================================
+
+\timing on
+
+DROP TABLE IF EXISTS tasks CASCADE;
+\i src/main/resources/db/migration/V1__Create_Task_Tables.sql
+\i src/main/resources/db/migration/V2__Geography_Search.sql
+
+INSERT INTO tasks (customer_id, title, description, domain, pricing_model, status, budget,
+                   latitude, longitude, address)
+SELECT gen_random_uuid(),
+       'Benchmark task ' || g,
+       'Generated for geo search benchmark',
+       (ARRAY['DELIVERY','ELECTRICIAN','PLUMBING','CONSTRUCTION','FARMING',
+              'MEDICAL','EDUCATION','LOGISTICS','FINANCE','HOUSEHOLD'])[1 + (g % 10)],
+       CASE WHEN g % 2 = 0 THEN 'FIXED' ELSE 'BIDDING' END,
+       CASE WHEN g % 5 = 0 THEN 'OPEN' ELSE 'CLOSED' END,
+       500,
+       18.85 + random() * 0.45,
+       72.75 + random() * 0.35,
+       'Mumbai'
+FROM generate_series(1, 1000000) AS g;
+
+ANALYZE tasks;
+
+-- ---------- Haversine (H2/dev fallback, findNearbyTaskIds, first slice of 20) ----------
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.task_id FROM tasks t
+WHERE t.status = 'OPEN'
+  AND (6371 * acos(cos(radians(19.0760)) * cos(radians(t.latitude)) *
+       cos(radians(t.longitude) - radians(72.8777)) +
+       sin(radians(19.0760)) * sin(radians(t.latitude)))) <= 5
+ORDER BY (6371 * acos(cos(radians(19.0760)) * cos(radians(t.latitude)) *
+       cos(radians(t.longitude) - radians(72.8777)) +
+       sin(radians(19.0760)) * sin(radians(t.latitude)))) ASC, t.task_id ASC
+LIMIT 21;
+
+-- ---------- PostGIS (prod, findNearbyTaskIdsSpatial, first slice of 20) ----------
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.task_id FROM tasks t
+WHERE t.status = 'OPEN'
+  AND ST_DWithin(t.geo_location, CAST(ST_SetSRID(ST_MakePoint(72.8777, 19.0760), 4326) AS geography), 5000)
+ORDER BY t.geo_location <-> CAST(ST_SetSRID(ST_MakePoint(72.8777, 19.0760), 4326) AS geography), t.task_id
+LIMIT 21;
+
+-- ---------- PostGIS with domain filter ----------
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.task_id FROM tasks t
+WHERE t.status = 'OPEN' AND t.domain = 'PLUMBING'
+  AND ST_DWithin(t.geo_location, CAST(ST_SetSRID(ST_MakePoint(72.8777, 19.0760), 4326) AS geography), 5000)
+ORDER BY t.geo_location <-> CAST(ST_SetSRID(ST_MakePoint(72.8777, 19.0760), 4326) AS geography), t.task_id
+LIMIT 21;
@@ -0,0 +1,78 @@
+package com.helper.task.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process store: one size-bounded LRU per region. Expired entries are dropped when read.
+ */
+public class LocalTaskCacheStore implements TaskCacheStore {
+
+    private final Map<String, Map<String, Entry>> regions = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public LocalTaskCacheStore(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(String region, String key, TypeReference<T> type) {
+        Map<String, Entry> entries = region(region);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) return null;
+            if (entry.expiresAt <= System.currentTimeMillis()) {
+                entries.remove(key);
+                return null;
+            }
+            return (T) entry.value;
+        }
+    }
+
+    @Override
+    public void put(String region, String key, Object value, long ttlMs) {
+        if (ttlMs <= 0) return;
+        Map<String, Entry> entries = region(region);
+        synchronized (entries) {
+            entries.put(key, new Entry(value, System.currentTimeMillis() + ttlMs));
+        }
+    }
+
+    @Override
+    public void evict(String region, String key) {
+        Map<String, Entry> entries = region(region);
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public int size(String region) {
+        Map<String, Entry> entries = region(region);
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Map<String, Entry> region(String region) {
+        return regions.computeIfAbsent(region, r -> new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    private static class Entry {
+        private final Object value;
+        private final long expiresAt;
+
+        Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.helper.task.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Redis store shared by all task-service instances, with an optional near-cache: a local
+ * LRU that answers repeat reads on this instance for at most nearTtlMs. Evictions clear both
+ * tiers here, but other instances keep their near copy until it expires, so nearTtlMs bounds
+ * how stale a replica can be. Redis errors are logged and treated as misses.
+ */
+@Slf4j
+public class RedisTaskCacheStore implements TaskCacheStore {
+
+    private static final String KEY_PREFIX = "task:cache:";
+
+    private final LocalTaskCacheStore near;
+    private final long nearTtlMs;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param near local tier, or null for Redis only
+     */
+    public RedisTaskCacheStore(LocalTaskCacheStore near, long nearTtlMs,
+                               StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        this.near = near;
+        this.nearTtlMs = nearTtlMs;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public <T> T get(String region, String key, TypeReference<T> type) {
+        if (near != null) {
+            T cached = near.get(region, key, type);
+            if (cached != null) return cached;
+        }
+
+        String redisKey = KEY_PREFIX + region + ":" + key;
+        String json;
+        try {
+            json = redisTemplate.opsForValue().get(redisKey);
+        } catch (RuntimeException e) {
+            log.warn("Task cache read from Redis failed for {}: {}", redisKey, e.getMessage());
+            return null;
+        }
+        if (json == null) return null;
+
+        T value;
+        try {
+            value = objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable task cache entry {}: {}", redisKey, e.getMessage());
+            return null;
+        }
+        if (near != null && value != null) {
+            near.put(region, key, value, nearTtlMs);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(String region, String key, Object value, long ttlMs) {
+        if (ttlMs <= 0) return;
+        if (near != null) {
+            near.put(region, key, value, Math.min(ttlMs, nearTtlMs));
+        }
+
+        String redisKey = KEY_PREFIX + region + ":" + key;
+        try {
+            redisTemplate.opsForValue().set(redisKey, objectMapper.writeValueAsString(value), Duration.ofMillis(ttlMs));
+        } catch (JsonProcessingException e) {
+            log.warn("Task cache entry {} is not serializable: {}", redisKey, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Task cache write to Redis failed for {}: {}", redisKey, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(String region, String key) {
+        if (near != null) {
+            near.evict(region, key);
+        }
+
+        String redisKey = KEY_PREFIX + region + ":" + key;
+        try {
+            redisTemplate.delete(redisKey);
+        } catch (RuntimeException e) {
+            log.warn("Task cache eviction from Redis failed for {}: {}", redisKey, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.helper.task.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one load per key at a time. The first caller for a key runs the loader;
+ * callers arriving while it runs wait for its result, or its exception, instead of
+ * loading again. Nothing is remembered once a load finishes: caching the value is up to
+ * the caller, through {@link Hooks}.
+ *
+ * {@link #forget(String)} detaches a running load from its key. Its waiters still get the
+ * result, but the next caller starts a new load and the leader is told the value is stale.
+ */
+public class SingleFlight {
+
+    /**
+     * Callbacks around one {@link #load} call, run on the calling thread.
+     */
+    public interface Hooks<T> {
+
+        /** Another caller is loading the key; this one waits for its result. */
+        default void joined() {
+        }
+
+        /** This caller runs the loader. */
+        default void leading() {
+        }
+
+        /** The leader's non-null value, before the waiters get it. */
+        default void loaded(T value) {
+        }
+
+        /** The key was forgotten while loading: undo what {@link #loaded} did. */
+        default void stale(T value) {
+        }
+    }
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public <T> T load(String key, Supplier<T> loader) {
+        return load(key, loader, new Hooks<>() {
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Supplier<T> loader, Hooks<T> hooks) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            hooks.joined();
+            return (T) await(leader);
+        }
+
+        hooks.leading();
+        try {
+            T value = loader.get();
+            if (value != null) {
+                hooks.loaded(value);
+                // A forget() during the load already removed our marker
+                if (!inFlight.remove(key, mine)) {
+                    hooks.stale(value);
+                }
+            } else {
+                inFlight.remove(key, mine);
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Detach the load running for the key, if any, so the next caller loads afresh.
+     */
+    public void forget(String key) {
+        inFlight.remove(key);
+    }
+
+    public int size() {
+        return inFlight.size();
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+}
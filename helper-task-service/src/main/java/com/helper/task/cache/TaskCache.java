@@ -0,0 +1,178 @@
+package com.helper.task.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for task details and per-task bid lists, on top of the
+ * {@link TaskCacheStore} picked by app.cache.type.
+ *
+ * Concurrent misses on the same key share one load through {@link SingleFlight}: the
+ * first caller runs the loader, the others wait for its result (or its exception, e.g.
+ * TaskNotFoundException). Null results are handed out but never cached.
+ *
+ * TaskService/BidService call {@link #evictTask(UUID)} on every write. Like TaskGeoIndex,
+ * evictions run after the surrounding transaction commits. A load that overlaps an
+ * eviction is returned to its waiters but does not stay cached.
+ *
+ * Cached values are shared between requests and must not be modified.
+ */
+@Component
+public class TaskCache {
+
+    public enum Region {
+        TASKS("tasks"),
+        TASK_ETAGS("task-etags"),
+        BIDS("task-bids");
+
+        private final String cacheName;
+
+        Region(String cacheName) {
+            this.cacheName = cacheName;
+        }
+
+        public String getCacheName() {
+            return cacheName;
+        }
+    }
+
+    private final TaskCacheStore store;
+    private final boolean enabled;
+    private final Map<Region, Long> ttlMs = new EnumMap<>(Region.class);
+    private final Map<Region, RegionMetrics> metrics = new EnumMap<>(Region.class);
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Autowired
+    public TaskCache(TaskCacheStore store,
+                     MeterRegistry meterRegistry,
+                     @Value("${app.task.cache.enabled:true}") boolean enabled,
+                     @Value("${app.task.cache.tasks.ttl-ms:30000}") long taskTtlMs,
+                     @Value("${app.task.cache.bids.ttl-ms:30000}") long bidsTtlMs) {
+        this(store, meterRegistry, enabled, Map.of(
+                Region.TASKS, taskTtlMs,
+                Region.TASK_ETAGS, taskTtlMs,
+                Region.BIDS, bidsTtlMs));
+    }
+
+    public TaskCache(TaskCacheStore store, MeterRegistry meterRegistry, boolean enabled, Map<Region, Long> ttlMs) {
+        this.store = store;
+        this.enabled = enabled;
+        for (Region region : Region.values()) {
+            this.ttlMs.put(region, ttlMs.getOrDefault(region, 0L));
+            this.metrics.put(region, new RegionMetrics(region.getCacheName(), meterRegistry));
+        }
+    }
+
+    /**
+     * Return the cached value for the key, loading (once, however many callers ask at the
+     * same time) and caching it on a miss.
+     */
+    public <T> T get(Region region, Object key, TypeReference<T> type, Supplier<T> loader) {
+        if (!enabled) return loader.get();
+
+        String cacheKey = String.valueOf(key);
+        RegionMetrics regionMetrics = metrics.get(region);
+
+        T cached = store.get(region.getCacheName(), cacheKey, type);
+        if (cached != null) {
+            regionMetrics.hits.increment();
+            return cached;
+        }
+
+        String regionName = region.getCacheName();
+        return singleFlight.load(regionName + ":" + cacheKey, loader, new SingleFlight.Hooks<>() {
+            @Override
+            public void joined() {
+                regionMetrics.coalesced.increment();
+            }
+
+            @Override
+            public void leading() {
+                regionMetrics.misses.increment();
+            }
+
+            @Override
+            public void loaded(T value) {
+                store.put(regionName, cacheKey, value, ttlMs.get(region));
+            }
+
+            @Override
+            public void stale(T value) {
+                // Evicted during the load: drop what we just stored
+                store.evict(regionName, cacheKey);
+            }
+        });
+    }
+
+    /**
+     * Evict the cached details, ETag and bid list of a task.
+     */
+    public void evictTask(UUID taskId) {
+        if (taskId == null) return;
+        evict(Region.TASKS, taskId);
+        evict(Region.TASK_ETAGS, taskId);
+        evict(Region.BIDS, taskId);
+    }
+
+    /**
+     * Evict one key once the current transaction commits (immediately when called outside a transaction).
+     */
+    public void evict(Region region, Object key) {
+        if (!enabled) return;
+
+        String cacheKey = String.valueOf(key);
+        Runnable apply = () -> {
+            singleFlight.forget(region.getCacheName() + ":" + cacheKey);
+            store.evict(region.getCacheName(), cacheKey);
+            metrics.get(region).evictions.increment();
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /**
+     * task.cache.requests{cache,result=hit|miss|coalesced}, task.cache.evictions{cache} and
+     * task.cache.hit.ratio{cache}: the share of requests answered without running the loader.
+     */
+    private static class RegionMetrics {
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter coalesced;
+        private final Counter evictions;
+
+        RegionMetrics(String cacheName, MeterRegistry meterRegistry) {
+            this.hits = meterRegistry.counter("task.cache.requests", "cache", cacheName, "result", "hit");
+            this.misses = meterRegistry.counter("task.cache.requests", "cache", cacheName, "result", "miss");
+            this.coalesced = meterRegistry.counter("task.cache.requests", "cache", cacheName, "result", "coalesced");
+            this.evictions = meterRegistry.counter("task.cache.evictions", "cache", cacheName);
+            meterRegistry.gauge("task.cache.hit.ratio", Tags.of("cache", cacheName), this, RegionMetrics::hitRatio);
+        }
+
+        double hitRatio() {
+            double served = hits.count() + coalesced.count();
+            double total = served + misses.count();
+            return total == 0 ? 0.0 : served / total;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.helper.task.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+/**
+ * Storage behind {@link TaskCache}. See {@link com.helper.task.config.TaskCacheConfig}
+ * for how the implementation is chosen.
+ */
+public interface TaskCacheStore {
+
+    /**
+     * @return the cached value, or null on a miss or expired entry
+     */
+    <T> T get(String region, String key, TypeReference<T> type);
+
+    void put(String region, String key, Object value, long ttlMs);
+
+    void evict(String region, String key);
+}
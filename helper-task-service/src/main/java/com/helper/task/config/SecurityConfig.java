@@ -34,6 +34,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/v1/health").permitAll()
                         // Task search is public (can view tasks without login)
                         .requestMatchers(HttpMethod.GET, "/api/v1/tasks").permitAll()
+                        // The live feed would otherwise match the public /{taskId} pattern below
+                        .requestMatchers("/api/v1/tasks/stream").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/v1/tasks/{taskId}").permitAll()
                         // Admin endpoints
                         .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
@@ -0,0 +1,39 @@
+package com.helper.task.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helper.task.cache.LocalTaskCacheStore;
+import com.helper.task.cache.RedisTaskCacheStore;
+import com.helper.task.cache.TaskCacheStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Picks the task cache store from app.cache.type:
+ * in-memory (default) → per-instance LRU; redis → Redis shared by all instances,
+ * with a local near-cache in front unless app.task.cache.near-cache.enabled=false.
+ */
+@Configuration
+public class TaskCacheConfig {
+
+    @Value("${app.task.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.type", havingValue = "in-memory", matchIfMissing = true)
+    public TaskCacheStore localTaskCacheStore() {
+        return new LocalTaskCacheStore(maxEntries);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.type", havingValue = "redis")
+    public TaskCacheStore redisTaskCacheStore(StringRedisTemplate redisTemplate,
+                                              ObjectMapper objectMapper,
+                                              @Value("${app.task.cache.near-cache.enabled:true}") boolean nearCacheEnabled,
+                                              @Value("${app.task.cache.near-cache.ttl-ms:2000}") long nearTtlMs) {
+        return new RedisTaskCacheStore(nearCacheEnabled ? new LocalTaskCacheStore(maxEntries) : null,
+                nearTtlMs, redisTemplate, objectMapper);
+    }
+}
@@ -0,0 +1,61 @@
+package com.helper.task.config;
+
+import com.helper.task.service.feed.LocalTaskFeedBus;
+import com.helper.task.service.feed.RedisTaskFeedBus;
+import com.helper.task.service.feed.TaskFeedBus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Picks the live task feed bus from app.cache.type:
+ * in-memory (default) → this instance only; redis → Redis pub/sub across all instances.
+ *
+ * A second bus on its own channel carries geo index changes between replicas
+ * (see {@link com.helper.task.service.geo.TaskGeoIndex}).
+ */
+@Configuration
+public class TaskFeedConfig {
+
+    static final String GEO_SYNC_CHANNEL = "task:geo:sync";
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "app.cache.type", havingValue = "in-memory", matchIfMissing = true)
+    public TaskFeedBus localTaskFeedBus() {
+        return new LocalTaskFeedBus();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.type", havingValue = "in-memory", matchIfMissing = true)
+    public TaskFeedBus taskGeoSyncBus() {
+        return new LocalTaskFeedBus();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.type", havingValue = "redis")
+    public RedisMessageListenerContainer taskFeedListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "app.cache.type", havingValue = "redis")
+    public TaskFeedBus redisTaskFeedBus(StringRedisTemplate redisTemplate,
+                                        RedisMessageListenerContainer taskFeedListenerContainer) {
+        return new RedisTaskFeedBus(redisTemplate, taskFeedListenerContainer);
+    }
+
+    @Bean(name = "taskGeoSyncBus")
+    @ConditionalOnProperty(name = "app.cache.type", havingValue = "redis")
+    public TaskFeedBus redisTaskGeoSyncBus(StringRedisTemplate redisTemplate,
+                                           RedisMessageListenerContainer taskFeedListenerContainer) {
+        return new RedisTaskFeedBus(redisTemplate, taskFeedListenerContainer, GEO_SYNC_CHANNEL);
+    }
+}
@@ -3,25 +3,32 @@ package com.helper.task.controller;
 import com.helper.task.dto.request.*;
 import com.helper.task.dto.response.ApiResponse;
 import com.helper.task.dto.response.TaskResponse;
+import com.helper.task.dto.response.TaskSearchResult;
 import com.helper.task.dto.response.TaskStatsResponse;
 import com.helper.task.enums.PricingModel;
 import com.helper.task.enums.TaskDomain;
 import com.helper.task.enums.TaskStatus;
 import com.helper.task.security.AuthenticatedUser;
 import com.helper.task.service.TaskService;
+import com.helper.task.service.feed.TaskFeed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -30,7 +37,14 @@ import java.util.UUID;
 @Tag(name = "Tasks", description = "Task creation, search, lifecycle management, and geo-based discovery")
 public class TaskController {
 
+    // Public read: clients revalidate, the gateway's shared cache may serve it briefly
+    private static final CacheControl PUBLIC_TASK_CACHE = CacheControl.maxAge(Duration.ZERO)
+            .sMaxAge(Duration.ofSeconds(10)).cachePublic();
+    // Per-user list: the client keeps a copy but revalidates every poll (ETag / If-None-Match)
+    private static final CacheControl PRIVATE_REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final TaskService taskService;
+    private final TaskFeed taskFeed;
 
     // ==================== TASK CRUD ====================
 
@@ -47,9 +61,14 @@ public class TaskController {
 
     @GetMapping("/{taskId}")
     @Operation(summary = "Get task details", description = "Retrieve full details of a task by ID (public)")
-    public ResponseEntity<ApiResponse<TaskResponse>> getTask(@PathVariable UUID taskId) {
+    public ResponseEntity<ApiResponse<TaskResponse>> getTask(@PathVariable UUID taskId, WebRequest webRequest) {
+        // 304 straight from the version stamp; the task is only loaded and mapped when it changed
+        String etag = taskService.getTaskETag(taskId);
+        if (etag != null && webRequest.checkNotModified(etag)) return null;
+
         TaskResponse task = taskService.getTaskById(taskId);
-        return ResponseEntity.ok(ApiResponse.success("Task retrieved", task));
+        return ResponseEntity.ok().cacheControl(PUBLIC_TASK_CACHE)
+                .body(ApiResponse.success("Task retrieved", task));
     }
 
     @PutMapping("/{taskId}")
@@ -90,7 +109,8 @@ public class TaskController {
     // ==================== TASK SEARCH ====================
 
     @GetMapping
-    @Operation(summary = "Search tasks", description = "Search tasks by location (lat/lng/radius), domain, status. Geo-search returns results sorted by distance.")
+    @Operation(summary = "Search tasks", description = "Search tasks by location (lat/lng/radius), domain, status. Geo-search returns results sorted by distance. " +
+            "Results are bounded by size; pass nextCursor back as cursor to continue.")
     public ResponseEntity<ApiResponse<List<TaskResponse>>> searchTasks(
             @RequestParam(required = false) Double lat,
             @RequestParam(required = false) Double lng,
@@ -101,16 +121,33 @@ public class TaskController {
             @RequestParam(required = false, defaultValue = "0") int page,
             @RequestParam(required = false, defaultValue = "20") int size,
             @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
-            @RequestParam(required = false, defaultValue = "desc") String sortDir) {
+            @RequestParam(required = false, defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor) {
 
         TaskSearchRequest request = TaskSearchRequest.builder()
                 .latitude(lat).longitude(lng).radiusKm(radius)
                 .domain(domain).status(status).pricingModel(pricingModel)
                 .page(page).size(size).sortBy(sortBy).sortDir(sortDir)
+                .cursor(cursor)
                 .build();
 
-        List<TaskResponse> tasks = taskService.searchTasks(request);
-        return ResponseEntity.ok(ApiResponse.success("Tasks retrieved", tasks));
+        TaskSearchResult result = taskService.searchTasks(request);
+        return ResponseEntity.ok(ApiResponse.cursor("Tasks retrieved", result.getTasks(),
+                result.getTasks().size(), result.getNextCursor()));
+    }
+
+    @GetMapping("/stream")
+    @Operation(summary = "Live task feed", description = "Server-Sent Events stream of tasks that become OPEN within the radius " +
+            "(and domains, if given) of the worker's location. Each task arrives as a 'task' event; slow consumers are disconnected " +
+            "and should reconnect.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public SseEmitter streamTasks(
+            @RequestParam Double lat,
+            @RequestParam Double lng,
+            @RequestParam(required = false, defaultValue = "10") Double radius,
+            @RequestParam(required = false) Set<TaskDomain> domains,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return taskFeed.subscribe(user, lat, lng, radius, domains);
     }
 
     @GetMapping("/my-tasks")
@@ -119,10 +156,14 @@ public class TaskController {
     public ResponseEntity<ApiResponse<List<TaskResponse>>> getMyTasks(
             @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam(required = false, defaultValue = "0") int page,
-            @RequestParam(required = false, defaultValue = "20") int size) {
+            @RequestParam(required = false, defaultValue = "20") int size,
+            WebRequest webRequest) {
+
+        String etag = taskService.getMyTasksETag(user, page, size);
+        if (etag != null && webRequest.checkNotModified(etag)) return null;
 
         Page<TaskResponse> tasks = taskService.getMyTasks(user, page, size);
-        return ResponseEntity.ok(ApiResponse.paged(
+        return ResponseEntity.ok().cacheControl(PRIVATE_REVALIDATE).body(ApiResponse.paged(
                 "My tasks retrieved", tasks.getContent(),
                 page, size, tasks.getTotalElements(), tasks.getTotalPages()));
     }
@@ -133,8 +174,9 @@ public class TaskController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get task statistics", description = "Platform-wide task statistics by domain and status",
             security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<ApiResponse<TaskStatsResponse>> getStats() {
-        TaskStatsResponse stats = taskService.getTaskStats();
+    public ResponseEntity<ApiResponse<TaskStatsResponse>> getStats(
+            @RequestParam(defaultValue = "false") boolean refresh) {
+        TaskStatsResponse stats = taskService.getTaskStats(refresh);
         return ResponseEntity.ok(ApiResponse.success("Task statistics", stats));
     }
 }
@@ -33,4 +33,7 @@ public class TaskSearchRequest {
 
     @Builder.Default
     private String sortDir = "desc";
+
+    // Continuation token from a previous response (keyset pagination)
+    private String cursor;
 }
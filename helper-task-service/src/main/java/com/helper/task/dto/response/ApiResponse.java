@@ -27,6 +27,9 @@ public class ApiResponse<T> {
     private Long totalElements;
     private Integer totalPages;
 
+    // Keyset pagination: pass back as ?cursor= to fetch the next slice
+    private String nextCursor;
+
     public static <T> ApiResponse<T> success(String message, T data) {
         return ApiResponse.<T>builder().success(true).message(message).data(data).build();
     }
@@ -49,4 +52,11 @@ public class ApiResponse<T> {
                 .page(page).size(size).totalElements(total).totalPages(totalPages)
                 .build();
     }
+
+    public static <T> ApiResponse<T> cursor(String message, T data, int size, String nextCursor) {
+        return ApiResponse.<T>builder()
+                .success(true).message(message).data(data)
+                .size(size).nextCursor(nextCursor)
+                .build();
+    }
 }
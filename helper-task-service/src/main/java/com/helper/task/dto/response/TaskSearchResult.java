@@ -0,0 +1,16 @@
+package com.helper.task.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskSearchResult {
+
+    private List<TaskResponse> tasks;
+    private String nextCursor; // null when there are no more results
+}
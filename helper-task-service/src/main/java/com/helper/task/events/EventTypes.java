@@ -0,0 +1,23 @@
+package com.helper.task.events;
+
+/**
+ * Lifecycle event types carried on the event bus. Shared by name across services: a
+ * consumer registers handlers for the types it cares about and ignores the rest.
+ */
+public final class EventTypes {
+
+    public static final String TASK_OPENED = "TASK_OPENED";
+    public static final String TASK_STATUS_CHANGED = "TASK_STATUS_CHANGED";
+    public static final String BID_PLACED = "BID_PLACED";
+    public static final String BID_ACCEPTED = "BID_ACCEPTED";
+    public static final String BID_REJECTED = "BID_REJECTED";
+    public static final String PAYMENT_RECEIVED = "PAYMENT_RECEIVED";
+    public static final String PAYMENT_REFUNDED = "PAYMENT_REFUNDED";
+    public static final String RATING_RECEIVED = "RATING_RECEIVED";
+    public static final String RATING_SUMMARY_UPDATED = "RATING_SUMMARY_UPDATED";
+    public static final String KYC_STATUS_CHANGED = "KYC_STATUS_CHANGED";
+    public static final String NEW_TASK_IN_AREA = "NEW_TASK_IN_AREA";
+
+    private EventTypes() {
+    }
+}
@@ -63,6 +63,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(ApiResponse.error(ex.getMessage(), "BID_LIMIT"));
     }
 
+    @ExceptionHandler(TaskExceptions.InvalidCursorException.class)
+    public ResponseEntity<ApiResponse<?>> handleInvalidCursor(TaskExceptions.InvalidCursorException ex) {
+        return ResponseEntity.badRequest().body(ApiResponse.error(ex.getMessage(), "INVALID_CURSOR"));
+    }
+
+    @ExceptionHandler(TaskExceptions.FeedUnavailableException.class)
+    public ResponseEntity<ApiResponse<?>> handleFeedUnavailable(TaskExceptions.FeedUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ApiResponse.error(ex.getMessage(), "FEED_UNAVAILABLE"));
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ApiResponse<?>> handleAccessDenied(AccessDeniedException ex) {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Access denied", "FORBIDDEN"));
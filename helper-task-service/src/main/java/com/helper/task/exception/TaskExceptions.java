@@ -39,4 +39,14 @@ public class TaskExceptions {
     public static class BidLimitExceededException extends RuntimeException {
         public BidLimitExceededException(String message) { super(message); }
     }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public static class InvalidCursorException extends RuntimeException {
+        public InvalidCursorException(String message) { super(message); }
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public static class FeedUnavailableException extends RuntimeException {
+        public FeedUnavailableException(String message) { super(message); }
+    }
 }
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,6 +27,27 @@ public interface BidRepository extends JpaRepository<Bid, UUID> {
     // Count bids for a task
     long countByTask_TaskId(UUID taskId);
 
+    // Count bids for a batch of tasks in one grouped query (tasks without bids are absent)
+    @Query("SELECT b.task.taskId AS taskId, COUNT(b) AS bidCount FROM Bid b " +
+            "WHERE b.task.taskId IN :taskIds GROUP BY b.task.taskId")
+    List<TaskBidCount> countByTaskIds(@Param("taskIds") Collection<UUID> taskIds);
+
+    interface TaskBidCount {
+        UUID getTaskId();
+        long getBidCount();
+    }
+
+    // Version stamps of the bids behind TaskResponse.bidCount, for ETags
+    @Query("SELECT COUNT(b) AS count, MAX(b.createdAt) AS lastModified FROM Bid b WHERE b.task.taskId = :taskId")
+    VersionStamp findVersionByTaskId(@Param("taskId") UUID taskId);
+
+    @Query("SELECT COUNT(b) AS count, MAX(b.createdAt) AS lastModified FROM Bid b WHERE b.task.customerId = :customerId")
+    VersionStamp findVersionByTaskCustomerId(@Param("customerId") UUID customerId);
+
+    @Query("SELECT COUNT(b) AS count, MAX(b.createdAt) AS lastModified FROM Bid b " +
+            "WHERE b.task.assignedWorkerId = :workerId")
+    VersionStamp findVersionByTaskAssignedWorkerId(@Param("workerId") UUID workerId);
+
     // Count pending bids for a task
     long countByTask_TaskIdAndStatus(UUID taskId, BidStatus status);
 
@@ -3,6 +3,7 @@ package com.helper.task.repository;
 import com.helper.task.entity.Task;
 import com.helper.task.enums.TaskDomain;
 import com.helper.task.enums.TaskStatus;
+import com.helper.task.service.geo.TaskGeoPoint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,35 +30,85 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
     // Find tasks by domain and status
     Page<Task> findByDomainAndStatus(TaskDomain domain, TaskStatus status, Pageable pageable);
 
-    // Geo-search: Find tasks within radius using Haversine formula (H2 compatible)
-    // In production with PostGIS, replace with ST_DWithin for better performance
-    @Query("SELECT t FROM Task t WHERE t.status = :status " +
-            "AND (6371 * acos(cos(radians(:lat)) * cos(radians(t.latitude)) * " +
+    // Great-circle distance (km) from (:lat, :lng) to the task, H2 compatible
+    String HAVERSINE_KM = "(6371 * acos(cos(radians(:lat)) * cos(radians(t.latitude)) * " +
             "cos(radians(t.longitude) - radians(:lng)) + " +
-            "sin(radians(:lat)) * sin(radians(t.latitude)))) <= :radiusKm " +
-            "ORDER BY (6371 * acos(cos(radians(:lat)) * cos(radians(t.latitude)) * " +
-            "cos(radians(t.longitude) - radians(:lng)) + " +
-            "sin(radians(:lat)) * sin(radians(t.latitude)))) ASC")
-    List<Task> findNearbyTasksByStatus(
+            "sin(radians(:lat)) * sin(radians(t.latitude))))";
+
+    // Query point as PostGIS geography
+    String GEO_POINT = "CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography)";
+
+    // Geo-search (keyset): next slice of tasks within radius after (afterDistance, afterId),
+    // nearest first. Use a Pageable of size N+1 to detect whether another slice exists.
+    // With the PostGIS dialect, TaskService uses the Spatial variant below instead
+    @Query("SELECT t.taskId AS taskId, " + HAVERSINE_KM + " AS distanceKm FROM Task t " +
+            "WHERE t.status = :status AND (:domain IS NULL OR t.domain = :domain) " +
+            "AND " + HAVERSINE_KM + " <= :radiusKm " +
+            "AND (" + HAVERSINE_KM + " > :afterDistance OR " +
+            "(" + HAVERSINE_KM + " = :afterDistance AND t.taskId > :afterId)) " +
+            "ORDER BY " + HAVERSINE_KM + " ASC, t.taskId ASC")
+    List<TaskDistance> findNearbyTaskIds(
             @Param("lat") double latitude,
             @Param("lng") double longitude,
             @Param("radiusKm") double radiusKm,
-            @Param("status") TaskStatus status);
+            @Param("status") TaskStatus status,
+            @Param("domain") TaskDomain domain,
+            @Param("afterDistance") double afterDistance,
+            @Param("afterId") UUID afterId,
+            Pageable limit);
 
-    // Geo-search with domain filter
-    @Query("SELECT t FROM Task t WHERE t.status = :status AND t.domain = :domain " +
-            "AND (6371 * acos(cos(radians(:lat)) * cos(radians(t.latitude)) * " +
-            "cos(radians(t.longitude) - radians(:lng)) + " +
-            "sin(radians(:lat)) * sin(radians(t.latitude)))) <= :radiusKm " +
-            "ORDER BY (6371 * acos(cos(radians(:lat)) * cos(radians(t.latitude)) * " +
-            "cos(radians(t.longitude) - radians(:lng)) + " +
-            "sin(radians(:lat)) * sin(radians(t.latitude)))) ASC")
-    List<Task> findNearbyTasksByStatusAndDomain(
+    // Geo-search via PostGIS (prod): ST_DWithin is answered from the GiST index on geo_location,
+    // and the <-> operator gives index-assisted nearest-first (KNN) ordering
+    @Query(value = "SELECT t.task_id AS taskId, (t.geo_location <-> " + GEO_POINT + ") / 1000 AS distanceKm " +
+            "FROM tasks t WHERE t.status = :status " +
+            "AND (CAST(:domain AS VARCHAR) IS NULL OR t.domain = CAST(:domain AS VARCHAR)) " +
+            "AND ST_DWithin(t.geo_location, " + GEO_POINT + ", :radiusMeters) " +
+            "AND ((t.geo_location <-> " + GEO_POINT + ") / 1000 > :afterDistance OR " +
+            "((t.geo_location <-> " + GEO_POINT + ") / 1000 = :afterDistance AND t.task_id > :afterId)) " +
+            "ORDER BY t.geo_location <-> " + GEO_POINT + ", t.task_id " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<TaskDistance> findNearbyTaskIdsSpatial(
             @Param("lat") double latitude,
             @Param("lng") double longitude,
-            @Param("radiusKm") double radiusKm,
-            @Param("status") TaskStatus status,
-            @Param("domain") TaskDomain domain);
+            @Param("radiusMeters") double radiusMeters,
+            @Param("status") String status,
+            @Param("domain") String domain,
+            @Param("afterDistance") double afterDistance,
+            @Param("afterId") UUID afterId,
+            @Param("limit") int limit);
+
+    interface TaskDistance {
+        UUID getTaskId();
+        Double getDistanceKm();
+    }
+
+    // Location snapshot of all tasks in a status (used to rebuild the in-memory geo index)
+    @Query("SELECT new com.helper.task.service.geo.TaskGeoPoint(t.taskId, t.domain, t.latitude, t.longitude) " +
+            "FROM Task t WHERE t.status = :status")
+    List<TaskGeoPoint> findGeoPointsByStatus(@Param("status") TaskStatus status);
+
+    // Version stamps for ETags (see TaskService#getTaskETag / #getMyTasksETag)
+    @Query("SELECT COUNT(t) AS count, MAX(t.updatedAt) AS lastModified FROM Task t WHERE t.taskId = :taskId")
+    VersionStamp findVersionByTaskId(@Param("taskId") UUID taskId);
+
+    @Query("SELECT COUNT(t) AS count, MAX(t.updatedAt) AS lastModified FROM Task t WHERE t.customerId = :customerId")
+    VersionStamp findVersionByCustomerId(@Param("customerId") UUID customerId);
+
+    @Query("SELECT COUNT(t) AS count, MAX(t.updatedAt) AS lastModified FROM Task t WHERE t.assignedWorkerId = :workerId")
+    VersionStamp findVersionByAssignedWorkerId(@Param("workerId") UUID workerId);
+
+    // Task counts per (status, domain) in one grouped query, served by idx_task_status_domain
+    // (see TaskStats). Pairs without tasks are absent.
+    @Query("SELECT t.status AS status, t.domain AS domain, COUNT(t) AS taskCount FROM Task t " +
+            "GROUP BY t.status, t.domain")
+    List<StatusDomainCount> countByStatusAndDomain();
+
+    interface StatusDomainCount {
+        TaskStatus getStatus();
+        TaskDomain getDomain();
+        long getTaskCount();
+    }
 
     // Count by status
     long countByStatus(TaskStatus status);
@@ -82,4 +134,31 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
             @Param("domain") TaskDomain domain,
             @Param("customerId") UUID customerId,
             Pageable pageable);
+
+    // Keyset variant of findWithFilters: newest first, strictly before (createdAt, taskId).
+    // Avoids deep OFFSET scans when clients scroll with a cursor.
+    @Query("SELECT t FROM Task t WHERE " +
+            "(:status IS NULL OR t.status = :status) AND " +
+            "(:domain IS NULL OR t.domain = :domain) AND " +
+            "(t.createdAt < :afterCreatedAt OR (t.createdAt = :afterCreatedAt AND t.taskId < :afterId)) " +
+            "ORDER BY t.createdAt DESC, t.taskId DESC")
+    List<Task> findWithFiltersBefore(
+            @Param("status") TaskStatus status,
+            @Param("domain") TaskDomain domain,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") UUID afterId,
+            Pageable limit);
+
+    // Keyset variant of findWithFilters: oldest first, strictly after (createdAt, taskId)
+    @Query("SELECT t FROM Task t WHERE " +
+            "(:status IS NULL OR t.status = :status) AND " +
+            "(:domain IS NULL OR t.domain = :domain) AND " +
+            "(t.createdAt > :afterCreatedAt OR (t.createdAt = :afterCreatedAt AND t.taskId > :afterId)) " +
+            "ORDER BY t.createdAt ASC, t.taskId ASC")
+    List<Task> findWithFiltersAfter(
+            @Param("status") TaskStatus status,
+            @Param("domain") TaskDomain domain,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") UUID afterId,
+            Pageable limit);
 }
@@ -0,0 +1,24 @@
+package com.helper.task.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The claims this service needs from a verified access token, extracted in one parse.
+ */
+@Getter
+@AllArgsConstructor
+public class JwtClaims {
+
+    private final UUID userId;
+    private final String email;
+    private final String role;
+    private final Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
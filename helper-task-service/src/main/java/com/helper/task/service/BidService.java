@@ -1,5 +1,7 @@
 package com.helper.task.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.helper.task.cache.TaskCache;
 import com.helper.task.dto.request.CreateBidRequest;
 import com.helper.task.dto.response.BidResponse;
 import com.helper.task.entity.Bid;
@@ -9,6 +11,7 @@ import com.helper.task.exception.TaskExceptions;
 import com.helper.task.repository.BidRepository;
 import com.helper.task.repository.TaskRepository;
 import com.helper.task.security.AuthenticatedUser;
+import com.helper.task.service.geo.TaskGeoIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -25,8 +28,13 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BidService {
 
+    private static final TypeReference<List<BidResponse>> BID_LIST_TYPE = new TypeReference<>() {};
+
     private final BidRepository bidRepository;
     private final TaskRepository taskRepository;
+    private final TaskGeoIndex taskGeoIndex;
+    private final TaskCache taskCache;
+    private final TaskEvents taskEvents;
 
     @Value("${app.task.max-bids-per-task:20}")
     private int maxBidsPerTask;
@@ -78,6 +86,8 @@ public class BidService {
                 .build();
 
         bid = bidRepository.save(bid);
+        taskCache.evictTask(taskId);
+        taskEvents.bidPlaced(task, bid);
 
         log.info("Bid created: {} on task: {} by worker: {} price: {}",
                 bid.getBidId(), taskId, user.getUserId(), request.getProposedPrice());
@@ -92,16 +102,19 @@ public class BidService {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new TaskExceptions.TaskNotFoundException("Task not found: " + taskId));
 
+        List<BidResponse> bids = taskCache.get(TaskCache.Region.BIDS, taskId, BID_LIST_TYPE,
+                () -> bidRepository.findByTask_TaskIdOrderByCreatedAtDesc(taskId)
+                        .stream().map(this::mapToResponse).collect(Collectors.toList()));
+
         // Only task owner, admin, or bidding workers can see bids
         if (!user.isAdmin() && !user.getUserId().equals(task.getCustomerId())) {
             // Workers can only see their own bid
-            return bidRepository.findByTask_TaskIdAndWorkerId(taskId, user.getUserId())
-                    .map(b -> List.of(mapToResponse(b)))
-                    .orElse(List.of());
+            return bids.stream()
+                    .filter(b -> user.getUserId().equals(b.getWorkerId()))
+                    .collect(Collectors.toList());
         }
 
-        return bidRepository.findByTask_TaskIdOrderByCreatedAtDesc(taskId)
-                .stream().map(this::mapToResponse).collect(Collectors.toList());
+        return bids;
     }
 
     /**
@@ -140,6 +153,8 @@ public class BidService {
         task.setFinalPrice(bid.getProposedPrice());
         task.setStatus(TaskStatus.ACCEPTED);
         taskRepository.save(task);
+        taskGeoIndex.sync(task);
+        taskCache.evictTask(task.getTaskId());
 
         // Reject all other pending bids
         List<Bid> otherBids = bidRepository.findByTask_TaskIdAndStatus(task.getTaskId(), BidStatus.PENDING);
@@ -149,6 +164,9 @@ public class BidService {
         });
         bidRepository.saveAll(otherBids);
 
+        taskEvents.bidAccepted(task, bid);
+        taskEvents.bidsRejected(task, otherBids);
+
         log.info("Bid {} accepted for task {}. Worker: {} Price: {}",
                 bidId, task.getTaskId(), bid.getWorkerId(), bid.getProposedPrice());
 
@@ -176,6 +194,8 @@ public class BidService {
         bid.setStatus(BidStatus.REJECTED);
         bid.setRespondedAt(LocalDateTime.now());
         bid = bidRepository.save(bid);
+        taskCache.evictTask(task.getTaskId());
+        taskEvents.bidsRejected(task, List.of(bid));
 
         log.info("Bid {} rejected for task {}", bidId, task.getTaskId());
 
@@ -201,6 +221,7 @@ public class BidService {
         bid.setStatus(BidStatus.WITHDRAWN);
         bid.setRespondedAt(LocalDateTime.now());
         bid = bidRepository.save(bid);
+        taskCache.evictTask(bid.getTask().getTaskId());
 
         log.info("Bid {} withdrawn by worker {}", bidId, user.getUserId());
 
@@ -0,0 +1,85 @@
+package com.helper.task.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Admin stats kept off the request path. The snapshot is computed on the first read and
+ * recomputed on a read that finds it older than maxAgeMs, so an idle dashboard costs no
+ * queries and a busy one at most one recompute per maxAgeMs per instance. While one
+ * request recomputes, concurrent reads get the previous snapshot instead of waiting, and
+ * a failed recompute also falls back to it. {@link #refresh()} forces a recompute.
+ *
+ * Metrics: admin.stats.refresh{stats} (timer), admin.stats.age.ms{stats}.
+ */
+@Slf4j
+public class StatsSnapshot<T> {
+
+    private final String name;
+    private final Supplier<T> loader;
+    private final long maxAgeMs;
+    private final Timer refreshTimer;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile long takenAt;
+    private volatile T value;
+
+    public StatsSnapshot(String name, Supplier<T> loader, long maxAgeMs, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.loader = loader;
+        this.maxAgeMs = maxAgeMs;
+        this.refreshTimer = meterRegistry.timer("admin.stats.refresh", "stats", name);
+        meterRegistry.gauge("admin.stats.age.ms", Tags.of("stats", name), this, StatsSnapshot::ageMs);
+    }
+
+    public T get() {
+        T current = value;
+        if (current != null && ageMs() <= maxAgeMs) return current;
+        if (current == null) {
+            lock.lock();
+        } else if (!lock.tryLock()) {
+            return current;
+        }
+        try {
+            if (value != null && ageMs() <= maxAgeMs) return value;
+            try {
+                return load();
+            } catch (RuntimeException e) {
+                if (value == null) throw e;
+                log.warn("Refreshing {} stats failed, serving the snapshot from {} ms ago: {}",
+                        name, ageMs(), e.getMessage());
+                return value;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public T refresh() {
+        lock.lock();
+        try {
+            return load();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return milliseconds since the snapshot was taken, or -1 before the first one
+     */
+    public double ageMs() {
+        return value == null ? -1 : System.currentTimeMillis() - takenAt;
+    }
+
+    private T load() {
+        T fresh = refreshTimer.record(loader);
+        takenAt = System.currentTimeMillis();
+        value = fresh;
+        return fresh;
+    }
+}
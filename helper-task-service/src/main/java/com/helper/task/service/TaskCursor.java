@@ -0,0 +1,54 @@
+package com.helper.task.service;
+
+import com.helper.task.exception.TaskExceptions;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque continuation token for keyset pagination: the sort key of the last row
+ * returned (distance in km for geo search, createdAt for filtered search) plus its
+ * taskId as tie-breaker. Encoded as URL-safe Base64 so clients pass it back verbatim.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskCursor {
+
+    private String sortKey;
+    private UUID taskId;
+
+    public static String encode(Object sortKey, UUID taskId) {
+        String raw = sortKey + "|" + taskId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new TaskCursor(raw.substring(0, sep), UUID.fromString(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new TaskExceptions.InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+
+    public double distanceKm() {
+        try {
+            return Double.parseDouble(sortKey);
+        } catch (NumberFormatException e) {
+            throw new TaskExceptions.InvalidCursorException("Cursor does not belong to a geo search");
+        }
+    }
+
+    public LocalDateTime createdAt() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (RuntimeException e) {
+            throw new TaskExceptions.InvalidCursorException("Cursor does not belong to a filtered search");
+        }
+    }
+}
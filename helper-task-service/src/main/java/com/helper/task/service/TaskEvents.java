@@ -0,0 +1,78 @@
+package com.helper.task.service;
+
+import com.helper.task.entity.Bid;
+import com.helper.task.entity.Task;
+import com.helper.task.events.EventOutbox;
+import com.helper.task.events.EventTypes;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Task and bid lifecycle events, written to the outbox inside the caller's transaction.
+ * Notifications are derived from these by the notification service; TASK_OPENED also
+ * drives the user service's new-task-in-area fan-out.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskEvents {
+
+    private final EventOutbox eventOutbox;
+
+    public void taskOpened(Task task) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("taskId", task.getTaskId());
+        payload.put("title", task.getTitle());
+        payload.put("domain", task.getDomain());
+        payload.put("latitude", task.getLatitude());
+        payload.put("longitude", task.getLongitude());
+        eventOutbox.append(EventTypes.TASK_OPENED, task.getTaskId(), payload);
+    }
+
+    /** Tells the customer and the assigned worker, except whoever made the change. */
+    public void statusChanged(Task task, UUID actorId) {
+        Set<UUID> recipients = new LinkedHashSet<>();
+        recipients.add(task.getCustomerId());
+        if (task.getAssignedWorkerId() != null) recipients.add(task.getAssignedWorkerId());
+        recipients.remove(actorId);
+        if (recipients.isEmpty()) return;
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("taskId", task.getTaskId());
+        payload.put("title", task.getTitle());
+        payload.put("status", task.getStatus());
+        payload.put("recipientIds", recipients);
+        eventOutbox.append(EventTypes.TASK_STATUS_CHANGED, task.getTaskId(), payload);
+    }
+
+    public void bidPlaced(Task task, Bid bid) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("customerId", task.getCustomerId());
+        payload.put("taskId", task.getTaskId());
+        payload.put("title", task.getTitle());
+        payload.put("workerId", bid.getWorkerId());
+        payload.put("bidAmount", bid.getProposedPrice());
+        eventOutbox.append(EventTypes.BID_PLACED, task.getTaskId(), payload);
+    }
+
+    public void bidAccepted(Task task, Bid bid) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("workerId", bid.getWorkerId());
+        payload.put("taskId", task.getTaskId());
+        payload.put("title", task.getTitle());
+        eventOutbox.append(EventTypes.BID_ACCEPTED, task.getTaskId(), payload);
+    }
+
+    public void bidsRejected(Task task, Collection<Bid> bids) {
+        if (bids.isEmpty()) return;
+        List<UUID> workerIds = new ArrayList<>(bids.size());
+        bids.forEach(b -> workerIds.add(b.getWorkerId()));
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("workerIds", workerIds);
+        payload.put("taskId", task.getTaskId());
+        payload.put("title", task.getTitle());
+        eventOutbox.append(EventTypes.BID_REJECTED, task.getTaskId(), payload);
+    }
+}
@@ -1,14 +1,22 @@
 package com.helper.task.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.helper.task.cache.TaskCache;
 import com.helper.task.dto.request.*;
 import com.helper.task.dto.response.TaskResponse;
+import com.helper.task.dto.response.TaskSearchResult;
 import com.helper.task.dto.response.TaskStatsResponse;
 import com.helper.task.entity.Task;
 import com.helper.task.enums.*;
 import com.helper.task.exception.TaskExceptions;
 import com.helper.task.repository.BidRepository;
 import com.helper.task.repository.TaskRepository;
+import com.helper.task.repository.VersionStamp;
 import com.helper.task.security.AuthenticatedUser;
+import com.helper.task.service.feed.TaskFeed;
+import com.helper.task.service.geo.TaskGeoIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -28,8 +36,37 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TaskService {
 
+    // Tie-breaker id for the first geo slice (any id works: the distance bound is already below 0)
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private static final TypeReference<TaskResponse> TASK_TYPE = new TypeReference<>() {};
+    private static final TypeReference<String> ETAG_TYPE = new TypeReference<>() {};
+
     private final TaskRepository taskRepository;
     private final BidRepository bidRepository;
+    private final TaskGeoIndex taskGeoIndex;
+    private final TaskCache taskCache;
+    private final TaskFeed taskFeed;
+    private final TaskEvents taskEvents;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.task.geo-index.enabled:true}")
+    private boolean geoIndexEnabled;
+
+    // auto = PostGIS queries when the PostGIS dialect is configured, Haversine JPQL otherwise
+    @Value("${app.task.geo-search.mode:auto}")
+    private String geoSearchMode;
+
+    @Value("${spring.jpa.database-platform:}")
+    private String databasePlatform;
+
+    private boolean spatialSearch;
+
+    // Admin stats are served from memory, recomputed on read once older than app.stats.max-age-ms
+    @Value("${app.stats.max-age-ms:60000}")
+    private long statsMaxAgeMs;
+
+    private StatsSnapshot<TaskStatsResponse> statsSnapshot;
 
     @Value("${app.task.default-search-radius-km:10}")
     private double defaultRadiusKm;
@@ -37,6 +74,22 @@ public class TaskService {
     @Value("${app.task.max-search-radius-km:50}")
     private double maxRadiusKm;
 
+    @Value("${app.task.max-page-size:100}")
+    private int maxPageSize;
+
+    @PostConstruct
+    void resolveGeoSearchMode() {
+        spatialSearch = "postgis".equalsIgnoreCase(geoSearchMode) ||
+                ("auto".equalsIgnoreCase(geoSearchMode) && databasePlatform.toLowerCase().contains("postgis"));
+        log.info("Task geo search uses {} queries", spatialSearch ? "PostGIS" : "Haversine");
+    }
+
+    @PostConstruct
+    void initStatsSnapshot() {
+        statsSnapshot = new StatsSnapshot<>("tasks",
+                () -> TaskStats.fromCounts(taskRepository.countByStatusAndDomain()), statsMaxAgeMs, meterRegistry);
+    }
+
     /**
      * Create a new task (CUSTOMER only)
      */
@@ -62,6 +115,7 @@ public class TaskService {
                 .build();
 
         task = taskRepository.save(task);
+        taskGeoIndex.sync(task);
 
         log.info("Task created: {} by customer: {} domain: {}", task.getTaskId(), user.getUserId(), task.getDomain());
 
@@ -69,11 +123,24 @@ public class TaskService {
     }
 
     /**
-     * Get task by ID (public)
+     * Get task by ID (public). Served from TaskCache; concurrent misses share one lookup.
      */
     public TaskResponse getTaskById(UUID taskId) {
-        Task task = findTaskOrThrow(taskId);
-        return mapToResponse(task);
+        return taskCache.get(TaskCache.Region.TASKS, taskId, TASK_TYPE,
+                () -> mapToResponse(findTaskOrThrow(taskId)));
+    }
+
+    /**
+     * ETag for getTaskById: changes whenever the task row or its bids change.
+     * Null if the task doesn't exist, so the normal path produces the 404.
+     */
+    public String getTaskETag(UUID taskId) {
+        return taskCache.get(TaskCache.Region.TASK_ETAGS, taskId, ETAG_TYPE, () -> {
+            VersionStamp task = taskRepository.findVersionByTaskId(taskId);
+            if (task.getCount() == 0) return null;
+            VersionStamp bids = bidRepository.findVersionByTaskId(taskId);
+            return ETags.of("task", taskId, task.getLastModified(), bids.getCount(), bids.getLastModified());
+        });
     }
 
     /**
@@ -99,6 +166,8 @@ public class TaskService {
         if (request.getScheduledAt() != null) task.setScheduledAt(request.getScheduledAt());
 
         task = taskRepository.save(task);
+        taskGeoIndex.sync(task);
+        taskCache.evictTask(task.getTaskId());
         log.info("Task updated: {}", taskId);
 
         return mapToResponse(task);
@@ -184,10 +253,21 @@ public class TaskService {
 
         task.setStatus(newStatus);
         task = taskRepository.save(task);
+        taskGeoIndex.sync(task);
+        taskCache.evictTask(task.getTaskId());
 
         log.info("Task {} status changed: {} -> {} by user: {}", taskId, currentStatus, newStatus, user.getUserId());
 
-        return mapToResponse(task);
+        TaskResponse response = mapToResponse(task);
+        // Newly open work is pushed to live feed subscribers nearby
+        if (newStatus == TaskStatus.OPEN && currentStatus != TaskStatus.OPEN) {
+            taskFeed.publish(response);
+            taskEvents.taskOpened(task);
+        }
+        if (newStatus != currentStatus) {
+            taskEvents.statusChanged(task, user.getUserId());
+        }
+        return response;
     }
 
     /**
@@ -211,6 +291,10 @@ public class TaskService {
         task.setCancellationReason(reason);
         task.setCancelledBy(user.getUserId());
         task = taskRepository.save(task);
+        taskGeoIndex.sync(task);
+        taskCache.evictTask(task.getTaskId());
+
+        taskEvents.statusChanged(task, user.getUserId());
 
         log.info("Task {} cancelled by: {} reason: {}", taskId, user.getUserId(), reason);
 
@@ -218,46 +302,66 @@ public class TaskService {
     }
 
     /**
-     * Search tasks with geo-location and filters
+     * Search tasks with geo-location and filters.
+     * Geo search is always keyset-paginated by (distance, taskId); filtered search uses
+     * keyset pagination by (createdAt, taskId) when a cursor is given, page/size otherwise.
      */
-    public List<TaskResponse> searchTasks(TaskSearchRequest request) {
+    public TaskSearchResult searchTasks(TaskSearchRequest request) {
         double radius = Math.min(request.getRadiusKm(), maxRadiusKm);
-
-        List<Task> tasks;
+        int size = Math.max(1, Math.min(request.getSize(), maxPageSize));
+        TaskCursor cursor = request.getCursor() != null ? TaskCursor.decode(request.getCursor()) : null;
 
         if (request.getLatitude() != null && request.getLongitude() != null) {
             // Geo search
             TaskStatus searchStatus = request.getStatus() != null ? request.getStatus() : TaskStatus.OPEN;
+            double afterDistance = cursor != null ? cursor.distanceKm() : -1;
+            UUID afterId = cursor != null ? cursor.getTaskId() : FIRST_ID;
 
-            if (request.getDomain() != null) {
-                tasks = taskRepository.findNearbyTasksByStatusAndDomain(
-                        request.getLatitude(), request.getLongitude(), radius, searchStatus, request.getDomain());
+            // OPEN tasks are served from the in-memory geo index; other statuses hit the DB
+            List<TaskGeoIndex.Match> hits;
+            if (searchStatus == TaskStatus.OPEN && geoIndexEnabled && taskGeoIndex.isReady()) {
+                hits = findNearbyFromIndex(request, radius, afterDistance, afterId, size + 1);
             } else {
-                tasks = taskRepository.findNearbyTasksByStatus(
-                        request.getLatitude(), request.getLongitude(), radius, searchStatus);
+                hits = findNearbyFromDb(request.getLatitude(), request.getLongitude(), radius,
+                        searchStatus, request.getDomain(), afterDistance, afterId, size + 1);
             }
-
-            // Calculate distance for each task
-            return tasks.stream()
-                    .map(t -> {
-                        TaskResponse response = mapToResponse(t);
-                        response.setDistanceKm(calculateDistance(
-                                request.getLatitude(), request.getLongitude(),
-                                t.getLatitude(), t.getLongitude()));
-                        return response;
-                    })
-                    .collect(Collectors.toList());
+            return toGeoResult(hits, searchStatus, size);
         } else {
             // Non-geo search with pagination
-            Sort sort = request.getSortDir().equalsIgnoreCase("asc")
-                    ? Sort.by(request.getSortBy()).ascending()
-                    : Sort.by(request.getSortBy()).descending();
-            Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), sort);
+            boolean ascending = request.getSortDir().equalsIgnoreCase("asc");
+
+            if (cursor != null) {
+                Pageable limit = PageRequest.of(0, size + 1);
+                List<Task> tasks = ascending
+                        ? taskRepository.findWithFiltersAfter(request.getStatus(), request.getDomain(),
+                                cursor.createdAt(), cursor.getTaskId(), limit)
+                        : taskRepository.findWithFiltersBefore(request.getStatus(), request.getDomain(),
+                                cursor.createdAt(), cursor.getTaskId(), limit);
+                boolean hasMore = tasks.size() > size;
+                List<Task> slice = hasMore ? tasks.subList(0, size) : tasks;
+                return TaskSearchResult.builder()
+                        .tasks(mapToResponses(slice))
+                        .nextCursor(hasMore ? createdAtCursor(slice.get(slice.size() - 1)) : null)
+                        .build();
+            }
+
+            // taskId breaks createdAt ties so the first page lines up with the keyset queries
+            Sort sort = ascending
+                    ? Sort.by(request.getSortBy()).ascending().and(Sort.by("taskId").ascending())
+                    : Sort.by(request.getSortBy()).descending().and(Sort.by("taskId").descending());
+            Pageable pageable = PageRequest.of(request.getPage(), size, sort);
 
             Page<Task> page = taskRepository.findWithFilters(
                     request.getStatus(), request.getDomain(), null, pageable);
 
-            return page.getContent().stream().map(this::mapToResponse).collect(Collectors.toList());
+            // A continuation token is only meaningful for the createdAt ordering
+            String nextCursor = page.hasNext() && "createdAt".equals(request.getSortBy())
+                    ? createdAtCursor(page.getContent().get(page.getNumberOfElements() - 1))
+                    : null;
+            return TaskSearchResult.builder()
+                    .tasks(mapToResponses(page.getContent()))
+                    .nextCursor(nextCursor)
+                    .build();
         }
     }
 
@@ -277,36 +381,107 @@ public class TaskService {
             tasks = taskRepository.findAll(pageable);
         }
 
-        return tasks.map(this::mapToResponse);
+        Map<UUID, Long> bidCounts = countBids(tasks.getContent());
+        return tasks.map(t -> mapToResponse(t, bidCounts.getOrDefault(t.getTaskId(), 0L)));
     }
 
     /**
-     * Get task statistics (admin)
+     * ETag for getMyTasks: two aggregate queries instead of loading and mapping the page.
+     * Null for admins (their view spans every task, so there is nothing cheap to compare).
      */
-    public TaskStatsResponse getTaskStats() {
-        Map<String, Long> byDomain = new HashMap<>();
-        for (TaskDomain domain : TaskDomain.values()) {
-            byDomain.put(domain.name(), taskRepository.countByDomain(domain));
+    public String getMyTasksETag(AuthenticatedUser user, int page, int size) {
+        VersionStamp tasks;
+        VersionStamp bids;
+        if (user.isCustomer()) {
+            tasks = taskRepository.findVersionByCustomerId(user.getUserId());
+            bids = bidRepository.findVersionByTaskCustomerId(user.getUserId());
+        } else if (user.isWorker()) {
+            tasks = taskRepository.findVersionByAssignedWorkerId(user.getUserId());
+            bids = bidRepository.findVersionByTaskAssignedWorkerId(user.getUserId());
+        } else {
+            return null;
         }
+        return ETags.of("my-tasks", user.getUserId(), user.getRole(), page, size,
+                tasks.getCount(), tasks.getLastModified(), bids.getCount(), bids.getLastModified());
+    }
 
-        Map<String, Long> byStatus = new HashMap<>();
-        for (TaskStatus status : TaskStatus.values()) {
-            byStatus.put(status.name(), taskRepository.countByStatus(status));
+    /**
+     * Get task statistics (admin), from the in-memory snapshot
+     *
+     * @param refresh recompute now instead of serving the snapshot
+     */
+    public TaskStatsResponse getTaskStats(boolean refresh) {
+        return refresh ? statsSnapshot.refresh() : statsSnapshot.get();
+    }
+
+    // ===== Private Helpers =====
+
+    private List<TaskGeoIndex.Match> findNearbyFromIndex(TaskSearchRequest request, double radius,
+                                                          double afterDistance, UUID afterId, int limit) {
+        List<TaskGeoIndex.Match> matches = taskGeoIndex.findWithinRadius(
+                request.getLatitude(), request.getLongitude(), radius, request.getDomain());
+
+        // Matches are sorted by (distance, taskId); skip everything up to the cursor
+        List<TaskGeoIndex.Match> hits = new ArrayList<>(Math.min(limit, matches.size()));
+        for (TaskGeoIndex.Match m : matches) {
+            if (m.getDistanceKm() < afterDistance ||
+                    (m.getDistanceKm() == afterDistance && m.getTaskId().compareTo(afterId) <= 0)) continue;
+            hits.add(m);
+            if (hits.size() == limit) break;
+        }
+        return hits;
+    }
+
+    private List<TaskGeoIndex.Match> findNearbyFromDb(double lat, double lng, double radiusKm,
+                                                      TaskStatus status, TaskDomain domain,
+                                                      double afterDistance, UUID afterId, int limit) {
+        List<TaskRepository.TaskDistance> rows = spatialSearch
+                ? taskRepository.findNearbyTaskIdsSpatial(lat, lng, radiusKm * 1000, status.name(),
+                        domain != null ? domain.name() : null, afterDistance, afterId, limit)
+                : taskRepository.findNearbyTaskIds(lat, lng, radiusKm, status, domain,
+                        afterDistance, afterId, PageRequest.of(0, limit));
+        return rows.stream()
+                .map(r -> new TaskGeoIndex.Match(r.getTaskId(), r.getDistanceKm()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Load the entities for one slice of geo hits (at most size + 1) and build the result,
+     * with a continuation token pointing at the last hit of the slice.
+     */
+    private TaskSearchResult toGeoResult(List<TaskGeoIndex.Match> hits, TaskStatus status, int size) {
+        boolean hasMore = hits.size() > size;
+        List<TaskGeoIndex.Match> slice = hasMore ? hits.subList(0, size) : hits;
+        if (slice.isEmpty()) {
+            return TaskSearchResult.builder().tasks(List.of()).build();
+        }
+
+        Map<UUID, Task> tasksById = taskRepository.findAllById(
+                        slice.stream().map(TaskGeoIndex.Match::getTaskId).collect(Collectors.toList()))
+                .stream().collect(Collectors.toMap(Task::getTaskId, t -> t));
+
+        Map<UUID, Long> bidCounts = countBids(tasksById.values());
+
+        List<TaskResponse> results = new ArrayList<>(slice.size());
+        for (TaskGeoIndex.Match match : slice) {
+            Task task = tasksById.get(match.getTaskId());
+            // Skip entries whose status changed in a transaction that has not reached the index yet
+            if (task == null || task.getStatus() != status) continue;
+            TaskResponse response = mapToResponse(task, bidCounts.getOrDefault(task.getTaskId(), 0L));
+            response.setDistanceKm(Math.round(match.getDistanceKm() * 100.0) / 100.0);
+            results.add(response);
         }
 
-        return TaskStatsResponse.builder()
-                .totalTasks(taskRepository.count())
-                .openTasks(taskRepository.countByStatus(TaskStatus.OPEN))
-                .inProgressTasks(taskRepository.countByStatus(TaskStatus.IN_PROGRESS))
-                .completedTasks(taskRepository.countByStatus(TaskStatus.COMPLETED))
-                .cancelledTasks(taskRepository.countByStatus(TaskStatus.CANCELLED))
-                .disputedTasks(taskRepository.countByStatus(TaskStatus.DISPUTED))
-                .tasksByDomain(byDomain)
-                .tasksByStatus(byStatus)
+        TaskGeoIndex.Match last = slice.get(slice.size() - 1);
+        return TaskSearchResult.builder()
+                .tasks(results)
+                .nextCursor(hasMore ? TaskCursor.encode(last.getDistanceKm(), last.getTaskId()) : null)
                 .build();
     }
 
-    // ===== Private Helpers =====
+    private String createdAtCursor(Task task) {
+        return TaskCursor.encode(task.getCreatedAt(), task.getTaskId());
+    }
 
     private Task findTaskOrThrow(UUID taskId) {
         return taskRepository.findById(taskId)
@@ -349,8 +524,27 @@ public class TaskService {
     }
 
     private TaskResponse mapToResponse(Task task) {
-        long bidCount = bidRepository.countByTask_TaskId(task.getTaskId());
+        return mapToResponse(task, bidRepository.countByTask_TaskId(task.getTaskId()));
+    }
 
+    /**
+     * Map a list of tasks with one grouped bid-count query instead of one count per task
+     */
+    private List<TaskResponse> mapToResponses(List<Task> tasks) {
+        Map<UUID, Long> bidCounts = countBids(tasks);
+        return tasks.stream()
+                .map(t -> mapToResponse(t, bidCounts.getOrDefault(t.getTaskId(), 0L)))
+                .collect(Collectors.toList());
+    }
+
+    private Map<UUID, Long> countBids(Collection<Task> tasks) {
+        if (tasks.isEmpty()) return Map.of();
+        List<UUID> taskIds = tasks.stream().map(Task::getTaskId).collect(Collectors.toList());
+        return bidRepository.countByTaskIds(taskIds).stream()
+                .collect(Collectors.toMap(BidRepository.TaskBidCount::getTaskId, BidRepository.TaskBidCount::getBidCount));
+    }
+
+    private TaskResponse mapToResponse(Task task, long bidCount) {
         return TaskResponse.builder()
                 .taskId(task.getTaskId())
                 .customerId(task.getCustomerId())
@@ -375,18 +569,4 @@ public class TaskService {
                 .bidCount((int) bidCount)
                 .build();
     }
-
-    /**
-     * Haversine formula - calculate distance between two points in km
-     */
-    private double calculateDistance(double lat1, double lng1, double lat2, double lng2) {
-        double R = 6371; // Earth's radius in km
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLng = Math.toRadians(lng2 - lng1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
-                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
-                        Math.sin(dLng / 2) * Math.sin(dLng / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return Math.round(R * c * 100.0) / 100.0; // Round to 2 decimals
-    }
 }
@@ -0,0 +1,52 @@
+package com.helper.task.service;
+
+import com.helper.task.dto.response.TaskStatsResponse;
+import com.helper.task.enums.TaskDomain;
+import com.helper.task.enums.TaskStatus;
+import com.helper.task.repository.TaskRepository.StatusDomainCount;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Folds the grouped (status, domain) counts from TaskRepository#countByStatusAndDomain
+ * into the admin stats response, so the whole dashboard costs one query.
+ */
+public final class TaskStats {
+
+    private TaskStats() {
+    }
+
+    public static TaskStatsResponse fromCounts(Iterable<? extends StatusDomainCount> counts) {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        Map<TaskDomain, Long> byDomain = new EnumMap<>(TaskDomain.class);
+        long total = 0;
+        for (StatusDomainCount count : counts) {
+            byStatus.merge(count.getStatus(), count.getTaskCount(), Long::sum);
+            byDomain.merge(count.getDomain(), count.getTaskCount(), Long::sum);
+            total += count.getTaskCount();
+        }
+
+        // Every status and domain is listed, with 0 for those without tasks
+        Map<String, Long> tasksByStatus = new HashMap<>();
+        for (TaskStatus status : TaskStatus.values()) {
+            tasksByStatus.put(status.name(), byStatus.getOrDefault(status, 0L));
+        }
+        Map<String, Long> tasksByDomain = new HashMap<>();
+        for (TaskDomain domain : TaskDomain.values()) {
+            tasksByDomain.put(domain.name(), byDomain.getOrDefault(domain, 0L));
+        }
+
+        return TaskStatsResponse.builder()
+                .totalTasks(total)
+                .openTasks(byStatus.getOrDefault(TaskStatus.OPEN, 0L))
+                .inProgressTasks(byStatus.getOrDefault(TaskStatus.IN_PROGRESS, 0L))
+                .completedTasks(byStatus.getOrDefault(TaskStatus.COMPLETED, 0L))
+                .cancelledTasks(byStatus.getOrDefault(TaskStatus.CANCELLED, 0L))
+                .disputedTasks(byStatus.getOrDefault(TaskStatus.DISPUTED, 0L))
+                .tasksByDomain(tasksByDomain)
+                .tasksByStatus(tasksByStatus)
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.helper.task.service.feed;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Single-instance bus: events only reach subscribers connected to this instance.
+ */
+public class LocalTaskFeedBus implements TaskFeedBus {
+
+    private final List<Consumer<String>> handlers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String taskJson) {
+        handlers.forEach(h -> h.accept(taskJson));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> handler) {
+        handlers.add(handler);
+    }
+}
@@ -0,0 +1,55 @@
+package com.helper.task.service.feed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub bus shared by all task-service instances. Delivery is fire-and-forget:
+ * an instance that is disconnected from Redis misses the events sent meanwhile, which its
+ * subscribers can catch up on with searchTasks. When publishing fails, the event is still
+ * delivered to this instance's subscribers.
+ */
+@Slf4j
+public class RedisTaskFeedBus implements TaskFeedBus {
+
+    static final String CHANNEL = "task:feed:opened";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final String channel;
+    private Consumer<String> localHandler = json -> { };
+
+    public RedisTaskFeedBus(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer) {
+        this(redisTemplate, listenerContainer, CHANNEL);
+    }
+
+    public RedisTaskFeedBus(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer,
+                            String channel) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.channel = channel;
+    }
+
+    @Override
+    public void publish(String taskJson) {
+        try {
+            redisTemplate.convertAndSend(channel, taskJson);
+        } catch (RuntimeException e) {
+            log.warn("Task feed publish to Redis failed, delivering locally only: {}", e.getMessage());
+            localHandler.accept(taskJson);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> handler) {
+        this.localHandler = handler;
+        listenerContainer.addMessageListener(
+                (message, pattern) -> handler.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+    }
+}
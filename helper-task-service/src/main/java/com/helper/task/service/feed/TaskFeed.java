@@ -0,0 +1,388 @@
+package com.helper.task.service.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helper.task.dto.response.TaskResponse;
+import com.helper.task.enums.TaskDomain;
+import com.helper.task.exception.TaskExceptions;
+import com.helper.task.security.AuthenticatedUser;
+import com.helper.task.service.geo.GeoGrid;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live feed of newly OPEN tasks for workers, pushed over Server-Sent Events.
+ *
+ * Subscriptions are indexed by the grid cells their radius overlaps. When a task opens,
+ * only the subscriptions registered under the task's cell are checked (domain, then exact
+ * Haversine distance); nothing is queried from the DB.
+ *
+ * Connections are held by the servlet container's async support, not by a thread each.
+ * Every subscription has a bounded queue of pending events, drained by a small pool of
+ * sender threads (one drain per subscription at a time, so events stay in order). A
+ * subscriber whose queue overflows is too slow to keep up and is disconnected; clients
+ * reconnect (EventSource does this on its own) and can catch up with searchTasks.
+ *
+ * A single write can still block a sender when the client stops reading and the socket
+ * buffer fills up. {@link #abortStalledWrites()} drops a subscriber whose write has run
+ * longer than app.task.feed.write-timeout-ms and starts a replacement sender, so a stuck
+ * socket costs the pool nothing; the stuck thread ends when the container's own write
+ * timeout fails the send, and the pool shrinks back. At most
+ * app.task.feed.max-stalled-senders replacements exist at once.
+ *
+ * TaskService calls {@link #publish(TaskResponse)} when a task becomes OPEN. Like
+ * TaskGeoIndex.sync, publishing waits for the surrounding transaction to commit. The
+ * event then goes through the {@link TaskFeedBus}, which reaches every instance's
+ * subscribers in redis mode and only this instance's otherwise.
+ */
+@Component
+@Slf4j
+public class TaskFeed {
+
+    private final ObjectMapper objectMapper;
+    private final TaskFeedBus bus;
+    private final GeoGrid grid;
+    private final double maxRadiusKm;
+    private final int maxSubscribers;
+    private final int queueCapacity;
+    private final long timeoutMs;
+    private final long writeTimeoutMs;
+    private final int senderThreads;
+    private final int maxStalledSenders;
+
+    // cell key -> subscriptions whose radius overlaps that cell
+    private final Map<Long, Set<TaskFeedSubscription>> cells = new ConcurrentHashMap<>();
+    private final Map<UUID, TaskFeedSubscription> subscriptions = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor senders;
+    private final AtomicInteger stalledSenders = new AtomicInteger();
+
+    private final Counter published;
+    private final Counter delivered;
+    private final Counter droppedSlow;
+    private final Counter droppedError;
+    private final Counter droppedStalled;
+
+    @Autowired
+    public TaskFeed(ObjectMapper objectMapper,
+                    TaskFeedBus bus,
+                    MeterRegistry meterRegistry,
+                    @Value("${app.task.feed.cell-size-deg:0.5}") double cellSizeDeg,
+                    @Value("${app.task.max-search-radius-km:50}") double maxRadiusKm,
+                    @Value("${app.task.feed.max-subscribers:50000}") int maxSubscribers,
+                    @Value("${app.task.feed.queue-capacity:32}") int queueCapacity,
+                    @Value("${app.task.feed.timeout-ms:1800000}") long timeoutMs,
+                    @Value("${app.task.feed.sender-threads:4}") int senderThreads,
+                    @Value("${app.task.feed.write-timeout-ms:5000}") long writeTimeoutMs,
+                    @Value("${app.task.feed.max-stalled-senders:64}") int maxStalledSenders) {
+        this.objectMapper = objectMapper;
+        this.bus = bus;
+        this.grid = new GeoGrid(cellSizeDeg);
+        this.maxRadiusKm = maxRadiusKm;
+        this.maxSubscribers = maxSubscribers;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+        this.writeTimeoutMs = writeTimeoutMs;
+        this.senderThreads = senderThreads;
+        this.maxStalledSenders = maxStalledSenders;
+
+        // Runs senderThreads at a time; the core size grows by one per stalled sender
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads + maxStalledSenders,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "task-feed-sender-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        meterRegistry.gaugeMapSize("task.feed.subscribers", List.of(), subscriptions);
+        this.published = meterRegistry.counter("task.feed.published");
+        this.delivered = meterRegistry.counter("task.feed.delivered");
+        this.droppedSlow = meterRegistry.counter("task.feed.dropped", "reason", "slow");
+        this.droppedError = meterRegistry.counter("task.feed.dropped", "reason", "error");
+        this.droppedStalled = meterRegistry.counter("task.feed.dropped", "reason", "stalled");
+        meterRegistry.gauge("task.feed.senders.stalled", stalledSenders);
+
+        bus.subscribe(this::receive);
+    }
+
+    /**
+     * Open a feed for a worker. The returned emitter stays open until the client goes
+     * away, the feed times out (app.task.feed.timeout-ms) or the subscriber falls behind.
+     *
+     * @param domains domains to hear about; empty for all
+     */
+    public SseEmitter subscribe(AuthenticatedUser user, double lat, double lng, double radiusKm, Set<TaskDomain> domains) {
+        if (user == null || !user.isWorker()) {
+            throw new TaskExceptions.UnauthorizedTaskAccessException("Only workers can subscribe to the task feed");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        subscribe(user.getUserId(), lat, lng, radiusKm, domains, emitter);
+        return emitter;
+    }
+
+    public TaskFeedSubscription subscribe(UUID workerId, double lat, double lng, double radiusKm,
+                                          Set<TaskDomain> domains, SseEmitter emitter) {
+        if (subscriptions.size() >= maxSubscribers) {
+            throw new TaskExceptions.FeedUnavailableException("Task feed is at capacity, retry later");
+        }
+
+        double radius = Math.min(radiusKm, maxRadiusKm);
+        Set<TaskDomain> wanted = domains == null || domains.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(domains));
+        TaskFeedSubscription subscription = new TaskFeedSubscription(workerId, lat, lng, radius, wanted,
+                emitter, grid.coveringCells(lat, lng, radius), queueCapacity);
+
+        subscriptions.put(subscription.getSubscriptionId(), subscription);
+        for (Long key : subscription.getCells()) {
+            cells.compute(key, (k, set) -> {
+                if (set == null) set = ConcurrentHashMap.newKeySet();
+                set.add(subscription);
+                return set;
+            });
+        }
+
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> {
+            unsubscribe(subscription);
+            emitter.complete();
+        });
+        emitter.onError(e -> unsubscribe(subscription));
+
+        // First bytes on the wire, so clients (and proxies) see the stream is open
+        offer(subscription, SseEmitter.event().comment("subscribed").build());
+        return subscription;
+    }
+
+    /**
+     * Push a task that just became OPEN to every subscriber it matches, once the current
+     * transaction commits (immediately when called outside a transaction).
+     */
+    public void publish(TaskResponse task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(task);
+                }
+            });
+        } else {
+            send(task);
+        }
+    }
+
+    /**
+     * Heartbeat comment to every subscriber: keeps idle connections open through proxies
+     * and detects clients that went away without closing.
+     */
+    @Scheduled(fixedDelayString = "${app.task.feed.heartbeat-ms:15000}")
+    public void heartbeat() {
+        if (subscriptions.isEmpty()) return;
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        subscriptions.values().forEach(s -> offer(s, ping));
+    }
+
+    /**
+     * Drop subscribers whose write has been blocked for longer than the write timeout
+     * and give the sender pool a thread in place of each stuck one.
+     */
+    @Scheduled(fixedDelayString = "${app.task.feed.write-check-ms:1000}")
+    public void abortStalledWrites() {
+        long cutoff = System.currentTimeMillis() - writeTimeoutMs;
+        for (TaskFeedSubscription s : subscriptions.values()) {
+            long started = s.getWriteStartedAt().get();
+            if (started <= 0 || started > cutoff) continue;
+            // Loses to a send that just returned, which then carries on as usual
+            if (!s.getWriteStartedAt().compareAndSet(started, TaskFeedSubscription.STALLED)) continue;
+
+            log.debug("Dropping stalled task feed subscriber {} (worker {})", s.getSubscriptionId(), s.getWorkerId());
+            droppedStalled.increment();
+            unsubscribe(s);
+            if (stalledSenders.incrementAndGet() <= maxStalledSenders) {
+                resizeSenders();
+            }
+        }
+    }
+
+    public int size() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.values().forEach(s -> {
+            unsubscribe(s);
+            complete(s, null);
+        });
+        senders.shutdownNow();
+    }
+
+    // ===== Private Helpers =====
+
+    private void send(TaskResponse task) {
+        try {
+            bus.publish(objectMapper.writeValueAsString(task));
+            published.increment();
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize task {} for the feed: {}", task.getTaskId(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Could not publish task {} to the feed: {}", task.getTaskId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Bus handler: match a task from any instance against this instance's subscriptions.
+     * Matching only touches memory and hands events to the subscribers' queues; the
+     * writes to the connections happen on the sender pool.
+     */
+    private void receive(String taskJson) {
+        if (subscriptions.isEmpty()) return;
+        fanOut(taskJson);
+    }
+
+    private void fanOut(String taskJson) {
+        TaskResponse task;
+        try {
+            task = objectMapper.readValue(taskJson, TaskResponse.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable task feed event: {}", e.getMessage());
+            return;
+        }
+        if (task.getLatitude() == null || task.getLongitude() == null) return;
+
+        Set<TaskFeedSubscription> candidates = cells.get(grid.cellKey(task.getLatitude(), task.getLongitude()));
+        if (candidates == null) return;
+
+        // Built once from the received JSON, shared by every matching subscriber
+        Set<DataWithMediaType> event = SseEmitter.event()
+                .id(String.valueOf(task.getTaskId()))
+                .name("task")
+                .data(taskJson)
+                .build();
+
+        for (TaskFeedSubscription s : candidates) {
+            if (!s.wants(task.getDomain())) continue;
+            double d = GeoGrid.haversineKm(s.getLatitude(), s.getLongitude(), task.getLatitude(), task.getLongitude());
+            if (d <= s.getRadiusKm()) {
+                offer(s, event);
+            }
+        }
+    }
+
+    private void offer(TaskFeedSubscription s, Set<DataWithMediaType> event) {
+        if (s.isClosed()) return;
+        if (!s.getPending().offer(event)) {
+            log.debug("Dropping slow task feed subscriber {} (worker {})", s.getSubscriptionId(), s.getWorkerId());
+            droppedSlow.increment();
+            close(s);
+            return;
+        }
+        if (s.getDraining().compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(s));
+            } catch (RejectedExecutionException e) {
+                s.getDraining().set(false);
+            }
+        }
+    }
+
+    private void drain(TaskFeedSubscription s) {
+        while (true) {
+            Set<DataWithMediaType> event;
+            while (!s.isClosed() && (event = s.getPending().poll()) != null) {
+                Exception error = null;
+                s.getWriteStartedAt().set(System.currentTimeMillis());
+                try {
+                    s.getEmitter().send(event);
+                } catch (Exception e) {
+                    error = e;
+                }
+                if (s.getWriteStartedAt().getAndSet(0) == TaskFeedSubscription.STALLED) {
+                    // Already dropped by abortStalledWrites; this thread was replaced meanwhile
+                    stalledSenders.decrementAndGet();
+                    resizeSenders();
+                    complete(s, error);
+                    return;
+                }
+                if (error != null) {
+                    droppedError.increment();
+                    unsubscribe(s);
+                    complete(s, error);
+                    return;
+                }
+                delivered.increment();
+            }
+            if (s.isClosed()) {
+                complete(s, null);
+                return;
+            }
+            s.getDraining().set(false);
+            // Re-check: an event offered (or a close requested) after the loop above found nothing to do
+            if ((s.getPending().isEmpty() && !s.isClosed()) || !s.getDraining().compareAndSet(false, true)) return;
+        }
+    }
+
+    /**
+     * Disconnect a subscriber. Completing the emitter waits for any send in progress, so
+     * it is left to the sender that owns the subscription rather than done by the caller.
+     */
+    private void close(TaskFeedSubscription s) {
+        unsubscribe(s);
+        if (s.getDraining().compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(s));
+            } catch (RejectedExecutionException e) {
+                complete(s, null);
+            }
+        }
+    }
+
+    private synchronized void resizeSenders() {
+        int size = senderThreads + Math.min(stalledSenders.get(), maxStalledSenders);
+        if (size != senders.getCorePoolSize()) {
+            senders.setCorePoolSize(size);
+        }
+    }
+
+    private static void complete(TaskFeedSubscription s, Exception error) {
+        try {
+            if (error != null) {
+                s.getEmitter().completeWithError(error);
+            } else {
+                s.getEmitter().complete();
+            }
+        } catch (RuntimeException ignored) {
+            // Already completed
+        }
+    }
+
+    private void unsubscribe(TaskFeedSubscription s) {
+        if (!s.getClosed().compareAndSet(false, true)) return;
+        subscriptions.remove(s.getSubscriptionId());
+        for (Long key : s.getCells()) {
+            cells.computeIfPresent(key, (k, set) -> {
+                set.remove(s);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        s.getPending().clear();
+    }
+}
@@ -0,0 +1,22 @@
+package com.helper.task.service.feed;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries "task opened" events to the {@link TaskFeed} of every task-service instance,
+ * so subscribers hear about tasks opened on any replica. A second bus on its own channel
+ * carries geo index changes the same way. See {@link com.helper.task.config.TaskFeedConfig}
+ * for how the implementation is chosen.
+ */
+public interface TaskFeedBus {
+
+    /**
+     * Send a serialized task to every instance, this one included.
+     */
+    void publish(String taskJson);
+
+    /**
+     * Register the handler events are delivered to on this instance.
+     */
+    void subscribe(Consumer<String> handler);
+}
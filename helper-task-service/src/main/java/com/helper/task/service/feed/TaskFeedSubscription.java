@@ -0,0 +1,61 @@
+package com.helper.task.service.feed;
+
+import com.helper.task.enums.TaskDomain;
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One worker's open task feed: where and what they want to hear about, the SSE
+ * connection, and a bounded queue of events not yet written to it.
+ */
+@Getter
+public class TaskFeedSubscription {
+
+    private final UUID subscriptionId = UUID.randomUUID();
+    private final UUID workerId;
+    private final double latitude;
+    private final double longitude;
+    private final double radiusKm;
+    private final Set<TaskDomain> domains; // empty = every domain
+    private final SseEmitter emitter;
+
+    // Grid cells this subscription is registered under, for removal
+    private final List<Long> cells;
+
+    private final BlockingQueue<Set<DataWithMediaType>> pending;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    // When the send in progress started (epoch ms), 0 when idle, STALLED once it ran over the write timeout
+    private final AtomicLong writeStartedAt = new AtomicLong();
+
+    static final long STALLED = -1;
+
+    TaskFeedSubscription(UUID workerId, double latitude, double longitude, double radiusKm,
+                         Set<TaskDomain> domains, SseEmitter emitter, List<Long> cells, int queueCapacity) {
+        this.workerId = workerId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.radiusKm = radiusKm;
+        this.domains = domains;
+        this.emitter = emitter;
+        this.cells = cells;
+        this.pending = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public boolean wants(TaskDomain domain) {
+        return domains.isEmpty() || domains.contains(domain);
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+}
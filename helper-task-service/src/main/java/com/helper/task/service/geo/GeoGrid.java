@@ -0,0 +1,75 @@
+package com.helper.task.service.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size lat/lng grid shared by {@link TaskGeoIndex} and the live task feed.
+ *
+ * A cell is identified by a long key packing its latitude row and longitude column.
+ * Columns wrap at the antimeridian, so a circle crossing it covers cells on both sides.
+ */
+public final class GeoGrid {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    private final double cellSizeDeg;
+    private final int lngCells;
+
+    public GeoGrid(double cellSizeDeg) {
+        this.cellSizeDeg = cellSizeDeg;
+        this.lngCells = (int) Math.ceil(360.0 / cellSizeDeg);
+    }
+
+    /**
+     * Key of the cell containing (lat, lng).
+     */
+    public long cellKey(double lat, double lng) {
+        int lngIdx = Math.floorMod((int) Math.floor((lng + 180.0) / cellSizeDeg), lngCells);
+        return cellKey(latIndex(lat), lngIdx);
+    }
+
+    /**
+     * Keys of the cells overlapping the bounding box of the circle around (lat, lng).
+     */
+    public List<Long> coveringCells(double lat, double lng, double radiusKm) {
+        double latDelta = radiusKm / KM_PER_DEGREE_LAT;
+        double cosLat = Math.cos(Math.toRadians(lat));
+        double lngDelta = cosLat < 1e-6 ? 180.0 : Math.min(180.0, radiusKm / (KM_PER_DEGREE_LAT * cosLat));
+
+        int minLatIdx = latIndex(Math.max(-90.0, lat - latDelta));
+        int maxLatIdx = latIndex(Math.min(90.0, lat + latDelta));
+        int minLngIdx = (int) Math.floor((lng - lngDelta + 180.0) / cellSizeDeg);
+        int maxLngIdx = (int) Math.floor((lng + lngDelta + 180.0) / cellSizeDeg);
+        if (maxLngIdx - minLngIdx >= lngCells) {
+            minLngIdx = 0;
+            maxLngIdx = lngCells - 1;
+        }
+
+        List<Long> keys = new ArrayList<>((maxLatIdx - minLatIdx + 1) * (maxLngIdx - minLngIdx + 1));
+        for (int latIdx = minLatIdx; latIdx <= maxLatIdx; latIdx++) {
+            for (int lngIdx = minLngIdx; lngIdx <= maxLngIdx; lngIdx++) {
+                keys.add(cellKey(latIdx, Math.floorMod(lngIdx, lngCells)));
+            }
+        }
+        return keys;
+    }
+
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                        Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private int latIndex(double lat) {
+        return (int) Math.floor((lat + 90.0) / cellSizeDeg);
+    }
+
+    private static long cellKey(int latIdx, int lngIdx) {
+        return ((long) latIdx << 32) | (lngIdx & 0xffffffffL);
+    }
+}
@@ -0,0 +1,269 @@
+package com.helper.task.service.geo;
+
+import com.helper.task.entity.Task;
+import com.helper.task.enums.TaskDomain;
+import com.helper.task.enums.TaskStatus;
+import com.helper.task.repository.TaskRepository;
+import com.helper.task.service.feed.TaskFeedBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory grid index of OPEN tasks, partitioned by {@link TaskDomain}.
+ *
+ * The globe is split into fixed-size lat/lng cells. A radius query only visits the
+ * cells overlapping the query's bounding box and runs the exact Haversine check on
+ * the tasks found there, instead of scanning the whole tasks table.
+ *
+ * The index is loaded from the DB on startup and kept in sync by {@link #sync(Task)},
+ * which TaskService/BidService call after every save that can change a task's
+ * status, domain or location. Changes are applied after the surrounding transaction
+ * commits so a rollback never leaves a phantom entry behind, and are then sent to the
+ * other replicas over the geo sync bus (Redis pub/sub with app.cache.type=redis).
+ *
+ * That bus is fire-and-forget, so a replica that was disconnected, or that received two
+ * changes to one task out of order, can be wrong about a task until the next full
+ * rebuild, which runs every app.task.geo-index.rebuild-ms. Search results are re-read
+ * from the DB, so a stale entry costs a slot on the page, never a wrong result; a task
+ * opened elsewhere is missing from this replica's searches for at most that long.
+ */
+@Component
+@Slf4j
+public class TaskGeoIndex {
+
+    private final TaskRepository taskRepository;
+    private final TaskFeedBus syncBus;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final GeoGrid grid;
+
+    // domain -> cell key -> tasks in that cell; both maps are replaced as a pair by a rebuild
+    private volatile Map<TaskDomain, Map<Long, Map<UUID, TaskGeoPoint>>> cells = emptyCells();
+    private volatile Map<UUID, TaskGeoPoint> byId = new ConcurrentHashMap<>();
+    // Changes applied while a rebuild was loading (null value = removed); replayed onto the new snapshot
+    private Map<UUID, TaskGeoPoint> changedDuringRebuild;
+
+    private final Counter queries;
+    private final Counter candidates;
+    private final Counter hits;
+
+    private volatile boolean ready = false;
+
+    public TaskGeoIndex(TaskRepository taskRepository,
+                        @Qualifier("taskGeoSyncBus") TaskFeedBus syncBus,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.task.geo-index.cell-size-deg:0.1}") double cellSizeDeg) {
+        this.taskRepository = taskRepository;
+        this.syncBus = syncBus;
+        this.grid = new GeoGrid(cellSizeDeg);
+
+        syncBus.subscribe(this::onRemoteChange);
+
+        meterRegistry.gauge("task.geo.index.size", this, TaskGeoIndex::size);
+        meterRegistry.gauge("task.geo.index.cells", this, TaskGeoIndex::cellCount);
+        this.queries = meterRegistry.counter("task.geo.index.queries");
+        this.candidates = meterRegistry.counter("task.geo.index.candidates");
+        this.hits = meterRegistry.counter("task.geo.index.hits");
+    }
+
+    /**
+     * Load all OPEN tasks from the DB into a new snapshot and swap it in. Runs once the
+     * application (and any dev data initializer) is up, searches falling back to the
+     * repository until then, and again every app.task.geo-index.rebuild-ms to repair
+     * whatever the sync bus missed. Searches keep using the old snapshot while it loads.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.task.geo-index.rebuild-ms:300000}",
+            fixedDelayString = "${app.task.geo-index.rebuild-ms:300000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Map<UUID, TaskGeoPoint> changed = new HashMap<>();
+        synchronized (this) {
+            changedDuringRebuild = changed;
+        }
+
+        Map<TaskDomain, Map<Long, Map<UUID, TaskGeoPoint>>> newCells = emptyCells();
+        Map<UUID, TaskGeoPoint> newById = new ConcurrentHashMap<>();
+        try {
+            taskRepository.findGeoPointsByStatus(TaskStatus.OPEN).forEach(p -> put(newCells, newById, p));
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        // Replay, swap and stop recording under one lock: a change applied in between would
+        // land in the old grid and be lost with it
+        synchronized (this) {
+            changed.forEach((taskId, point) -> {
+                remove(newCells, newById, taskId);
+                if (point != null) put(newCells, newById, point);
+            });
+            cells = newCells;
+            byId = newById;
+            changedDuringRebuild = null;
+        }
+        ready = true;
+        log.info("Task geo index rebuilt: {} open tasks in {} cells ({} ms)",
+                newById.size(), cellCount(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Reflect the current state of a task in the index: OPEN tasks are (re)inserted
+     * at their current location, any other status removes the task.
+     */
+    public void sync(Task task) {
+        UUID taskId = task.getTaskId();
+        TaskGeoPoint point = task.getStatus() == TaskStatus.OPEN
+                ? new TaskGeoPoint(taskId, task.getDomain(), task.getLatitude(), task.getLongitude())
+                : null;
+
+        Runnable apply = () -> {
+            apply(taskId, point);
+            syncBus.publish(encode(taskId, point));
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /**
+     * Find OPEN tasks within radiusKm of the given point, nearest first.
+     *
+     * @param domain optional domain filter; null searches every domain
+     */
+    public List<Match> findWithinRadius(double lat, double lng, double radiusKm, TaskDomain domain) {
+        queries.increment();
+
+        List<Long> keys = grid.coveringCells(lat, lng, radiusKm);
+        Map<TaskDomain, Map<Long, Map<UUID, TaskGeoPoint>>> snapshot = cells;
+        Collection<Map<Long, Map<UUID, TaskGeoPoint>>> domains = domain != null
+                ? List.of(snapshot.get(domain))
+                : snapshot.values();
+
+        List<Match> matches = new ArrayList<>();
+        long scanned = 0;
+        for (Map<Long, Map<UUID, TaskGeoPoint>> domainCells : domains) {
+            if (domainCells.isEmpty()) continue;
+            for (Long key : keys) {
+                Map<UUID, TaskGeoPoint> cell = domainCells.get(key);
+                if (cell == null) continue;
+                for (TaskGeoPoint p : cell.values()) {
+                    scanned++;
+                    double d = GeoGrid.haversineKm(lat, lng, p.getLatitude(), p.getLongitude());
+                    if (d <= radiusKm) {
+                        matches.add(new Match(p.getTaskId(), d));
+                    }
+                }
+            }
+        }
+
+        candidates.increment(scanned);
+        hits.increment(matches.size());
+        matches.sort(Comparator.comparingDouble(Match::getDistanceKm).thenComparing(Match::getTaskId));
+        return matches;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    // ===== Private Helpers =====
+
+    private synchronized void apply(UUID taskId, TaskGeoPoint point) {
+        remove(cells, byId, taskId);
+        if (point != null) put(cells, byId, point);
+        if (changedDuringRebuild != null) changedDuringRebuild.put(taskId, point);
+    }
+
+    // "instanceId|taskId" for a removal, "instanceId|taskId|domain|lat|lng" for an OPEN task
+    private String encode(UUID taskId, TaskGeoPoint point) {
+        if (point == null) return instanceId + "|" + taskId;
+        return instanceId + "|" + taskId + "|" + point.getDomain() + "|" + point.getLatitude() + "|" + point.getLongitude();
+    }
+
+    /**
+     * A change made on another replica. This instance's own changes come back too and are
+     * skipped: they were applied at commit, and replaying them late could undo a newer one.
+     */
+    private void onRemoteChange(String message) {
+        String[] parts = message.split("\\|");
+        if (parts[0].equals(instanceId)) return;
+        try {
+            UUID taskId = UUID.fromString(parts[1]);
+            TaskGeoPoint point = parts.length == 5
+                    ? new TaskGeoPoint(taskId, TaskDomain.valueOf(parts[2]),
+                            Double.parseDouble(parts[3]), Double.parseDouble(parts[4]))
+                    : null;
+            apply(taskId, point);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed geo index change '{}': {}", message, e.getMessage());
+        }
+    }
+
+    private static Map<TaskDomain, Map<Long, Map<UUID, TaskGeoPoint>>> emptyCells() {
+        Map<TaskDomain, Map<Long, Map<UUID, TaskGeoPoint>>> empty = new EnumMap<>(TaskDomain.class);
+        for (TaskDomain domain : TaskDomain.values()) {
+            empty.put(domain, new ConcurrentHashMap<>());
+        }
+        return empty;
+    }
+
+    private void put(Map<TaskDomain, Map<Long, Map<UUID, TaskGeoPoint>>> target, Map<UUID, TaskGeoPoint> ids,
+                     TaskGeoPoint point) {
+        ids.put(point.getTaskId(), point);
+        target.get(point.getDomain())
+                .computeIfAbsent(grid.cellKey(point.getLatitude(), point.getLongitude()), k -> new ConcurrentHashMap<>())
+                .put(point.getTaskId(), point);
+    }
+
+    private void remove(Map<TaskDomain, Map<Long, Map<UUID, TaskGeoPoint>>> target, Map<UUID, TaskGeoPoint> ids,
+                        UUID taskId) {
+        TaskGeoPoint old = ids.remove(taskId);
+        if (old == null) return;
+        Map<Long, Map<UUID, TaskGeoPoint>> domainCells = target.get(old.getDomain());
+        long key = grid.cellKey(old.getLatitude(), old.getLongitude());
+        Map<UUID, TaskGeoPoint> cell = domainCells.get(key);
+        if (cell != null) {
+            cell.remove(taskId);
+            if (cell.isEmpty()) domainCells.remove(key);
+        }
+    }
+
+    private int cellCount() {
+        return cells.values().stream().mapToInt(Map::size).sum();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Match {
+        private UUID taskId;
+        private double distanceKm;
+    }
+}
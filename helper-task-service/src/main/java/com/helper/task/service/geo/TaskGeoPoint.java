@@ -0,0 +1,21 @@
+package com.helper.task.service.geo;
+
+import com.helper.task.enums.TaskDomain;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Minimal location snapshot of an OPEN task, as held by {@link TaskGeoIndex}.
+ * Also used as a JPQL constructor projection when rebuilding the index.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskGeoPoint {
+
+    private UUID taskId;
+    private TaskDomain domain;
+    private double latitude;
+    private double longitude;
+}
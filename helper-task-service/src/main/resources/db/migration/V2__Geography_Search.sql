@@ -0,0 +1,38 @@
+-- ============================================
+-- V2__Geography_Search.sql
+-- PostGIS geo-search path for tasks (ST_DWithin + KNN)
+-- ============================================
+
+-- Schemas created by Hibernate (ddl-auto=update) do not have the spatial column yet
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS geo_location GEOGRAPHY(POINT, 4326);
+
+-- Keep geo_location in sync with lat/lng on every write
+CREATE OR REPLACE FUNCTION update_geo_location()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.geo_location = ST_SetSRID(ST_MakePoint(NEW.longitude, NEW.latitude), 4326)::geography;
+    NEW.updated_at = NOW();
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+DROP TRIGGER IF EXISTS trigger_update_geo_location ON tasks;
+CREATE TRIGGER trigger_update_geo_location
+    BEFORE INSERT OR UPDATE OF latitude, longitude ON tasks
+    FOR EACH ROW
+    EXECUTE FUNCTION update_geo_location();
+
+-- Backfill rows written before the trigger existed
+UPDATE tasks
+SET geo_location = ST_SetSRID(ST_MakePoint(longitude, latitude), 4326)::geography
+WHERE geo_location IS NULL;
+
+-- ===== INDEXES =====
+
+-- GiST index for ST_DWithin and <-> (KNN) ordering
+CREATE INDEX IF NOT EXISTS idx_task_geo ON tasks USING GIST (geo_location);
+
+-- Most searches target OPEN tasks; a partial index keeps that scan small
+CREATE INDEX IF NOT EXISTS idx_task_geo_open ON tasks USING GIST (geo_location) WHERE status = 'OPEN';
+
+ANALYZE tasks;
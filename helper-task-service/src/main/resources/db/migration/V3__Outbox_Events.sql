@@ -0,0 +1,20 @@
+-- ============================================
+-- V3__Outbox_Events.sql
+-- Transactional outbox for lifecycle events (relayed to the event broker)
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id              BIGSERIAL PRIMARY KEY,
+    event_id        UUID NOT NULL UNIQUE,
+    event_type      VARCHAR(64) NOT NULL,
+    aggregate_key   VARCHAR(64),
+    payload         TEXT NOT NULL,
+    created_at      TIMESTAMP NOT NULL DEFAULT NOW(),
+    published_at    TIMESTAMP
+);
+
+-- Relay polling: only the unpublished tail is scanned
+CREATE INDEX IF NOT EXISTS idx_outbox_unpublished ON outbox_events(id) WHERE published_at IS NULL;
+
+-- Retention purge of published rows
+CREATE INDEX IF NOT EXISTS idx_outbox_published ON outbox_events(published_at);
@@ -0,0 +1,58 @@
+package com.helper.task;
+
+import com.helper.task.service.geo.GeoGrid;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoGridTest {
+
+    private final GeoGrid grid = new GeoGrid(0.5);
+
+    @Test
+    @DisplayName("Points in one cell share a key; neighbouring cells differ")
+    void testCellKey() {
+        assertEquals(grid.cellKey(19.01, 72.51), grid.cellKey(19.49, 72.99));
+        assertNotEquals(grid.cellKey(19.01, 72.51), grid.cellKey(19.51, 72.51));
+        assertNotEquals(grid.cellKey(19.01, 72.51), grid.cellKey(19.01, 73.01));
+    }
+
+    @Test
+    @DisplayName("Covering cells include the centre's cell and every cell a point within the radius falls in")
+    void testCoveringCells() {
+        List<Long> keys = grid.coveringCells(19.0760, 72.8777, 60);
+
+        assertTrue(keys.contains(grid.cellKey(19.0760, 72.8777)));
+        assertTrue(keys.contains(grid.cellKey(19.0760 + 0.5, 72.8777)));   // ~56 km north
+        assertTrue(keys.contains(grid.cellKey(19.0760, 72.8777 - 0.55)));  // ~58 km west
+        assertFalse(keys.contains(grid.cellKey(19.0760 + 1.5, 72.8777)));
+    }
+
+    @Test
+    @DisplayName("Columns wrap at the antimeridian")
+    void testAntimeridian() {
+        assertTrue(grid.coveringCells(0.0, -179.99, 5).contains(grid.cellKey(0.0, 179.99)));
+        assertEquals(grid.cellKey(0.0, 180.0), grid.cellKey(0.0, -180.0));
+    }
+
+    @Test
+    @DisplayName("A radius wider than the globe covers each column once")
+    void testWholeBand() {
+        List<Long> keys = grid.coveringCells(89.9, 0.0, 20);
+
+        assertEquals(keys.size(), keys.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Haversine distance matches known values")
+    void testHaversine() {
+        assertEquals(0.0, GeoGrid.haversineKm(19.0760, 72.8777, 19.0760, 72.8777), 1e-9);
+        // Mumbai to Pune, ~120 km
+        assertEquals(120, GeoGrid.haversineKm(19.0760, 72.8777, 18.5204, 73.8567), 5);
+        // One degree of latitude
+        assertEquals(111.19, GeoGrid.haversineKm(0, 0, 1, 0), 0.01);
+    }
+}
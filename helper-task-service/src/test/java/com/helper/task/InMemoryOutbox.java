@@ -0,0 +1,68 @@
+package com.helper.task;
+
+import com.helper.task.entity.OutboxEvent;
+import com.helper.task.repository.OutboxEventRepository;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Outbox table kept in a list, with a mocked OutboxEventRepository reading and marking its
+ * rows the way the relay's queries do. Shared by OutboxRelayTest and OutboxRelayBenchmark.
+ */
+class InMemoryOutbox {
+
+    private final List<OutboxEvent> rows = new ArrayList<>();
+
+    List<OutboxEvent> rows() {
+        return rows;
+    }
+
+    void append(int count) {
+        for (int i = 0; i < count; i++) {
+            rows.add(OutboxEvent.builder()
+                    .id((long) rows.size() + 1)
+                    .eventId(UUID.randomUUID())
+                    .eventType("TASK_OPENED")
+                    .aggregateKey("task-" + i)
+                    .payload("{\"n\":" + rows.size() + "}")
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    long unpublished() {
+        return rows.stream().filter(r -> r.getPublishedAt() == null).count();
+    }
+
+    OutboxEventRepository repository() {
+        OutboxEventRepository repository = mock(OutboxEventRepository.class);
+        when(repository.findUnpublished(any(Pageable.class))).thenAnswer(inv -> {
+            int limit = inv.<Pageable>getArgument(0).getPageSize();
+            List<OutboxEvent> page = new ArrayList<>();
+            for (OutboxEvent row : rows) {
+                if (row.getPublishedAt() == null) page.add(row);
+                if (page.size() == limit) break;
+            }
+            return page;
+        });
+        when(repository.markPublished(anyCollection(), any(LocalDateTime.class))).thenAnswer(inv -> {
+            Set<Long> ids = new HashSet<>(inv.<Collection<Long>>getArgument(0));
+            int marked = 0;
+            for (OutboxEvent row : rows) {
+                if (ids.contains(row.getId())) {
+                    row.setPublishedAt(inv.getArgument(1));
+                    marked++;
+                }
+            }
+            return marked;
+        });
+        return repository;
+    }
+}
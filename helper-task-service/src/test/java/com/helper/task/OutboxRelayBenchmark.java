@@ -0,0 +1,56 @@
+package com.helper.task;
+
+import com.helper.task.events.InProcessEventBroker;
+import com.helper.task.events.OutboxRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark: drain a 200k event outbox backlog through OutboxRelay into one in-process
+ * consumer group, in batches of 500, and check every event arrived once and in order.
+ * Not run by the build; start it from the IDE or with
+ *   java -cp target/test-classes:target/classes:<deps> com.helper.task.OutboxRelayBenchmark [events]
+ */
+public class OutboxRelayBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    public static void main(String[] args) throws InterruptedException {
+        int total = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        InMemoryOutbox outbox = new InMemoryOutbox();
+        outbox.append(total);
+        InProcessEventBroker broker = new InProcessEventBroker(3, 1);
+        CountDownLatch done = new CountDownLatch(total);
+        List<UUID> received = new ArrayList<>(total);
+        broker.subscribe("helper-notification-service", event -> {
+            received.add(event.getEventId());
+            done.countDown();
+        });
+        // Uncapped: one poll drains the whole backlog
+        OutboxRelay relay = new OutboxRelay(outbox.repository(), broker, TransactionOperations.withoutTransaction(),
+                new SimpleMeterRegistry(), "helper-task-service", BATCH_SIZE, Integer.MAX_VALUE, 24);
+
+        long start = System.nanoTime();
+        relay.relay();
+        if (!done.await(60, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("only " + (total - done.getCount()) + " of " + total + " delivered");
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        broker.shutdown();
+
+        boolean inOrder = true;
+        for (int i = 0; i < total && inOrder; i++) {
+            inOrder = outbox.rows().get(i).getEventId().equals(received.get(i));
+        }
+        System.out.printf("Relayed %,d events in %.2f s (%,.0f events/s)%n", total, seconds, total / seconds);
+        System.out.printf("unpublished %d, duplicates %d, in order %b%n", outbox.unpublished(),
+                received.size() - new HashSet<>(received).size(), inOrder);
+    }
+}
@@ -0,0 +1,158 @@
+package com.helper.task;
+
+import com.helper.task.entity.OutboxEvent;
+import com.helper.task.events.EventBroker;
+import com.helper.task.events.EventEnvelope;
+import com.helper.task.events.EventHandler;
+import com.helper.task.events.InProcessEventBroker;
+import com.helper.task.events.OutboxRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests OutboxRelay over an in-memory outbox table: order, retry after a broker failure,
+ * and delivery of a multi-batch backlog through the in-process broker. Throughput on a
+ * 200k backlog is measured by OutboxRelayBenchmark.
+ */
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_BATCHES = 20;
+
+    private InMemoryOutbox outbox;
+    private List<OutboxEvent> table;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new InMemoryOutbox();
+        table = outbox.rows();
+        registry = new SimpleMeterRegistry();
+    }
+
+    private OutboxRelay relay(EventBroker broker) {
+        return new OutboxRelay(outbox.repository(), broker, TransactionOperations.withoutTransaction(), registry,
+                "helper-task-service", BATCH_SIZE, MAX_BATCHES, 24);
+    }
+
+    @Test
+    @DisplayName("Relays the outbox in id order and marks every row published")
+    void relaysInOrder() {
+        outbox.append(1_234);
+        List<EventEnvelope> received = new ArrayList<>();
+        List<Integer> batchSizes = new ArrayList<>();
+        OutboxRelay relay = relay(new EventBroker() {
+            @Override
+            public void publish(List<EventEnvelope> events) {
+                batchSizes.add(events.size());
+                received.addAll(events);
+            }
+
+            @Override
+            public void subscribe(String consumerGroup, EventHandler handler) {
+            }
+        });
+
+        relay.relay();
+
+        assertEquals(List.of(500, 500, 234), batchSizes);
+        assertEquals(1_234, received.size());
+        for (int i = 0; i < table.size(); i++) {
+            assertEquals(table.get(i).getEventId(), received.get(i).getEventId());
+        }
+        assertEquals("helper-task-service", received.get(0).getSource());
+        assertEquals(0, outbox.unpublished());
+        assertEquals(1_234.0, registry.counter("events.outbox.relayed").count());
+
+        relay.relay();
+        assertEquals(1_234, received.size(), "published rows are not relayed again");
+    }
+
+    @Test
+    @DisplayName("A broker failure leaves the batch unpublished and it is relayed on the next poll")
+    void brokerFailureRetriesBatch() {
+        outbox.append(10);
+        AtomicInteger calls = new AtomicInteger();
+        List<EventEnvelope> received = new ArrayList<>();
+        OutboxRelay relay = relay(new EventBroker() {
+            @Override
+            public void publish(List<EventEnvelope> events) {
+                if (calls.incrementAndGet() == 1) throw new IllegalStateException("broker down");
+                received.addAll(events);
+            }
+
+            @Override
+            public void subscribe(String consumerGroup, EventHandler handler) {
+            }
+        });
+
+        relay.relay();
+        assertEquals(10, outbox.unpublished());
+        assertEquals(1.0, registry.counter("events.outbox.relay.failures").count());
+
+        relay.relay();
+        assertEquals(0, outbox.unpublished());
+        assertEquals(10, received.size());
+        assertEquals(table.get(0).getEventId(), received.get(0).getEventId());
+    }
+
+    @Test
+    @DisplayName("Delivers a multi-batch backlog once each, in order, to an in-process consumer group")
+    void drainsBacklog() throws InterruptedException {
+        int total = 2_345;
+        outbox.append(total);
+        InProcessEventBroker broker = new InProcessEventBroker(3, 1);
+        CountDownLatch done = new CountDownLatch(total);
+        List<UUID> received = Collections.synchronizedList(new ArrayList<>());
+        broker.subscribe("helper-notification-service", event -> {
+            received.add(event.getEventId());
+            done.countDown();
+        });
+
+        relay(broker).relay();
+        assertTrue(done.await(10, TimeUnit.SECONDS), "all events delivered");
+        broker.shutdown();
+
+        assertEquals(0, outbox.unpublished());
+        assertEquals(total, received.size());
+        assertEquals(total, new HashSet<>(received).size(), "no duplicates");
+        for (int i = 0; i < total; i++) {
+            assertEquals(table.get(i).getEventId(), received.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("One poll relays at most max-batches-per-poll batches; the next poll continues")
+    void pollIsCapped() {
+        outbox.append(BATCH_SIZE * MAX_BATCHES + 1);
+        AtomicInteger batches = new AtomicInteger();
+        OutboxRelay relay = relay(new EventBroker() {
+            @Override
+            public void publish(List<EventEnvelope> events) {
+                batches.incrementAndGet();
+            }
+
+            @Override
+            public void subscribe(String consumerGroup, EventHandler handler) {
+            }
+        });
+
+        relay.relay();
+        assertEquals(MAX_BATCHES, batches.get());
+        assertEquals(1, outbox.unpublished());
+
+        relay.relay();
+        assertEquals(MAX_BATCHES + 1, batches.get());
+        assertEquals(0, outbox.unpublished());
+    }
+}
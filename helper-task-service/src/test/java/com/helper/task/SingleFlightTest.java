@@ -0,0 +1,188 @@
+package com.helper.task;
+
+import com.helper.task.cache.SingleFlight;
+import com.helper.task.exception.TaskExceptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests SingleFlight: one load per key at a time, results and exceptions shared with the
+ * waiters, and forget() detaching a running load.
+ */
+class SingleFlightTest {
+
+    private SingleFlight flight;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        flight = new SingleFlight();
+        loads = new AtomicInteger();
+    }
+
+    /**
+     * Loader that blocks until released, so callers pile up behind it.
+     */
+    private Supplier<String> blockingLoader(CountDownLatch started, CountDownLatch release, Supplier<String> result) {
+        return () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result.get();
+        };
+    }
+
+    /**
+     * Records the hooks run for one call.
+     */
+    private static class RecordingHooks implements SingleFlight.Hooks<String> {
+        private final List<String> calls = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void joined() {
+            calls.add("joined");
+        }
+
+        @Override
+        public void leading() {
+            calls.add("leading");
+        }
+
+        @Override
+        public void loaded(String value) {
+            calls.add("loaded:" + value);
+        }
+
+        @Override
+        public void stale(String value) {
+            calls.add("stale:" + value);
+        }
+    }
+
+    private static void awaitJoined(List<RecordingHooks> hooks) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (hooks.stream().anyMatch(h -> h.calls.isEmpty())) {
+            if (System.currentTimeMillis() > deadline) fail("Callers did not join within 5s");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Callers arriving during a load wait for it and get its value")
+    void testCoalescing() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            RecordingHooks leaderHooks = new RecordingHooks();
+            Future<String> leader = pool.submit(() ->
+                    flight.load("tasks:1", blockingLoader(started, release, () -> "v1"), leaderHooks));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            List<RecordingHooks> followerHooks = new ArrayList<>();
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                RecordingHooks hooks = new RecordingHooks();
+                followerHooks.add(hooks);
+                followers.add(pool.submit(() -> flight.load("tasks:1", () -> "not run", hooks)));
+            }
+            awaitJoined(followerHooks);
+            release.countDown();
+
+            assertEquals("v1", leader.get(5, TimeUnit.SECONDS));
+            for (Future<String> follower : followers) {
+                assertEquals("v1", follower.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(List.of("leading", "loaded:v1"), leaderHooks.calls);
+            followerHooks.forEach(h -> assertEquals(List.of("joined"), h.calls));
+            assertEquals(0, flight.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Nothing is remembered after a load; other keys load independently")
+    void testNoMemory() {
+        assertEquals("a1", flight.load("tasks:a", () -> "a" + loads.incrementAndGet()));
+        assertEquals("a2", flight.load("tasks:a", () -> "a" + loads.incrementAndGet()));
+        assertEquals("b3", flight.load("tasks:b", () -> "b" + loads.incrementAndGet()));
+        assertEquals(0, flight.size());
+    }
+
+    @Test
+    @DisplayName("A failed load reaches every waiter and the next caller loads again")
+    void testFailureShared() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = pool.submit(() -> flight.load("tasks:1", blockingLoader(started, release, () -> {
+                throw new TaskExceptions.TaskNotFoundException("Task not found: 1");
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            RecordingHooks hooks = new RecordingHooks();
+            Future<String> follower = pool.submit(() -> flight.load("tasks:1", () -> "not run", hooks));
+            awaitJoined(List.of(hooks));
+            release.countDown();
+
+            ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+            ExecutionException followerError = assertThrows(ExecutionException.class,
+                    () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(TaskExceptions.TaskNotFoundException.class, leaderError.getCause());
+            assertSame(leaderError.getCause(), followerError.getCause());
+
+            assertEquals("v2", flight.load("tasks:1", () -> "v" + loads.incrementAndGet()));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Forgetting a key mid-load marks the value stale and lets the next caller load afresh")
+    void testForgetDuringLoad() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            RecordingHooks hooks = new RecordingHooks();
+            Future<String> old = pool.submit(() ->
+                    flight.load("tasks:1", blockingLoader(started, release, () -> "old"), hooks));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            flight.forget("tasks:1");
+            RecordingHooks fresh = new RecordingHooks();
+            assertEquals("new", flight.load("tasks:1", () -> "new", fresh));
+            release.countDown();
+
+            assertEquals("old", old.get(5, TimeUnit.SECONDS));
+            assertEquals(List.of("leading", "loaded:old", "stale:old"), hooks.calls);
+            assertEquals(List.of("leading", "loaded:new"), fresh.calls);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Null results are returned without the loaded hook")
+    void testNullValue() {
+        RecordingHooks hooks = new RecordingHooks();
+        assertNull(flight.load("tasks:1", () -> null, hooks));
+        assertEquals(List.of("leading"), hooks.calls);
+        assertEquals(0, flight.size());
+    }
+}
@@ -0,0 +1,222 @@
+package com.helper.task;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.helper.task.cache.LocalTaskCacheStore;
+import com.helper.task.cache.TaskCache;
+import com.helper.task.cache.TaskCache.Region;
+import com.helper.task.dto.response.TaskResponse;
+import com.helper.task.exception.TaskExceptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests TaskCache (single flight, eviction, metrics) over the in-memory store.
+ */
+class TaskCacheTest {
+
+    private static final UUID TASK_ID = UUID.randomUUID();
+    private static final TypeReference<TaskResponse> TASK_TYPE = new TypeReference<>() {};
+    private static final TypeReference<String> ETAG_TYPE = new TypeReference<>() {};
+
+    private SimpleMeterRegistry registry;
+    private LocalTaskCacheStore store;
+    private TaskCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        store = new LocalTaskCacheStore(100);
+        cache = newCache(true, 60_000);
+        loads = new AtomicInteger();
+    }
+
+    private TaskCache newCache(boolean enabled, long ttlMs) {
+        return new TaskCache(store, registry, enabled, Map.of(
+                Region.TASKS, ttlMs, Region.TASK_ETAGS, ttlMs, Region.BIDS, ttlMs));
+    }
+
+    private TaskResponse getTask(TaskCache taskCache, String title) {
+        return taskCache.get(Region.TASKS, TASK_ID, TASK_TYPE, loader(title));
+    }
+
+    private Supplier<TaskResponse> loader(String title) {
+        return () -> {
+            loads.incrementAndGet();
+            return TaskResponse.builder().taskId(TASK_ID).title(title).build();
+        };
+    }
+
+    /**
+     * Loader that blocks until released, so callers pile up behind it.
+     */
+    private Supplier<TaskResponse> blockingLoader(CountDownLatch started, CountDownLatch release) {
+        return () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return TaskResponse.builder().taskId(TASK_ID).title("loaded").build();
+        };
+    }
+
+    private double requests(String result) {
+        return registry.counter("task.cache.requests", "cache", "tasks", "result", result).count();
+    }
+
+    @Test
+    @DisplayName("Concurrent misses on one task share a single load")
+    void testCoalescing() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            Future<TaskResponse> first = pool.submit(() ->
+                    cache.get(Region.TASKS, TASK_ID, TASK_TYPE, blockingLoader(started, release)));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            List<Future<TaskResponse>> waiters = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                waiters.add(pool.submit(() -> getTask(cache, "other")));
+            }
+            // Followers that arrived while the load was running wait for it instead of loading
+            while (requests("coalesced") < 15) Thread.sleep(1);
+            release.countDown();
+
+            TaskResponse loaded = first.get(5, TimeUnit.SECONDS);
+            for (Future<TaskResponse> waiter : waiters) {
+                assertSame(loaded, waiter.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(1.0, requests("miss"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Values are served from the cache until the task is evicted")
+    void testCacheAndEvict() {
+        assertEquals("v1", getTask(cache, "v1").getTitle());
+        assertEquals("v1", getTask(cache, "v2").getTitle());
+        assertEquals(1, loads.get());
+
+        cache.evictTask(TASK_ID);
+        assertEquals("v2", getTask(cache, "v2").getTitle());
+        assertEquals(2, loads.get());
+        assertEquals(1.0, registry.counter("task.cache.evictions", "cache", "tasks").count());
+    }
+
+    @Test
+    @DisplayName("A load that overlaps an eviction is returned but not cached")
+    void testEvictDuringLoad() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<TaskResponse> stale = pool.submit(() ->
+                    cache.get(Region.TASKS, TASK_ID, TASK_TYPE, blockingLoader(started, release)));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            cache.evictTask(TASK_ID);
+            release.countDown();
+
+            assertEquals("loaded", stale.get(5, TimeUnit.SECONDS).getTitle());
+            assertEquals("fresh", getTask(cache, "fresh").getTitle());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Expired entries are reloaded")
+    void testTtl() {
+        TaskCache noTtl = newCache(true, 0);
+        getTask(noTtl, "v1");
+        assertEquals("v2", getTask(noTtl, "v2").getTitle());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Failures reach the caller and are not cached")
+    void testFailuresNotCached() {
+        Supplier<TaskResponse> notFound = () -> {
+            loads.incrementAndGet();
+            throw new TaskExceptions.TaskNotFoundException("Task not found: " + TASK_ID);
+        };
+
+        assertThrows(TaskExceptions.TaskNotFoundException.class,
+                () -> cache.get(Region.TASKS, TASK_ID, TASK_TYPE, notFound));
+        assertThrows(TaskExceptions.TaskNotFoundException.class,
+                () -> cache.get(Region.TASKS, TASK_ID, TASK_TYPE, notFound));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Evicting a task clears its details, ETag and bid list")
+    void testEvictTaskScope() {
+        AtomicInteger etagLoads = new AtomicInteger();
+        Supplier<String> etag = () -> "W/\"" + etagLoads.incrementAndGet() + "\"";
+        UUID otherTask = UUID.randomUUID();
+
+        assertEquals("W/\"1\"", cache.get(Region.TASK_ETAGS, TASK_ID, ETAG_TYPE, etag));
+        assertEquals("W/\"1\"", cache.get(Region.TASK_ETAGS, TASK_ID, ETAG_TYPE, etag));
+        assertEquals("W/\"2\"", cache.get(Region.TASK_ETAGS, otherTask, ETAG_TYPE, etag));
+        cache.get(Region.BIDS, TASK_ID, ETAG_TYPE, () -> "bids-1");
+
+        cache.evictTask(TASK_ID);
+        assertEquals("W/\"3\"", cache.get(Region.TASK_ETAGS, TASK_ID, ETAG_TYPE, etag));
+        assertEquals("W/\"2\"", cache.get(Region.TASK_ETAGS, otherTask, ETAG_TYPE, etag));
+        assertEquals("bids-2", cache.get(Region.BIDS, TASK_ID, ETAG_TYPE, () -> "bids-2"));
+    }
+
+    @Test
+    @DisplayName("Hit ratio counts hits against loads")
+    void testHitRatio() {
+        getTask(cache, "v1");
+        getTask(cache, "v1");
+        getTask(cache, "v1");
+        getTask(cache, "v1");
+
+        assertEquals(0.75, registry.get("task.cache.hit.ratio").tag("cache", "tasks").gauge().value(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Local store keeps at most maxEntries per cache, dropping the least recently used")
+    void testLocalStoreLru() {
+        LocalTaskCacheStore small = new LocalTaskCacheStore(2);
+        small.put("tasks", "a", "A", 60_000);
+        small.put("tasks", "b", "B", 60_000);
+        small.get("tasks", "a", ETAG_TYPE);
+        small.put("tasks", "c", "C", 60_000);
+        small.put("task-bids", "a", "bids", 60_000);
+
+        assertEquals("A", small.get("tasks", "a", ETAG_TYPE));
+        assertNull(small.get("tasks", "b", ETAG_TYPE));
+        assertEquals("C", small.get("tasks", "c", ETAG_TYPE));
+        assertEquals("bids", small.get("task-bids", "a", ETAG_TYPE));
+    }
+
+    @Test
+    @DisplayName("Disabled cache calls the loader every time")
+    void testDisabled() {
+        TaskCache disabled = newCache(false, 60_000);
+        getTask(disabled, "v1");
+        getTask(disabled, "v1");
+        assertEquals(2, loads.get());
+    }
+}
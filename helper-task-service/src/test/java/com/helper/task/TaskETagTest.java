@@ -0,0 +1,141 @@
+package com.helper.task;
+
+import com.helper.task.cache.LocalTaskCacheStore;
+import com.helper.task.cache.TaskCache;
+import com.helper.task.cache.TaskCache.Region;
+import com.helper.task.controller.TaskController;
+import com.helper.task.entity.Task;
+import com.helper.task.enums.PricingModel;
+import com.helper.task.enums.TaskDomain;
+import com.helper.task.enums.TaskStatus;
+import com.helper.task.repository.BidRepository;
+import com.helper.task.repository.TaskRepository;
+import com.helper.task.repository.VersionStamp;
+import com.helper.task.security.AuthenticatedUser;
+import com.helper.task.service.TaskEvents;
+import com.helper.task.service.TaskService;
+import com.helper.task.service.feed.TaskFeed;
+import com.helper.task.service.geo.TaskGeoIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the conditional GETs on TaskController: a matching If-None-Match is answered with
+ * 304 from the version stamps alone, and a write moves the stamps and so the ETag.
+ */
+class TaskETagTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 6, 1, 10, 0);
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final BidRepository bidRepository = mock(BidRepository.class);
+    private final AuthenticatedUser customer = new AuthenticatedUser(UUID.randomUUID(), "customer@helper.app", "CUSTOMER");
+    private TaskController controller;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // Disabled cache: every ETag is computed from the repositories
+        TaskCache cache = new TaskCache(new LocalTaskCacheStore(100), registry, false,
+                Map.of(Region.TASKS, 60_000L, Region.TASK_ETAGS, 60_000L, Region.BIDS, 60_000L));
+        TaskService service = new TaskService(taskRepository, bidRepository, mock(TaskGeoIndex.class), cache,
+                mock(TaskFeed.class), mock(TaskEvents.class), registry);
+        controller = new TaskController(service, mock(TaskFeed.class));
+
+        when(taskRepository.findByCustomerId(any(), any())).thenReturn(new PageImpl<>(List.<Task>of()));
+        when(bidRepository.findVersionByTaskCustomerId(customer.getUserId())).thenReturn(stamp(0, null));
+    }
+
+    private static VersionStamp stamp(long count, LocalDateTime lastModified) {
+        return new VersionStamp() {
+            @Override
+            public long getCount() {
+                return count;
+            }
+
+            @Override
+            public LocalDateTime getLastModified() {
+                return lastModified;
+            }
+        };
+    }
+
+    private static ServletWebRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        if (ifNoneMatch != null) request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private static MockHttpServletResponse response(ServletWebRequest webRequest) {
+        return (MockHttpServletResponse) webRequest.getResponse();
+    }
+
+    @Test
+    @DisplayName("Task detail: matching If-None-Match gives 304 without loading the task")
+    void testTaskNotModified() {
+        UUID taskId = UUID.randomUUID();
+        when(taskRepository.findVersionByTaskId(taskId)).thenReturn(stamp(1, T0));
+        when(bidRepository.findVersionByTaskId(taskId)).thenReturn(stamp(2, T0.plusMinutes(5)));
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(Task.builder()
+                .taskId(taskId)
+                .customerId(customer.getUserId())
+                .title("Fix the kitchen tap")
+                .domain(TaskDomain.PLUMBING)
+                .pricingModel(PricingModel.BIDDING)
+                .status(TaskStatus.OPEN)
+                .latitude(19.0760)
+                .longitude(72.8777)
+                .build()));
+        ServletWebRequest first = get(null);
+        controller.getTask(taskId, first);
+        String etag = response(first).getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        clearInvocations(taskRepository);
+
+        ServletWebRequest revalidate = get(etag);
+
+        assertNull(controller.getTask(taskId, revalidate));
+        assertEquals(304, response(revalidate).getStatus());
+        verify(taskRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("My tasks: 304 while nothing changed, 200 with a new ETag after a write")
+    void testMyTasksWriteChangesETag() {
+        when(taskRepository.findVersionByCustomerId(customer.getUserId())).thenReturn(stamp(3, T0));
+        ServletWebRequest first = get(null);
+        assertNotNull(controller.getMyTasks(customer, 0, 20, first));
+        String etag = response(first).getHeader(HttpHeaders.ETAG);
+
+        ServletWebRequest unchanged = get(etag);
+        assertNull(controller.getMyTasks(customer, 0, 20, unchanged));
+        assertEquals(304, response(unchanged).getStatus());
+        verify(taskRepository, times(1)).findByCustomerId(any(), any());
+
+        // A task was updated: its updatedAt moves the stamp
+        when(taskRepository.findVersionByCustomerId(customer.getUserId())).thenReturn(stamp(3, T0.plusSeconds(1)));
+        ServletWebRequest changed = get(etag);
+
+        assertNotNull(controller.getMyTasks(customer, 0, 20, changed));
+        assertEquals(200, response(changed).getStatus());
+        assertNotEquals(etag, response(changed).getHeader(HttpHeaders.ETAG));
+        verify(taskRepository, times(2)).findByCustomerId(any(), any());
+    }
+}
@@ -0,0 +1,206 @@
+package com.helper.task;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helper.task.dto.response.TaskResponse;
+import com.helper.task.enums.TaskDomain;
+import com.helper.task.enums.TaskStatus;
+import com.helper.task.exception.TaskExceptions;
+import com.helper.task.security.AuthenticatedUser;
+import com.helper.task.service.feed.LocalTaskFeedBus;
+import com.helper.task.service.feed.TaskFeed;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskFeedTest {
+
+    // Andheri West, Mumbai
+    private static final double LAT = 19.0760;
+    private static final double LNG = 72.8777;
+
+    private SimpleMeterRegistry registry;
+    private TaskFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        feed = newFeed(100, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    private TaskFeed newFeed(int maxSubscribers, int queueCapacity) {
+        return new TaskFeed(new ObjectMapper().findAndRegisterModules(), new LocalTaskFeedBus(), registry,
+                0.5, 50, maxSubscribers, queueCapacity, 60_000, 2, 100, 4);
+    }
+
+    private TaskResponse openTask(TaskDomain domain, double lat, double lng) {
+        return TaskResponse.builder()
+                .taskId(UUID.randomUUID())
+                .title("Fix the sink")
+                .domain(domain)
+                .status(TaskStatus.OPEN)
+                .latitude(lat)
+                .longitude(lng)
+                .build();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("Condition not met within 5s");
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Records the task ids sent to it; optionally blocks every send until released.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> taskIds = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+        private volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> items) {
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StringBuilder raw = new StringBuilder();
+            items.forEach(item -> raw.append(item.getData()));
+            String text = raw.toString();
+            if (text.contains("event:task")) {
+                taskIds.add(text.substring(text.indexOf("id:") + 3, text.indexOf('\n')));
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            super.complete();
+        }
+    }
+
+    @Test
+    @DisplayName("Opened tasks reach subscribers whose radius and domains match")
+    void testMatching() throws Exception {
+        RecordingEmitter plumber = new RecordingEmitter(null);
+        RecordingEmitter anyDomain = new RecordingEmitter(null);
+        RecordingEmitter farAway = new RecordingEmitter(null);
+        feed.subscribe(UUID.randomUUID(), LAT, LNG, 10, Set.of(TaskDomain.PLUMBING), plumber);
+        feed.subscribe(UUID.randomUUID(), LAT, LNG, 10, Set.of(), anyDomain);
+        feed.subscribe(UUID.randomUUID(), 18.5204, 73.8567, 10, Set.of(), farAway); // Pune, ~120 km
+
+        TaskResponse plumbing = openTask(TaskDomain.PLUMBING, 19.1136, 72.8697);     // ~4.2 km
+        TaskResponse electrical = openTask(TaskDomain.ELECTRICIAN, 19.0800, 72.8777); // ~0.4 km
+        TaskResponse outside = openTask(TaskDomain.PLUMBING, 19.2500, 72.8777);       // ~19 km
+        feed.publish(plumbing);
+        feed.publish(electrical);
+        feed.publish(outside);
+
+        await(() -> anyDomain.taskIds.size() == 2);
+        await(() -> plumber.taskIds.size() == 1);
+        assertEquals(List.of(plumbing.getTaskId().toString()), plumber.taskIds);
+        assertEquals(List.of(plumbing.getTaskId().toString(), electrical.getTaskId().toString()), anyDomain.taskIds);
+        assertTrue(farAway.taskIds.isEmpty());
+    }
+
+    @Test
+    @DisplayName("A subscriber that falls behind is dropped without holding up the others")
+    void testSlowConsumerDropped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        feed.subscribe(UUID.randomUUID(), LAT, LNG, 10, Set.of(), slow);
+        feed.subscribe(UUID.randomUUID(), LAT, LNG, 10, Set.of(), fast);
+
+        for (int i = 1; i <= 10; i++) {
+            feed.publish(openTask(TaskDomain.PLUMBING, LAT, LNG));
+            int sent = i;
+            await(() -> fast.taskIds.size() == sent);
+        }
+
+        assertEquals(1, feed.size());
+        assertEquals(1.0, registry.counter("task.feed.dropped", "reason", "slow").count());
+
+        // The stuck send returns, then the dropped stream is closed without sending the backlog
+        release.countDown();
+        await(() -> slow.completed);
+        assertTrue(slow.taskIds.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Writes blocked past the write timeout are dropped and their senders replaced")
+    void testStalledWriteDropped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stuck1 = new RecordingEmitter(release);
+        RecordingEmitter stuck2 = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        // Both senders block writing the "subscribed" comment to the stuck streams
+        feed.subscribe(UUID.randomUUID(), LAT, LNG, 10, Set.of(), stuck1);
+        feed.subscribe(UUID.randomUUID(), LAT, LNG, 10, Set.of(), stuck2);
+        feed.subscribe(UUID.randomUUID(), LAT, LNG, 10, Set.of(), fast);
+        TaskResponse task = openTask(TaskDomain.PLUMBING, LAT, LNG);
+        feed.publish(task);
+
+        Thread.sleep(200);
+        assertTrue(fast.taskIds.isEmpty());
+
+        feed.abortStalledWrites();
+        await(() -> fast.taskIds.size() == 1);
+        assertEquals(List.of(task.getTaskId().toString()), fast.taskIds);
+        assertEquals(1, feed.size());
+        assertEquals(2.0, registry.counter("task.feed.dropped", "reason", "stalled").count());
+
+        // The stuck sends return and the dropped streams are closed without their backlog
+        release.countDown();
+        await(() -> stuck1.completed && stuck2.completed);
+        assertTrue(stuck1.taskIds.isEmpty());
+        assertTrue(stuck2.taskIds.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Subscriptions beyond max-subscribers are refused")
+    void testCapacity() {
+        TaskFeed small = newFeed(1, 4);
+        try {
+            small.subscribe(UUID.randomUUID(), LAT, LNG, 10, Set.of(), new RecordingEmitter(null));
+            assertThrows(TaskExceptions.FeedUnavailableException.class,
+                    () -> small.subscribe(UUID.randomUUID(), LAT, LNG, 10, Set.of(), new RecordingEmitter(null)));
+        } finally {
+            small.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Only workers can subscribe")
+    void testWorkersOnly() {
+        AuthenticatedUser customer = new AuthenticatedUser(UUID.randomUUID(), "c@helper.app", "CUSTOMER");
+        assertThrows(TaskExceptions.UnauthorizedTaskAccessException.class,
+                () -> feed.subscribe(customer, LAT, LNG, 10, Set.of()));
+    }
+}
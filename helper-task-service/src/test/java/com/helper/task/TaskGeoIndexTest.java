@@ -0,0 +1,192 @@
+package com.helper.task;
+
+import com.helper.task.entity.Task;
+import com.helper.task.enums.PricingModel;
+import com.helper.task.enums.TaskDomain;
+import com.helper.task.enums.TaskStatus;
+import com.helper.task.repository.TaskRepository;
+import com.helper.task.service.feed.LocalTaskFeedBus;
+import com.helper.task.service.geo.TaskGeoIndex;
+import com.helper.task.service.geo.TaskGeoPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskGeoIndexTest {
+
+    // Andheri West, Mumbai
+    private static final double LAT = 19.0760;
+    private static final double LNG = 72.8777;
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    // Stands in for Redis pub/sub: shared by every index built in a test
+    private final LocalTaskFeedBus syncBus = new LocalTaskFeedBus();
+    private TaskGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = newIndex();
+    }
+
+    private TaskGeoIndex newIndex() {
+        return new TaskGeoIndex(taskRepository, syncBus, new SimpleMeterRegistry(), 0.1);
+    }
+
+    private Task makeTask(TaskDomain domain, TaskStatus status, double lat, double lng) {
+        return Task.builder()
+                .taskId(UUID.randomUUID())
+                .domain(domain)
+                .pricingModel(PricingModel.BIDDING)
+                .status(status)
+                .latitude(lat)
+                .longitude(lng)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Radius query returns only tasks inside the radius, nearest first")
+    void testRadiusAndOrdering() {
+        Task near = makeTask(TaskDomain.PLUMBING, TaskStatus.OPEN, 19.0800, 72.8777);   // ~0.4 km
+        Task mid = makeTask(TaskDomain.PLUMBING, TaskStatus.OPEN, 19.1136, 72.8697);    // ~4.2 km
+        Task far = makeTask(TaskDomain.PLUMBING, TaskStatus.OPEN, 18.5204, 73.8567);    // Pune, ~120 km
+        index.sync(far);
+        index.sync(mid);
+        index.sync(near);
+
+        List<TaskGeoIndex.Match> matches = index.findWithinRadius(LAT, LNG, 10, null);
+
+        assertEquals(2, matches.size());
+        assertEquals(near.getTaskId(), matches.get(0).getTaskId());
+        assertEquals(mid.getTaskId(), matches.get(1).getTaskId());
+        assertTrue(matches.get(0).getDistanceKm() < matches.get(1).getDistanceKm());
+    }
+
+    @Test
+    @DisplayName("Domain filter excludes other domains")
+    void testDomainFilter() {
+        index.sync(makeTask(TaskDomain.PLUMBING, TaskStatus.OPEN, 19.0800, 72.8777));
+        index.sync(makeTask(TaskDomain.ELECTRICIAN, TaskStatus.OPEN, 19.0800, 72.8777));
+
+        assertEquals(1, index.findWithinRadius(LAT, LNG, 5, TaskDomain.ELECTRICIAN).size());
+        assertEquals(2, index.findWithinRadius(LAT, LNG, 5, null).size());
+        assertTrue(index.findWithinRadius(LAT, LNG, 5, TaskDomain.FARMING).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Non-OPEN tasks are never indexed")
+    void testOnlyOpenTasksIndexed() {
+        index.sync(makeTask(TaskDomain.DELIVERY, TaskStatus.POSTED, 19.0800, 72.8777));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("Status change away from OPEN removes the task")
+    void testStatusChangeRemoves() {
+        Task task = makeTask(TaskDomain.DELIVERY, TaskStatus.OPEN, 19.0800, 72.8777);
+        index.sync(task);
+        assertEquals(1, index.size());
+
+        task.setStatus(TaskStatus.ACCEPTED);
+        index.sync(task);
+
+        assertEquals(0, index.size());
+        assertTrue(index.findWithinRadius(LAT, LNG, 10, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Location update moves the task to its new cell")
+    void testLocationUpdate() {
+        Task task = makeTask(TaskDomain.HOUSEHOLD, TaskStatus.OPEN, 19.0800, 72.8777);
+        index.sync(task);
+
+        task.setLatitude(18.5204);
+        task.setLongitude(73.8567);
+        index.sync(task);
+
+        assertEquals(1, index.size());
+        assertTrue(index.findWithinRadius(LAT, LNG, 10, null).isEmpty());
+        assertEquals(1, index.findWithinRadius(18.5204, 73.8567, 1, null).size());
+    }
+
+    @Test
+    @DisplayName("Queries across the antimeridian find tasks on the other side")
+    void testAntimeridian() {
+        index.sync(makeTask(TaskDomain.LOGISTICS, TaskStatus.OPEN, 0.0, 179.99));
+        assertEquals(1, index.findWithinRadius(0.0, -179.99, 5, null).size());
+    }
+
+    @Test
+    @DisplayName("Changes made on one replica reach the index of another")
+    void testReplicaSync() {
+        TaskGeoIndex replica = newIndex();
+        Task task = makeTask(TaskDomain.PLUMBING, TaskStatus.OPEN, 19.0800, 72.8777);
+
+        index.sync(task);
+        assertEquals(1, replica.findWithinRadius(LAT, LNG, 5, TaskDomain.PLUMBING).size());
+
+        task.setStatus(TaskStatus.ACCEPTED);
+        index.sync(task);
+        assertEquals(0, replica.size());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("Rebuild replaces the snapshot with the DB's OPEN tasks")
+    void testRebuildDropsStaleEntries() {
+        Task missedClose = makeTask(TaskDomain.DELIVERY, TaskStatus.OPEN, 19.0800, 72.8777);
+        index.sync(missedClose);
+        UUID missedOpen = UUID.randomUUID();
+        when(taskRepository.findGeoPointsByStatus(TaskStatus.OPEN))
+                .thenReturn(List.of(new TaskGeoPoint(missedOpen, TaskDomain.DELIVERY, 19.0800, 72.8777)));
+
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        List<TaskGeoIndex.Match> matches = index.findWithinRadius(LAT, LNG, 5, null);
+        assertEquals(1, matches.size());
+        assertEquals(missedOpen, matches.get(0).getTaskId());
+    }
+
+    @Test
+    @DisplayName("Changes committed while a rebuild loads survive the swap")
+    void testChangesDuringRebuild() {
+        Task closed = makeTask(TaskDomain.DELIVERY, TaskStatus.OPEN, 19.0800, 72.8777);
+        Task opened = makeTask(TaskDomain.DELIVERY, TaskStatus.OPEN, 19.0810, 72.8777);
+        index.sync(closed);
+        when(taskRepository.findGeoPointsByStatus(TaskStatus.OPEN)).thenAnswer(inv -> {
+            // The load read the DB before these commits
+            List<TaskGeoPoint> loaded = List.of(new TaskGeoPoint(closed.getTaskId(), TaskDomain.DELIVERY, 19.0800, 72.8777));
+            closed.setStatus(TaskStatus.ACCEPTED);
+            index.sync(closed);
+            index.sync(opened);
+            return loaded;
+        });
+
+        index.rebuild();
+
+        List<TaskGeoIndex.Match> matches = index.findWithinRadius(LAT, LNG, 5, null);
+        assertEquals(List.of(opened.getTaskId()), matches.stream().map(TaskGeoIndex.Match::getTaskId).toList());
+    }
+
+    @Test
+    @DisplayName("A failed rebuild keeps the current snapshot")
+    void testFailedRebuild() {
+        Task task = makeTask(TaskDomain.DELIVERY, TaskStatus.OPEN, 19.0800, 72.8777);
+        index.sync(task);
+        when(taskRepository.findGeoPointsByStatus(TaskStatus.OPEN)).thenThrow(new IllegalStateException("db down"));
+
+        assertThrows(IllegalStateException.class, () -> index.rebuild());
+
+        Task other = makeTask(TaskDomain.DELIVERY, TaskStatus.OPEN, 19.0810, 72.8777);
+        index.sync(other);
+        assertEquals(2, index.findWithinRadius(LAT, LNG, 5, null).size());
+    }
+}
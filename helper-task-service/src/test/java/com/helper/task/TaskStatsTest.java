@@ -0,0 +1,68 @@
+package com.helper.task;
+
+import com.helper.task.dto.response.TaskStatsResponse;
+import com.helper.task.enums.TaskDomain;
+import com.helper.task.enums.TaskStatus;
+import com.helper.task.repository.TaskRepository.StatusDomainCount;
+import com.helper.task.service.TaskStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskStatsTest {
+
+    private static StatusDomainCount row(TaskStatus status, TaskDomain domain, long count) {
+        return new StatusDomainCount() {
+            @Override
+            public TaskStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public TaskDomain getDomain() {
+                return domain;
+            }
+
+            @Override
+            public long getTaskCount() {
+                return count;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Grouped counts add up to the per-status, per-domain and total figures")
+    void testFromCounts() {
+        TaskStatsResponse stats = TaskStats.fromCounts(List.of(
+                row(TaskStatus.OPEN, TaskDomain.PLUMBING, 5),
+                row(TaskStatus.OPEN, TaskDomain.ELECTRICIAN, 3),
+                row(TaskStatus.IN_PROGRESS, TaskDomain.PLUMBING, 2),
+                row(TaskStatus.COMPLETED, TaskDomain.DELIVERY, 7),
+                row(TaskStatus.CANCELLED, TaskDomain.DELIVERY, 1),
+                row(TaskStatus.DISPUTED, TaskDomain.ELECTRICIAN, 4)));
+
+        assertEquals(22, stats.getTotalTasks());
+        assertEquals(8, stats.getOpenTasks());
+        assertEquals(2, stats.getInProgressTasks());
+        assertEquals(7, stats.getCompletedTasks());
+        assertEquals(1, stats.getCancelledTasks());
+        assertEquals(4, stats.getDisputedTasks());
+        assertEquals(7L, stats.getTasksByDomain().get("PLUMBING"));
+        assertEquals(8L, stats.getTasksByDomain().get("DELIVERY"));
+        assertEquals(7L, stats.getTasksByDomain().get("ELECTRICIAN"));
+    }
+
+    @Test
+    @DisplayName("Statuses and domains without tasks are reported as 0")
+    void testEmpty() {
+        TaskStatsResponse stats = TaskStats.fromCounts(List.of());
+
+        assertEquals(0, stats.getTotalTasks());
+        assertEquals(TaskStatus.values().length, stats.getTasksByStatus().size());
+        assertEquals(TaskDomain.values().length, stats.getTasksByDomain().size());
+        assertTrue(stats.getTasksByStatus().values().stream().allMatch(c -> c == 0));
+    }
+}
@@ -0,0 +1,39 @@
+package com.helper.user.controller;
+
+import com.helper.user.dto.request.NewTaskInAreaRequest;
+import com.helper.user.dto.response.ApiResponse;
+import com.helper.user.service.NewTaskInAreaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Endpoints called by other Helper microservices.
+ */
+@RestController
+@RequestMapping("/api/v1/internal/workers")
+@RequiredArgsConstructor
+@Tag(name = "Internal - Service-to-Service", description = "Called by Task Service")
+@SecurityRequirement(name = "bearerAuth")
+public class InternalWorkerController {
+
+    private final NewTaskInAreaService newTaskInAreaService;
+
+    @PostMapping("/new-task-in-area")
+    @Operation(summary = "Notify workers covering a new task",
+            description = "Matches the task against worker service areas and queues bulk NEW_TASK_IN_AREA notifications. " +
+                    "The same fan-out runs for every TASK_OPENED event; use this to re-send for a task")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> newTaskInArea(
+            @Valid @RequestBody NewTaskInAreaRequest request) {
+        int matched = newTaskInAreaService.notifyWorkers(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("Queued",
+                Map.of("matchedWorkers", matched)));
+    }
+}
@@ -84,7 +84,8 @@ public class KycController {
     @PreAuthorize("hasRole('ADMIN')")
     @Tag(name = "Admin - KYC Management")
     @Operation(summary = "KYC statistics", description = "Count of documents by status")
-    public ResponseEntity<ApiResponse<Map<String, Long>>> getKycStats() {
-        return ResponseEntity.ok(ApiResponse.success("KYC statistics", kycService.getKycStats()));
+    public ResponseEntity<ApiResponse<Map<String, Long>>> getKycStats(
+            @RequestParam(defaultValue = "false") boolean refresh) {
+        return ResponseEntity.ok(ApiResponse.success("KYC statistics", kycService.getKycStats(refresh)));
     }
 }
@@ -10,11 +10,14 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,6 +27,12 @@ import java.util.UUID;
 @Tag(name = "Worker Profiles", description = "Worker profile management, skills registration, geo-availability, portfolio, and availability schedule")
 public class WorkerController {
 
+    // Public reads: clients revalidate, the gateway's shared cache may serve them briefly
+    private static final CacheControl PUBLIC_PROFILE_CACHE = CacheControl.maxAge(Duration.ZERO)
+            .sMaxAge(Duration.ofSeconds(30)).cachePublic();
+    private static final CacheControl PUBLIC_PORTFOLIO_CACHE = CacheControl.maxAge(Duration.ZERO)
+            .sMaxAge(Duration.ofSeconds(60)).cachePublic();
+
     private final WorkerProfileService service;
 
     // ===== PROFILE CRUD =====
@@ -40,8 +49,12 @@ public class WorkerController {
 
     @GetMapping("/{workerId}")
     @Operation(summary = "Get worker profile", description = "Public: view worker profile with skills, rating, and verification status")
-    public ResponseEntity<ApiResponse<WorkerProfileResponse>> getProfile(@PathVariable UUID workerId) {
-        return ResponseEntity.ok(ApiResponse.success("Worker profile", service.getProfile(workerId)));
+    public ResponseEntity<ApiResponse<WorkerProfileResponse>> getProfile(@PathVariable UUID workerId,
+                                                                         WebRequest webRequest) {
+        String etag = service.getProfileETag(workerId);
+        if (etag != null && webRequest.checkNotModified(etag)) return null;
+        return ResponseEntity.ok().cacheControl(PUBLIC_PROFILE_CACHE)
+                .body(ApiResponse.success("Worker profile", service.getProfile(workerId)));
     }
 
     @GetMapping("/me")
@@ -108,8 +121,11 @@ public class WorkerController {
 
     @GetMapping("/{workerId}/portfolio")
     @Operation(summary = "View worker portfolio", description = "Public: view photos of past work")
-    public ResponseEntity<ApiResponse<List<PortfolioItemResponse>>> getPortfolio(@PathVariable UUID workerId) {
-        return ResponseEntity.ok(ApiResponse.success("Portfolio", service.getPortfolio(workerId)));
+    public ResponseEntity<ApiResponse<List<PortfolioItemResponse>>> getPortfolio(@PathVariable UUID workerId,
+                                                                                 WebRequest webRequest) {
+        if (webRequest.checkNotModified(service.getPortfolioETag(workerId))) return null;
+        return ResponseEntity.ok().cacheControl(PUBLIC_PORTFOLIO_CACHE)
+                .body(ApiResponse.success("Portfolio", service.getPortfolio(workerId)));
     }
 
     @DeleteMapping("/portfolio/{itemId}")
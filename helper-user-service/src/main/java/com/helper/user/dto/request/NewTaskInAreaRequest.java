@@ -0,0 +1,27 @@
+package com.helper.user.dto.request;
+
+import com.helper.user.enums.TaskDomain;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.UUID;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class NewTaskInAreaRequest {
+
+    @NotNull(message = "Task id is required")
+    private UUID taskId;
+
+    @NotBlank(message = "Task title is required")
+    @Size(max = 200)
+    private String title;
+
+    @NotNull(message = "Domain is required")
+    private TaskDomain domain;
+
+    @NotNull @DecimalMin("-90.0") @DecimalMax("90.0")
+    private Double latitude;
+
+    @NotNull @DecimalMin("-180.0") @DecimalMax("180.0")
+    private Double longitude;
+}
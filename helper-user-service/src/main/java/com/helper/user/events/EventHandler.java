@@ -0,0 +1,11 @@
+package com.helper.user.events;
+
+/**
+ * Handles one event delivered by the {@link EventBroker}. Throwing leaves the event
+ * unacknowledged, so it is delivered again.
+ */
+@FunctionalInterface
+public interface EventHandler {
+
+    void handle(EventEnvelope event);
+}
@@ -0,0 +1,113 @@
+package com.helper.user.events;
+
+import com.helper.user.entity.ProcessedEvent;
+import com.helper.user.repository.ProcessedEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This service's subscription to the event bus (consumer group = spring.application.name).
+ * Services register a handler per event type with {@link #on}; other types are ignored.
+ *
+ * Each event is handled in one transaction together with the insert of its id into
+ * processed_events, so an event redelivered after a crash or a failed ack is skipped. Two
+ * instances racing on the same event collide on that primary key: the loser rolls back and
+ * sees the event as processed on redelivery.
+ */
+@Component
+@Slf4j
+public class IdempotentEventConsumer implements EventHandler {
+
+    private final EventBroker eventBroker;
+    private final ProcessedEventRepository processedEventRepository;
+    private final TransactionOperations transactions;
+    private final MeterRegistry meterRegistry;
+    private final String consumerGroup;
+    private final long retentionHours;
+
+    private final Map<String, EventHandler> handlers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotentEventConsumer(EventBroker eventBroker,
+                                   ProcessedEventRepository processedEventRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${spring.application.name}") String consumerGroup,
+                                   @Value("${app.events.processed.retention-hours:168}") long retentionHours) {
+        this(eventBroker, processedEventRepository, new TransactionTemplate(transactionManager), meterRegistry,
+                consumerGroup, retentionHours);
+    }
+
+    public IdempotentEventConsumer(EventBroker eventBroker, ProcessedEventRepository processedEventRepository,
+                                   TransactionOperations transactions, MeterRegistry meterRegistry,
+                                   String consumerGroup, long retentionHours) {
+        this.eventBroker = eventBroker;
+        this.processedEventRepository = processedEventRepository;
+        this.transactions = transactions;
+        this.meterRegistry = meterRegistry;
+        this.consumerGroup = consumerGroup;
+        this.retentionHours = retentionHours;
+    }
+
+    /** Register the handler for one event type; runs inside the dedupe transaction. */
+    public void on(String type, EventHandler handler) {
+        handlers.put(type, handler);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        eventBroker.subscribe(consumerGroup, this);
+        log.info("Consuming lifecycle events as {} for {}", consumerGroup, handlers.keySet());
+    }
+
+    @Override
+    public void handle(EventEnvelope event) {
+        EventHandler handler = handlers.get(event.getType());
+        if (handler == null) {
+            count(event, "ignored");
+            return;
+        }
+        try {
+            Boolean handled = transactions.execute(status -> {
+                if (processedEventRepository.existsById(event.getEventId())) return false;
+                handler.handle(event);
+                processedEventRepository.save(ProcessedEvent.builder()
+                        .eventId(event.getEventId())
+                        .eventType(event.getType())
+                        .processedAt(LocalDateTime.now())
+                        .build());
+                return true;
+            });
+            count(event, Boolean.TRUE.equals(handled) ? "handled" : "duplicate");
+        } catch (RuntimeException e) {
+            count(event, "failed");
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.processed.purge-ms:3600000}")
+    public void purgeProcessed() {
+        Integer deleted = transactions.execute(status ->
+                processedEventRepository.deleteProcessedBefore(LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} processed event ids", deleted);
+        }
+    }
+
+    private void count(EventEnvelope event, String result) {
+        meterRegistry.counter("events.consumed", "type", event.getType(), "result", result).increment();
+    }
+}
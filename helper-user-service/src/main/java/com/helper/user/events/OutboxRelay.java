@@ -0,0 +1,132 @@
+package com.helper.user.events;
+
+import com.helper.user.entity.OutboxEvent;
+import com.helper.user.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves committed outbox rows to the {@link EventBroker}, oldest first. Each batch is
+ * locked, published and marked in one transaction. Another relay instance blocks on the
+ * same head rows until that commits, so only one instance relays at a time and batches
+ * reach the broker in id order across instances. If the broker fails the transaction rolls
+ * back and the batch is retried on the next poll; a crash between publish and commit
+ * publishes the batch again, which consumers absorb by deduplicating on the event id.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventBroker eventBroker;
+    private final TransactionOperations transactions;
+    private final String source;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final long retentionHours;
+
+    private final Counter relayed;
+    private final Counter failures;
+    private final Timer batchTimer;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       EventBroker eventBroker,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${spring.application.name}") String source,
+                       @Value("${app.events.relay.batch-size:500}") int batchSize,
+                       @Value("${app.events.relay.max-batches-per-poll:20}") int maxBatchesPerPoll,
+                       @Value("${app.events.outbox.retention-hours:24}") long retentionHours) {
+        this(outboxEventRepository, eventBroker, new TransactionTemplate(transactionManager), meterRegistry,
+                source, batchSize, maxBatchesPerPoll, retentionHours);
+    }
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, EventBroker eventBroker,
+                       TransactionOperations transactions, MeterRegistry meterRegistry,
+                       String source, int batchSize, int maxBatchesPerPoll, long retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventBroker = eventBroker;
+        this.transactions = transactions;
+        this.source = source;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerPoll = Math.max(1, maxBatchesPerPoll);
+        this.retentionHours = retentionHours;
+
+        this.relayed = meterRegistry.counter("events.outbox.relayed");
+        this.failures = meterRegistry.counter("events.outbox.relay.failures");
+        this.batchTimer = meterRegistry.timer("events.outbox.relay.batch");
+    }
+
+    /**
+     * Relay until the outbox is drained, the broker fails or max-batches-per-poll batches
+     * went out; the rest of a large backlog waits for the next poll, so the scheduler
+     * threads are not held for the whole drain.
+     */
+    @Scheduled(fixedDelayString = "${app.events.relay.poll-ms:250}")
+    public void relay() {
+        try {
+            for (int batches = 1; relayBatch() == batchSize && batches < maxBatchesPerPoll; batches++) {
+                // full batch: more may be waiting
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Outbox relay failed, retrying on next poll: {}", e.getMessage());
+        }
+    }
+
+    /** Publish one batch of unpublished events; returns how many were published. */
+    public int relayBatch() {
+        Integer published = batchTimer.record(() -> transactions.execute(status -> {
+            List<OutboxEvent> rows = outboxEventRepository.findUnpublished(PageRequest.of(0, batchSize));
+            if (rows.isEmpty()) return 0;
+
+            List<EventEnvelope> envelopes = new ArrayList<>(rows.size());
+            List<Long> ids = new ArrayList<>(rows.size());
+            for (OutboxEvent row : rows) {
+                envelopes.add(toEnvelope(row));
+                ids.add(row.getId());
+            }
+            eventBroker.publish(envelopes);
+            outboxEventRepository.markPublished(ids, LocalDateTime.now());
+            return rows.size();
+        }));
+        int count = published == null ? 0 : published;
+        relayed.increment(count);
+        return count;
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.outbox.purge-ms:3600000}")
+    public void purgePublished() {
+        Integer deleted = transactions.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+
+    private EventEnvelope toEnvelope(OutboxEvent row) {
+        return EventEnvelope.builder()
+                .eventId(row.getEventId())
+                .type(row.getEventType())
+                .key(row.getAggregateKey())
+                .source(source)
+                .occurredAt(row.getCreatedAt() != null ? row.getCreatedAt() : LocalDateTime.now())
+                .payload(row.getPayload())
+                .build();
+    }
+}
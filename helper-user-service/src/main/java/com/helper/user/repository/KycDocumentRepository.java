@@ -3,6 +3,7 @@ package com.helper.user.repository;
 import com.helper.user.entity.KycDocument;
 import com.helper.user.enums.KycStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -14,6 +15,14 @@ public interface KycDocumentRepository extends JpaRepository<KycDocument, UUID>
     List<KycDocument> findByWorkerProfile_WorkerIdOrderByCreatedAtDesc(UUID workerId);
     List<KycDocument> findByStatus(KycStatus status);
     List<KycDocument> findByStatusIn(List<KycStatus> statuses);
-    long countByStatus(KycStatus status);
     List<KycDocument> findByExpiresAtBeforeAndStatusNot(LocalDateTime date, KycStatus status);
+
+    // Admin stats: documents per status in one grouped query. Statuses without documents are absent.
+    @Query("SELECT d.status AS status, COUNT(d) AS documentCount FROM KycDocument d GROUP BY d.status")
+    List<StatusCount> countGroupedByStatus();
+
+    interface StatusCount {
+        KycStatus getStatus();
+        long getDocumentCount();
+    }
 }
@@ -3,6 +3,8 @@ package com.helper.user.repository;
 import com.helper.user.entity.PortfolioItem;
 import com.helper.user.enums.TaskDomain;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +15,8 @@ public interface PortfolioItemRepository extends JpaRepository<PortfolioItem, UU
     List<PortfolioItem> findByWorkerProfile_WorkerIdOrderByCreatedAtDesc(UUID workerId);
     List<PortfolioItem> findByWorkerProfile_WorkerIdAndDomain(UUID workerId, TaskDomain domain);
     long countByWorkerProfile_WorkerId(UUID workerId);
+
+    @Query("SELECT COUNT(p) AS count, MAX(p.createdAt) AS lastModified FROM PortfolioItem p " +
+            "WHERE p.workerProfile.workerId = :workerId")
+    VersionStamp findVersionByWorkerId(@Param("workerId") UUID workerId);
 }
@@ -3,6 +3,8 @@ package com.helper.user.repository;
 import com.helper.user.entity.WorkerProfile;
 import com.helper.user.enums.VerificationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +15,8 @@ public interface WorkerProfileRepository extends JpaRepository<WorkerProfile, UU
     List<WorkerProfile> findByVerificationStatus(VerificationStatus status);
     long countByVerificationStatus(VerificationStatus status);
     boolean existsByWorkerId(UUID workerId);
+
+    // Version stamp for profile ETags; skill/availability changes bump updatedAt (see WorkerProfileService)
+    @Query("SELECT COUNT(w) AS count, MAX(w.updatedAt) AS lastModified FROM WorkerProfile w WHERE w.workerId = :workerId")
+    VersionStamp findVersionByWorkerId(@Param("workerId") UUID workerId);
 }
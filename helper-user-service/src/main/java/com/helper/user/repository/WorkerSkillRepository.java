@@ -2,11 +2,13 @@ package com.helper.user.repository;
 
 import com.helper.user.entity.WorkerSkill;
 import com.helper.user.enums.TaskDomain;
+import com.helper.user.service.geo.CoverageArea;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,6 +23,7 @@ public interface WorkerSkillRepository extends JpaRepository<WorkerSkill, UUID>
     void deleteByWorkerProfile_WorkerIdAndDomain(UUID workerId, TaskDomain domain);
 
     // Find nearby workers by domain using Haversine (H2 compatible)
+    // With the PostGIS dialect, WorkerProfileService uses the *Spatial variants below instead
     @Query("SELECT ws FROM WorkerSkill ws JOIN FETCH ws.workerProfile wp " +
             "WHERE ws.domain = :domain AND ws.isAvailable = true " +
             "AND wp.verificationStatus = 'VERIFIED' AND wp.isAvailable = true " +
@@ -46,4 +49,53 @@ public interface WorkerSkillRepository extends JpaRepository<WorkerSkill, UUID>
     List<WorkerSkill> findNearbyWorkers(
             @Param("lat") double latitude,
             @Param("lng") double longitude);
+
+    // PostGIS: ids of skills whose service area covers the point, nearest first.
+    // The constant 100 km ST_DWithin (max serviceRadiusKm) lets the GiST index prune,
+    // the per-row check applies each worker's own radius.
+    @Query(value = "SELECT ws.skill_id FROM worker_skills ws " +
+            "JOIN worker_profiles wp ON wp.worker_id = ws.worker_id " +
+            "WHERE ws.domain = :domain AND ws.is_available = true " +
+            "AND wp.verification_status = 'VERIFIED' AND wp.is_available = true " +
+            "AND ST_DWithin(ws.geo_location, CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography), 100000) " +
+            "AND ST_DWithin(ws.geo_location, CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography), ws.service_radius_km * 1000) " +
+            "ORDER BY ws.geo_location <-> CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography)",
+            nativeQuery = true)
+    List<UUID> findNearbySkillIdsByDomainSpatial(
+            @Param("lat") double latitude,
+            @Param("lng") double longitude,
+            @Param("domain") String domain);
+
+    // PostGIS: across all domains, best rated first
+    @Query(value = "SELECT ws.skill_id FROM worker_skills ws " +
+            "JOIN worker_profiles wp ON wp.worker_id = ws.worker_id " +
+            "WHERE ws.is_available = true " +
+            "AND wp.verification_status = 'VERIFIED' AND wp.is_available = true " +
+            "AND ST_DWithin(ws.geo_location, CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography), 100000) " +
+            "AND ST_DWithin(ws.geo_location, CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography), ws.service_radius_km * 1000) " +
+            "ORDER BY wp.average_rating DESC",
+            nativeQuery = true)
+    List<UUID> findNearbySkillIdsSpatial(
+            @Param("lat") double latitude,
+            @Param("lng") double longitude);
+
+    // Service areas for WorkerCoverageIndex: same eligibility as the nearby search above
+    @Query("SELECT new com.helper.user.service.geo.CoverageArea(ws.skillId, wp.workerId, ws.domain, " +
+            "ws.latitude, ws.longitude, COALESCE(ws.serviceRadiusKm, 10)) " +
+            "FROM WorkerSkill ws JOIN ws.workerProfile wp " +
+            "WHERE ws.isAvailable = true AND ws.latitude IS NOT NULL AND ws.longitude IS NOT NULL " +
+            "AND wp.verificationStatus = 'VERIFIED' AND wp.isAvailable = true")
+    List<CoverageArea> findCoverageAreas();
+
+    @Query("SELECT new com.helper.user.service.geo.CoverageArea(ws.skillId, wp.workerId, ws.domain, " +
+            "ws.latitude, ws.longitude, COALESCE(ws.serviceRadiusKm, 10)) " +
+            "FROM WorkerSkill ws JOIN ws.workerProfile wp " +
+            "WHERE wp.workerId = :workerId " +
+            "AND ws.isAvailable = true AND ws.latitude IS NOT NULL AND ws.longitude IS NOT NULL " +
+            "AND wp.verificationStatus = 'VERIFIED' AND wp.isAvailable = true")
+    List<CoverageArea> findCoverageAreasByWorker(@Param("workerId") UUID workerId);
+
+    // Load skills with their worker profile in one query (second step of the PostGIS search)
+    @Query("SELECT ws FROM WorkerSkill ws JOIN FETCH ws.workerProfile WHERE ws.skillId IN :ids")
+    List<WorkerSkill> findAllWithProfileByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,100 @@
+package com.helper.user.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Trusted-gateway authentication: builds the user from the X-User-* headers the API
+ * gateway adds after validating the JWT, so this service does not verify the token again.
+ *
+ * Headers are only trusted when app.security.trust-gateway-headers=true and they carry
+ * a valid X-Gateway-Signature (HMAC-SHA256 with the shared app.security.gateway-secret)
+ * over user, method, path and a timestamp within the allowed skew. Anything else returns
+ * null and the caller falls back to full JWT validation, so direct calls keep working.
+ */
+@Component
+@Slf4j
+public class GatewayHeaderAuthenticator {
+
+    private final boolean enabled;
+    private final SecretKeySpec key;
+    private final long maxSkewMs;
+
+    // Mac is not thread-safe; one initialised instance per request thread
+    private final ThreadLocal<Mac> mac;
+
+    public GatewayHeaderAuthenticator(@Value("${app.security.trust-gateway-headers:false}") boolean trustGatewayHeaders,
+                                      @Value("${app.security.gateway-secret:}") String gatewaySecret,
+                                      @Value("${app.security.gateway-max-skew-ms:30000}") long maxSkewMs) {
+        this.enabled = trustGatewayHeaders && StringUtils.hasText(gatewaySecret);
+        this.key = enabled ? new SecretKeySpec(gatewaySecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256") : null;
+        this.maxSkewMs = maxSkewMs;
+        this.mac = ThreadLocal.withInitial(this::newMac);
+
+        if (trustGatewayHeaders && !enabled) {
+            log.warn("app.security.trust-gateway-headers is on but app.security.gateway-secret is empty; using JWT validation only");
+        }
+    }
+
+    public AuthenticatedUser authenticate(HttpServletRequest request) {
+        if (!enabled) return null;
+
+        String signature = request.getHeader("X-Gateway-Signature");
+        String timestamp = request.getHeader("X-Gateway-Timestamp");
+        String userId = request.getHeader("X-User-Id");
+        if (!StringUtils.hasText(signature) || !StringUtils.hasText(timestamp) || !StringUtils.hasText(userId)) {
+            return null;
+        }
+
+        String role = nullToEmpty(request.getHeader("X-User-Role"));
+        String email = nullToEmpty(request.getHeader("X-User-Email"));
+
+        try {
+            long ts = Long.parseLong(timestamp);
+            if (Math.abs(System.currentTimeMillis() - ts) > maxSkewMs) {
+                log.debug("Stale gateway signature for {}", request.getRequestURI());
+                return null;
+            }
+
+            String canonical = userId + "\n" + role + "\n" + email + "\n" +
+                    request.getMethod() + "\n" + request.getRequestURI() + "\n" + ts;
+            byte[] expected = mac.get().doFinal(canonical.getBytes(StandardCharsets.UTF_8));
+            byte[] actual = Base64.getUrlDecoder().decode(signature);
+            if (!MessageDigest.isEqual(expected, actual)) {
+                log.debug("Invalid gateway signature for {}", request.getRequestURI());
+                return null;
+            }
+
+            return new AuthenticatedUser(UUID.fromString(userId), email, role);
+        } catch (IllegalArgumentException e) {
+            log.debug("Malformed gateway headers: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Mac newMac() {
+        if (key == null) return null;
+        try {
+            Mac m = Mac.getInstance("HmacSHA256");
+            m.init(key);
+            return m;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -4,49 +4,146 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
-import java.util.UUID;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Component
 @Slf4j
 public class JwtTokenProvider {
 
-    private final SecretKey key;
+    private final JwtParser parser;
+    private final Clock clock;
 
-    public JwtTokenProvider(@Value("${app.jwt.secret}") String jwtSecret) {
+    // SHA-256(token) -> verified claims; expired entries are dropped when read or swept
+    private final Map<String, CachedClaims> claimsCache = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final int claimsCacheMaxSize;
+
+    @Autowired
+    public JwtTokenProvider(@Value("${app.jwt.secret}") String jwtSecret,
+                            @Value("${app.jwt.claims-cache.max-size:10000}") int claimsCacheMaxSize) {
+        this(jwtSecret, claimsCacheMaxSize, Clock.systemUTC());
+    }
+
+    public JwtTokenProvider(String jwtSecret, int claimsCacheMaxSize, Clock clock) {
         byte[] keyBytes = Decoders.BASE64.decode(
                 java.util.Base64.getEncoder().encodeToString(jwtSecret.getBytes()));
-        this.key = Keys.hmacShaKeyFor(keyBytes.length >= 32 ? keyBytes :
+        SecretKey key = Keys.hmacShaKeyFor(keyBytes.length >= 32 ? keyBytes :
                 Jwts.SIG.HS256.key().build().getEncoded());
+        // The parser is immutable and thread-safe: build it once instead of per call
+        this.parser = Jwts.parser().verifyWith(key).clock(() -> Date.from(clock.instant())).build();
+        this.clock = clock;
+        this.claimsCacheMaxSize = claimsCacheMaxSize;
     }
 
-    public UUID getUserIdFromToken(String token) {
-        return UUID.fromString(parseClaims(token).getSubject());
-    }
+    /**
+     * Verify the token once and return its claims, or null if it is invalid or expired.
+     * Repeat calls with the same token are served from the cache without re-verifying
+     * the signature until the token's exp. Lookups take no lock; the cache holds about
+     * app.jwt.claims-cache.max-size tokens, trimmed by evict().
+     */
+    public JwtClaims resolveClaims(String token) {
+        String cacheKey = hash(token);
+        Instant now = clock.instant();
 
-    public String getEmailFromToken(String token) {
-        return parseClaims(token).get("email", String.class);
+        CachedClaims cached = claimsCache.get(cacheKey);
+        if (cached != null) {
+            if (!cached.claims.isExpired(now)) {
+                cached.lastUsed = System.nanoTime();
+                return cached.claims;
+            }
+            claimsCache.remove(cacheKey, cached);
+        }
+
+        JwtClaims claims;
+        try {
+            Claims payload = parseClaims(token);
+            claims = new JwtClaims(
+                    UUID.fromString(payload.getSubject()),
+                    payload.get("email", String.class),
+                    payload.get("role", String.class),
+                    payload.getExpiration() != null ? payload.getExpiration().toInstant() : null);
+        } catch (Exception e) {
+            log.error("JWT validation failed: {}", e.getMessage());
+            return null;
+        }
+
+        // Tokens without exp are never cached: there is no point at which to evict them
+        if (claims.getExpiresAt() != null) {
+            claimsCache.put(cacheKey, new CachedClaims(claims));
+            if (claimsCache.size() > claimsCacheMaxSize) evict(now);
+        }
+        return claims;
     }
 
-    public String getRoleFromToken(String token) {
-        return parseClaims(token).get("role", String.class);
+    public int claimsCacheSize() {
+        return claimsCache.size();
     }
 
     public boolean validateToken(String token) {
+        return resolveClaims(token) != null;
+    }
+
+    /**
+     * Trim the cache back under its bound: expired tokens first, then the least recently
+     * used ones, down to 90% of the bound so a sweep runs once per many inserts. One
+     * thread sweeps at a time. The others skip it while the cache is less than 10% over
+     * the bound and wait for it beyond that, so the overshoot stays small.
+     */
+    private void evict(Instant now) {
+        if (claimsCache.size() > claimsCacheMaxSize + claimsCacheMaxSize / 10) {
+            evictionLock.lock();
+        } else if (!evictionLock.tryLock()) {
+            return;
+        }
         try {
-            parseClaims(token);
-            return true;
-        } catch (Exception e) {
-            log.error("JWT validation failed: {}", e.getMessage());
-            return false;
+            if (claimsCache.size() <= claimsCacheMaxSize) return; // trimmed while waiting
+            claimsCache.values().removeIf(c -> c.claims.isExpired(now));
+            int excess = claimsCache.size() - (claimsCacheMaxSize - claimsCacheMaxSize / 10);
+            if (excess <= 0) return;
+
+            // Snapshot the access times so the sort sees stable values
+            List<Map.Entry<String, Long>> byLastUse = new ArrayList<>(claimsCache.size());
+            claimsCache.forEach((key, c) -> byLastUse.add(Map.entry(key, c.lastUsed)));
+            byLastUse.sort(Map.Entry.comparingByValue());
+            for (int i = 0; i < excess && i < byLastUse.size(); i++) {
+                claimsCache.remove(byLastUse.get(i).getKey());
+            }
+        } finally {
+            evictionLock.unlock();
         }
     }
 
     private Claims parseClaims(String token) {
-        return Jwts.parser().verifyWith(key).build()
-                .parseSignedClaims(token).getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class CachedClaims {
+        private final JwtClaims claims;
+        private volatile long lastUsed = System.nanoTime();
+
+        CachedClaims(JwtClaims claims) {
+            this.claims = claims;
+        }
     }
 }
@@ -7,11 +7,16 @@ import com.helper.user.entity.KycDocument;
 import com.helper.user.entity.WorkerProfile;
 import com.helper.user.entity.WorkerSkill;
 import com.helper.user.enums.*;
+import com.helper.user.events.EventOutbox;
+import com.helper.user.events.EventTypes;
 import com.helper.user.exception.UserExceptions;
 import com.helper.user.repository.KycDocumentRepository;
 import com.helper.user.repository.WorkerProfileRepository;
 import com.helper.user.repository.WorkerSkillRepository;
 import com.helper.user.security.AuthenticatedUser;
+import com.helper.user.service.geo.WorkerCoverageIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -31,6 +36,15 @@ public class KycService {
     private final KycDocumentRepository kycRepo;
     private final WorkerProfileRepository workerRepo;
     private final WorkerSkillRepository skillRepo;
+    private final MeterRegistry meterRegistry;
+    private final WorkerCoverageIndex coverageIndex;
+    private final EventOutbox eventOutbox;
+
+    // Admin stats are served from memory, recomputed on read once older than app.stats.max-age-ms
+    @Value("${app.stats.max-age-ms:60000}")
+    private long statsMaxAgeMs;
+
+    private StatsSnapshot<Map<String, Long>> statsSnapshot;
 
     @Value("${app.kyc.re-verification-months:12}")
     private int reVerificationMonths;
@@ -76,6 +90,7 @@ public class KycService {
         // Update profile status
         profile.setVerificationStatus(VerificationStatus.PENDING);
         workerRepo.save(profile);
+        coverageIndex.syncWorker(profile.getWorkerId());
 
         log.info("KYC documents submitted by worker: {} level: {} docs: {}",
                 user.getUserId(), requiredLevel, documents.size());
@@ -138,10 +153,27 @@ public class KycService {
 
     // ===== ADMIN: STATS =====
 
-    public Map<String, Long> getKycStats() {
+    @PostConstruct
+    void initStatsSnapshot() {
+        statsSnapshot = new StatsSnapshot<>("kyc", this::computeKycStats, statsMaxAgeMs, meterRegistry);
+    }
+
+    /**
+     * KYC document counts by status (admin), from the in-memory snapshot
+     *
+     * @param refresh recompute now instead of serving the snapshot
+     */
+    public Map<String, Long> getKycStats(boolean refresh) {
+        return refresh ? statsSnapshot.refresh() : statsSnapshot.get();
+    }
+
+    private Map<String, Long> computeKycStats() {
         Map<String, Long> stats = new HashMap<>();
         for (KycStatus status : KycStatus.values()) {
-            stats.put(status.name(), kycRepo.countByStatus(status));
+            stats.put(status.name(), 0L);
+        }
+        for (KycDocumentRepository.StatusCount count : kycRepo.countGroupedByStatus()) {
+            stats.put(count.getStatus().name(), count.getDocumentCount());
         }
         return stats;
     }
@@ -217,6 +249,7 @@ public class KycService {
         boolean anyRejected = allDocs.stream().anyMatch(d -> d.getStatus() == KycStatus.REJECTED);
         boolean allApproved = allDocs.stream().allMatch(d -> d.getStatus() == KycStatus.APPROVED);
         boolean anyExpired = allDocs.stream().anyMatch(d -> d.getStatus() == KycStatus.EXPIRED);
+        VerificationStatus previous = profile.getVerificationStatus();
 
         if (anyRejected) {
             profile.setVerificationStatus(VerificationStatus.REJECTED);
@@ -229,6 +262,18 @@ public class KycService {
         }
 
         workerRepo.save(profile);
+        coverageIndex.syncWorker(workerId);
+
+        // The worker hears about the outcome of a review, not about documents going back to pending
+        VerificationStatus current = profile.getVerificationStatus();
+        if (current != previous && current != VerificationStatus.PENDING) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("workerId", workerId);
+            payload.put("status", current);
+            allDocs.stream().filter(d -> d.getStatus() == KycStatus.REJECTED).findFirst()
+                    .ifPresent(d -> payload.put("reason", d.getReviewComments()));
+            eventOutbox.append(EventTypes.KYC_STATUS_CHANGED, workerId, payload);
+        }
         log.info("Worker {} verification status updated: {}", workerId, profile.getVerificationStatus());
     }
 
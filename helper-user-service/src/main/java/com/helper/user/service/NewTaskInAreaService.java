@@ -0,0 +1,88 @@
+package com.helper.user.service;
+
+import com.helper.user.dto.request.NewTaskInAreaRequest;
+import com.helper.user.events.EventOutbox;
+import com.helper.user.events.EventTypes;
+import com.helper.user.service.geo.WorkerCoverageIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans a newly opened task out to the workers whose service area covers it: the match
+ * comes from {@link WorkerCoverageIndex}, the workers are split into batches of
+ * app.worker.new-task-notify.batch-size (nearest first) and each batch becomes one
+ * NEW_TASK_IN_AREA event, which the notification service turns into one bulk send.
+ *
+ * Runs for every TASK_OPENED event from the task service. The batches go through the
+ * outbox in the caller's transaction, so a redelivered TASK_OPENED does not fan out twice.
+ */
+@Service
+@Slf4j
+public class NewTaskInAreaService {
+
+    private final WorkerCoverageIndex coverageIndex;
+    private final EventOutbox eventOutbox;
+    private final int batchSize;
+
+    private final Timer matchTimer;
+    private final Counter batchesQueued;
+
+    @Autowired
+    public NewTaskInAreaService(WorkerCoverageIndex coverageIndex,
+                                EventOutbox eventOutbox,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.worker.new-task-notify.batch-size:1000}") int batchSize) {
+        this.coverageIndex = coverageIndex;
+        this.eventOutbox = eventOutbox;
+        this.batchSize = Math.max(1, batchSize);
+
+        this.matchTimer = meterRegistry.timer("worker.new-task-notify.match");
+        this.batchesQueued = meterRegistry.counter("worker.new-task-notify.batches");
+    }
+
+    /**
+     * Match the task against worker service areas and queue the notification batches.
+     * Returns the number of matched workers.
+     */
+    @Transactional
+    public int notifyWorkers(NewTaskInAreaRequest request) {
+        long start = System.nanoTime();
+        List<WorkerCoverageIndex.Match> matches = coverageIndex.findCovering(
+                request.getLatitude(), request.getLongitude(), request.getDomain());
+        matchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        matches.sort(Comparator.comparingDouble(WorkerCoverageIndex.Match::getDistanceKm));
+        for (List<UUID> batch : toBatches(matches, batchSize)) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("workerIds", batch);
+            payload.put("taskId", request.getTaskId());
+            payload.put("title", request.getTitle());
+            payload.put("domain", request.getDomain());
+            eventOutbox.append(EventTypes.NEW_TASK_IN_AREA, request.getTaskId(), payload);
+            batchesQueued.increment();
+        }
+
+        log.info("Task {} ({}) matched {} workers in area", request.getTaskId(), request.getDomain(), matches.size());
+        return matches.size();
+    }
+
+    private static List<List<UUID>> toBatches(List<WorkerCoverageIndex.Match> matches, int batchSize) {
+        List<List<UUID>> batches = new ArrayList<>();
+        for (int from = 0; from < matches.size(); from += batchSize) {
+            List<WorkerCoverageIndex.Match> slice = matches.subList(from, Math.min(matches.size(), from + batchSize));
+            List<UUID> ids = new ArrayList<>(slice.size());
+            slice.forEach(m -> ids.add(m.getWorkerId()));
+            batches.add(ids);
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,79 @@
+package com.helper.user.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.helper.user.dto.request.NewTaskInAreaRequest;
+import com.helper.user.enums.TaskDomain;
+import com.helper.user.events.EventEnvelope;
+import com.helper.user.events.EventTypes;
+import com.helper.user.events.IdempotentEventConsumer;
+import com.helper.user.repository.CustomerProfileRepository;
+import com.helper.user.repository.WorkerProfileRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Lifecycle events the user service reacts to:
+ * TASK_OPENED → new-task-in-area fan-out; RATING_SUMMARY_UPDATED → rating copy on the profiles.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserEventHandlers {
+
+    private final IdempotentEventConsumer eventConsumer;
+    private final NewTaskInAreaService newTaskInAreaService;
+    private final WorkerProfileRepository workerRepo;
+    private final CustomerProfileRepository customerRepo;
+    private final ObjectMapper objectMapper;
+
+    @PostConstruct
+    void register() {
+        eventConsumer.on(EventTypes.TASK_OPENED, this::onTaskOpened);
+        eventConsumer.on(EventTypes.RATING_SUMMARY_UPDATED, this::onRatingSummaryUpdated);
+    }
+
+    void onTaskOpened(EventEnvelope event) {
+        JsonNode payload = payload(event);
+        if (!payload.hasNonNull("latitude") || !payload.hasNonNull("longitude")) return;
+
+        newTaskInAreaService.notifyWorkers(NewTaskInAreaRequest.builder()
+                .taskId(UUID.fromString(payload.get("taskId").asText()))
+                .title(payload.path("title").asText())
+                .domain(TaskDomain.valueOf(payload.get("domain").asText()))
+                .latitude(payload.get("latitude").asDouble())
+                .longitude(payload.get("longitude").asDouble())
+                .build());
+    }
+
+    // A user may have a worker profile, a customer profile or both; ratings are per user
+    void onRatingSummaryUpdated(EventEnvelope event) {
+        JsonNode payload = payload(event);
+        UUID userId = UUID.fromString(payload.get("userId").asText());
+        double average = payload.path("averageRating").asDouble();
+        int total = payload.path("totalRatings").asInt();
+
+        workerRepo.findById(userId).ifPresent(p -> {
+            p.setAverageRating(average);
+            p.setTotalRatings(total);
+        });
+        customerRepo.findById(userId).ifPresent(p -> {
+            p.setAverageRating(average);
+            p.setTotalRatings(total);
+        });
+        log.debug("Rating summary for user {} synced: avg={} total={}", userId, average, total);
+    }
+
+    private JsonNode payload(EventEnvelope event) {
+        try {
+            return objectMapper.readTree(event.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed " + event.getType() + " payload: " + e.getMessage(), e);
+        }
+    }
+}
@@ -11,11 +11,15 @@ import com.helper.user.enums.VerificationStatus;
 import com.helper.user.exception.UserExceptions;
 import com.helper.user.repository.*;
 import com.helper.user.security.AuthenticatedUser;
+import com.helper.user.service.geo.WorkerCoverageIndex;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -27,6 +31,23 @@ public class WorkerProfileService {
     private final WorkerProfileRepository workerRepo;
     private final WorkerSkillRepository skillRepo;
     private final PortfolioItemRepository portfolioRepo;
+    private final WorkerCoverageIndex coverageIndex;
+
+    // auto = PostGIS queries when the PostGIS dialect is configured, Haversine JPQL otherwise
+    @Value("${app.worker.geo-search.mode:auto}")
+    private String geoSearchMode;
+
+    @Value("${spring.jpa.database-platform:}")
+    private String databasePlatform;
+
+    private boolean spatialSearch;
+
+    @PostConstruct
+    void resolveGeoSearchMode() {
+        spatialSearch = "postgis".equalsIgnoreCase(geoSearchMode) ||
+                ("auto".equalsIgnoreCase(geoSearchMode) && databasePlatform.toLowerCase().contains("postgis"));
+        log.info("Worker geo search uses {} queries", spatialSearch ? "PostGIS" : "Haversine");
+    }
 
     // ===== CREATE OR UPDATE WORKER PROFILE =====
 
@@ -58,6 +79,11 @@ public class WorkerProfileService {
             updateAvailability(profile, request.getAvailability());
         }
 
+        if (request.getSkills() != null || request.getAvailability() != null) {
+            touch(profile);
+        }
+        coverageIndex.syncWorker(profile.getWorkerId());
+
         log.info("Worker profile created/updated: {}", user.getUserId());
         return mapToResponse(workerRepo.findById(profile.getWorkerId()).orElse(profile));
     }
@@ -84,6 +110,8 @@ public class WorkerProfileService {
                 .build();
 
         skillRepo.save(skill);
+        touch(profile);
+        coverageIndex.syncWorker(profile.getWorkerId());
         log.info("Skill added: {} for worker: {}", request.getDomain(), user.getUserId());
 
         return mapToResponse(workerRepo.findById(profile.getWorkerId()).orElse(profile));
@@ -91,9 +119,11 @@ public class WorkerProfileService {
 
     @Transactional
     public void removeSkill(TaskDomain domain, AuthenticatedUser user) {
-        skillRepo.findByWorkerProfile_WorkerIdAndDomain(user.getUserId(), domain)
+        WorkerSkill skill = skillRepo.findByWorkerProfile_WorkerIdAndDomain(user.getUserId(), domain)
                 .orElseThrow(() -> new UserExceptions.InvalidProfileException("Skill not found: " + domain));
         skillRepo.deleteByWorkerProfile_WorkerIdAndDomain(user.getUserId(), domain);
+        touch(skill.getWorkerProfile());
+        coverageIndex.syncWorker(user.getUserId());
         log.info("Skill removed: {} for worker: {}", domain, user.getUserId());
     }
 
@@ -103,6 +133,7 @@ public class WorkerProfileService {
     public WorkerProfileResponse updateAvailability(List<AvailabilityRequest> slots, AuthenticatedUser user) {
         WorkerProfile profile = getProfileOrThrow(user.getUserId());
         updateAvailability(profile, slots);
+        touch(profile);
         return mapToResponse(workerRepo.findById(profile.getWorkerId()).orElse(profile));
     }
 
@@ -111,6 +142,7 @@ public class WorkerProfileService {
         WorkerProfile profile = getProfileOrThrow(user.getUserId());
         profile.setIsAvailable(available);
         workerRepo.save(profile);
+        coverageIndex.syncWorker(profile.getWorkerId());
         log.info("Worker {} availability: {}", user.getUserId(), available);
         return mapToResponse(profile);
     }
@@ -146,6 +178,14 @@ public class WorkerProfileService {
         portfolioRepo.delete(item);
     }
 
+    /**
+     * ETag for getPortfolio: item count and newest item, so adds and deletes both change it.
+     */
+    public String getPortfolioETag(UUID workerId) {
+        VersionStamp items = portfolioRepo.findVersionByWorkerId(workerId);
+        return ETags.of("portfolio", workerId, items.getCount(), items.getLastModified());
+    }
+
     public List<com.helper.user.dto.response.PortfolioItemResponse> getPortfolio(UUID workerId) {
         return portfolioRepo.findByWorkerProfile_WorkerIdOrderByCreatedAtDesc(workerId).stream()
                 .map(p -> com.helper.user.dto.response.PortfolioItemResponse.builder()
@@ -164,11 +204,23 @@ public class WorkerProfileService {
         return mapToResponse(profile);
     }
 
+    /**
+     * ETag for getProfile, from the profile's updatedAt alone. Null if there is no profile,
+     * so the normal path produces the 404.
+     */
+    public String getProfileETag(UUID workerId) {
+        VersionStamp profile = workerRepo.findVersionByWorkerId(workerId);
+        if (profile.getCount() == 0) return null;
+        return ETags.of("worker", workerId, profile.getLastModified());
+    }
+
     // ===== GEO SEARCH: FIND NEARBY WORKERS =====
 
     public List<NearbyWorkerResponse> findNearbyWorkers(double lat, double lng, TaskDomain domain) {
         List<WorkerSkill> skills;
-        if (domain != null) {
+        if (spatialSearch) {
+            skills = findNearbySkillsSpatial(lat, lng, domain);
+        } else if (domain != null) {
             skills = skillRepo.findNearbyWorkersByDomain(lat, lng, domain);
         } else {
             skills = skillRepo.findNearbyWorkers(lat, lng);
@@ -196,11 +248,30 @@ public class WorkerProfileService {
 
     // ===== PRIVATE HELPERS =====
 
+    private List<WorkerSkill> findNearbySkillsSpatial(double lat, double lng, TaskDomain domain) {
+        List<UUID> ids = domain != null
+                ? skillRepo.findNearbySkillIdsByDomainSpatial(lat, lng, domain.name())
+                : skillRepo.findNearbySkillIdsSpatial(lat, lng);
+        if (ids.isEmpty()) return List.of();
+
+        // Re-apply the order computed by PostGIS
+        Map<UUID, WorkerSkill> byId = skillRepo.findAllWithProfileByIdIn(ids).stream()
+                .collect(Collectors.toMap(WorkerSkill::getSkillId, ws -> ws));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     private WorkerProfile getProfileOrThrow(UUID workerId) {
         return workerRepo.findById(workerId)
                 .orElseThrow(() -> new UserExceptions.ProfileNotFoundException("Worker profile not found: " + workerId));
     }
 
+    // Skills and availability slots carry no timestamps of their own; bumping the profile's
+    // updatedAt is what lets getProfileETag notice that they changed.
+    private void touch(WorkerProfile profile) {
+        profile.setUpdatedAt(LocalDateTime.now());
+        workerRepo.save(profile);
+    }
+
     private void updateSkills(WorkerProfile profile, List<SkillRequest> skillRequests) {
         // Clear existing and re-add
         profile.getSkills().clear();
@@ -0,0 +1,23 @@
+package com.helper.user.service.geo;
+
+import com.helper.user.enums.TaskDomain;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Service area of one worker skill (center + radius), as held by {@link WorkerCoverageIndex}.
+ * Also used as a JPQL constructor projection when loading the index.
+ */
+@Getter
+@AllArgsConstructor
+public class CoverageArea {
+
+    private UUID skillId;
+    private UUID workerId;
+    private TaskDomain domain;
+    private double latitude;
+    private double longitude;
+    private int radiusKm;
+}
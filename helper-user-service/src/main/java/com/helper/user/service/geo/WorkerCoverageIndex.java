@@ -0,0 +1,325 @@
+package com.helper.user.service.geo;
+
+import com.helper.user.enums.TaskDomain;
+import com.helper.user.repository.WorkerSkillRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of worker service areas (skill location + serviceRadiusKm), answering
+ * "which workers cover this point?" for a new task without scanning every WorkerSkill.
+ *
+ * Areas are partitioned by {@link TaskDomain}, then by radius tier (up to 5, 10, 25, 50 and
+ * 100 km). Within a tier, areas are bucketed by the grid cell of their center, with cells
+ * as large as the tier's maximum radius. An area can only cover the point if its center
+ * is at most that radius away, so a lookup visits the cells around the point in each tier
+ * (3×3 near the equator, a few more columns further north) and checks the exact distance for those candidates only.
+ *
+ * Only available skills of available, VERIFIED workers are indexed, the same filter as
+ * the nearby-worker search. The index is loaded on startup and rebuilt every
+ * app.worker.coverage-index.rebuild-ms. Profile, skill and KYC writes call
+ * {@link #syncWorker(UUID)}, which reloads that worker after the transaction commits.
+ */
+@Component
+@Slf4j
+public class WorkerCoverageIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.toRadians(EARTH_RADIUS_KM);
+    private static final int[] TIER_MAX_KM = {5, 10, 25, 50, 100};
+
+    private final WorkerSkillRepository skillRepository;
+
+    private volatile Snapshot snapshot = new Snapshot();
+    // Workers synced while a rebuild was loading; re-synced once the new snapshot is live
+    private Set<UUID> syncedDuringRebuild;
+
+    private final Counter queries;
+    private final Counter candidates;
+    private final Counter hits;
+
+    @Autowired
+    public WorkerCoverageIndex(WorkerSkillRepository skillRepository, MeterRegistry meterRegistry) {
+        this.skillRepository = skillRepository;
+
+        meterRegistry.gauge("worker.coverage.index.size", this, WorkerCoverageIndex::size);
+        this.queries = meterRegistry.counter("worker.coverage.index.queries");
+        this.candidates = meterRegistry.counter("worker.coverage.index.candidates");
+        this.hits = meterRegistry.counter("worker.coverage.index.hits");
+    }
+
+    /**
+     * Load every indexable skill into a fresh snapshot and swap it in. Lookups keep using
+     * the previous snapshot while this runs.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.worker.coverage-index.rebuild-ms:600000}",
+            fixedDelayString = "${app.worker.coverage-index.rebuild-ms:600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Set<UUID> synced = ConcurrentHashMap.newKeySet();
+        synchronized (this) {
+            syncedDuringRebuild = synced;
+        }
+
+        load(skillRepository.findCoverageAreas());
+        synced.forEach(this::reload);
+        log.info("Worker coverage index rebuilt: {} service areas ({} ms)",
+                size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Replace the whole index with the given areas.
+     */
+    public void load(List<CoverageArea> areas) {
+        Snapshot fresh = Snapshot.of(areas);
+        synchronized (this) {
+            snapshot = fresh;
+            syncedDuringRebuild = null;
+        }
+    }
+
+    /**
+     * Reload one worker's service areas once the current transaction commits (immediately
+     * when called outside a transaction).
+     */
+    public void syncWorker(UUID workerId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload(workerId);
+                }
+            });
+        } else {
+            reload(workerId);
+        }
+    }
+
+    /**
+     * Replace a worker's entries with the given areas (an empty list removes the worker).
+     */
+    public synchronized void replaceWorker(UUID workerId, List<CoverageArea> areas) {
+        if (syncedDuringRebuild != null) syncedDuringRebuild.add(workerId);
+        Snapshot current = snapshot;
+        current.removeWorker(workerId);
+        areas.forEach(current::put);
+    }
+
+    /**
+     * Workers with a service area in the given domain that covers the point. Each worker
+     * appears at most once (a worker has one skill per domain); order is unspecified.
+     */
+    public List<Match> findCovering(double lat, double lng, TaskDomain domain) {
+        queries.increment();
+        Snapshot current = snapshot;
+        Map<Long, CoverageArea[]>[] tiers = current.tiers.get(domain);
+
+        List<Match> matches = new ArrayList<>();
+        long scanned = 0;
+        double cosLat = Math.cos(Math.toRadians(lat));
+
+        for (int t = 0; t < TIER_MAX_KM.length; t++) {
+            Map<Long, CoverageArea[]> cells = tiers[t];
+            if (cells.isEmpty()) continue;
+
+            double cellSizeDeg = cellSizeDeg(t);
+            // Bounding box of everything within the tier's maximum radius (slightly padded)
+            double angle = TIER_MAX_KM[t] / EARTH_RADIUS_KM;
+            double latDelta = Math.toDegrees(angle) * 1.01;
+            double sinLng = cosLat < 1e-9 ? 1.0 : Math.sin(angle) / cosLat;
+            double lngDelta = sinLng >= 1.0 ? 180.0 : Math.toDegrees(Math.asin(sinLng)) * 1.01;
+
+            int minLatIdx = latIndex(Math.max(-90.0, lat - latDelta), cellSizeDeg);
+            int maxLatIdx = latIndex(Math.min(90.0, lat + latDelta), cellSizeDeg);
+            double west = lng - lngDelta;
+            double east = lng + lngDelta;
+
+            for (int latIdx = minLatIdx; latIdx <= maxLatIdx; latIdx++) {
+                if (lngDelta >= 180.0) {
+                    scanned += scan(cells, latIdx, -180.0, 180.0, cellSizeDeg, lat, lng, matches);
+                } else if (west < -180.0) {
+                    scanned += scan(cells, latIdx, -180.0, east, cellSizeDeg, lat, lng, matches);
+                    scanned += scan(cells, latIdx, west + 360.0, 180.0, cellSizeDeg, lat, lng, matches);
+                } else if (east > 180.0) {
+                    scanned += scan(cells, latIdx, west, 180.0, cellSizeDeg, lat, lng, matches);
+                    scanned += scan(cells, latIdx, -180.0, east - 360.0, cellSizeDeg, lat, lng, matches);
+                } else {
+                    scanned += scan(cells, latIdx, west, east, cellSizeDeg, lat, lng, matches);
+                }
+            }
+        }
+
+        candidates.increment(scanned);
+        hits.increment(matches.size());
+        return matches;
+    }
+
+    public int size() {
+        return snapshot.byId.size();
+    }
+
+    // ===== Private Helpers =====
+
+    // Check the areas in one row of cells between two longitudes (west <= east, both in [-180, 180])
+    private static int scan(Map<Long, CoverageArea[]> cells, int latIdx, double west, double east,
+                            double cellSizeDeg, double lat, double lng, List<Match> matches) {
+        int scanned = 0;
+        int maxLngIdx = east >= 180.0 ? (int) Math.floor(360.0 / cellSizeDeg) : lngIndex(east, cellSizeDeg);
+        for (int lngIdx = lngIndex(west, cellSizeDeg); lngIdx <= maxLngIdx; lngIdx++) {
+            CoverageArea[] cell = cells.get(cellKey(latIdx, lngIdx));
+            if (cell == null) continue;
+            scanned += cell.length;
+            for (CoverageArea a : cell) {
+                // Cheap latitude-only reject before the exact distance
+                if (Math.abs(a.getLatitude() - lat) * KM_PER_DEGREE > a.getRadiusKm() + 1e-6) continue;
+                double d = haversineKm(lat, lng, a.getLatitude(), a.getLongitude());
+                if (d <= a.getRadiusKm()) {
+                    matches.add(new Match(a.getWorkerId(), d));
+                }
+            }
+        }
+        return scanned;
+    }
+
+    private void reload(UUID workerId) {
+        try {
+            replaceWorker(workerId, skillRepository.findCoverageAreasByWorker(workerId));
+        } catch (RuntimeException e) {
+            // The next scheduled rebuild picks the change up
+            log.warn("Could not reload coverage of worker {}: {}", workerId, e.getMessage());
+        }
+    }
+
+    private static int tierFor(int radiusKm) {
+        for (int t = 0; t < TIER_MAX_KM.length; t++) {
+            if (radiusKm <= TIER_MAX_KM[t]) return t;
+        }
+        return TIER_MAX_KM.length - 1;
+    }
+
+    private static double cellSizeDeg(int tier) {
+        return TIER_MAX_KM[tier] / KM_PER_DEGREE;
+    }
+
+    // 180 and -180 are the same meridian; both go to the first cell
+    private static int lngIndex(double lng, double cellSizeDeg) {
+        return lng >= 180.0 ? 0 : (int) Math.floor((lng + 180.0) / cellSizeDeg);
+    }
+
+    private static long keyOf(CoverageArea area) {
+        double cellSizeDeg = cellSizeDeg(tierFor(area.getRadiusKm()));
+        return cellKey(latIndex(area.getLatitude(), cellSizeDeg), lngIndex(area.getLongitude(), cellSizeDeg));
+    }
+
+    private static int latIndex(double lat, double cellSizeDeg) {
+        return (int) Math.floor((lat + 90.0) / cellSizeDeg);
+    }
+
+    private static long cellKey(int latIdx, int lngIdx) {
+        return ((long) latIdx << 32) | (lngIdx & 0xffffffffL);
+    }
+
+    static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                        Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    /**
+     * One generation of the index: domain → radius tier → cell → areas centered in that cell.
+     * Cells are immutable arrays, replaced (copy on write) when a worker changes, so lookups
+     * iterate them without locking.
+     */
+    private static class Snapshot {
+        private final Map<TaskDomain, Map<Long, CoverageArea[]>[]> tiers = new EnumMap<>(TaskDomain.class);
+        private final Map<UUID, CoverageArea> byId = new ConcurrentHashMap<>();
+        private final Map<UUID, Set<UUID>> skillsByWorker = new ConcurrentHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        Snapshot() {
+            for (TaskDomain domain : TaskDomain.values()) {
+                Map<Long, CoverageArea[]>[] domainTiers = new Map[TIER_MAX_KM.length];
+                for (int t = 0; t < TIER_MAX_KM.length; t++) {
+                    domainTiers[t] = new ConcurrentHashMap<>();
+                }
+                tiers.put(domain, domainTiers);
+            }
+        }
+
+        static Snapshot of(List<CoverageArea> areas) {
+            Snapshot snapshot = new Snapshot();
+            Map<TaskDomain, Map<Long, List<CoverageArea>>[]> grouped = new EnumMap<>(TaskDomain.class);
+            for (CoverageArea area : areas) {
+                snapshot.track(area);
+                @SuppressWarnings("unchecked")
+                Map<Long, List<CoverageArea>>[] domainTiers = grouped.computeIfAbsent(area.getDomain(),
+                        d -> new Map[TIER_MAX_KM.length]);
+                int tier = tierFor(area.getRadiusKm());
+                if (domainTiers[tier] == null) domainTiers[tier] = new HashMap<>();
+                domainTiers[tier].computeIfAbsent(keyOf(area), k -> new ArrayList<>()).add(area);
+            }
+            grouped.forEach((domain, domainTiers) -> {
+                for (int t = 0; t < domainTiers.length; t++) {
+                    if (domainTiers[t] == null) continue;
+                    Map<Long, CoverageArea[]> cells = snapshot.tiers.get(domain)[t];
+                    domainTiers[t].forEach((key, cell) -> cells.put(key, cell.toArray(new CoverageArea[0])));
+                }
+            });
+            return snapshot;
+        }
+
+        void put(CoverageArea area) {
+            track(area);
+            tiers.get(area.getDomain())[tierFor(area.getRadiusKm())].compute(keyOf(area), (k, cell) -> {
+                if (cell == null) return new CoverageArea[]{area};
+                CoverageArea[] grown = Arrays.copyOf(cell, cell.length + 1);
+                grown[cell.length] = area;
+                return grown;
+            });
+        }
+
+        void removeWorker(UUID workerId) {
+            Set<UUID> skillIds = skillsByWorker.remove(workerId);
+            if (skillIds == null) return;
+            for (UUID skillId : skillIds) {
+                CoverageArea old = byId.remove(skillId);
+                if (old == null) continue;
+                tiers.get(old.getDomain())[tierFor(old.getRadiusKm())].computeIfPresent(keyOf(old), (k, cell) -> {
+                    CoverageArea[] kept = Arrays.stream(cell)
+                            .filter(a -> !a.getSkillId().equals(skillId))
+                            .toArray(CoverageArea[]::new);
+                    return kept.length == 0 ? null : kept;
+                });
+            }
+        }
+
+        private void track(CoverageArea area) {
+            byId.put(area.getSkillId(), area);
+            skillsByWorker.computeIfAbsent(area.getWorkerId(), k -> ConcurrentHashMap.newKeySet()).add(area.getSkillId());
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Match {
+        private UUID workerId;
+        private double distanceKm;
+    }
+}
@@ -0,0 +1,29 @@
+-- ============================================
+-- V2__Geography_Search.sql
+-- PostGIS geo-search path for worker skills (ST_DWithin + KNN)
+-- ============================================
+
+-- Schemas created by Hibernate (ddl-auto=update) do not have the spatial column yet
+ALTER TABLE worker_skills ADD COLUMN IF NOT EXISTS geo_location GEOGRAPHY(POINT, 4326);
+
+-- Keep geo_location in sync with lat/lng on every write
+CREATE OR REPLACE FUNCTION update_skill_geo() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.geo_location = ST_SetSRID(ST_MakePoint(NEW.longitude, NEW.latitude), 4326)::geography;
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+DROP TRIGGER IF EXISTS trg_skill_geo ON worker_skills;
+CREATE TRIGGER trg_skill_geo BEFORE INSERT OR UPDATE OF latitude, longitude
+    ON worker_skills FOR EACH ROW EXECUTE FUNCTION update_skill_geo();
+
+-- Backfill rows written before the trigger existed
+UPDATE worker_skills
+SET geo_location = ST_SetSRID(ST_MakePoint(longitude, latitude), 4326)::geography
+WHERE geo_location IS NULL;
+
+-- GiST index for ST_DWithin and <-> (KNN) ordering
+CREATE INDEX IF NOT EXISTS idx_ws_geo ON worker_skills USING GIST (geo_location);
+
+ANALYZE worker_skills;
@@ -0,0 +1,110 @@
+package com.helper.user;
+
+import com.helper.user.security.AuthenticatedUser;
+import com.helper.user.security.GatewayHeaderAuthenticator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the HMAC check on the signed X-User-* headers forwarded by the API gateway. The
+ * other services keep only a smoke test of their copy of GatewayHeaderAuthenticator.
+ */
+class GatewayHeaderAuthenticatorTest {
+
+    private static final String SECRET = "GATEWAY_INTERNAL_SECRET_FOR_TESTS";
+    private static final String PATH = "/api/v1/users/me";
+
+    private final GatewayHeaderAuthenticator authenticator = new GatewayHeaderAuthenticator(true, SECRET, 30_000);
+    private final String userId = UUID.randomUUID().toString();
+
+    // Same canonical string and encoding as GatewaySignature in the gateway
+    private static String sign(String secret, String userId, String role, String email,
+                               String method, String rawPath, long timestamp) throws Exception {
+        String canonical = userId + "\n" + role + "\n" + email + "\n" + method + "\n" + rawPath + "\n" + timestamp;
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private MockHttpServletRequest signedRequest(String secret, long timestamp) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.addHeader("X-User-Id", userId);
+        request.addHeader("X-User-Role", "WORKER");
+        request.addHeader("X-User-Email", "test@helper.app");
+        request.addHeader("X-Gateway-Timestamp", String.valueOf(timestamp));
+        request.addHeader("X-Gateway-Signature",
+                sign(secret, userId, "WORKER", "test@helper.app", "GET", PATH, timestamp));
+        return request;
+    }
+
+    @Test
+    @DisplayName("Valid signature: user taken from the headers")
+    void testValidSignature() throws Exception {
+        AuthenticatedUser user = authenticator.authenticate(signedRequest(SECRET, System.currentTimeMillis()));
+
+        assertNotNull(user);
+        assertEquals(userId, user.getUserId().toString());
+        assertEquals("WORKER", user.getRole());
+        assertEquals("test@helper.app", user.getEmail());
+    }
+
+    @Test
+    @DisplayName("Tampered role header is rejected")
+    void testTamperedHeader() throws Exception {
+        MockHttpServletRequest request = signedRequest(SECRET, System.currentTimeMillis());
+        request.removeHeader("X-User-Role");
+        request.addHeader("X-User-Role", "ADMIN");
+
+        assertNull(authenticator.authenticate(request));
+    }
+
+    @Test
+    @DisplayName("Signature replayed against another path is rejected")
+    void testOtherPath() throws Exception {
+        MockHttpServletRequest request = signedRequest(SECRET, System.currentTimeMillis());
+        request.setRequestURI("/api/v1/admin/users");
+
+        assertNull(authenticator.authenticate(request));
+    }
+
+    @Test
+    @DisplayName("Replayed timestamp outside the allowed skew is rejected")
+    void testReplayedTimestamp() throws Exception {
+        assertNull(authenticator.authenticate(signedRequest(SECRET, System.currentTimeMillis() - 60_000)));
+        assertNull(authenticator.authenticate(signedRequest(SECRET, System.currentTimeMillis() + 60_000)));
+    }
+
+    @Test
+    @DisplayName("Missing signature falls back to JWT validation")
+    void testMissingSignature() throws Exception {
+        MockHttpServletRequest request = signedRequest(SECRET, System.currentTimeMillis());
+        request.removeHeader("X-Gateway-Signature");
+
+        assertNull(authenticator.authenticate(request));
+    }
+
+    @Test
+    @DisplayName("Signature from another secret is rejected")
+    void testWrongSecret() throws Exception {
+        assertNull(authenticator.authenticate(signedRequest("SOME_OTHER_SECRET", System.currentTimeMillis())));
+    }
+
+    @Test
+    @DisplayName("Headers are ignored unless trust-gateway-headers is on with a secret")
+    void testDisabled() throws Exception {
+        MockHttpServletRequest request = signedRequest(SECRET, System.currentTimeMillis());
+
+        assertNull(new GatewayHeaderAuthenticator(false, SECRET, 30_000).authenticate(request));
+        assertNull(new GatewayHeaderAuthenticator(true, "", 30_000).authenticate(request));
+    }
+}
@@ -0,0 +1,135 @@
+package com.helper.user;
+
+import com.helper.user.entity.ProcessedEvent;
+import com.helper.user.events.EventEnvelope;
+import com.helper.user.events.IdempotentEventConsumer;
+import com.helper.user.events.InProcessEventBroker;
+import com.helper.user.repository.ProcessedEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests IdempotentEventConsumer: redelivered events are handled once, failed events are
+ * not recorded (so they are retried), unknown types are ignored.
+ */
+class IdempotentEventConsumerTest {
+
+    private Map<UUID, ProcessedEvent> processed;
+    private SimpleMeterRegistry registry;
+    private IdempotentEventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        processed = Collections.synchronizedMap(new HashMap<>());
+        registry = new SimpleMeterRegistry();
+        ProcessedEventRepository repository = mock(ProcessedEventRepository.class);
+        when(repository.existsById(any())).thenAnswer(inv -> processed.containsKey(inv.<UUID>getArgument(0)));
+        when(repository.save(any(ProcessedEvent.class))).thenAnswer(inv -> {
+            ProcessedEvent event = inv.getArgument(0);
+            processed.put(event.getEventId(), event);
+            return event;
+        });
+        consumer = new IdempotentEventConsumer(null, repository, TransactionOperations.withoutTransaction(),
+                registry, "helper-user-service", 168);
+    }
+
+    private static EventEnvelope event(String type) {
+        return EventEnvelope.builder()
+                .eventId(UUID.randomUUID())
+                .type(type)
+                .key("k")
+                .source("helper-task-service")
+                .occurredAt(LocalDateTime.now())
+                .payload("{}")
+                .build();
+    }
+
+    private double count(String type, String result) {
+        return registry.counter("events.consumed", "type", type, "result", result).count();
+    }
+
+    @Test
+    @DisplayName("An event delivered twice is handled once")
+    void duplicateSkipped() {
+        AtomicInteger handled = new AtomicInteger();
+        consumer.on("TASK_OPENED", e -> handled.incrementAndGet());
+
+        EventEnvelope event = event("TASK_OPENED");
+        consumer.handle(event);
+        consumer.handle(event);
+
+        assertEquals(1, handled.get());
+        assertTrue(processed.containsKey(event.getEventId()));
+        assertEquals(1.0, count("TASK_OPENED", "handled"));
+        assertEquals(1.0, count("TASK_OPENED", "duplicate"));
+    }
+
+    @Test
+    @DisplayName("A failed event is not recorded, so its redelivery is handled")
+    void failureRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        consumer.on("RATING_SUMMARY_UPDATED", e -> {
+            if (attempts.incrementAndGet() == 1) throw new IllegalStateException("db down");
+        });
+
+        EventEnvelope event = event("RATING_SUMMARY_UPDATED");
+        assertThrows(IllegalStateException.class, () -> consumer.handle(event));
+        assertFalse(processed.containsKey(event.getEventId()));
+
+        consumer.handle(event);
+        assertEquals(2, attempts.get());
+        assertTrue(processed.containsKey(event.getEventId()));
+        assertEquals(1.0, count("RATING_SUMMARY_UPDATED", "failed"));
+    }
+
+    @Test
+    @DisplayName("Types without a handler are acknowledged and not recorded")
+    void unknownTypeIgnored() {
+        EventEnvelope event = event("PAYMENT_RECEIVED");
+        consumer.handle(event);
+
+        assertTrue(processed.isEmpty());
+        assertEquals(1.0, count("PAYMENT_RECEIVED", "ignored"));
+    }
+
+    @Test
+    @DisplayName("Through the in-process broker, redelivered copies of a batch are handled once each")
+    void deliveredThroughBroker() throws InterruptedException {
+        InProcessEventBroker broker = new InProcessEventBroker(3, 1);
+        Set<UUID> seen = Collections.synchronizedSet(new HashSet<>());
+        AtomicInteger handled = new AtomicInteger();
+        consumer.on("TASK_OPENED", e -> {
+            assertTrue(seen.add(e.getEventId()), "handled twice: " + e.getEventId());
+            handled.incrementAndGet();
+        });
+        CountDownLatch done = new CountDownLatch(2_000);
+        broker.subscribe("helper-user-service", e -> {
+            consumer.handle(e);
+            done.countDown();
+        });
+
+        List<EventEnvelope> batch = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) batch.add(event("TASK_OPENED"));
+        broker.publish(batch);
+        broker.publish(batch); // relay crashed before marking the batch published
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        broker.shutdown();
+        assertEquals(1_000, handled.get());
+        assertEquals(1_000.0, count("TASK_OPENED", "duplicate"));
+    }
+}
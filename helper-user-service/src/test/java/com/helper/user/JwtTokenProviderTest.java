@@ -0,0 +1,164 @@
+package com.helper.user;
+
+import com.helper.user.security.JwtClaims;
+import com.helper.user.security.JwtTokenProvider;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the verified-claims cache of JwtTokenProvider. The other services keep only a
+ * smoke test of their copy.
+ */
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-32-bytes-long";
+    private static final Instant NOW = Instant.parse("2026-06-01T10:00:00Z");
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    private static String token(UUID userId, Instant expiresAt) {
+        return token(userId, expiresAt, SECRET);
+    }
+
+    private static String token(UUID userId, Instant expiresAt, String secret) {
+        return Jwts.builder()
+                .subject(userId.toString())
+                .claim("email", "worker@helper.app")
+                .claim("role", "WORKER")
+                .issuedAt(Date.from(NOW))
+                .expiration(expiresAt != null ? Date.from(expiresAt) : null)
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    @Test
+    @DisplayName("A verified token is cached and served until it expires, then rejected")
+    void expiry() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 100, clock);
+        UUID userId = UUID.randomUUID();
+        String token = token(userId, NOW.plusSeconds(60));
+
+        JwtClaims first = provider.resolveClaims(token);
+        assertNotNull(first);
+        assertEquals(userId, first.getUserId());
+        assertSame(first, provider.resolveClaims(token));
+        assertEquals(1, provider.claimsCacheSize());
+
+        clock.advance(Duration.ofSeconds(61));
+        assertNull(provider.resolveClaims(token));
+        assertEquals(0, provider.claimsCacheSize());
+    }
+
+    @Test
+    @DisplayName("The cache never exceeds its size; the least recently used token is evicted")
+    void sizeBound() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 2, clock);
+        String a = token(UUID.randomUUID(), NOW.plusSeconds(600));
+        String b = token(UUID.randomUUID(), NOW.plusSeconds(600));
+        String c = token(UUID.randomUUID(), NOW.plusSeconds(600));
+
+        JwtClaims claimsA = provider.resolveClaims(a);
+        JwtClaims claimsB = provider.resolveClaims(b);
+        assertSame(claimsA, provider.resolveClaims(a)); // b is now least recently used
+        provider.resolveClaims(c);
+
+        assertEquals(2, provider.claimsCacheSize());
+        assertSame(claimsA, provider.resolveClaims(a));
+        JwtClaims reparsedB = provider.resolveClaims(b);
+        assertNotSame(claimsB, reparsedB);
+        assertEquals(claimsB.getUserId(), reparsedB.getUserId());
+        assertEquals(2, provider.claimsCacheSize());
+    }
+
+    @Test
+    @DisplayName("Tokens without exp are accepted but not cached; bad signatures are rejected")
+    void uncachedAndInvalid() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 100, clock);
+
+        assertNotNull(provider.resolveClaims(token(UUID.randomUUID(), null)));
+        assertEquals(0, provider.claimsCacheSize());
+
+        String forged = token(UUID.randomUUID(), NOW.plusSeconds(60), "some-other-secret-that-is-32-bytes-or-more");
+        assertNull(provider.resolveClaims(forged));
+        assertEquals(0, provider.claimsCacheSize());
+    }
+
+    @Test
+    @DisplayName("Concurrent callers share the cache, which stays near its bound")
+    void concurrentUse() throws Exception {
+        int maxSize = 50;
+        int threads = 8;
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, maxSize, clock);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tokens.add(token(UUID.randomUUID(), NOW.plusSeconds(600)));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    int resolved = 0;
+                    for (int round = 0; round < 5; round++) {
+                        for (String token : tokens) {
+                            if (provider.resolveClaims(token) != null) resolved++;
+                            assertTrue(provider.claimsCacheSize() <= maxSize + maxSize / 10 + threads);
+                        }
+                    }
+                    return resolved;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(5 * tokens.size(), result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertTrue(provider.claimsCacheSize() <= maxSize);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
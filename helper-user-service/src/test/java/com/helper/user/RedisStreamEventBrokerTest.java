@@ -0,0 +1,85 @@
+package com.helper.user;
+
+import com.helper.user.events.RedisStreamEventBroker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the stale-entry claim of RedisStreamEventBroker against a mocked Redis: the
+ * pending list is paged through, so stale entries beyond the first page are claimed.
+ */
+class RedisStreamEventBrokerTest {
+
+    private static final String GROUP = "helper-user-service";
+    private static final Duration IDLE = Duration.ofMillis(60_000);
+
+    private RedisStreamEventBroker broker;
+
+    @AfterEach
+    void tearDown() {
+        if (broker != null) broker.shutdown();
+    }
+
+    private static PendingMessage pending(String id, String consumer, long idleMs) {
+        return new PendingMessage(RecordId.of(id), Consumer.from(GROUP, consumer), Duration.ofMillis(idleMs), 1);
+    }
+
+    @Test
+    @DisplayName("Stale entries past the first page of the pending list are claimed")
+    @SuppressWarnings("unchecked")
+    void claimsAcrossPages() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        StreamOperations<String, Object, Object> ops = mock(StreamOperations.class);
+        doReturn(ops).when(redis).opsForStream();
+        when(ops.read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset[].class)))
+                .thenReturn(List.of());
+        when(ops.claim(anyString(), anyString(), anyString(), any(Duration.class), any(RecordId[].class)))
+                .thenAnswer(inv -> {
+                    List<MapRecord<String, Object, Object>> claimed = new ArrayList<>();
+                    for (int i = 4; i < inv.getArguments().length; i++) {
+                        claimed.add(StreamRecords.newRecord().in(RedisStreamEventBroker.STREAM)
+                                .withId((RecordId) inv.getArgument(i)).ofMap(Map.of()));
+                    }
+                    return claimed;
+                });
+
+        // Pages of two: a fresh entry and our own first, the stale ones further down
+        List<Range<String>> ranges = new ArrayList<>();
+        when(ops.pending(eq(RedisStreamEventBroker.STREAM), eq(GROUP), any(Range.class), eq(2L)))
+                .thenAnswer(inv -> {
+                    Range<String> range = inv.getArgument(2);
+                    ranges.add(range);
+                    String from = range.getLowerBound().getValue().orElse("-");
+                    List<PendingMessage> page = switch (from) {
+                        case "-" -> List.of(pending("1-0", "other", 10), pending("2-0", "me", 120_000));
+                        case "2-1" -> List.of(pending("3-0", "other", 120_000), pending("4-0", "other", 5));
+                        case "4-1" -> List.of(pending("5-0", "dead", 300_000));
+                        default -> List.of();
+                    };
+                    return new PendingMessages(GROUP, page);
+                });
+
+        broker = new RedisStreamEventBroker(redis, "me", 1000, 2, 10, IDLE.toMillis(), 3, 10);
+        broker.subscribe(GROUP, event -> { });
+
+        verify(ops, timeout(2000)).claim(RedisStreamEventBroker.STREAM, GROUP, "me", IDLE, RecordId.of("5-0"));
+        verify(ops).claim(RedisStreamEventBroker.STREAM, GROUP, "me", IDLE, RecordId.of("3-0"));
+        verify(ops, times(2)).claim(anyString(), anyString(), anyString(), any(Duration.class), any(RecordId[].class));
+        assertEquals(3, ranges.size()); // the short third page ends the scan
+        assertTrue(ranges.get(1).getLowerBound().isInclusive());
+    }
+}
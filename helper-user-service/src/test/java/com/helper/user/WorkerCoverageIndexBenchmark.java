@@ -0,0 +1,71 @@
+package com.helper.user;
+
+import com.helper.user.enums.TaskDomain;
+import com.helper.user.service.geo.CoverageArea;
+import com.helper.user.service.geo.WorkerCoverageIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Microbenchmark: match a new task against 500k worker skills spread over greater Mumbai
+ * and Pune (dense, the worst case for candidates per query). Target: under 5 ms per match.
+ * Not run by the build; start it from the IDE or with
+ *   java -cp target/test-classes:target/classes:<deps> com.helper.user.WorkerCoverageIndexBenchmark
+ */
+public class WorkerCoverageIndexBenchmark {
+
+    private static final int SKILLS = 500_000;
+    private static final int WARMUP_QUERIES = 2_000;
+    private static final int MEASURED_QUERIES = 10_000;
+    private static final int[] RADII = {2, 5, 10, 10, 10, 15, 25, 50, 100};
+
+    public static void main(String[] args) {
+        Random random = new Random(7);
+        TaskDomain[] domains = TaskDomain.values();
+        WorkerCoverageIndex index = new WorkerCoverageIndex(null, new SimpleMeterRegistry());
+
+        List<CoverageArea> areas = new ArrayList<>(SKILLS);
+        for (int i = 0; i < SKILLS; i++) {
+            double[] center = randomPoint(random);
+            areas.add(new CoverageArea(UUID.randomUUID(), UUID.randomUUID(),
+                    domains[random.nextInt(domains.length)], center[0], center[1],
+                    RADII[random.nextInt(RADII.length)]));
+        }
+        long loadStart = System.nanoTime();
+        index.load(areas);
+        System.out.printf("Loaded %d skills in %d ms%n", index.size(), (System.nanoTime() - loadStart) / 1_000_000);
+
+        long matched = 0;
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            double[] p = randomPoint(random);
+            matched += index.findCovering(p[0], p[1], domains[i % domains.length]).size();
+        }
+
+        long[] nanos = new long[MEASURED_QUERIES];
+        for (int i = 0; i < MEASURED_QUERIES; i++) {
+            double[] p = randomPoint(random);
+            long start = System.nanoTime();
+            matched += index.findCovering(p[0], p[1], domains[i % domains.length]).size();
+            nanos[i] = System.nanoTime() - start;
+        }
+        java.util.Arrays.sort(nanos);
+
+        System.out.printf("%d queries, avg %d workers matched%n",
+                MEASURED_QUERIES, matched / (WARMUP_QUERIES + MEASURED_QUERIES));
+        System.out.printf("p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                nanos[MEASURED_QUERIES / 2] / 1e6, nanos[MEASURED_QUERIES * 99 / 100] / 1e6,
+                nanos[MEASURED_QUERIES - 1] / 1e6);
+    }
+
+    // 80% around Mumbai, 20% around Pune, within ~0.6 degrees of the city center
+    private static double[] randomPoint(Random random) {
+        boolean mumbai = random.nextDouble() < 0.8;
+        double lat = (mumbai ? 19.0760 : 18.5204) + (random.nextDouble() - 0.5) * 1.2;
+        double lng = (mumbai ? 72.8777 : 73.8567) + (random.nextDouble() - 0.5) * 1.2;
+        return new double[]{lat, lng};
+    }
+}
@@ -0,0 +1,132 @@
+package com.helper.user;
+
+import com.helper.user.enums.TaskDomain;
+import com.helper.user.service.geo.CoverageArea;
+import com.helper.user.service.geo.WorkerCoverageIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkerCoverageIndexTest {
+
+    // Andheri West, Mumbai
+    private static final double LAT = 19.0760;
+    private static final double LNG = 72.8777;
+
+    private WorkerCoverageIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new WorkerCoverageIndex(null, new SimpleMeterRegistry());
+    }
+
+    private UUID addWorker(TaskDomain domain, double lat, double lng, int radiusKm) {
+        UUID workerId = UUID.randomUUID();
+        index.replaceWorker(workerId, List.of(area(workerId, domain, lat, lng, radiusKm)));
+        return workerId;
+    }
+
+    private static CoverageArea area(UUID workerId, TaskDomain domain, double lat, double lng, int radiusKm) {
+        return new CoverageArea(UUID.randomUUID(), workerId, domain, lat, lng, radiusKm);
+    }
+
+    private Set<UUID> covering(double lat, double lng, TaskDomain domain) {
+        return index.findCovering(lat, lng, domain).stream()
+                .map(WorkerCoverageIndex.Match::getWorkerId)
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    @DisplayName("A task matches workers whose own radius covers it, whatever the radius tier")
+    void testOwnRadius() {
+        UUID small = addWorker(TaskDomain.PLUMBING, 19.1136, 72.8697, 5);    // ~4.2 km away, 5 km radius
+        UUID tooSmall = addWorker(TaskDomain.PLUMBING, 19.1136, 72.8697, 3); // same spot, 3 km radius
+        UUID wide = addWorker(TaskDomain.PLUMBING, 18.5204, 73.8567, 100);   // Pune, ~120 km, 100 km radius
+        UUID wider = addWorker(TaskDomain.PLUMBING, 19.9975, 73.7898, 100);  // Nashik, ~140 km
+        UUID medium = addWorker(TaskDomain.PLUMBING, 19.2183, 72.9781, 20);  // Thane, ~18.5 km, 20 km radius
+
+        assertEquals(Set.of(small, medium), covering(LAT, LNG, TaskDomain.PLUMBING));
+        assertFalse(covering(LAT, LNG, TaskDomain.PLUMBING).contains(tooSmall));
+        assertFalse(covering(LAT, LNG, TaskDomain.PLUMBING).contains(wide));
+        assertFalse(covering(LAT, LNG, TaskDomain.PLUMBING).contains(wider));
+    }
+
+    @Test
+    @DisplayName("Only workers of the task's domain are matched")
+    void testDomain() {
+        UUID plumber = addWorker(TaskDomain.PLUMBING, LAT, LNG, 10);
+        addWorker(TaskDomain.ELECTRICIAN, LAT, LNG, 10);
+
+        assertEquals(Set.of(plumber), covering(LAT, LNG, TaskDomain.PLUMBING));
+        assertTrue(covering(LAT, LNG, TaskDomain.FARMING).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Matches on both sides of a grid cell edge and across the antimeridian")
+    void testCellEdges() {
+        // 179.99 and -179.99 are ~2 km apart at the equator
+        UUID east = addWorker(TaskDomain.DELIVERY, 0.0, 179.99, 5);
+        UUID west = addWorker(TaskDomain.DELIVERY, 0.0, -179.99, 5);
+
+        assertEquals(Set.of(east, west), covering(0.0, 180.0, TaskDomain.DELIVERY));
+        assertEquals(Set.of(east, west), covering(0.0, -179.999, TaskDomain.DELIVERY));
+    }
+
+    @Test
+    @DisplayName("Replacing a worker's areas moves or removes them")
+    void testReplaceWorker() {
+        UUID worker = addWorker(TaskDomain.PLUMBING, LAT, LNG, 10);
+        assertEquals(Set.of(worker), covering(LAT, LNG, TaskDomain.PLUMBING));
+
+        // Moved to Pune
+        index.replaceWorker(worker, List.of(area(worker, TaskDomain.PLUMBING, 18.5204, 73.8567, 10)));
+        assertTrue(covering(LAT, LNG, TaskDomain.PLUMBING).isEmpty());
+        assertEquals(Set.of(worker), covering(18.5204, 73.8567, TaskDomain.PLUMBING));
+
+        // Went offline / lost verification: no eligible areas left
+        index.replaceWorker(worker, List.of());
+        assertTrue(covering(18.5204, 73.8567, TaskDomain.PLUMBING).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("Agrees with a brute-force scan on random data")
+    void testAgainstBruteForce() {
+        java.util.Random random = new java.util.Random(42);
+        List<CoverageArea> all = new java.util.ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            UUID workerId = UUID.randomUUID();
+            all.add(area(workerId, TaskDomain.HOUSEHOLD,
+                    LAT + (random.nextDouble() - 0.5) * 4, LNG + (random.nextDouble() - 0.5) * 4,
+                    1 + random.nextInt(100)));
+        }
+        index.load(all);
+
+        for (int q = 0; q < 200; q++) {
+            double lat = LAT + (random.nextDouble() - 0.5) * 4;
+            double lng = LNG + (random.nextDouble() - 0.5) * 4;
+            Set<UUID> expected = all.stream()
+                    .filter(a -> haversineKm(lat, lng, a.getLatitude(), a.getLongitude()) <= a.getRadiusKm())
+                    .map(CoverageArea::getWorkerId)
+                    .collect(Collectors.toSet());
+            assertEquals(expected, covering(lat, lng, TaskDomain.HOUSEHOLD));
+        }
+    }
+
+    static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                        Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 6371.0 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+}
@@ -0,0 +1,98 @@
+package com.helper.user;
+
+import com.helper.user.controller.WorkerController;
+import com.helper.user.repository.PortfolioItemRepository;
+import com.helper.user.repository.VersionStamp;
+import com.helper.user.repository.WorkerProfileRepository;
+import com.helper.user.repository.WorkerSkillRepository;
+import com.helper.user.service.WorkerProfileService;
+import com.helper.user.service.geo.WorkerCoverageIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the conditional GETs on WorkerController: a matching If-None-Match is answered with
+ * 304 from the version stamp alone, and a write moves the stamp and so the ETag.
+ */
+class WorkerETagTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 6, 1, 10, 0);
+
+    private final WorkerProfileRepository workerRepo = mock(WorkerProfileRepository.class);
+    private final PortfolioItemRepository portfolioRepo = mock(PortfolioItemRepository.class);
+    private final WorkerProfileService service = new WorkerProfileService(workerRepo,
+            mock(WorkerSkillRepository.class), portfolioRepo, mock(WorkerCoverageIndex.class));
+    private final WorkerController controller = new WorkerController(service);
+    private final UUID workerId = UUID.randomUUID();
+
+    private static VersionStamp stamp(long count, LocalDateTime lastModified) {
+        return new VersionStamp() {
+            @Override
+            public long getCount() {
+                return count;
+            }
+
+            @Override
+            public LocalDateTime getLastModified() {
+                return lastModified;
+            }
+        };
+    }
+
+    private static ServletWebRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/workers");
+        if (ifNoneMatch != null) request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private static MockHttpServletResponse response(ServletWebRequest webRequest) {
+        return (MockHttpServletResponse) webRequest.getResponse();
+    }
+
+    @Test
+    @DisplayName("Profile: matching If-None-Match gives 304 without loading the profile")
+    void testProfileNotModified() {
+        when(workerRepo.findVersionByWorkerId(workerId)).thenReturn(stamp(1, T0));
+        ServletWebRequest revalidate = get(service.getProfileETag(workerId));
+
+        assertNull(controller.getProfile(workerId, revalidate));
+        assertEquals(304, response(revalidate).getStatus());
+        verify(workerRepo, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Portfolio: 304 while nothing changed, 200 with a new ETag after an item is added")
+    void testPortfolioWriteChangesETag() {
+        when(portfolioRepo.findVersionByWorkerId(workerId)).thenReturn(stamp(2, T0));
+        when(portfolioRepo.findByWorkerProfile_WorkerIdOrderByCreatedAtDesc(workerId)).thenReturn(List.of());
+        ServletWebRequest first = get(null);
+        assertNotNull(controller.getPortfolio(workerId, first));
+        String etag = response(first).getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        ServletWebRequest unchanged = get(etag);
+        assertNull(controller.getPortfolio(workerId, unchanged));
+        assertEquals(304, response(unchanged).getStatus());
+        verify(portfolioRepo, times(1)).findByWorkerProfile_WorkerIdOrderByCreatedAtDesc(workerId);
+
+        when(portfolioRepo.findVersionByWorkerId(workerId)).thenReturn(stamp(3, T0.plusMinutes(1)));
+        ServletWebRequest changed = get(etag);
+
+        assertNotNull(controller.getPortfolio(workerId, changed));
+        assertEquals(200, response(changed).getStatus());
+        assertNotEquals(etag, response(changed).getHeader(HttpHeaders.ETAG));
+        verify(portfolioRepo, times(2)).findByWorkerProfile_WorkerIdOrderByCreatedAtDesc(workerId);
+    }
+}